@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.automation;
+
+/**
+ * A snapshot of a latency histogram collected by the {@link RuleExecutionProfiler}. All durations are given in
+ * microseconds. The percentiles are estimated from power of two buckets, so they are an upper bound which is at most
+ * twice the real value.
+ *
+ * @author agent - Initial contribution
+ */
+public class LatencyStatistics {
+
+    private long count;
+    private long total;
+    private long max;
+    private long p50;
+    private long p90;
+    private long p99;
+
+    /**
+     * Default constructor for deserialization e.g. by Gson.
+     */
+    protected LatencyStatistics() {
+    }
+
+    public LatencyStatistics(long count, long total, long max, long p50, long p90, long p99) {
+        this.count = count;
+        this.total = total;
+        this.max = max;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+    }
+
+    /**
+     * @return the number of recorded durations
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the sum of all recorded durations
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the mean of all recorded durations or 0, if nothing has been recorded
+     */
+    public long getMean() {
+        return count == 0 ? 0 : total / count;
+    }
+
+    /**
+     * @return the longest recorded duration
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return the median of the recorded durations
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * @return the 90th percentile of the recorded durations
+     */
+    public long getP90() {
+        return p90;
+    }
+
+    /**
+     * @return the 99th percentile of the recorded durations
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + ", mean=" + getMean() + "us, p50=" + p50 + "us, p90=" + p90 + "us, p99=" + p99
+                + "us, max=" + max + "us";
+    }
+
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.automation;
+
+/**
+ * A snapshot of the execution statistics of a single {@link Module} of a rule. For triggers the count is the number of
+ * times the trigger fired, for conditions and actions the latency describes the time spent in their handlers.
+ *
+ * @author agent - Initial contribution
+ */
+public class ModuleExecutionStatistics {
+
+    private String moduleId;
+    private String typeUID;
+    private long count;
+    private long failureCount;
+    private LatencyStatistics latency;
+
+    /**
+     * Default constructor for deserialization e.g. by Gson.
+     */
+    protected ModuleExecutionStatistics() {
+    }
+
+    public ModuleExecutionStatistics(String moduleId, String typeUID, long count, long failureCount,
+            LatencyStatistics latency) {
+        this.moduleId = moduleId;
+        this.typeUID = typeUID;
+        this.count = count;
+        this.failureCount = failureCount;
+        this.latency = latency;
+    }
+
+    /**
+     * @return the id of the module inside of its rule
+     */
+    public String getModuleId() {
+        return moduleId;
+    }
+
+    /**
+     * @return the UID of the module type
+     */
+    public String getTypeUID() {
+        return typeUID;
+    }
+
+    /**
+     * @return the number of times the trigger fired or the handler of the condition or action has been called
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the number of times the handler threw an exception
+     */
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * @return the time spent in the handler
+     */
+    public LatencyStatistics getLatency() {
+        return latency;
+    }
+
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.automation;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The {@link RuleExecutionProfiler} gives access to the execution statistics the rule engine collects for every rule:
+ * how often its triggers fired, how long the trigger data waited for the rule to be executed, how long the conditions
+ * and actions took and how many executions failed.
+ * <p>
+ * When a trace threshold is configured, the rule engine additionally keeps the context of the last slow executions of
+ * every rule, see {@link #getTraces(String)}.
+ *
+ * @author agent - Initial contribution
+ */
+public interface RuleExecutionProfiler {
+
+    /**
+     * Gets the execution statistics of a rule.
+     *
+     * @param ruleUID the UID of the rule
+     * @return the statistics or null, if the rule has not been initialized yet
+     */
+    RuleExecutionStatistics getStatistics(String ruleUID);
+
+    /**
+     * Gets the execution statistics of all rules which have been initialized.
+     *
+     * @return the statistics of all rules
+     */
+    Collection<RuleExecutionStatistics> getAllStatistics();
+
+    /**
+     * Gets the traces of the last slow executions of a rule, the oldest trace first.
+     *
+     * @param ruleUID the UID of the rule
+     * @return the traces, empty if the trace mode is disabled or the rule has not been slow
+     */
+    List<RuleExecutionTrace> getTraces(String ruleUID);
+
+    /**
+     * Resets the statistics and traces of a rule.
+     *
+     * @param ruleUID the UID of the rule
+     */
+    void reset(String ruleUID);
+
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.automation;
+
+import java.util.List;
+
+/**
+ * A snapshot of the execution statistics of a {@link Rule}, as collected by the {@link RuleExecutionProfiler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class RuleExecutionStatistics {
+
+    private String ruleUID;
+    private long triggerCount;
+    private long executionCount;
+    private long unsatisfiedCount;
+    private long failureCount;
+    private LatencyStatistics queueWait;
+    private LatencyStatistics conditions;
+    private LatencyStatistics actions;
+    private LatencyStatistics execution;
+    private List<ModuleExecutionStatistics> modules;
+
+    /**
+     * Default constructor for deserialization e.g. by Gson.
+     */
+    protected RuleExecutionStatistics() {
+    }
+
+    public RuleExecutionStatistics(String ruleUID, long triggerCount, long executionCount, long unsatisfiedCount,
+            long failureCount, LatencyStatistics queueWait, LatencyStatistics conditions, LatencyStatistics actions,
+            LatencyStatistics execution, List<ModuleExecutionStatistics> modules) {
+        this.ruleUID = ruleUID;
+        this.triggerCount = triggerCount;
+        this.executionCount = executionCount;
+        this.unsatisfiedCount = unsatisfiedCount;
+        this.failureCount = failureCount;
+        this.queueWait = queueWait;
+        this.conditions = conditions;
+        this.actions = actions;
+        this.execution = execution;
+        this.modules = modules;
+    }
+
+    /**
+     * @return the UID of the rule
+     */
+    public String getRuleUID() {
+        return ruleUID;
+    }
+
+    /**
+     * @return the number of times any of the triggers of the rule fired
+     */
+    public long getTriggerCount() {
+        return triggerCount;
+    }
+
+    /**
+     * @return the number of times the rule has been executed
+     */
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    /**
+     * @return the number of executions which stopped at an unsatisfied condition
+     */
+    public long getUnsatisfiedCount() {
+        return unsatisfiedCount;
+    }
+
+    /**
+     * @return the number of executions which failed with an exception
+     */
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * @return the time between a trigger firing and the start of the execution
+     */
+    public LatencyStatistics getQueueWait() {
+        return queueWait;
+    }
+
+    /**
+     * @return the time spent evaluating the conditions
+     */
+    public LatencyStatistics getConditions() {
+        return conditions;
+    }
+
+    /**
+     * @return the time spent executing the actions
+     */
+    public LatencyStatistics getActions() {
+        return actions;
+    }
+
+    /**
+     * @return the overall duration of the executions
+     */
+    public LatencyStatistics getExecution() {
+        return execution;
+    }
+
+    /**
+     * @return the statistics of the single modules of the rule
+     */
+    public List<ModuleExecutionStatistics> getModules() {
+        return modules;
+    }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.automation;
+
+import java.util.Map;
+
+/**
+ * A trace of a slow execution of a {@link Rule}. It holds a copy of the context of the execution, i.e. the outputs of
+ * the trigger, conditions and actions and the inputs they have been connected to.
+ *
+ * @author agent - Initial contribution
+ */
+public class RuleExecutionTrace {
+
+    private String ruleUID;
+    private String triggerId;
+    private long timestamp;
+    private long duration;
+    private boolean failed;
+    private Map<String, Object> context;
+
+    /**
+     * Default constructor for deserialization e.g. by Gson.
+     */
+    protected RuleExecutionTrace() {
+    }
+
+    public RuleExecutionTrace(String ruleUID, String triggerId, long timestamp, long duration, boolean failed,
+            Map<String, Object> context) {
+        this.ruleUID = ruleUID;
+        this.triggerId = triggerId;
+        this.timestamp = timestamp;
+        this.duration = duration;
+        this.failed = failed;
+        this.context = context;
+    }
+
+    /**
+     * @return the UID of the rule
+     */
+    public String getRuleUID() {
+        return ruleUID;
+    }
+
+    /**
+     * @return the id of the trigger which started the execution or null, if the rule has been run manually
+     */
+    public String getTriggerId() {
+        return triggerId;
+    }
+
+    /**
+     * @return the end of the execution in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return the duration of the execution in microseconds
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return true, if the execution failed with an exception
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * @return the context of the execution
+     */
+    public Map<String, Object> getContext() {
+        return context;
+    }
+
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.automation.internal.commands;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.smarthome.automation.RuleExecutionStatistics;
+import org.eclipse.smarthome.automation.RuleExecutionTrace;
+
+/**
+ * This class provides functionality of command {@link AutomationCommands#RULE_STATISTICS}. Without a rule UID it lists
+ * the execution statistics of all rules, with a rule UID it prints the statistics of the rule and its modules, the
+ * traces of its slow executions or resets them.
+ *
+ * @author agent - Initial contribution
+ */
+public class AutomationCommandRuleStatistics extends AutomationCommand {
+
+    /**
+     * This constant is used for printing the traces of the rule.
+     */
+    private static final String TRACES = "traces";
+
+    /**
+     * This constant is used for resetting the statistics of the rule.
+     */
+    private static final String RESET = "reset";
+
+    /**
+     * This field keeps the specified rule UID.
+     */
+    private String uid;
+
+    /**
+     * This field keeps the specified operation - {@link #TRACES}, {@link #RESET} or null for printing the statistics.
+     */
+    private String operation;
+
+    public AutomationCommandRuleStatistics(String command, String[] parameterValues, int providerType,
+            AutomationCommandsPluggable autoCommands) {
+        super(command, parameterValues, providerType, autoCommands);
+    }
+
+    @Override
+    public String execute() {
+        if (parsingResult != SUCCESS) {
+            return parsingResult;
+        }
+        if (uid == null) {
+            Collection<RuleExecutionStatistics> statistics = autoCommands.getRuleStatistics();
+            if (statistics == null) {
+                return String.format("%s! RuleExecutionProfiler not available!", FAIL);
+            }
+            return Printer.printRuleStatistics(statistics);
+        }
+        if (RESET.equals(operation)) {
+            return autoCommands.resetRuleStatistics(uid);
+        }
+        if (TRACES.equals(operation)) {
+            List<RuleExecutionTrace> traces = autoCommands.getRuleTraces(uid);
+            if (traces == null) {
+                return String.format("%s! RuleExecutionProfiler not available!", FAIL);
+            }
+            return Printer.printRuleTraces(uid, traces);
+        }
+        RuleExecutionStatistics statistics = autoCommands.getRuleStatistics(uid);
+        if (statistics == null) {
+            return String.format("%s! No statistics for rule with id '%s'.", FAIL, uid);
+        }
+        return Printer.printRuleStatistics(statistics);
+    }
+
+    @Override
+    protected String parseOptionsAndParameters(String[] parameterValues) {
+        for (int i = 0; i < parameterValues.length; i++) {
+            if (null == parameterValues[i]) {
+                continue;
+            }
+            if (parameterValues[i].charAt(0) == '-') {
+                if (parameterValues[i].equals(OPTION_ST)) {
+                    st = true;
+                    continue;
+                }
+                return String.format("Unsupported option: %s", parameterValues[i]);
+            }
+            if (uid == null) {
+                uid = parameterValues[i];
+                continue;
+            }
+            if (operation == null && (parameterValues[i].equals(TRACES) || parameterValues[i].equals(RESET))) {
+                operation = parameterValues[i];
+                continue;
+            }
+            return String.format("Unsupported parameter: %s", parameterValues[i]);
+        }
+        return SUCCESS;
+    }
+
+}
@@ -11,10 +11,13 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 
 import org.eclipse.smarthome.automation.Rule;
+import org.eclipse.smarthome.automation.RuleExecutionStatistics;
+import org.eclipse.smarthome.automation.RuleExecutionTrace;
 import org.eclipse.smarthome.automation.RuleStatus;
 import org.eclipse.smarthome.automation.parser.ParsingException;
 import org.eclipse.smarthome.automation.template.RuleTemplate;
@@ -190,6 +193,16 @@ public abstract class AutomationCommands {
      */
     protected static final String ENABLE_RULE_SHORT = "enr";
 
+    /**
+     * This static field is an identifier of the command {@link AutomationCommandRuleStatistics}.
+     */
+    protected static final String RULE_STATISTICS = "ruleStatistics";
+
+    /**
+     * This static field is a short identifier of the command {@link AutomationCommandRuleStatistics}.
+     */
+    protected static final String RULE_STATISTICS_SHORT = "rst";
+
     /**
      * This field holds a reference to the {@link CommandlineModuleTypeProvider} instance.
      */
@@ -323,6 +336,40 @@ public abstract class AutomationCommands {
      */
     public abstract String removeRules(String ruleFilter);
 
+    /**
+     * This method is used for getting the execution statistics of all rules.
+     *
+     * @return the statistics of the rules or <code>null</code> if the rule execution profiler is not available.
+     */
+    public abstract Collection<RuleExecutionStatistics> getRuleStatistics();
+
+    /**
+     * This method is used for getting the execution statistics of a rule.
+     *
+     * @param uid
+     *            specifies the wanted {@link Rule} uniquely.
+     * @return the statistics of the rule or <code>null</code> if they are not available.
+     */
+    public abstract RuleExecutionStatistics getRuleStatistics(String uid);
+
+    /**
+     * This method is used for getting the traces of the slow executions of a rule.
+     *
+     * @param uid
+     *            specifies the wanted {@link Rule} uniquely.
+     * @return the traces of the rule or <code>null</code> if the rule execution profiler is not available.
+     */
+    public abstract List<RuleExecutionTrace> getRuleTraces(String uid);
+
+    /**
+     * This method is used for resetting the execution statistics and traces of a rule.
+     *
+     * @param uid
+     *            specifies the wanted {@link Rule} uniquely.
+     * @return a string representing the result of the command.
+     */
+    public abstract String resetRuleStatistics(String uid);
+
     /**
      * This method is responsible for choosing a particular class of commands and creates an instance of this class on
      * the basis of the identifier of the command.
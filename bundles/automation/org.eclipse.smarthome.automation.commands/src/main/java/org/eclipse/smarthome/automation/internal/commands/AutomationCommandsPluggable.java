@@ -14,6 +14,9 @@ import java.util.Locale;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.automation.Rule;
+import org.eclipse.smarthome.automation.RuleExecutionProfiler;
+import org.eclipse.smarthome.automation.RuleExecutionStatistics;
+import org.eclipse.smarthome.automation.RuleExecutionTrace;
 import org.eclipse.smarthome.automation.RuleRegistry;
 import org.eclipse.smarthome.automation.RuleStatus;
 import org.eclipse.smarthome.automation.RuleStatusInfo;
@@ -64,6 +67,12 @@ public class AutomationCommandsPluggable extends AutomationCommands implements C
      */
     static ModuleTypeRegistry moduleTypeRegistry;
 
+    /**
+     * This field holds the reference to the {@code RuleExecutionProfiler} providing the execution statistics of the
+     * rules.
+     */
+    static RuleExecutionProfiler ruleExecutionProfiler;
+
     /**
      * This constant is defined for compatibility and is used to switch to a particular provider of {@code ModuleType}
      * automation objects.
@@ -125,6 +134,19 @@ public class AutomationCommandsPluggable extends AutomationCommands implements C
         AutomationCommandsPluggable.templateRegistry = templateRegistry;
     }
 
+    /**
+     * Bind the {@link RuleExecutionProfiler} service - called from DS.
+     *
+     * @param ruleExecutionProfiler ruleExecutionProfiler service.
+     */
+    protected void setRuleExecutionProfiler(RuleExecutionProfiler ruleExecutionProfiler) {
+        AutomationCommandsPluggable.ruleExecutionProfiler = ruleExecutionProfiler;
+    }
+
+    protected void unsetRuleExecutionProfiler(RuleExecutionProfiler ruleExecutionProfiler) {
+        AutomationCommandsPluggable.ruleExecutionProfiler = null;
+    }
+
     protected void unsetRuleRegistry(RuleRegistry ruleRegistry) {
         AutomationCommandsPluggable.ruleRegistry = null;
     }
@@ -193,7 +215,11 @@ public class AutomationCommandsPluggable extends AutomationCommands implements C
                         "Enables the Rule, specified by given UID. If enable parameter is missing, "
                                 + "the result of the command will be visualization of enabled/disabled state of the rule, "
                                 + "if its value is \"true\" or \"false\", "
-                                + "the result of the command will be to set enable/disable on the Rule.") });
+                                + "the result of the command will be to set enable/disable on the Rule."),
+                buildCommandUsage(RULE_STATISTICS + " [-st] [<uid> [traces|reset]]",
+                        "Lists the execution statistics of all Rules. If UID is present, prints the statistics of the "
+                                + "Rule and its modules, with \"traces\" prints the traces of its slow executions, "
+                                + "with \"reset\" resets its statistics and traces.") });
     }
 
     @Override
@@ -290,6 +316,46 @@ public class AutomationCommandsPluggable extends AutomationCommands implements C
         return String.format("%s! RuleRegistry not available!", AutomationCommand.FAIL);
     }
 
+    @Override
+    public Collection<RuleExecutionStatistics> getRuleStatistics() {
+        RuleExecutionProfiler profiler = ruleExecutionProfiler;
+        if (profiler != null) {
+            return profiler.getAllStatistics();
+        }
+        return null;
+    }
+
+    @Override
+    public RuleExecutionStatistics getRuleStatistics(String uid) {
+        RuleExecutionProfiler profiler = ruleExecutionProfiler;
+        if (profiler != null) {
+            return profiler.getStatistics(uid);
+        }
+        return null;
+    }
+
+    @Override
+    public List<RuleExecutionTrace> getRuleTraces(String uid) {
+        RuleExecutionProfiler profiler = ruleExecutionProfiler;
+        if (profiler != null) {
+            return profiler.getTraces(uid);
+        }
+        return null;
+    }
+
+    @Override
+    public String resetRuleStatistics(String uid) {
+        RuleExecutionProfiler profiler = ruleExecutionProfiler;
+        if (profiler != null) {
+            if (profiler.getStatistics(uid) == null) {
+                return String.format("No statistics for rule with id '%s'.", uid);
+            }
+            profiler.reset(uid);
+            return AutomationCommand.SUCCESS;
+        }
+        return String.format("%s! RuleExecutionProfiler not available!", AutomationCommand.FAIL);
+    }
+
     @Override
     protected AutomationCommand parseCommand(String command, String[] params) {
         if (command.equalsIgnoreCase(IMPORT_MODULE_TYPES)) {
@@ -334,6 +400,9 @@ public class AutomationCommandsPluggable extends AutomationCommands implements C
         if (command.equalsIgnoreCase(ENABLE_RULE)) {
             return new AutomationCommandEnableRule(ENABLE_RULE, params, RULE_REGISTRY, this);
         }
+        if (command.equalsIgnoreCase(RULE_STATISTICS)) {
+            return new AutomationCommandRuleStatistics(RULE_STATISTICS, params, RULE_REGISTRY, this);
+        }
         return null;
     }
 
@@ -7,8 +7,10 @@
  */
 package org.eclipse.smarthome.automation.internal.commands;
 
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -16,8 +18,12 @@ import java.util.Set;
 
 import org.eclipse.smarthome.automation.Action;
 import org.eclipse.smarthome.automation.Condition;
+import org.eclipse.smarthome.automation.LatencyStatistics;
 import org.eclipse.smarthome.automation.Module;
+import org.eclipse.smarthome.automation.ModuleExecutionStatistics;
 import org.eclipse.smarthome.automation.Rule;
+import org.eclipse.smarthome.automation.RuleExecutionStatistics;
+import org.eclipse.smarthome.automation.RuleExecutionTrace;
 import org.eclipse.smarthome.automation.RuleStatus;
 import org.eclipse.smarthome.automation.template.RuleTemplate;
 import org.eclipse.smarthome.automation.template.Template;
@@ -49,6 +55,8 @@ public class Printer {
     private static final int COLUMN_RULE_UID = 36;
     private static final int COLUMN_RULE_NAME = 36;
     private static final int COLUMN_RULE_STATUS = 15;
+    private static final int COLUMN_COUNT = 12;
+    private static final int COLUMN_LATENCY = 15;
     private static final int COLUMN_PROPERTY = 28;
     private static final int COLUMN_PROPERTY_VALUE = 72;
     private static final int COLUMN_CONFIG_PARAMETER = 20;
@@ -82,6 +90,15 @@ public class Printer {
     private static final String FILTER_CRITERIA = "FILTER CRITERIA ";
     private static final String REQUIRED = "REQUIRED";
     private static final String NOT_REQUIRED = "NOT REQUIRED";
+    private static final String TRIGGERED = "TRIGGERED";
+    private static final String EXECUTED = "EXECUTED";
+    private static final String UNSATISFIED = "UNSATISFIED";
+    private static final String FAILED = "FAILED";
+    private static final String MEAN = "MEAN";
+    private static final String QUEUE_WAIT = "QUEUE WAIT";
+    private static final String EXECUTION = "EXECUTION";
+    private static final String MODULES = "MODULES";
+    private static final String TRACE = "TRACE";
 
     /**
      * This method is responsible for printing the list with indexes, UIDs, names and statuses of the {@link Rule}s.
@@ -322,6 +339,106 @@ public class Printer {
         return sb.toString();
     }
 
+    /**
+     * This method is responsible for printing the list with the execution statistics of the {@link Rule}s.
+     *
+     * @param statistics the statistics of the rules.
+     * @return a formated string, representing the statistics of the rules.
+     */
+    static String printRuleStatistics(Collection<RuleExecutionStatistics> statistics) {
+        int[] columnWidths = new int[] { COLUMN_RULE_UID, COLUMN_COUNT, COLUMN_COUNT, COLUMN_COUNT, COLUMN_COUNT,
+                COLUMN_LATENCY };
+        List<String> columnValues = new ArrayList<String>();
+        columnValues.add(UID);
+        columnValues.add(TRIGGERED);
+        columnValues.add(EXECUTED);
+        columnValues.add(UNSATISFIED);
+        columnValues.add(FAILED);
+        columnValues.add(MEAN);
+        String titleRow = Utils.getRow(columnWidths, columnValues);
+
+        List<String> rows = new ArrayList<String>();
+        for (RuleExecutionStatistics ruleStatistics : statistics) {
+            columnValues.set(0, ruleStatistics.getRuleUID());
+            columnValues.set(1, String.valueOf(ruleStatistics.getTriggerCount()));
+            columnValues.set(2, String.valueOf(ruleStatistics.getExecutionCount()));
+            columnValues.set(3, String.valueOf(ruleStatistics.getUnsatisfiedCount()));
+            columnValues.set(4, String.valueOf(ruleStatistics.getFailureCount()));
+            columnValues.set(5, ruleStatistics.getExecution().getMean() + "us");
+            rows.add(Utils.getRow(columnWidths, columnValues));
+        }
+        return Utils.getTableContent(TABLE_WIDTH, columnWidths, rows, titleRow);
+    }
+
+    /**
+     * This method is responsible for printing the execution statistics of a {@link Rule} and its modules.
+     *
+     * @param statistics the statistics of the rule.
+     * @return a formated string, representing the statistics of the rule.
+     */
+    static String printRuleStatistics(RuleExecutionStatistics statistics) {
+        int[] columnWidths = new int[] { TABLE_WIDTH };
+        List<String> values = new ArrayList<String>();
+        values.add(statistics.getRuleUID());
+        String titleRow = Utils.getRow(columnWidths, values);
+
+        List<String> content = new ArrayList<String>();
+        columnWidths = new int[] { COLUMN_PROPERTY, COLUMN_PROPERTY_VALUE };
+        addRow(content, columnWidths, TRIGGERED, String.valueOf(statistics.getTriggerCount()));
+        addRow(content, columnWidths, EXECUTED, String.valueOf(statistics.getExecutionCount()));
+        addRow(content, columnWidths, UNSATISFIED, String.valueOf(statistics.getUnsatisfiedCount()));
+        addRow(content, columnWidths, FAILED, String.valueOf(statistics.getFailureCount()));
+        addRow(content, columnWidths, QUEUE_WAIT, statistics.getQueueWait().toString());
+        addRow(content, columnWidths, CONDITIONS, statistics.getConditions().toString());
+        addRow(content, columnWidths, ACTIONS, statistics.getActions().toString());
+        addRow(content, columnWidths, EXECUTION, statistics.getExecution().toString());
+        List<String> moduleRecords = new ArrayList<String>();
+        for (ModuleExecutionStatistics module : statistics.getModules()) {
+            LatencyStatistics latency = module.getLatency();
+            moduleRecords.add(module.getModuleId() + " (" + module.getTypeUID() + ")");
+            moduleRecords.add("  count=" + module.getCount() + ", failed=" + module.getFailureCount() + ", mean="
+                    + latency.getMean() + "us, p99=" + latency.getP99() + "us, max=" + latency.getMax() + "us");
+        }
+        content.addAll(collectRecords(columnWidths, MODULES, moduleRecords));
+        return Utils.getTableContent(TABLE_WIDTH, columnWidths, content, titleRow);
+    }
+
+    /**
+     * This method is responsible for printing the traces of the slow executions of a {@link Rule}.
+     *
+     * @param ruleUID specifies the rule, which traces are requested.
+     * @param traces the traces of the rule.
+     * @return a formated string, representing the traces of the rule.
+     */
+    static String printRuleTraces(String ruleUID, List<RuleExecutionTrace> traces) {
+        int[] columnWidths = new int[] { TABLE_WIDTH };
+        List<String> values = new ArrayList<String>();
+        values.add(ruleUID);
+        String titleRow = Utils.getRow(columnWidths, values);
+
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        List<String> content = new ArrayList<String>();
+        columnWidths = new int[] { COLUMN_PROPERTY, COLUMN_PROPERTY_VALUE };
+        for (RuleExecutionTrace trace : traces) {
+            addRow(content, columnWidths, TRACE,
+                    dateFormat.format(new Date(trace.getTimestamp())) + ", trigger=" + trace.getTriggerId()
+                            + ", duration=" + trace.getDuration() + "us" + (trace.isFailed() ? ", " + FAILED : ""));
+            List<String> contextRecords = new ArrayList<String>();
+            for (Entry<String, Object> entry : trace.getContext().entrySet()) {
+                contextRecords.add(entry.getKey() + " = \"" + entry.getValue() + "\"");
+            }
+            content.addAll(collectRecords(columnWidths, CONTEXT, contextRecords));
+        }
+        return Utils.getTableContent(TABLE_WIDTH, columnWidths, content, titleRow);
+    }
+
+    private static void addRow(List<String> content, int[] columnWidths, String property, String value) {
+        List<String> values = new ArrayList<String>(2);
+        values.add(property);
+        values.add(value);
+        content.add(Utils.getRow(columnWidths, values));
+    }
+
     /**
      * This method is responsible for printing the strings, representing the auxiliary automation objects.
      *
@@ -9,17 +9,30 @@ package org.eclipse.smarthome.automation.core.internal;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.smarthome.automation.Action;
 import org.eclipse.smarthome.automation.Condition;
+import org.eclipse.smarthome.automation.Module;
 import org.eclipse.smarthome.automation.Rule;
+import org.eclipse.smarthome.automation.RuleStatus;
+import org.eclipse.smarthome.automation.RuleStatusDetail;
+import org.eclipse.smarthome.automation.RuleStatusInfo;
 import org.eclipse.smarthome.automation.Trigger;
+import org.eclipse.smarthome.automation.handler.ActionHandler;
+import org.eclipse.smarthome.automation.handler.ModuleHandler;
+import org.eclipse.smarthome.automation.handler.ModuleHandlerFactory;
+import org.eclipse.smarthome.automation.handler.RuleEngineCallback;
+import org.eclipse.smarthome.automation.handler.TriggerHandler;
 import org.eclipse.smarthome.config.core.ConfigDescriptionParameter;
 import org.eclipse.smarthome.config.core.ConfigDescriptionParameter.Type;
 import org.eclipse.smarthome.config.core.ConfigDescriptionParameterBuilder;
@@ -298,6 +311,127 @@ public class RuleEngineTest {
                 rule2Get.getModule("conditionId2"));
     }
 
+    /**
+     * test that a rule waiting for the handlers of its module types is initialized when they appear
+     *
+     */
+    @Test
+    public void testRuleWaitingForModuleHandlerFactory() throws InterruptedException {
+        RuleEngine ruleEngine = createRuleEngine();
+        Rule rule = new Rule("parkedRule");
+        List<Trigger> triggers = new ArrayList<Trigger>();
+        triggers.add(new Trigger("triggerId", ModuleTypeRegistryMockup.TRIGGER_TYPE, new Configuration()));
+        rule.setTriggers(triggers);
+        List<Action> actions = new ArrayList<Action>();
+        actions.add(new Action("actionId", ModuleTypeRegistryMockup.ACTION_TYPE, new Configuration(), null));
+        rule.setActions(actions);
+        ruleEngine.addRule(rule, true);
+
+        RuleStatusInfo statusInfo = ruleEngine.getRuleStatusInfo("parkedRule");
+        Assert.assertEquals("Rule without handlers should not be initialized", RuleStatus.UNINITIALIZED,
+                statusInfo.getStatus());
+        Assert.assertEquals("Wrong status detail", RuleStatusDetail.HANDLER_MISSING_ERROR,
+                statusInfo.getStatusDetail());
+
+        final CountDownLatch initialized = new CountDownLatch(1);
+        ruleEngine.setStatusInfoCallback((ruleUID, info) -> {
+            if ("parkedRule".equals(ruleUID) && info.getStatus() == RuleStatus.IDLE) {
+                initialized.countDown();
+            }
+        });
+        ruleEngine.addModuleHandlerFactory(new TestModuleHandlerFactory());
+        Assert.assertTrue("Rule was not initialized in time", initialized.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals("Rule was not initialized with the new handlers", RuleStatus.IDLE,
+                ruleEngine.getRuleStatus("parkedRule"));
+        ruleEngine.dispose();
+    }
+
+    /**
+     * test that the rules added while the initializations are deferred are initialized together
+     *
+     */
+    @Test
+    public void testDeferredRuleInitializations() {
+        RuleEngine ruleEngine = createRuleEngine();
+        ruleEngine.addModuleHandlerFactory(new TestModuleHandlerFactory());
+
+        ruleEngine.deferRuleInitializations();
+        for (int i = 0; i < 10; i++) {
+            ruleEngine.addRule(createRuleWithHandlers("deferredRule" + i), true);
+        }
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("Rule should not be initialized before the deferred initializations",
+                    RuleStatus.UNINITIALIZED, ruleEngine.getRuleStatus("deferredRule" + i));
+        }
+        ruleEngine.initializeDeferredRules();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("Rule was not initialized", RuleStatus.IDLE,
+                    ruleEngine.getRuleStatus("deferredRule" + i));
+        }
+
+        // the rules added afterwards are initialized immediately
+        ruleEngine.addRule(createRuleWithHandlers("rule"), true);
+        Assert.assertEquals("Rule was not initialized", RuleStatus.IDLE, ruleEngine.getRuleStatus("rule"));
+        ruleEngine.dispose();
+    }
+
+    /**
+     * test that a rule which is removed while its module handlers are created is not registered
+     *
+     */
+    @Test
+    public void testRuleRemovedDuringInitialization() {
+        final RuleEngine ruleEngine = createRuleEngine();
+        final AtomicInteger callbacks = new AtomicInteger();
+        final AtomicInteger releasedHandlers = new AtomicInteger();
+        ruleEngine.addModuleHandlerFactory(new TestModuleHandlerFactory() {
+
+            @Override
+            public ModuleHandler getHandler(Module module, String ruleUID) {
+                if (module instanceof Action) {
+                    // the rule is removed by another thread while the handler is created
+                    ruleEngine.removeRule(ruleUID);
+                    return super.getHandler(module, ruleUID);
+                }
+                return new TriggerHandler() {
+
+                    @Override
+                    public void setRuleEngineCallback(RuleEngineCallback ruleCallback) {
+                        callbacks.incrementAndGet();
+                    }
+
+                    @Override
+                    public void dispose() {
+                    }
+                };
+            }
+
+            @Override
+            public void ungetHandler(Module module, String ruleUID, ModuleHandler handler) {
+                releasedHandlers.incrementAndGet();
+            }
+        });
+
+        ruleEngine.addRule(createRuleWithHandlers("removedRule"), true);
+
+        Assert.assertNull("Removed rule is still available", ruleEngine.getRuntimeRule("removedRule"));
+        Assert.assertNull("Removed rule has a status", ruleEngine.getRuleStatusInfo("removedRule"));
+        Assert.assertEquals("Removed rule was registered", 0, callbacks.get());
+        Assert.assertEquals("Handlers of the removed rule were not released", 2, releasedHandlers.get());
+        ruleEngine.dispose();
+    }
+
+    private Rule createRuleWithHandlers(String uid) {
+        Rule rule = new Rule(uid);
+        List<Trigger> triggers = new ArrayList<Trigger>();
+        triggers.add(new Trigger("triggerId", ModuleTypeRegistryMockup.TRIGGER_TYPE, new Configuration()));
+        rule.setTriggers(triggers);
+        List<Action> actions = new ArrayList<Action>();
+        actions.add(new Action("actionId", ModuleTypeRegistryMockup.ACTION_TYPE, new Configuration(), null));
+        rule.setActions(actions);
+        return rule;
+    }
+
     private Rule createRule() {
         Rule rule = new Rule("rule1");
         rule.setTriggers(createTriggers("typeUID"));
@@ -395,4 +529,45 @@ public class RuleEngineTest {
         return configDescriptions;
     }
 
+    private static class TestModuleHandlerFactory implements ModuleHandlerFactory {
+
+        @Override
+        public Collection<String> getTypes() {
+            return Arrays.asList(ModuleTypeRegistryMockup.TRIGGER_TYPE, ModuleTypeRegistryMockup.ACTION_TYPE);
+        }
+
+        @Override
+        public ModuleHandler getHandler(Module module, String ruleUID) {
+            if (module instanceof Trigger) {
+                return new TriggerHandler() {
+
+                    @Override
+                    public void setRuleEngineCallback(RuleEngineCallback ruleCallback) {
+                    }
+
+                    @Override
+                    public void dispose() {
+                    }
+                };
+            } else if (module instanceof Action) {
+                return new ActionHandler() {
+
+                    @Override
+                    public Map<String, Object> execute(Map<String, Object> context) {
+                        return null;
+                    }
+
+                    @Override
+                    public void dispose() {
+                    }
+                };
+            }
+            return null;
+        }
+
+        @Override
+        public void ungetHandler(Module module, String ruleUID, ModuleHandler handler) {
+        }
+    }
+
 }
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.automation.core.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.automation.Action;
+import org.eclipse.smarthome.automation.LatencyStatistics;
+import org.eclipse.smarthome.automation.ModuleExecutionStatistics;
+import org.eclipse.smarthome.automation.Rule;
+import org.eclipse.smarthome.automation.RuleExecutionStatistics;
+import org.eclipse.smarthome.automation.RuleExecutionTrace;
+import org.eclipse.smarthome.automation.Trigger;
+import org.eclipse.smarthome.automation.core.internal.RuleExecutionProfilerImpl.RuleProfile;
+import org.eclipse.smarthome.config.core.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the counters, histograms and traces of the {@link RuleExecutionProfilerImpl}.
+ *
+ * @author agent - Initial contribution
+ */
+public class RuleExecutionProfilerImplTest {
+
+    private RuleExecutionProfilerImpl profiler;
+
+    @Before
+    public void setUp() {
+        profiler = new RuleExecutionProfilerImpl();
+        profiler.addRule(createRule("rule1", "typeA"));
+    }
+
+    @Test
+    public void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        LatencyStatistics statistics = histogram.getStatistics();
+        Assert.assertEquals(100, statistics.getCount());
+        Assert.assertEquals(5050, statistics.getTotal());
+        Assert.assertEquals(50, statistics.getMean());
+        Assert.assertEquals(100, statistics.getMax());
+        // the percentiles are upper bounds which are at most twice the real value
+        Assert.assertTrue(statistics.getP50() >= 50 && statistics.getP50() <= 100);
+        Assert.assertTrue(statistics.getP99() >= 99 && statistics.getP99() <= 100);
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getStatistics().getCount());
+        Assert.assertEquals(0, histogram.getStatistics().getP90());
+    }
+
+    @Test
+    public void testCounters() {
+        profiler.triggered("rule1", "trigger");
+        profiler.triggered("rule1", "trigger");
+        profiler.triggered("unknown", "trigger");
+
+        RuleProfile profile = profiler.getProfile("rule1");
+        profile.getModule("action").executed(System.nanoTime(), true);
+        profiler.executed(profile, "trigger", System.nanoTime(), true, null);
+        profile.unsatisfied();
+        profiler.executed(profile, "trigger", System.nanoTime(), false, null);
+
+        RuleExecutionStatistics statistics = profiler.getStatistics("rule1");
+        Assert.assertEquals(2, statistics.getTriggerCount());
+        Assert.assertEquals(2, statistics.getExecutionCount());
+        Assert.assertEquals(1, statistics.getUnsatisfiedCount());
+        Assert.assertEquals(1, statistics.getFailureCount());
+        Assert.assertEquals(2, statistics.getExecution().getCount());
+        Assert.assertEquals(2, statistics.getModules().size());
+        ModuleExecutionStatistics trigger = statistics.getModules().get(0);
+        Assert.assertEquals("trigger", trigger.getModuleId());
+        Assert.assertEquals(2, trigger.getCount());
+        ModuleExecutionStatistics action = statistics.getModules().get(1);
+        Assert.assertEquals("typeA", action.getTypeUID());
+        Assert.assertEquals(1, action.getFailureCount());
+        Assert.assertNull(profiler.getStatistics("unknown"));
+
+        // counters survive a re-initialization with the same modules
+        profiler.addRule(createRule("rule1", "typeA"));
+        Assert.assertEquals(2, profiler.getStatistics("rule1").getTriggerCount());
+        profiler.addRule(createRule("rule1", "typeB"));
+        Assert.assertEquals(0, profiler.getStatistics("rule1").getTriggerCount());
+
+        profiler.triggered("rule1", "trigger");
+        profiler.reset("rule1");
+        Assert.assertEquals(0, profiler.getStatistics("rule1").getTriggerCount());
+        profiler.removeRule("rule1");
+        Assert.assertTrue(profiler.getAllStatistics().isEmpty());
+    }
+
+    @Test
+    public void testTraces() {
+        RuleProfile profile = profiler.getProfile("rule1");
+        long slowStart = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(20);
+
+        // trace mode is disabled by default
+        profiler.executed(profile, "trigger", slowStart, false, Collections.<String, Object> singletonMap("a", 1));
+        Assert.assertTrue(profiler.getTraces("rule1").isEmpty());
+
+        profiler.setTraceThreshold(10);
+        profiler.executed(profile, "trigger", System.nanoTime(), false, null);
+        Assert.assertTrue(profiler.getTraces("rule1").isEmpty());
+        profiler.executed(profile, "trigger", slowStart, true, Collections.<String, Object> singletonMap("a", 1));
+        List<RuleExecutionTrace> traces = profiler.getTraces("rule1");
+        Assert.assertEquals(1, traces.size());
+        Assert.assertEquals("trigger", traces.get(0).getTriggerId());
+        Assert.assertTrue(traces.get(0).isFailed());
+        Assert.assertTrue(traces.get(0).getDuration() >= 20000);
+        Assert.assertEquals(1, traces.get(0).getContext().get("a"));
+
+        profiler.reset("rule1");
+        profiler.setTraceSamplingInterval(2);
+        for (int i = 0; i < 4 * RuleExecutionProfilerImpl.MAX_TRACES; i++) {
+            profiler.executed(profile, "trigger", slowStart, false, null);
+        }
+        Assert.assertEquals(RuleExecutionProfilerImpl.MAX_TRACES, profiler.getTraces("rule1").size());
+    }
+
+    private RuntimeRule createRule(String uid, String actionType) {
+        List<Trigger> triggers = new ArrayList<Trigger>();
+        triggers.add(new Trigger("trigger", "typeT", new Configuration()));
+        List<Action> actions = new ArrayList<Action>();
+        actions.add(new Action("action", actionType, new Configuration(), null));
+        return new RuntimeRule(new Rule(uid, triggers, null, actions, null, null, null, null));
+    }
+
+}
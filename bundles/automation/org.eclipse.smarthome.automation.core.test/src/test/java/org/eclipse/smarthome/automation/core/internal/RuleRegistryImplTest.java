@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 1997, 2015 by ProSyst Software GmbH and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.automation.core.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.smarthome.automation.Rule;
+import org.eclipse.smarthome.automation.RuleProvider;
+import org.eclipse.smarthome.core.common.registry.ProviderChangeListener;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the UID and tag lookups of the {@link RuleRegistryImpl}.
+ *
+ * @author agent - Initial contribution
+ */
+public class RuleRegistryImplTest {
+
+    private RuleRegistryImpl ruleRegistry;
+    private TestRuleProvider provider;
+
+    @Before
+    public void setUp() {
+        ruleRegistry = new RuleRegistryImpl();
+        ruleRegistry.setModuleTypeRegistry(new ModuleTypeRegistryMockup());
+        provider = new TestRuleProvider();
+        provider.rules.add(createRule("rule1", "tag1", "tag2"));
+        provider.rules.add(createRule("rule2", "tag2", "tag3"));
+        provider.rules.add(createRule("rule3"));
+        ruleRegistry.addProvider(provider);
+    }
+
+    @Test
+    public void testGetByUID() {
+        Assert.assertEquals("rule1", ruleRegistry.get("rule1").getUID());
+        Assert.assertEquals("rule3", ruleRegistry.get("rule3").getUID());
+        Assert.assertNull(ruleRegistry.get("unknown"));
+        Assert.assertNull(ruleRegistry.get(null));
+    }
+
+    @Test
+    public void testGetByTag() {
+        Assert.assertEquals(uids("rule1", "rule2"), uids(ruleRegistry.getByTag("tag2")));
+        Assert.assertEquals(uids("rule2"), uids(ruleRegistry.getByTag("tag3")));
+        Assert.assertTrue(ruleRegistry.getByTag("unknown").isEmpty());
+        Assert.assertEquals(3, ruleRegistry.getByTag(null).size());
+    }
+
+    @Test
+    public void testGetByTags() {
+        Assert.assertEquals(uids("rule1"), uids(ruleRegistry.getByTags("tag1", "tag2")));
+        Assert.assertEquals(uids("rule2"), uids(ruleRegistry.getByTags("tag3", "tag2")));
+        Assert.assertTrue(ruleRegistry.getByTags("tag1", "tag3").isEmpty());
+        Assert.assertTrue(ruleRegistry.getByTags("tag1", "unknown").isEmpty());
+        Assert.assertEquals(3, ruleRegistry.getByTags().size());
+    }
+
+    @Test
+    public void testIndexesFollowUpdatesAndRemovals() {
+        Rule oldRule = provider.rules.get(0);
+        Rule newRule = createRule("rule1", "tag3");
+        ruleRegistry.updated(provider, oldRule, newRule);
+        Assert.assertTrue(ruleRegistry.getByTag("tag1").isEmpty());
+        Assert.assertEquals(uids("rule2"), uids(ruleRegistry.getByTag("tag2")));
+        Assert.assertEquals(uids("rule1", "rule2"), uids(ruleRegistry.getByTag("tag3")));
+
+        ruleRegistry.removed(provider, newRule);
+        Assert.assertNull(ruleRegistry.get("rule1"));
+        Assert.assertEquals(uids("rule2"), uids(ruleRegistry.getByTag("tag3")));
+    }
+
+    private Rule createRule(String uid, String... tags) {
+        Rule rule = new Rule(uid);
+        rule.setTags(new HashSet<String>(Arrays.asList(tags)));
+        return rule;
+    }
+
+    private Set<String> uids(String... uids) {
+        return new HashSet<String>(Arrays.asList(uids));
+    }
+
+    private Set<String> uids(Collection<Rule> rules) {
+        Set<String> uids = new HashSet<String>();
+        for (Rule rule : rules) {
+            uids.add(rule.getUID());
+        }
+        return uids;
+    }
+
+    private static class TestRuleProvider implements RuleProvider {
+
+        private final List<Rule> rules = new ArrayList<Rule>();
+
+        @Override
+        public void addProviderChangeListener(ProviderChangeListener<Rule> listener) {
+        }
+
+        @Override
+        public Collection<Rule> getAll() {
+            return rules;
+        }
+
+        @Override
+        public void removeProviderChangeListener(ProviderChangeListener<Rule> listener) {
+        }
+    }
+
+}
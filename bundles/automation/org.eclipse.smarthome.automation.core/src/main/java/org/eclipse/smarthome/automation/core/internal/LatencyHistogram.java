@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.automation.core.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.smarthome.automation.LatencyStatistics;
+
+/**
+ * A histogram of durations with one bucket per power of two nanoseconds. Recording a duration only updates atomic
+ * counters, so it neither locks nor allocates.
+ *
+ * @author agent - Initial contribution
+ */
+class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds, negative values are recorded as 0
+     */
+    void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos)));
+        count.incrementAndGet();
+        total.addAndGet(nanos);
+        long currentMax = max.get();
+        while (nanos > currentMax && !max.compareAndSet(currentMax, nanos)) {
+            currentMax = max.get();
+        }
+    }
+
+    long getCount() {
+        return count.get();
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Creates a snapshot of the histogram. The snapshot is not atomic, so a duration which is recorded concurrently
+     * may be missing from some of the values.
+     *
+     * @return the snapshot in microseconds
+     */
+    LatencyStatistics getStatistics() {
+        long[] counts = new long[BUCKETS];
+        long sum = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            sum += counts[i];
+        }
+        long maxNanos = max.get();
+        return new LatencyStatistics(count.get(), toMicros(total.get()), toMicros(maxNanos),
+                toMicros(percentile(counts, sum, 0.5, maxNanos)), toMicros(percentile(counts, sum, 0.9, maxNanos)),
+                toMicros(percentile(counts, sum, 0.99, maxNanos)));
+    }
+
+    private static long percentile(long[] counts, long sum, double percentile, long maxNanos) {
+        if (sum == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(sum * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // the upper bound of the bucket, i.e. 2^i - 1
+                long upperBound = i == 0 ? 0 : (i >= 63 ? Long.MAX_VALUE : (1L << i) - 1);
+                return Math.min(upperBound, maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+}
@@ -18,9 +18,10 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -35,6 +36,8 @@ import org.eclipse.smarthome.automation.RuleStatusInfo;
 import org.eclipse.smarthome.automation.StatusInfoCallback;
 import org.eclipse.smarthome.automation.Trigger;
 import org.eclipse.smarthome.automation.core.internal.RuleEngineCallbackImpl.TriggerData;
+import org.eclipse.smarthome.automation.core.internal.RuleExecutionProfilerImpl.ModuleProfile;
+import org.eclipse.smarthome.automation.core.internal.RuleExecutionProfilerImpl.RuleProfile;
 import org.eclipse.smarthome.automation.core.internal.composite.CompositeModuleHandlerFactory;
 import org.eclipse.smarthome.automation.core.util.ConnectionValidator;
 import org.eclipse.smarthome.automation.handler.ActionHandler;
@@ -57,6 +60,7 @@ import org.eclipse.smarthome.config.core.ConfigDescriptionParameter;
 import org.eclipse.smarthome.config.core.ConfigDescriptionParameter.Type;
 import org.eclipse.smarthome.config.core.ConfigUtil;
 import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.InvalidSyntaxException;
@@ -112,6 +116,21 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
      */
     private long scheduleReinitializationDelay;
 
+    /**
+     * Minimum duration in milliseconds of rule executions whose context is traced. 0 disables the trace mode.
+     */
+    public static final String CONFIG_PROPERTY_TRACE_THRESHOLD = "rule.trace.threshold";
+
+    /**
+     * Interval of traced slow rule executions, e.g. 10 traces every tenth slow execution.
+     */
+    public static final String CONFIG_PROPERTY_TRACE_SAMPLING = "rule.trace.sampling";
+
+    /**
+     * Name of the thread pool used for the (re-)initialization of rules.
+     */
+    private static final String THREAD_POOL_NAME = "automation";
+
     /**
      * {@link Map} of rule's id to corresponding {@link RuleEngineCallback}s. For each {@link Rule} there is one and
      * only one rule callback.
@@ -123,6 +142,23 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
      */
     private Map<String, Set<String>> mapModuleTypeToRules = new HashMap<String, Set<String>>();
 
+    /**
+     * {@link Map} of module type UIDs to rules which are parked until the module type and its handler factory become
+     * available. These rules are initialized again as soon as the module type or its handler factory appear.
+     */
+    private Map<String, Set<String>> mapMissingModuleTypeToRules = new HashMap<String, Set<String>>();
+
+    /**
+     * {@link Set} of rule UIDs with a scheduled, but not yet started initialization.
+     */
+    private Set<String> pendingInitializations = new HashSet<String>();
+
+    /**
+     * {@link List} of the rules added by the current thread, whose initialization is deferred until all rules of a
+     * provider are added. It is not set when the initializations are not deferred.
+     */
+    private final ThreadLocal<List<RuntimeRule>> deferredInitializations = new ThreadLocal<List<RuntimeRule>>();
+
     /**
      * {@link Map} of created rules. It contains all rules added to rule engine independent if they are initialized or
      * not. The relation is rule's id to {@link Rule} object.
@@ -156,12 +192,10 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
 
     private int ruleMaxID = 0;
 
-    private Map<String, Future> scheduleTasks = new HashMap<String, Future>(31);
-
-    private ScheduledExecutorService executor;
-
     private Gson gson;
 
+    private final RuleExecutionProfilerImpl profiler = new RuleExecutionProfilerImpl();
+
     /**
      * Constructor of {@link RuleEngine}. It initializes the logger and starts tracker for {@link ModuleHandlerFactory}
      * services.
@@ -208,22 +242,7 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
                 break;
             }
         }
-        Set<String> rules = null;
-        synchronized (this) {
-            Set<String> rulesPerModule = mapModuleTypeToRules.get(moduleTypeName);
-            if (rulesPerModule != null) {
-                rules = new HashSet<String>();
-                rules.addAll(rulesPerModule);
-            }
-        }
-        if (rules != null) {
-            for (String rUID : rules) {
-                RuleStatus ruleStatus = getRuleStatus(rUID);
-                if (ruleStatus == RuleStatus.UNINITIALIZED) {
-                    scheduleRuleInitialization(rUID);
-                }
-            }
-        }
+        wakeUpParkedRules(moduleTypeName);
     }
 
     @Override
@@ -294,11 +313,68 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
             rules.put(rUID, runtimeRule);
             if (isEnabled) {
                 setRuleStatusInfo(rUID, new RuleStatusInfo(RuleStatus.UNINITIALIZED), false);
-                setRule(runtimeRule);
             } else {
                 setRuleStatusInfo(rUID, new RuleStatusInfo(RuleStatus.DISABLED), true);
             }
         }
+        if (isEnabled) {
+            List<RuntimeRule> deferred = deferredInitializations.get();
+            if (deferred != null) {
+                deferred.add(runtimeRule);
+            } else {
+                setRule(runtimeRule);
+            }
+        }
+    }
+
+    /**
+     * Defers the initialization of the rules which are added by the calling thread until
+     * {@link #initializeDeferredRules()} is called. It is used when many rules are added at once, e.g. when the rules
+     * of a provider are added at the start of the system.
+     */
+    protected void deferRuleInitializations() {
+        deferredInitializations.set(new ArrayList<RuntimeRule>());
+    }
+
+    /**
+     * Initializes the rules which are added since {@link #deferRuleInitializations()} in parallel and waits until all
+     * of them are initialized. The calling thread initializes rules as well as the threads of the thread pool of the
+     * rule engine. Rules which are waiting for module types are parked as usual.
+     */
+    protected void initializeDeferredRules() {
+        List<RuntimeRule> deferred = deferredInitializations.get();
+        deferredInitializations.remove();
+        if (deferred == null || deferred.isEmpty()) {
+            return;
+        }
+        final Queue<RuntimeRule> queue = new ConcurrentLinkedQueue<RuntimeRule>(deferred);
+        final CountDownLatch initialized = new CountDownLatch(deferred.size());
+        Runnable initializer = new Runnable() {
+
+            @Override
+            public void run() {
+                RuntimeRule runtimeRule;
+                while ((runtimeRule = queue.poll()) != null) {
+                    try {
+                        setRule(runtimeRule);
+                    } catch (RuntimeException e) {
+                        logger.error("Failed to initialize rule '{}'", runtimeRule.getUID(), e);
+                    } finally {
+                        initialized.countDown();
+                    }
+                }
+            }
+        };
+        int helpers = Math.min(deferred.size(), Runtime.getRuntime().availableProcessors()) - 1;
+        for (int i = 0; i < helpers; i++) {
+            getScheduledExecutor().execute(initializer);
+        }
+        initializer.run();
+        try {
+            initialized.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     /**
@@ -337,11 +413,13 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
             rules.put(rUID, runtimeRule);
             if (isEnabled) {
                 setRuleStatusInfo(rUID, new RuleStatusInfo(RuleStatus.UNINITIALIZED), false);
-                setRule(runtimeRule);
             } else {
                 setRuleStatusInfo(rUID, new RuleStatusInfo(RuleStatus.DISABLED), true);
             }
         }
+        if (isEnabled) {
+            setRule(runtimeRule);
+        }
         logger.debug("Rule with UID '{}' is updated.", rUID);
     }
 
@@ -350,72 +428,184 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
      * {@link ModuleHandler}s for all {@link Module}s of the {@link Rule} and to link them. When all the modules have
      * associated module handlers then the {@link Rule} is initialized and it is ready to working. It goes into idle
      * state. Otherwise the Rule stays into not initialized and continue to wait missing handlers, module types or
-     * templates.
+     * templates. Rules waiting for module types or their handler factories are parked until these appear.
+     * <p>
+     * The initialization is not done under the lock of the rule engine, so different rules can be initialized in
+     * parallel. The initializations of one and the same rule are serialized by locking the {@link RuntimeRule}.
      *
      * @param rUID a UID of rule which tries to be initialized.
      */
     private void setRule(RuntimeRule runtimeRule) {
-        if (isDisposed) {
-            return;
+        synchronized (runtimeRule) {
+            if (isDisposed) {
+                return;
+            }
+            String rUID = runtimeRule.getUID();
+            if (getRuntimeRule(rUID) != runtimeRule) {
+                // the rule has been removed or updated meanwhile
+                return;
+            }
+            setRuleStatusInfo(rUID, new RuleStatusInfo(RuleStatus.INITIALIZING), true);
+
+            if (runtimeRule.getTemplateUID() != null) {
+                setRuleStatusInfo(rUID,
+                        new RuleStatusInfo(RuleStatus.UNINITIALIZED, RuleStatusDetail.TEMPLATE_MISSING_ERROR), true);
+                return; // Template is not available (when a template is resolved it removes tempalteUID
+                        // configuration property). The rule must stay NOT_INITIALISED.
+            }
+
+            List<Module> modules = runtimeRule.getModules(null);
+            if (modules != null) {
+                for (Module m : modules) {
+                    updateMapModuleTypeToRule(rUID, m.getTypeUID());
+                }
+            }
+            Set<String> missingTypes = getMissingModuleTypes(modules);
+
+            String errMsgs;
+            try {
+                validateModuleIDs(modules);
+                resolveConfiguration(runtimeRule);
+                autoMapConnections(runtimeRule);
+                ConnectionValidator.validateConnections(runtimeRule);
+            } catch (RuntimeException e) {
+                if (missingTypes.isEmpty()) {
+                    errMsgs = "\n Validation of rule " + rUID + " has failed! " + e.getLocalizedMessage();
+                    // change state to NOTINITIALIZED
+                    setRuleStatusInfo(rUID, new RuleStatusInfo(RuleStatus.UNINITIALIZED,
+                            RuleStatusDetail.CONFIGURATION_ERROR, errMsgs.trim()), true);
+                    return;
+                }
+            }
+
+            if (!missingTypes.isEmpty()) {
+                // change state to NOTINITIALIZED and wait for the missing module types
+                setRuleStatusInfo(rUID, new RuleStatusInfo(RuleStatus.UNINITIALIZED,
+                        RuleStatusDetail.HANDLER_MISSING_ERROR, "Missing handlers: " + String.join(", ", missingTypes)),
+                        true);
+                parkRule(rUID, missingTypes);
+                return;
+            }
+
+            errMsgs = setModuleHandlers(rUID, modules);
+            if (errMsgs == null) {
+                RuleStatusInfo idle = new RuleStatusInfo(RuleStatus.IDLE);
+                boolean registered;
+                synchronized (this) {
+                    // the rule can be removed or updated while its module handlers are created
+                    registered = !isDisposed && rules.get(rUID) == runtimeRule;
+                    if (registered) {
+                        register(runtimeRule);
+                        // change state to IDLE
+                        statusMap.put(rUID, idle);
+                    }
+                }
+                if (!registered) {
+                    // release the module handlers which are created for the outdated rule
+                    unregister(runtimeRule);
+                    return;
+                }
+                notifyStatusInfoCallback(rUID, idle);
+            } else {
+                // change state to NOTINITIALIZED
+                setRuleStatusInfo(rUID, new RuleStatusInfo(RuleStatus.UNINITIALIZED,
+                        RuleStatusDetail.HANDLER_INITIALIZING_ERROR, errMsgs), true);
+                unregister(runtimeRule);
+            }
         }
-        String rUID = runtimeRule.getUID();
-        setRuleStatusInfo(rUID, new RuleStatusInfo(RuleStatus.INITIALIZING), true);
+    }
 
-        if (runtimeRule.getTemplateUID() != null) {
-            setRuleStatusInfo(rUID,
-                    new RuleStatusInfo(RuleStatus.UNINITIALIZED, RuleStatusDetail.TEMPLATE_MISSING_ERROR), true);
-            return; // Template is not available (when a template is resolved it removes tempalteUID configuration
-                    // property). The rule must stay NOT_INITIALISED.
+    /**
+     * Initializes the rule again, if it is still not initialized.
+     *
+     * @param runtimeRule the rule which has to be initialized
+     */
+    private void reinitializeRule(RuntimeRule runtimeRule) {
+        synchronized (runtimeRule) {
+            if (getRuleStatus(runtimeRule.getUID()) == RuleStatus.UNINITIALIZED) {
+                setRule(runtimeRule);
+            }
         }
+    }
 
-        List<Module> modules = runtimeRule.getModules(null);
+    /**
+     * Collects the types of the modules which are not available yet, because the module type or its
+     * {@link ModuleHandlerFactory} is missing.
+     *
+     * @param modules the modules of a rule
+     * @return the UIDs of the missing module types
+     */
+    private Set<String> getMissingModuleTypes(List<Module> modules) {
+        Set<String> missingTypes = new HashSet<String>();
         if (modules != null) {
             for (Module m : modules) {
-                updateMapModuleTypeToRule(rUID, m.getTypeUID());
+                String moduleTypeId = m.getTypeUID();
+                if (!isModuleTypeAvailable(moduleTypeId)) {
+                    missingTypes.add(moduleTypeId);
+                }
             }
         }
+        return missingTypes;
+    }
 
-        String errMsgs;
-        try {
-            validateModuleIDs(modules);
-            resolveConfiguration(runtimeRule);
-            autoMapConnections(runtimeRule);
-            ConnectionValidator.validateConnections(runtimeRule);
-        } catch (RuntimeException e) {
-            errMsgs = "\n Validation of rule " + rUID + " has failed! " + e.getLocalizedMessage();
-            // change state to NOTINITIALIZED
-            setRuleStatusInfo(rUID,
-                    new RuleStatusInfo(RuleStatus.UNINITIALIZED, RuleStatusDetail.CONFIGURATION_ERROR, errMsgs.trim()),
-                    true);
-            return;
-        }
+    private boolean isModuleTypeAvailable(String moduleTypeId) {
+        return moduleTypeId != null && mtRegistry.get(moduleTypeId) != null
+                && getModuleHandlerFactory(moduleTypeId) != null;
+    }
 
-        errMsgs = setModuleHandlers(rUID, modules);
-        if (errMsgs == null) {
-            register(runtimeRule);
-            // change state to IDLE
-            setRuleStatusInfo(rUID, new RuleStatusInfo(RuleStatus.IDLE), true);
+    /**
+     * Parks the rule in the queues of the module types it is waiting for. If one of these module types has become
+     * available in the meantime, the rule is scheduled for initialization immediately.
+     *
+     * @param rUID the UID of the rule
+     * @param missingTypes the UIDs of the module types which are missing
+     */
+    private void parkRule(String rUID, Set<String> missingTypes) {
+        addParkedRule(rUID, missingTypes);
+        for (String moduleTypeId : missingTypes) {
+            if (isModuleTypeAvailable(moduleTypeId)) {
+                scheduleRuleInitialization(rUID);
+                return;
+            }
+        }
+    }
 
-            Future f = scheduleTasks.remove(rUID);
-            if (f != null) {
-                if (!f.isDone()) {
-                    f.cancel(true);
-                }
+    private synchronized void addParkedRule(String rUID, Collection<String> missingTypes) {
+        for (String moduleTypeId : missingTypes) {
+            Set<String> parkedRules = mapMissingModuleTypeToRules.get(moduleTypeId);
+            if (parkedRules == null) {
+                parkedRules = new HashSet<String>(11);
+                mapMissingModuleTypeToRules.put(moduleTypeId, parkedRules);
             }
+            parkedRules.add(rUID);
+        }
+    }
 
-            if (scheduleTasks.isEmpty()) {
-                if (executor != null) {
-                    executor.shutdown();
-                    executor = null;
+    /**
+     * Schedules the initialization of all rules parked in the queue of the given module type. The other rules using
+     * the module type are retried as well, if they are still not initialized (e.g. because their configuration could
+     * not be validated without the module type).
+     *
+     * @param moduleTypeId the UID of a module type which has become available
+     */
+    private void wakeUpParkedRules(String moduleTypeId) {
+        Set<String> rulesToInitialize = new HashSet<String>();
+        synchronized (this) {
+            Set<String> parkedRules = mapMissingModuleTypeToRules.remove(moduleTypeId);
+            if (parkedRules != null) {
+                rulesToInitialize.addAll(parkedRules);
+            }
+            Set<String> rulesPerModule = mapModuleTypeToRules.get(moduleTypeId);
+            if (rulesPerModule != null) {
+                for (String rUID : rulesPerModule) {
+                    if (getRuleStatus(rUID) == RuleStatus.UNINITIALIZED) {
+                        rulesToInitialize.add(rUID);
+                    }
                 }
             }
-
-        } else {
-            // change state to NOTINITIALIZED
-            setRuleStatusInfo(rUID,
-                    new RuleStatusInfo(RuleStatus.UNINITIALIZED, RuleStatusDetail.HANDLER_INITIALIZING_ERROR, errMsgs),
-                    true);
-            unregister(runtimeRule);
+        }
+        for (String rUID : rulesToInitialize) {
+            scheduleRuleInitialization(rUID);
         }
     }
 
@@ -547,6 +737,7 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
      * @param rule an initialized rule which has to starts tracking the triggers.
      */
     private void register(RuntimeRule rule) {
+        profiler.addRule(rule);
         RuleEngineCallback reCallback = getRuleEngineCallback(rule);
         for (Iterator<Trigger> it = rule.getTriggers().iterator(); it.hasNext();) {
             RuntimeTrigger t = (RuntimeTrigger) it.next();
@@ -627,6 +818,7 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
         RuntimeRule r = rules.remove(rUID);
         if (r != null) {
             removeRuleEntry(r);
+            profiler.removeRule(rUID);
             return true;
         }
         return false;
@@ -652,6 +844,14 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
                     }
                 }
             }
+            for (Iterator<Set<String>> it = mapMissingModuleTypeToRules.values().iterator(); it.hasNext();) {
+                Set<String> parkedRules = it.next();
+                parkedRules.remove(r.getUID());
+                if (parkedRules.isEmpty()) {
+                    it.remove();
+                }
+            }
+            pendingInitializations.remove(r.getUID());
 
             statusMap.remove(r.getUID());
         }
@@ -706,50 +906,44 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
     }
 
     private void addNewModuleTypes(ModuleHandlerFactory mhf, Collection<String> moduleTypes) {
-        Set<String> notInitailizedRules = null;
-        for (Iterator<String> it = moduleTypes.iterator(); it.hasNext();) {
-            String moduleTypeName = it.next();
-            Set<String> rules = null;
-            synchronized (this) {
+        synchronized (this) {
+            for (String moduleTypeName : moduleTypes) {
                 moduleHandlerFactories.put(moduleTypeName, mhf);
-                Set<String> rulesPerModule = mapModuleTypeToRules.get(moduleTypeName);
-                if (rulesPerModule != null) {
-                    rules = new HashSet<String>();
-                    rules.addAll(rulesPerModule);
-                }
-            }
-            if (rules != null) {
-                for (String rUID : rules) {
-                    RuleStatus ruleStatus = getRuleStatus(rUID);
-                    if (ruleStatus == RuleStatus.UNINITIALIZED) {
-                        notInitailizedRules = notInitailizedRules != null ? notInitailizedRules
-                                : new HashSet<String>(20);
-                        notInitailizedRules.add(rUID);
-                    }
-
-                }
             }
         }
-        if (notInitailizedRules != null) {
-            for (final String rUID : notInitailizedRules) {
-                scheduleRuleInitialization(rUID);
-            }
+        for (String moduleTypeName : moduleTypes) {
+            wakeUpParkedRules(moduleTypeName);
         }
     }
 
+    /**
+     * Schedules the initialization of the rule in the thread pool of the rule engine. The rules are initialized in
+     * parallel. A rule which is already waiting for its initialization is not scheduled twice.
+     *
+     * @param rUID the UID of the rule
+     */
     protected void scheduleRuleInitialization(final String rUID) {
-        Future f = scheduleTasks.get(rUID);
-        if (f == null) {
-            ScheduledExecutorService ex = getScheduledExecutor();
-            f = ex.schedule(new Runnable() {
-
-                @Override
-                public void run() {
-                    setRule(getRuntimeRule(rUID));
-                }
-            }, scheduleReinitializationDelay, TimeUnit.MILLISECONDS);
-            scheduleTasks.put(rUID, f);
+        synchronized (this) {
+            if (isDisposed || !pendingInitializations.add(rUID)) {
+                return;
+            }
         }
+        getScheduledExecutor().schedule(new Runnable() {
+
+            @Override
+            public void run() {
+                synchronized (RuleEngine.this) {
+                    if (isDisposed) {
+                        return;
+                    }
+                    pendingInitializations.remove(rUID);
+                }
+                RuntimeRule runtimeRule = getRuntimeRule(rUID);
+                if (runtimeRule != null) {
+                    reinitializeRule(runtimeRule);
+                }
+            }
+        }, scheduleReinitializationDelay, TimeUnit.MILLISECONDS);
     }
 
     private void removeMissingModuleTypes(Collection<String> moduleTypes) {
@@ -794,6 +988,7 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
                 setRuleStatusInfo(rUID, new RuleStatusInfo(RuleStatus.UNINITIALIZED,
                         RuleStatusDetail.HANDLER_MISSING_ERROR, sb.substring(0, sb.length() - 2)), true);
                 unregister(getRuntimeRule(rUID));
+                addParkedRule(rUID, missingTypes);
             }
         }
     }
@@ -806,11 +1001,16 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
      * @param td {@link TriggerData} object containing new values for {@link Trigger}'s {@link Output}s
      */
     protected void runRule(RuntimeRule rule, RuleEngineCallbackImpl.TriggerData td) {
+        long startTime = System.nanoTime();
         String rUID = rule.getUID();
         if (reCallbacks.get(rUID) == null) {
             // the rule was unregistered
             return;
         }
+        RuleProfile profile = profiler.getProfile(rUID);
+        if (profile != null) {
+            profile.queueWait.record(startTime - td.getTriggeredAt());
+        }
 
         synchronized (this) {
             final RuleStatus ruleStatus = getRuleStatus(rUID);
@@ -822,20 +1022,26 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
             setRuleStatusInfo(rUID, new RuleStatusInfo(RuleStatus.RUNNING), true);
         }
 
+        boolean failed = false;
         try {
             clearContext(rule);
 
             setTriggerOutputs(rUID, td);
-            boolean isSatisfied = calculateConditions(rule);
+            boolean isSatisfied = calculateConditions(rule, profile);
             if (isSatisfied) {
-                executeActions(rule, true);
+                executeActions(rule, true, profile);
                 logger.debug("The rule '{}' is executed.", rUID);
             } else {
+                if (profile != null) {
+                    profile.unsatisfied();
+                }
                 logger.debug("The rule '{}' is NOT executed, since it has unsatisfied conditions.", rUID);
             }
         } catch (Throwable t) {
+            failed = true;
             logger.error("Failed to execute rule '{}': {}", rUID, t.getMessage(), t);
         }
+        profiler.executed(profile, td.getTrigger().getId(), startTime, failed, getExecutionContext(rUID));
         // change state to IDLE only if the rule has not been DISABLED.
         synchronized (this) {
             if (getRuleStatus(rUID) == RuleStatus.RUNNING) {
@@ -861,13 +1067,18 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
             setRuleStatusInfo(ruleUID, new RuleStatusInfo(RuleStatus.RUNNING), true);
         }
 
+        long startTime = System.nanoTime();
+        RuleProfile profile = profiler.getProfile(ruleUID);
+        boolean failed = false;
         try {
             clearContext(rule);
-            executeActions(rule, false);
+            executeActions(rule, false, profile);
             logger.debug("The rule '{}' is executed.", ruleUID);
         } catch (Throwable t) {
+            failed = true;
             logger.error("Fail to execute rule '{}': {}", new Object[] { ruleUID, t.getMessage() }, t);
         }
+        profiler.executed(profile, null, startTime, failed, getExecutionContext(ruleUID));
         // change state to IDLE only if the rule has not been DISABLED.
         synchronized (this) {
             if (getRuleStatus(ruleUID) == RuleStatus.RUNNING) {
@@ -910,6 +1121,17 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
         }
     }
 
+    /**
+     * Gets the context of the last execution of a rule without creating it.
+     *
+     * @param ruleUID the UID of the rule
+     * @return the context or null, if the rule has not been executed or the rule engine is disposed
+     */
+    private Map<String, Object> getExecutionContext(String ruleUID) {
+        Map<String, Map<String, Object>> contextMap = this.contextMap;
+        return contextMap != null ? contextMap.get(ruleUID) : null;
+    }
+
     /**
      * @return copy of current context in rule engine
      */
@@ -950,13 +1172,25 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
      * This method checks if all rule's condition are satisfied or not.
      *
      * @param rule the checked rule
+     * @param profile the execution statistics of the rule or null, if they are not recorded
      * @return true when all conditions of the rule are satisfied, false otherwise.
      */
-    private boolean calculateConditions(Rule rule) {
+    private boolean calculateConditions(Rule rule, RuleProfile profile) {
         List<Condition> conditions = ((RuntimeRule) rule).getConditions();
         if (conditions.size() == 0) {
             return true;
         }
+        long startTime = System.nanoTime();
+        try {
+            return calculateConditions(rule, conditions, profile);
+        } finally {
+            if (profile != null) {
+                profile.conditions.record(System.nanoTime() - startTime);
+            }
+        }
+    }
+
+    private boolean calculateConditions(Rule rule, List<Condition> conditions, RuleProfile profile) {
         RuleStatus ruleStatus = null;
         for (Iterator<Condition> it = conditions.iterator(); it.hasNext();) {
             ruleStatus = getRuleStatus(rule.getUID());
@@ -966,7 +1200,19 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
             RuntimeCondition c = (RuntimeCondition) it.next();
             ConditionHandler tHandler = c.getModuleHandler();
             Map<String, Object> context = getContext(rule.getUID(), c.getConnections());
-            if (!tHandler.isSatisfied(Collections.unmodifiableMap(context))) {
+            ModuleProfile moduleProfile = profile != null ? profile.getModule(c.getId()) : null;
+            long startTime = System.nanoTime();
+            boolean isSatisfied = false;
+            boolean failed = true;
+            try {
+                isSatisfied = tHandler.isSatisfied(Collections.unmodifiableMap(context));
+                failed = false;
+            } finally {
+                if (moduleProfile != null) {
+                    moduleProfile.executed(startTime, failed);
+                }
+            }
+            if (!isSatisfied) {
                 logger.debug("The condition '{}' of rule '{}' is unsatisfied.",
                         new Object[] { c.getId(), rule.getUID() });
                 return false;
@@ -979,12 +1225,24 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
      * This method evaluates actions of the {@link Rule} and set their {@link Output}s when they exists.
      *
      * @param rule executed rule.
+     * @param profile the execution statistics of the rule or null, if they are not recorded
      */
-    private void executeActions(Rule rule, boolean stopOnFirstFail) {
+    private void executeActions(Rule rule, boolean stopOnFirstFail, RuleProfile profile) {
         List<Action> actions = ((RuntimeRule) rule).getActions();
         if (actions == null || actions.size() == 0) {
             return;
         }
+        long startTime = System.nanoTime();
+        try {
+            executeActions(rule, actions, stopOnFirstFail, profile);
+        } finally {
+            if (profile != null) {
+                profile.actions.record(System.nanoTime() - startTime);
+            }
+        }
+    }
+
+    private void executeActions(Rule rule, List<Action> actions, boolean stopOnFirstFail, RuleProfile profile) {
         RuleStatus ruleStatus = null;
         RuntimeAction action = null;
         for (Iterator<Action> it = actions.iterator(); it.hasNext();) {
@@ -996,14 +1254,22 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
             ActionHandler aHandler = action.getModuleHandler();
             String rUID = rule.getUID();
             Map<String, Object> context = getContext(rUID, action.getConnections());
+            ModuleProfile moduleProfile = profile != null ? profile.getModule(action.getId()) : null;
+            long startTime = System.nanoTime();
             try {
 
                 Map<String, ?> outputs = aHandler.execute(Collections.unmodifiableMap(context));
+                if (moduleProfile != null) {
+                    moduleProfile.executed(startTime, false);
+                }
                 if (outputs != null) {
                     context = getContext(rUID);
                     updateContext(rUID, action.getId(), outputs);
                 }
             } catch (Throwable t) {
+                if (moduleProfile != null) {
+                    moduleProfile.executed(startTime, true);
+                }
                 String errMessage = "Fail to execute action: " + action != null ? action.getId() : "<unknown>";
                 if (stopOnFirstFail) {
                     RuntimeException re = new RuntimeException(errMessage, t);
@@ -1033,16 +1299,10 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
             }
         }
 
-        for (Future f : scheduleTasks.values()) {
-            f.cancel(true);
-        }
-        if (scheduleTasks.isEmpty()) {
-            if (executor != null) {
-                executor.shutdown();
-                executor = null;
-            }
-        }
-        scheduleTasks = null;
+        // scheduled initializations are skipped once the rule engine is disposed
+        pendingInitializations.clear();
+        mapMissingModuleTypeToRules.clear();
+        profiler.clear();
 
         if (contextMap != null) {
             contextMap.clear();
@@ -1109,10 +1369,7 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
     }
 
     private ScheduledExecutorService getScheduledExecutor() {
-        if (executor == null || executor.isShutdown()) {
-            executor = Executors.newSingleThreadScheduledExecutor();
-        }
-        return executor;
+        return ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME);
     }
 
     protected void scheduleRulesConfigurationUpdated(Map<String, Object> config) {
@@ -1127,11 +1384,38 @@ public class RuleEngine implements RegistryChangeListener<ModuleType> {
             } else {
                 scheduleReinitializationDelay = DEFAULT_REINITIALIZATION_DELAY;
             }
+            Object threshold = config.get(CONFIG_PROPERTY_TRACE_THRESHOLD);
+            if (threshold instanceof Number) {
+                profiler.setTraceThreshold(((Number) threshold).longValue());
+            } else if (threshold != null) {
+                logger.error("Invalid configuration value: {}. It MUST be Number.", threshold);
+            } else {
+                profiler.setTraceThreshold(0);
+            }
+            Object sampling = config.get(CONFIG_PROPERTY_TRACE_SAMPLING);
+            if (sampling instanceof Number) {
+                profiler.setTraceSamplingInterval(((Number) sampling).intValue());
+            } else if (sampling != null) {
+                logger.error("Invalid configuration value: {}. It MUST be Number.", sampling);
+            } else {
+                profiler.setTraceSamplingInterval(1);
+            }
         } else {
             scheduleReinitializationDelay = DEFAULT_REINITIALIZATION_DELAY;
+            profiler.setTraceThreshold(0);
+            profiler.setTraceSamplingInterval(1);
         }
     }
 
+    /**
+     * Gets the profiler collecting the execution statistics of the rules.
+     *
+     * @return the profiler
+     */
+    protected RuleExecutionProfilerImpl getProfiler() {
+        return profiler;
+    }
+
     /**
      * The auto mapping tries to link not connected module inputs to output of other modules. The auto mapping will link
      * input to output only when following criteria are done: 1) input must not be connected. The auto mapping will not
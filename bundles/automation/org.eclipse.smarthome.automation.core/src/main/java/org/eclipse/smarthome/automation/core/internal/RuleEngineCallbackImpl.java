@@ -48,6 +48,7 @@ public class RuleEngineCallbackImpl implements RuleEngineCallback {
             }
             future = executor.submit(new TriggerData(trigger, outputs));
         }
+        re.getProfiler().triggered(r.getUID(), trigger.getId());
         re.logger.debug("The trigger '{}' of rule '{}' is triggered.", trigger.getId(), r.getUID());
     }
 
@@ -74,9 +75,19 @@ public class RuleEngineCallbackImpl implements RuleEngineCallback {
 
         private Map<String, ?> outputs;
 
+        private long triggeredAt;
+
         public TriggerData(Trigger t, Map<String, ?> outputs) {
             this.trigger = t;
             this.outputs = outputs;
+            this.triggeredAt = System.nanoTime();
+        }
+
+        /**
+         * @return the {@link System#nanoTime()} at which the trigger fired
+         */
+        public long getTriggeredAt() {
+            return triggeredAt;
         }
 
         @Override
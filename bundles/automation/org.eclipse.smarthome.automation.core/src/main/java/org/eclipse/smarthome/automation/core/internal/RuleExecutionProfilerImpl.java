@@ -0,0 +1,342 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.automation.core.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.automation.Module;
+import org.eclipse.smarthome.automation.ModuleExecutionStatistics;
+import org.eclipse.smarthome.automation.Rule;
+import org.eclipse.smarthome.automation.RuleExecutionProfiler;
+import org.eclipse.smarthome.automation.RuleExecutionStatistics;
+import org.eclipse.smarthome.automation.RuleExecutionTrace;
+
+/**
+ * The {@link RuleExecutionProfilerImpl} collects the execution statistics of the rules run by the {@link RuleEngine}.
+ * The counters and histograms of a rule are created when the rule is initialized, so recording an execution only
+ * looks them up and updates atomic values.
+ * <p>
+ * When a trace threshold is set, the context of executions which took longer than the threshold is copied into a
+ * trace. Only every n-th slow execution is traced, as configured by the sampling interval, and only the last
+ * {@link #MAX_TRACES} traces of every rule are kept.
+ *
+ * @author agent - Initial contribution
+ */
+public class RuleExecutionProfilerImpl implements RuleExecutionProfiler {
+
+    /**
+     * The maximum number of traces kept for every rule.
+     */
+    public static final int MAX_TRACES = 10;
+
+    private final Map<String, RuleProfile> profiles = new ConcurrentHashMap<String, RuleProfile>();
+
+    /**
+     * The minimum duration of a traced execution in nanoseconds, 0 disables the trace mode.
+     */
+    private volatile long traceThreshold;
+
+    private volatile int traceSamplingInterval = 1;
+
+    /**
+     * Sets the minimum duration of executions which are traced.
+     *
+     * @param millis the threshold in milliseconds, 0 disables the trace mode
+     */
+    void setTraceThreshold(long millis) {
+        traceThreshold = millis > 0 ? TimeUnit.MILLISECONDS.toNanos(millis) : 0;
+    }
+
+    /**
+     * Sets which of the slow executions are traced.
+     *
+     * @param interval 1 to trace every slow execution, n to trace every n-th one
+     */
+    void setTraceSamplingInterval(int interval) {
+        traceSamplingInterval = interval > 0 ? interval : 1;
+    }
+
+    /**
+     * Creates the counters of an initialized rule. The counters of a rule which has been initialized before are kept as
+     * long as its modules did not change.
+     *
+     * @param rule the initialized rule
+     */
+    void addRule(RuntimeRule rule) {
+        RuleProfile profile = profiles.get(rule.getUID());
+        if (profile == null || !profile.hasModules(rule)) {
+            profiles.put(rule.getUID(), new RuleProfile(rule));
+        }
+    }
+
+    /**
+     * Removes the counters of a rule.
+     *
+     * @param ruleUID the UID of the removed rule
+     */
+    void removeRule(String ruleUID) {
+        profiles.remove(ruleUID);
+    }
+
+    void clear() {
+        profiles.clear();
+    }
+
+    /**
+     * Gets the counters of a rule.
+     *
+     * @param ruleUID the UID of the rule
+     * @return the counters or null, if the rule has not been initialized
+     */
+    RuleProfile getProfile(String ruleUID) {
+        return profiles.get(ruleUID);
+    }
+
+    /**
+     * Counts a fired trigger.
+     *
+     * @param ruleUID the UID of the rule
+     * @param triggerId the id of the trigger
+     */
+    void triggered(String ruleUID, String triggerId) {
+        RuleProfile profile = profiles.get(ruleUID);
+        if (profile != null) {
+            profile.triggerCount.incrementAndGet();
+            ModuleProfile module = profile.getModule(triggerId);
+            if (module != null) {
+                module.count.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Records a finished execution and traces it, if it has been slow.
+     *
+     * @param profile the counters of the rule, may be null
+     * @param triggerId the id of the trigger which started the execution or null, if the rule has been run manually
+     * @param startTime the {@link System#nanoTime()} at the start of the execution
+     * @param failed true, if the execution failed
+     * @param context the context of the execution, it is only copied when the execution is traced
+     */
+    void executed(RuleProfile profile, String triggerId, long startTime, boolean failed, Map<String, Object> context) {
+        if (profile == null) {
+            return;
+        }
+        long duration = System.nanoTime() - startTime;
+        profile.executionCount.incrementAndGet();
+        profile.execution.record(duration);
+        if (failed) {
+            profile.failureCount.incrementAndGet();
+        }
+        long threshold = traceThreshold;
+        if (threshold > 0 && duration >= threshold
+                && profile.slowCount.getAndIncrement() % traceSamplingInterval == 0) {
+            profile.addTrace(new RuleExecutionTrace(profile.ruleUID, triggerId, System.currentTimeMillis(),
+                    TimeUnit.NANOSECONDS.toMicros(duration), failed,
+                    context != null ? new HashMap<String, Object>(context) : Collections.<String, Object> emptyMap()));
+        }
+    }
+
+    @Override
+    public RuleExecutionStatistics getStatistics(String ruleUID) {
+        RuleProfile profile = ruleUID != null ? profiles.get(ruleUID) : null;
+        return profile != null ? profile.getStatistics() : null;
+    }
+
+    @Override
+    public Collection<RuleExecutionStatistics> getAllStatistics() {
+        Collection<RuleExecutionStatistics> statistics = new ArrayList<RuleExecutionStatistics>(profiles.size());
+        for (RuleProfile profile : profiles.values()) {
+            statistics.add(profile.getStatistics());
+        }
+        return statistics;
+    }
+
+    @Override
+    public List<RuleExecutionTrace> getTraces(String ruleUID) {
+        RuleProfile profile = ruleUID != null ? profiles.get(ruleUID) : null;
+        if (profile == null) {
+            return Collections.emptyList();
+        }
+        synchronized (profile.traces) {
+            return new ArrayList<RuleExecutionTrace>(profile.traces);
+        }
+    }
+
+    @Override
+    public void reset(String ruleUID) {
+        RuleProfile profile = ruleUID != null ? profiles.get(ruleUID) : null;
+        if (profile != null) {
+            profile.reset();
+        }
+    }
+
+    /**
+     * The counters of a rule.
+     */
+    static class RuleProfile {
+
+        private final String ruleUID;
+
+        private final AtomicLong triggerCount = new AtomicLong();
+        private final AtomicLong executionCount = new AtomicLong();
+        private final AtomicLong unsatisfiedCount = new AtomicLong();
+        private final AtomicLong failureCount = new AtomicLong();
+        private final AtomicLong slowCount = new AtomicLong();
+
+        final LatencyHistogram queueWait = new LatencyHistogram();
+        final LatencyHistogram conditions = new LatencyHistogram();
+        final LatencyHistogram actions = new LatencyHistogram();
+        private final LatencyHistogram execution = new LatencyHistogram();
+
+        /**
+         * module id -> counters, it is not modified after the construction
+         */
+        private final Map<String, ModuleProfile> modules = new LinkedHashMap<String, ModuleProfile>();
+
+        private final Deque<RuleExecutionTrace> traces = new ArrayDeque<RuleExecutionTrace>(MAX_TRACES);
+
+        RuleProfile(RuntimeRule rule) {
+            this.ruleUID = rule.getUID();
+            addModules(rule.getTriggers());
+            addModules(rule.getConditions());
+            addModules(rule.getActions());
+        }
+
+        private void addModules(List<? extends Module> modules) {
+            if (modules != null) {
+                for (Module module : modules) {
+                    this.modules.put(module.getId(), new ModuleProfile(module.getId(), module.getTypeUID()));
+                }
+            }
+        }
+
+        private boolean hasModules(Rule rule) {
+            return containsModules(rule.getTriggers()) && containsModules(rule.getConditions())
+                    && containsModules(rule.getActions()) && modules.size() == size(rule.getTriggers())
+                            + size(rule.getConditions()) + size(rule.getActions());
+        }
+
+        private boolean containsModules(List<? extends Module> modules) {
+            if (modules != null) {
+                for (Module module : modules) {
+                    ModuleProfile profile = this.modules.get(module.getId());
+                    if (profile == null || !profile.typeUID.equals(module.getTypeUID())) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private static int size(List<? extends Module> modules) {
+            return modules != null ? modules.size() : 0;
+        }
+
+        ModuleProfile getModule(String moduleId) {
+            return moduleId != null ? modules.get(moduleId) : null;
+        }
+
+        void unsatisfied() {
+            unsatisfiedCount.incrementAndGet();
+        }
+
+        private void addTrace(RuleExecutionTrace trace) {
+            synchronized (traces) {
+                if (traces.size() >= MAX_TRACES) {
+                    traces.removeFirst();
+                }
+                traces.addLast(trace);
+            }
+        }
+
+        private void reset() {
+            triggerCount.set(0);
+            executionCount.set(0);
+            unsatisfiedCount.set(0);
+            failureCount.set(0);
+            slowCount.set(0);
+            queueWait.reset();
+            conditions.reset();
+            actions.reset();
+            execution.reset();
+            for (ModuleProfile module : modules.values()) {
+                module.reset();
+            }
+            synchronized (traces) {
+                traces.clear();
+            }
+        }
+
+        private RuleExecutionStatistics getStatistics() {
+            List<ModuleExecutionStatistics> moduleStatistics = new ArrayList<ModuleExecutionStatistics>(
+                    modules.size());
+            for (ModuleProfile module : modules.values()) {
+                moduleStatistics.add(module.getStatistics());
+            }
+            return new RuleExecutionStatistics(ruleUID, triggerCount.get(), executionCount.get(),
+                    unsatisfiedCount.get(), failureCount.get(), queueWait.getStatistics(), conditions.getStatistics(),
+                    actions.getStatistics(), execution.getStatistics(), moduleStatistics);
+        }
+    }
+
+    /**
+     * The counters of a module of a rule.
+     */
+    static class ModuleProfile {
+
+        private final String moduleId;
+        private final String typeUID;
+
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong failureCount = new AtomicLong();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        ModuleProfile(String moduleId, String typeUID) {
+            this.moduleId = moduleId;
+            this.typeUID = typeUID;
+        }
+
+        /**
+         * Records a call of the handler of a condition or action.
+         *
+         * @param startTime the {@link System#nanoTime()} before the handler has been called
+         * @param failed true, if the handler threw an exception
+         */
+        void executed(long startTime, boolean failed) {
+            count.incrementAndGet();
+            latency.record(System.nanoTime() - startTime);
+            if (failed) {
+                failureCount.incrementAndGet();
+            }
+        }
+
+        private void reset() {
+            count.set(0);
+            failureCount.set(0);
+            latency.reset();
+        }
+
+        private ModuleExecutionStatistics getStatistics() {
+            return new ModuleExecutionStatistics(moduleId, typeUID, count.get(), failureCount.get(),
+                    latency.getStatistics());
+        }
+    }
+
+}
@@ -7,16 +7,18 @@
  */
 package org.eclipse.smarthome.automation.core.internal;
 
-import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.smarthome.automation.Rule;
+import org.eclipse.smarthome.automation.RuleExecutionProfiler;
 import org.eclipse.smarthome.automation.RuleProvider;
 import org.eclipse.smarthome.automation.RuleRegistry;
 import org.eclipse.smarthome.automation.RuleStatus;
@@ -35,6 +37,7 @@ import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
 import org.eclipse.smarthome.core.storage.Storage;
 import org.eclipse.smarthome.core.storage.StorageService;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -92,12 +95,32 @@ public class RuleRegistryImpl extends AbstractRegistry<Rule, String, RuleProvide
     private Storage<Boolean> disabledRulesStorage;
     private ModuleTypeRegistry moduleTypeRegistry;
     private RuleTemplateRegistry templateRegistry;
+    private ServiceRegistration<?> profilerRegistration;
 
     /**
      * {@link Map} of template UIDs to rules where these templates participated.
      */
     private Map<String, Set<String>> mapTemplateToRules = new HashMap<String, Set<String>>();
 
+    /**
+     * {@link Map} of rule UIDs to the rules of all providers. Used for fast lookups by UID.
+     */
+    private final Map<String, Rule> mapUIDToRule = new ConcurrentHashMap<String, Rule>();
+
+    /**
+     * {@link Map} of tags to the UIDs of the rules marked with them (posting lists). Modified only while holding
+     * {@link #indexLock}, read without locking.
+     */
+    private final Map<String, Set<String>> mapTagToRules = new ConcurrentHashMap<String, Set<String>>();
+
+    /**
+     * {@link Map} of rule UIDs to the tags under which they are indexed in {@link #mapTagToRules}. The tags of a rule
+     * are mutable, so this snapshot is needed to clean up the posting lists correctly.
+     */
+    private final Map<String, Set<String>> mapRuleToTags = new HashMap<String, Set<String>>();
+
+    private final Object indexLock = new Object();
+
     public RuleRegistryImpl() {
         super(RuleProvider.class);
     }
@@ -114,6 +137,8 @@ public class RuleRegistryImpl extends AbstractRegistry<Rule, String, RuleProvide
         ruleEngine.setStatusInfoCallback(this);
         modified(properties);
         super.activate(bundleContext);
+        profilerRegistration = bundleContext.registerService(RuleExecutionProfiler.class.getName(),
+                ruleEngine.getProfiler(), null);
     }
 
     protected void modified(Map<String, Object> config) {
@@ -125,6 +150,10 @@ public class RuleRegistryImpl extends AbstractRegistry<Rule, String, RuleProvide
      */
     @Override
     protected void deactivate() {
+        if (profilerRegistration != null) {
+            profilerRegistration.unregister();
+            profilerRegistration = null;
+        }
         super.deactivate();
         ruleEngine.dispose();
     }
@@ -275,6 +304,7 @@ public class RuleRegistryImpl extends AbstractRegistry<Rule, String, RuleProvide
      */
     @Override
     protected void notifyListenersAboutAddedElement(Rule rule) {
+        addToIndex(rule);
         super.notifyListenersAboutAddedElement(rule);
         postRuleAddedEvent(rule);
         String uid = rule.getUID();
@@ -341,6 +371,7 @@ public class RuleRegistryImpl extends AbstractRegistry<Rule, String, RuleProvide
      */
     @Override
     protected void notifyListenersAboutUpdatedElement(Rule oldElement, Rule element) {
+        addToIndex(element);
         super.notifyListenersAboutUpdatedElement(oldElement, element);
         postRuleUpdatedEvent(element, oldElement);
         String uid = element.getUID();
@@ -358,37 +389,85 @@ public class RuleRegistryImpl extends AbstractRegistry<Rule, String, RuleProvide
 
     @Override
     protected void notifyListenersAboutRemovedElement(Rule element) {
+        removeFromIndex(element);
         super.notifyListenersAboutRemovedElement(element);
         postRuleRemovedEvent(element);
     }
 
-    @Override
-    public Rule get(String key) {
-        for (Collection<Rule> rules : elementMap.values()) {
-            for (Rule rule : rules) {
-                if (rule.getUID().equals(key)) {
-                    return RuleUtils.getRuleCopy(rule);
+    /**
+     * Adds the rule to the UID and tag indexes, replacing the entries of a previous version of the rule.
+     *
+     * @param rule the rule which was added to the registry.
+     */
+    private void addToIndex(Rule rule) {
+        String uid = rule.getUID();
+        Set<String> tags = rule.getTags();
+        Set<String> indexedTags = tags != null ? new HashSet<String>(tags) : Collections.<String> emptySet();
+        synchronized (indexLock) {
+            mapUIDToRule.put(uid, rule);
+            Set<String> oldTags = mapRuleToTags.put(uid, indexedTags);
+            if (oldTags != null) {
+                removeFromPostingLists(uid, oldTags);
+            }
+            for (String tag : indexedTags) {
+                Set<String> ruleUIDs = mapTagToRules.get(tag);
+                if (ruleUIDs == null) {
+                    ruleUIDs = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+                    mapTagToRules.put(tag, ruleUIDs);
+                }
+                ruleUIDs.add(uid);
+            }
+        }
+    }
+
+    /**
+     * Removes the rule from the UID and tag indexes.
+     *
+     * @param rule the rule which was removed from the registry.
+     */
+    private void removeFromIndex(Rule rule) {
+        String uid = rule.getUID();
+        synchronized (indexLock) {
+            mapUIDToRule.remove(uid);
+            Set<String> tags = mapRuleToTags.remove(uid);
+            if (tags != null) {
+                removeFromPostingLists(uid, tags);
+            }
+        }
+    }
+
+    private void removeFromPostingLists(String uid, Set<String> tags) {
+        for (String tag : tags) {
+            Set<String> ruleUIDs = mapTagToRules.get(tag);
+            if (ruleUIDs != null) {
+                ruleUIDs.remove(uid);
+                if (ruleUIDs.isEmpty()) {
+                    mapTagToRules.remove(tag);
                 }
             }
         }
-        return null;
+    }
+
+    @Override
+    public Rule get(String key) {
+        if (key == null) {
+            return null;
+        }
+        Rule rule = mapUIDToRule.get(key);
+        return rule != null ? RuleUtils.getRuleCopy(rule) : null;
     }
 
     @Override
     public Collection<Rule> getByTag(String tag) {
+        if (tag == null) {
+            return getAllCopies();
+        }
         Collection<Rule> result = new LinkedList<Rule>();
-        if (tag != null) {
-            for (Collection<Rule> rules : elementMap.values()) {
-                for (Rule rule : rules) {
-                    Set<String> tags = rule.getTags();
-                    if (tags != null && tags.contains(tag)) {
-                        result.add(RuleUtils.getRuleCopy(rule));
-                    }
-                }
-            }
-        } else {
-            for (Collection<Rule> rules : elementMap.values()) {
-                for (Rule rule : rules) {
+        Set<String> ruleUIDs = mapTagToRules.get(tag);
+        if (ruleUIDs != null) {
+            for (String uid : ruleUIDs) {
+                Rule rule = mapUIDToRule.get(uid);
+                if (rule != null) {
                     result.add(RuleUtils.getRuleCopy(rule));
                 }
             }
@@ -398,20 +477,23 @@ public class RuleRegistryImpl extends AbstractRegistry<Rule, String, RuleProvide
 
     @Override
     public Collection<Rule> getByTags(String... tags) {
-        Set<String> tagSet = tags != null ? new HashSet<String>(Arrays.asList(tags)) : null;
+        if (tags == null || tags.length == 0) {
+            return getAllCopies();
+        }
         Collection<Rule> result = new LinkedList<Rule>();
-        if (tagSet != null) {
-            for (Collection<Rule> rules : elementMap.values()) {
-                for (Rule rule : rules) {
-                    Set<String> rTags = rule.getTags();
-                    if (rTags != null && rTags.containsAll(tagSet)) {
-                        result.add(RuleUtils.getRuleCopy(rule));
-                    }
-                }
+        // intersect the posting lists starting with the shortest one
+        Set<String>[] postingLists = getPostingLists(tags);
+        if (postingLists == null) {
+            return result;
+        }
+        for (String uid : postingLists[0]) {
+            boolean matches = true;
+            for (int i = 1; i < postingLists.length && matches; i++) {
+                matches = postingLists[i].contains(uid);
             }
-        } else {
-            for (Collection<Rule> rules : elementMap.values()) {
-                for (Rule rule : rules) {
+            if (matches) {
+                Rule rule = mapUIDToRule.get(uid);
+                if (rule != null) {
                     result.add(RuleUtils.getRuleCopy(rule));
                 }
             }
@@ -419,6 +501,42 @@ public class RuleRegistryImpl extends AbstractRegistry<Rule, String, RuleProvide
         return result;
     }
 
+    /**
+     * Collects the posting lists of the given tags with the shortest one first.
+     *
+     * @param tags the tags to look up.
+     * @return the posting lists or <code>null</code> if one of the tags is not used by any rule.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<String>[] getPostingLists(String... tags) {
+        Set<String>[] postingLists = new Set[tags.length];
+        int shortest = 0;
+        for (int i = 0; i < tags.length; i++) {
+            Set<String> ruleUIDs = tags[i] != null ? mapTagToRules.get(tags[i]) : null;
+            if (ruleUIDs == null || ruleUIDs.isEmpty()) {
+                return null;
+            }
+            postingLists[i] = ruleUIDs;
+            if (ruleUIDs.size() < postingLists[shortest].size()) {
+                shortest = i;
+            }
+        }
+        Set<String> first = postingLists[0];
+        postingLists[0] = postingLists[shortest];
+        postingLists[shortest] = first;
+        return postingLists;
+    }
+
+    private Collection<Rule> getAllCopies() {
+        Collection<Rule> result = new LinkedList<Rule>();
+        for (Collection<Rule> rules : elementMap.values()) {
+            for (Rule rule : rules) {
+                result.add(RuleUtils.getRuleCopy(rule));
+            }
+        }
+        return result;
+    }
+
     @Override
     public synchronized void setEnabled(String uid, boolean isEnabled) {
         if (disabledRulesStorage == null) {
@@ -498,7 +616,13 @@ public class RuleRegistryImpl extends AbstractRegistry<Rule, String, RuleProvide
 
     @Override
     protected void addProvider(Provider<Rule> provider) {
-        super.addProvider(provider);
+        // the rules of the provider are initialized in parallel, when all of them are added
+        ruleEngine.deferRuleInitializations();
+        try {
+            super.addProvider(provider);
+        } finally {
+            ruleEngine.initializeDeferredRules();
+        }
         Collection<Rule> rules = new LinkedList<Rule>(elementMap.get(provider));
         for (Rule rule : rules) {
             updateRuleByTemplate(provider, rule);
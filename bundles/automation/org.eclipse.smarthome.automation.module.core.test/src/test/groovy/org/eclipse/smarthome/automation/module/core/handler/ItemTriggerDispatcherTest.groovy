@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.automation.module.core.handler
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.smarthome.automation.Trigger
+import org.eclipse.smarthome.automation.handler.RuleEngineCallback
+import org.eclipse.smarthome.automation.module.core.handler.ItemTriggerDispatcher.ItemEventTrigger
+import org.eclipse.smarthome.config.core.Configuration
+import org.eclipse.smarthome.core.items.events.ItemCommandEvent
+import org.eclipse.smarthome.core.items.events.ItemEventFactory
+import org.eclipse.smarthome.core.items.events.ItemStateChangedEvent
+import org.eclipse.smarthome.core.items.events.ItemStateEvent
+import org.eclipse.smarthome.core.library.types.DecimalType
+import org.eclipse.smarthome.core.library.types.OnOffType
+import org.eclipse.smarthome.core.library.types.StringType
+import org.eclipse.smarthome.core.types.UnDefType
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Tests the {@link ItemTriggerDispatcher} and the item trigger handlers, which receive their events through it.
+ *
+ * @author agent - Initial contribution
+ */
+class ItemTriggerDispatcherTest {
+
+    ItemTriggerDispatcher dispatcher
+    List<Map<String, ?>> contexts
+
+    @Before
+    void setUp() {
+        dispatcher = new ItemTriggerDispatcher()
+        contexts = []
+    }
+
+    @Test
+    void 'assert that events are only dispatched to the triggers of their item and type'() {
+        def switchStateEvents = []
+        def switchCommandEvents = []
+        def otherEvents = []
+        dispatcher.addTrigger("Switch", ItemStateEvent.TYPE, { switchStateEvents << it } as ItemEventTrigger)
+        dispatcher.addTrigger("Switch", ItemCommandEvent.TYPE, { switchCommandEvents << it } as ItemEventTrigger)
+        dispatcher.addTrigger("Other", ItemStateEvent.TYPE, { otherEvents << it } as ItemEventTrigger)
+
+        def stateEvent = ItemEventFactory.createStateEvent("Switch", OnOffType.ON)
+        def commandEvent = ItemEventFactory.createCommandEvent("Switch", OnOffType.OFF)
+        dispatcher.receive(stateEvent)
+        dispatcher.receive(commandEvent)
+        dispatcher.receive(ItemEventFactory.createStateChangedEvent("Switch", OnOffType.ON, OnOffType.OFF))
+
+        assertThat switchStateEvents, is([stateEvent])
+        assertThat switchCommandEvents, is([commandEvent])
+        assertThat otherEvents.isEmpty(), is(true)
+    }
+
+    @Test
+    void 'assert that removed triggers do not receive events anymore'() {
+        def events = []
+        def trigger = { events << it } as ItemEventTrigger
+        dispatcher.addTrigger("Switch", ItemStateEvent.TYPE, trigger)
+        dispatcher.receive(ItemEventFactory.createStateEvent("Switch", OnOffType.ON))
+
+        dispatcher.removeTrigger("Switch", ItemStateEvent.TYPE, trigger)
+        dispatcher.receive(ItemEventFactory.createStateEvent("Switch", OnOffType.OFF))
+
+        assertThat events.size(), is(1)
+    }
+
+    @Test
+    void 'assert that a failing trigger does not prevent the other triggers from receiving the event'() {
+        def events = []
+        dispatcher.addTrigger("Switch", ItemStateEvent.TYPE, { throw new IllegalStateException() } as ItemEventTrigger)
+        dispatcher.addTrigger("Switch", ItemStateEvent.TYPE, { events << it } as ItemEventTrigger)
+
+        dispatcher.receive(ItemEventFactory.createStateEvent("Switch", OnOffType.ON))
+
+        assertThat events.size(), is(1)
+    }
+
+    @Test
+    void 'assert that an update trigger matches the configured state'() {
+        createStateTrigger(ItemStateTriggerHandler.UPDATE_MODULE_TYPE_ID, [state: "ON"])
+
+        dispatcher.receive(ItemEventFactory.createStateEvent("Switch", OnOffType.OFF))
+        assertThat contexts.isEmpty(), is(true)
+
+        dispatcher.receive(ItemEventFactory.createStateEvent("Switch", OnOffType.ON))
+        assertThat contexts.size(), is(1)
+        assertThat contexts[0].state, is(OnOffType.ON)
+    }
+
+    @Test
+    void 'assert that an update trigger without a configured state matches every state'() {
+        createStateTrigger(ItemStateTriggerHandler.UPDATE_MODULE_TYPE_ID, [:])
+
+        dispatcher.receive(ItemEventFactory.createStateEvent("Switch", OnOffType.OFF))
+        dispatcher.receive(ItemEventFactory.createStateEvent("Switch", UnDefType.UNDEF))
+
+        assertThat contexts.size(), is(2)
+    }
+
+    @Test
+    void 'assert that a configured state is compared with states of different types'() {
+        createStateTrigger(ItemStateTriggerHandler.UPDATE_MODULE_TYPE_ID, [state: "5"])
+
+        dispatcher.receive(ItemEventFactory.createStateEvent("Switch", new DecimalType(5)))
+        dispatcher.receive(ItemEventFactory.createStateEvent("Switch", new StringType("5")))
+        dispatcher.receive(ItemEventFactory.createStateEvent("Switch", new DecimalType(6)))
+        dispatcher.receive(ItemEventFactory.createStateEvent("Switch", OnOffType.ON))
+
+        assertThat contexts.collect { it.state }, is([new DecimalType(5), new StringType("5")])
+    }
+
+    @Test
+    void 'assert that a change trigger matches the configured state and previous state'() {
+        createStateTrigger(ItemStateTriggerHandler.CHANGE_MODULE_TYPE_ID, [state: "ON", previousState: "OFF"])
+
+        dispatcher.receive(ItemEventFactory.createStateChangedEvent("Switch", OnOffType.ON, UnDefType.NULL))
+        dispatcher.receive(ItemEventFactory.createStateChangedEvent("Switch", OnOffType.OFF, OnOffType.ON))
+        dispatcher.receive(ItemEventFactory.createStateChangedEvent("Switch", OnOffType.ON, OnOffType.OFF))
+
+        assertThat contexts.size(), is(1)
+        assertThat contexts[0].newState, is(OnOffType.ON)
+        assertThat contexts[0].oldState, is(OnOffType.OFF)
+        assertThat contexts[0].event, is(instanceOf(ItemStateChangedEvent))
+    }
+
+    @Test
+    void 'assert that a change trigger without configured states matches every change'() {
+        createStateTrigger(ItemStateTriggerHandler.CHANGE_MODULE_TYPE_ID, [state: " "])
+
+        dispatcher.receive(ItemEventFactory.createStateChangedEvent("Switch", OnOffType.ON, UnDefType.NULL))
+        dispatcher.receive(ItemEventFactory.createStateChangedEvent("Switch", OnOffType.OFF, OnOffType.ON))
+
+        assertThat contexts.size(), is(2)
+    }
+
+    @Test
+    void 'assert that a command trigger matches the configured command'() {
+        createCommandTrigger([command: "OFF"])
+
+        dispatcher.receive(ItemEventFactory.createCommandEvent("Switch", OnOffType.ON))
+        dispatcher.receive(ItemEventFactory.createCommandEvent("Switch", OnOffType.OFF))
+
+        assertThat contexts.size(), is(1)
+        assertThat contexts[0].command, is(OnOffType.OFF)
+    }
+
+    @Test
+    void 'assert that a command trigger without a configured command matches every command'() {
+        createCommandTrigger([:])
+
+        dispatcher.receive(ItemEventFactory.createCommandEvent("Switch", OnOffType.ON))
+        dispatcher.receive(ItemEventFactory.createCommandEvent("Switch", OnOffType.OFF))
+
+        assertThat contexts.size(), is(2)
+    }
+
+    @Test
+    void 'assert that a disposed handler is not triggered anymore'() {
+        def handler = createCommandTrigger([:])
+
+        handler.dispose()
+        dispatcher.receive(ItemEventFactory.createCommandEvent("Switch", OnOffType.ON))
+
+        assertThat contexts.isEmpty(), is(true)
+    }
+
+    private ItemStateTriggerHandler createStateTrigger(String typeUID, Map<String, Object> configuration) {
+        def trigger = new Trigger("trigger", typeUID, new Configuration([itemName: "Switch"] + configuration))
+        def handler = new ItemStateTriggerHandler(trigger, dispatcher, null)
+        handler.setRuleEngineCallback(createCallback())
+        return handler
+    }
+
+    private ItemCommandTriggerHandler createCommandTrigger(Map<String, Object> configuration) {
+        def trigger = new Trigger("trigger", ItemCommandTriggerHandler.MODULE_TYPE_ID,
+                new Configuration([itemName: "Switch"] + configuration))
+        def handler = new ItemCommandTriggerHandler(trigger, dispatcher, null)
+        handler.setRuleEngineCallback(createCallback())
+        return handler
+    }
+
+    private RuleEngineCallback createCallback() {
+        return [triggered: { Trigger trigger, Map<String, ?> context -> contexts << context }] as RuleEngineCallback
+    }
+}
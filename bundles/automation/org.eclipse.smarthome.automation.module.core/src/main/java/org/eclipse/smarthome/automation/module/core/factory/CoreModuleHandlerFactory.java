@@ -24,9 +24,12 @@ import org.eclipse.smarthome.automation.module.core.handler.ItemCommandActionHan
 import org.eclipse.smarthome.automation.module.core.handler.ItemCommandTriggerHandler;
 import org.eclipse.smarthome.automation.module.core.handler.ItemStateConditionHandler;
 import org.eclipse.smarthome.automation.module.core.handler.ItemStateTriggerHandler;
+import org.eclipse.smarthome.automation.module.core.handler.ItemTriggerDispatcher;
 import org.eclipse.smarthome.automation.module.core.handler.RuleEnableHandler;
 import org.eclipse.smarthome.core.events.EventPublisher;
+import org.eclipse.smarthome.core.events.EventSubscriber;
 import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.osgi.framework.ServiceRegistration;
 import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,12 +57,21 @@ public class CoreModuleHandlerFactory extends BaseModuleHandlerFactory {
     private EventPublisher eventPublisher;
     private RuleRegistry ruleRegistry;
 
+    private final ItemTriggerDispatcher itemTriggerDispatcher = new ItemTriggerDispatcher();
+    private ServiceRegistration<?> itemTriggerDispatcherRegistration;
+
     protected void activate(ComponentContext componentContext) {
         super.activate(componentContext.getBundleContext());
+        itemTriggerDispatcherRegistration = bundleContext.registerService(EventSubscriber.class.getName(),
+                itemTriggerDispatcher, null);
     }
 
     protected void deactivate(ComponentContext componentContext) {
         super.deactivate();
+        if (itemTriggerDispatcherRegistration != null) {
+            itemTriggerDispatcherRegistration.unregister();
+            itemTriggerDispatcherRegistration = null;
+        }
     }
 
     protected void setRuleRegistry(RuleRegistry ruleRegistry) {
@@ -156,10 +168,10 @@ public class CoreModuleHandlerFactory extends BaseModuleHandlerFactory {
             if (GenericEventTriggerHandler.MODULE_TYPE_ID.equals(moduleTypeUID)) {
                 return new GenericEventTriggerHandler((Trigger) module, this.bundleContext);
             } else if (ItemCommandTriggerHandler.MODULE_TYPE_ID.equals(moduleTypeUID)) {
-                return new ItemCommandTriggerHandler((Trigger) module, this.bundleContext);
+                return new ItemCommandTriggerHandler((Trigger) module, itemTriggerDispatcher, itemRegistry);
             } else if (ItemStateTriggerHandler.CHANGE_MODULE_TYPE_ID.equals(moduleTypeUID)
                     || ItemStateTriggerHandler.UPDATE_MODULE_TYPE_ID.equals(moduleTypeUID)) {
-                return new ItemStateTriggerHandler((Trigger) module, this.bundleContext);
+                return new ItemStateTriggerHandler((Trigger) module, itemTriggerDispatcher, itemRegistry);
             }
         } else if (module instanceof Condition) {
             // Handle conditions
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.automation.module.core.handler;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.library.types.DateTimeType;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.IncreaseDecreaseType;
+import org.eclipse.smarthome.core.library.types.NextPreviousType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.PlayPauseType;
+import org.eclipse.smarthome.core.library.types.PointType;
+import org.eclipse.smarthome.core.library.types.RewindFastforwardType;
+import org.eclipse.smarthome.core.library.types.StopMoveType;
+import org.eclipse.smarthome.core.library.types.StringListType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.RefreshType;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.Type;
+import org.eclipse.smarthome.core.types.TypeParser;
+import org.eclipse.smarthome.core.types.UnDefType;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Matches states and commands against a state or command configured as a string in a trigger. The configured value is
+ * parsed by the {@link TypeParser} into every core type when the trigger is created, so that matching an event is an
+ * equals check on an already parsed value. Events of other types are compared with their full string representation.
+ *
+ * @author agent - Initial contribution
+ */
+class ConfiguredTypeMatcher {
+
+    private static final List<Class<? extends State>> STATE_TYPES = ImmutableList.of(UnDefType.class,
+            OnOffType.class, OpenClosedType.class, UpDownType.class, PlayPauseType.class, RewindFastforwardType.class,
+            DecimalType.class, PercentType.class, HSBType.class, DateTimeType.class, PointType.class,
+            StringListType.class, StringType.class);
+
+    private static final List<Class<? extends Command>> COMMAND_TYPES = ImmutableList.of(RefreshType.class,
+            IncreaseDecreaseType.class, StopMoveType.class, NextPreviousType.class);
+
+    private final String value;
+
+    /* the parsed value for each type class, which accepts the configured value */
+    private final Map<Class<?>, Type> parsedValues = new HashMap<>();
+
+    private ConfiguredTypeMatcher(String value) {
+        this.value = value;
+        for (Class<? extends State> type : STATE_TYPES) {
+            addParsedValue(type,
+                    TypeParser.parseState(Collections.<Class<? extends State>> singletonList(type), value));
+        }
+        for (Class<? extends Command> type : COMMAND_TYPES) {
+            addParsedValue(type,
+                    TypeParser.parseCommand(Collections.<Class<? extends Command>> singletonList(type), value));
+        }
+    }
+
+    private void addParsedValue(Class<?> type, Type parsedValue) {
+        // the valueOf method of a super class might have been used, which returns an instance of another type
+        if (parsedValue != null && parsedValue.getClass() == type) {
+            parsedValues.put(type, parsedValue);
+        }
+    }
+
+    /**
+     * Creates a matcher for the given configuration value.
+     *
+     * @param value the configured state or command, may be null
+     * @return the matcher or null, if the value is null or empty and thus matches everything
+     */
+    static ConfiguredTypeMatcher create(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return new ConfiguredTypeMatcher(value.trim());
+    }
+
+    /**
+     * Checks whether the given matcher accepts the given state or command.
+     *
+     * @param matcher the matcher, null matches everything
+     * @param type the state or command of the event
+     * @return true, if the type matches the configured value
+     */
+    static boolean matches(ConfiguredTypeMatcher matcher, Type type) {
+        return matcher == null || matcher.matches(type);
+    }
+
+    boolean matches(Type type) {
+        if (type == null) {
+            return false;
+        }
+        Type parsedValue = parsedValues.get(type.getClass());
+        if (parsedValue != null) {
+            return parsedValue.equals(type);
+        }
+        return value.equals(type.toFullString());
+    }
+
+    /**
+     * Checks whether the configured value is a valid state of the given item.
+     *
+     * @param item the item
+     * @return true, if one of the accepted data types of the item can parse the value
+     */
+    boolean isValidStateOf(Item item) {
+        return TypeParser.parseState(item.getAcceptedDataTypes(), value) != null;
+    }
+
+    /**
+     * Checks whether the configured value is a valid command of the given item.
+     *
+     * @param item the item
+     * @return true, if one of the accepted command types of the item can parse the value
+     */
+    boolean isValidCommandOf(Item item) {
+        return TypeParser.parseCommand(item.getAcceptedCommandTypes(), value) != null;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+}
@@ -7,17 +7,16 @@
  */
 package org.eclipse.smarthome.automation.module.core.handler;
 
-import java.util.Collections;
-import java.util.Dictionary;
-import java.util.Hashtable;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 
 import org.eclipse.smarthome.automation.Trigger;
 import org.eclipse.smarthome.automation.handler.BaseTriggerModuleHandler;
+import org.eclipse.smarthome.automation.module.core.handler.ItemTriggerDispatcher.ItemEventTrigger;
 import org.eclipse.smarthome.core.events.Event;
-import org.eclipse.smarthome.core.events.EventFilter;
 import org.eclipse.smarthome.core.events.EventSubscriber;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.events.ItemCommandEvent;
 import org.eclipse.smarthome.core.types.Command;
 import org.osgi.framework.BundleContext;
@@ -25,56 +24,70 @@ import org.osgi.framework.ServiceRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.Maps;
-
 /**
  * This is an ModuleHandler implementation for Triggers which trigger the rule
  * if an item receives a command. The eventType and command value can be set with the
- * configuration.
+ * configuration. The events are received through the {@link ItemTriggerDispatcher}.
  *
  * @author Kai Kreuzer - Initial contribution and API
  *
  */
-public class ItemCommandTriggerHandler extends BaseTriggerModuleHandler implements EventSubscriber, EventFilter {
+public class ItemCommandTriggerHandler extends BaseTriggerModuleHandler implements ItemEventTrigger {
 
     private final Logger logger = LoggerFactory.getLogger(ItemCommandTriggerHandler.class);
 
-    private String itemName;
-    private String command;
-    private String topic;
+    private final String itemName;
+    private final ConfiguredTypeMatcher command;
+    private final ItemTriggerDispatcher dispatcher;
 
-    private Set<String> types;
-    private BundleContext bundleContext;
+    /* the registration of a dispatcher, which has been created by this handler */
+    private ServiceRegistration<?> dispatcherRegistration;
 
     public static final String MODULE_TYPE_ID = "core.ItemCommandTrigger";
 
     private static final String CFG_ITEMNAME = "itemName";
     private static final String CFG_COMMAND = "command";
 
-    @SuppressWarnings("rawtypes")
-    private ServiceRegistration eventSubscriberRegistration;
-
+    /**
+     * Creates a handler, which registers its own event subscriber.
+     *
+     * @param module the trigger
+     * @param bundleContext the bundle context to register the event subscriber with
+     * @deprecated use {@link #ItemCommandTriggerHandler(Trigger, ItemTriggerDispatcher, ItemRegistry)} with a shared
+     *             dispatcher instead
+     */
+    @Deprecated
     public ItemCommandTriggerHandler(Trigger module, BundleContext bundleContext) {
-        super(module);
-        this.itemName = (String) module.getConfiguration().get(CFG_ITEMNAME);
-        this.command = (String) module.getConfiguration().get(CFG_COMMAND);
-        this.types = Collections.singleton(ItemCommandEvent.TYPE);
-        this.bundleContext = bundleContext;
-        Dictionary<String, Object> properties = new Hashtable<String, Object>();
-        this.topic = "smarthome/items/" + itemName + "/command";
-        properties.put("event.topics", topic);
-        eventSubscriberRegistration = this.bundleContext.registerService(EventSubscriber.class.getName(), this,
-                properties);
+        this(module, new ItemTriggerDispatcher(), null);
+        dispatcherRegistration = bundleContext.registerService(EventSubscriber.class.getName(), dispatcher, null);
     }
 
-    @Override
-    public Set<String> getSubscribedEventTypes() {
-        return types;
+    /**
+     * Creates a handler, which receives its events through the given dispatcher.
+     *
+     * @param module the trigger
+     * @param dispatcher the dispatcher to register the trigger with
+     * @param itemRegistry the item registry to validate the configured command with, may be null
+     */
+    public ItemCommandTriggerHandler(Trigger module, ItemTriggerDispatcher dispatcher, ItemRegistry itemRegistry) {
+        super(module);
+        this.itemName = (String) module.getConfiguration().get(CFG_ITEMNAME);
+        this.command = ConfiguredTypeMatcher.create((String) module.getConfiguration().get(CFG_COMMAND));
+        this.dispatcher = dispatcher;
+        if (itemName != null) {
+            validate(itemRegistry);
+            dispatcher.addTrigger(itemName, ItemCommandEvent.TYPE, this);
+        } else {
+            logger.warn("Trigger '{}' has no item name configured.", module.getId());
+        }
     }
 
-    @Override
-    public EventFilter getEventFilter() {
-        return this;
+    private void validate(ItemRegistry itemRegistry) {
+        Item item = itemRegistry != null && command != null ? itemRegistry.get(itemName) : null;
+        if (item != null && !command.isValidCommandOf(item)) {
+            logger.warn("Trigger '{}' is configured with the command '{}', which is not a valid command of item '{}'.",
+                    module.getId(), command, itemName);
+        }
     }
 
     @Override
@@ -82,10 +95,10 @@ public class ItemCommandTriggerHandler extends BaseTriggerModuleHandler implemen
         if (ruleEngineCallback != null) {
             logger.trace("Received Event: Source: {} Topic: {} Type: {}  Payload: {}", event.getSource(),
                     event.getTopic(), event.getType(), event.getPayload());
-            Map<String, Object> values = Maps.newHashMap();
             if (event instanceof ItemCommandEvent) {
                 Command command = ((ItemCommandEvent) event).getItemCommand();
-                if (this.command == null || this.command.equals(command.toFullString())) {
+                if (ConfiguredTypeMatcher.matches(this.command, command)) {
+                    Map<String, Object> values = new HashMap<String, Object>();
                     values.put("command", command);
                     values.put("event", event);
                     ruleEngineCallback.triggered(this.module, values);
@@ -95,21 +108,18 @@ public class ItemCommandTriggerHandler extends BaseTriggerModuleHandler implemen
     }
 
     /**
-     * do the cleanup: unregistering eventSubscriber...
+     * do the cleanup: unregistering from the dispatcher...
      */
     @Override
     public void dispose() {
         super.dispose();
-        if (eventSubscriberRegistration != null) {
-            eventSubscriberRegistration.unregister();
-            eventSubscriberRegistration = null;
+        if (itemName != null) {
+            dispatcher.removeTrigger(itemName, ItemCommandEvent.TYPE, this);
+        }
+        if (dispatcherRegistration != null) {
+            dispatcherRegistration.unregister();
+            dispatcherRegistration = null;
         }
-    }
-
-    @Override
-    public boolean apply(Event event) {
-        logger.trace("->FILTER: {}:{}", event.getTopic(), itemName);
-        return event.getTopic().equals(topic);
     }
 
 }
@@ -7,17 +7,16 @@
  */
 package org.eclipse.smarthome.automation.module.core.handler;
 
-import java.util.Collections;
-import java.util.Dictionary;
-import java.util.Hashtable;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 
 import org.eclipse.smarthome.automation.Trigger;
 import org.eclipse.smarthome.automation.handler.BaseTriggerModuleHandler;
+import org.eclipse.smarthome.automation.module.core.handler.ItemTriggerDispatcher.ItemEventTrigger;
 import org.eclipse.smarthome.core.events.Event;
-import org.eclipse.smarthome.core.events.EventFilter;
 import org.eclipse.smarthome.core.events.EventSubscriber;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.events.ItemStateChangedEvent;
 import org.eclipse.smarthome.core.items.events.ItemStateEvent;
 import org.eclipse.smarthome.core.types.State;
@@ -26,25 +25,26 @@ import org.osgi.framework.ServiceRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.Maps;
-
 /**
  * This is an ModuleHandler implementation for Triggers which trigger the rule
  * if an item state event occurs. The eventType and state value can be set with the
- * configuration.
+ * configuration. The events are received through the {@link ItemTriggerDispatcher}.
  *
  * @author Kai Kreuzer - Initial contribution and API
  * @author Simon Merschjohann
  *
  */
-public class ItemStateTriggerHandler extends BaseTriggerModuleHandler implements EventSubscriber, EventFilter {
+public class ItemStateTriggerHandler extends BaseTriggerModuleHandler implements ItemEventTrigger {
     private final Logger logger = LoggerFactory.getLogger(ItemStateTriggerHandler.class);
 
-    private String itemName;
-    private String state;
-    private String previousState;
-    private Set<String> types;
-    private BundleContext bundleContext;
+    private final String itemName;
+    private final ConfiguredTypeMatcher state;
+    private final ConfiguredTypeMatcher previousState;
+    private final String eventType;
+    private final ItemTriggerDispatcher dispatcher;
+
+    /* the registration of a dispatcher, which has been created by this handler */
+    private ServiceRegistration<?> dispatcherRegistration;
 
     public static final String UPDATE_MODULE_TYPE_ID = "core.ItemStateUpdateTrigger";
     public static final String CHANGE_MODULE_TYPE_ID = "core.ItemStateChangeTrigger";
@@ -53,31 +53,53 @@ public class ItemStateTriggerHandler extends BaseTriggerModuleHandler implements
     private static final String CFG_STATE = "state";
     private static final String CFG_PREVIOUS_STATE = "previousState";
 
-    @SuppressWarnings("rawtypes")
-    private ServiceRegistration eventSubscriberRegistration;
-
+    /**
+     * Creates a handler, which registers its own event subscriber.
+     *
+     * @param module the trigger
+     * @param bundleContext the bundle context to register the event subscriber with
+     * @deprecated use {@link #ItemStateTriggerHandler(Trigger, ItemTriggerDispatcher, ItemRegistry)} with a shared
+     *             dispatcher instead
+     */
+    @Deprecated
     public ItemStateTriggerHandler(Trigger module, BundleContext bundleContext) {
-        super(module);
-        this.itemName = (String) module.getConfiguration().get(CFG_ITEMNAME);
-        this.state = (String) module.getConfiguration().get(CFG_STATE);
-        this.previousState = (String) module.getConfiguration().get(CFG_PREVIOUS_STATE);
-        this.types = Collections.singleton(
-                UPDATE_MODULE_TYPE_ID.equals(module.getTypeUID()) ? ItemStateEvent.TYPE : ItemStateChangedEvent.TYPE);
-        this.bundleContext = bundleContext;
-        Dictionary<String, Object> properties = new Hashtable<String, Object>();
-        properties.put("event.topics", "smarthome/items/" + itemName + "/*");
-        eventSubscriberRegistration = this.bundleContext.registerService(EventSubscriber.class.getName(), this,
-                properties);
+        this(module, new ItemTriggerDispatcher(), null);
+        dispatcherRegistration = bundleContext.registerService(EventSubscriber.class.getName(), dispatcher, null);
     }
 
-    @Override
-    public Set<String> getSubscribedEventTypes() {
-        return types;
+    /**
+     * Creates a handler, which receives its events through the given dispatcher.
+     *
+     * @param module the trigger
+     * @param dispatcher the dispatcher to register the trigger with
+     * @param itemRegistry the item registry to validate the configured states with, may be null
+     */
+    public ItemStateTriggerHandler(Trigger module, ItemTriggerDispatcher dispatcher, ItemRegistry itemRegistry) {
+        super(module);
+        this.itemName = (String) module.getConfiguration().get(CFG_ITEMNAME);
+        this.state = ConfiguredTypeMatcher.create((String) module.getConfiguration().get(CFG_STATE));
+        this.previousState = ConfiguredTypeMatcher
+                .create((String) module.getConfiguration().get(CFG_PREVIOUS_STATE));
+        this.eventType = UPDATE_MODULE_TYPE_ID.equals(module.getTypeUID()) ? ItemStateEvent.TYPE
+                : ItemStateChangedEvent.TYPE;
+        this.dispatcher = dispatcher;
+        if (itemName != null) {
+            Item item = itemRegistry != null ? itemRegistry.get(itemName) : null;
+            if (item != null) {
+                validate(item, state);
+                validate(item, previousState);
+            }
+            dispatcher.addTrigger(itemName, eventType, this);
+        } else {
+            logger.warn("Trigger '{}' has no item name configured.", module.getId());
+        }
     }
 
-    @Override
-    public EventFilter getEventFilter() {
-        return this;
+    private void validate(Item item, ConfiguredTypeMatcher configuredState) {
+        if (configuredState != null && !configuredState.isValidStateOf(item)) {
+            logger.warn("Trigger '{}' is configured with the state '{}', which is not a valid state of item '{}'.",
+                    module.getId(), configuredState, itemName);
+        }
     }
 
     @Override
@@ -85,53 +107,42 @@ public class ItemStateTriggerHandler extends BaseTriggerModuleHandler implements
         if (ruleEngineCallback != null) {
             logger.trace("Received Event: Source: {} Topic: {} Type: {}  Payload: {}", event.getSource(),
                     event.getTopic(), event.getType(), event.getPayload());
-            Map<String, Object> values = Maps.newHashMap();
-            if (event instanceof ItemStateEvent && UPDATE_MODULE_TYPE_ID.equals(module.getTypeUID())) {
+            if (event instanceof ItemStateEvent) {
                 State state = ((ItemStateEvent) event).getItemState();
-                if ((this.state == null || this.state.equals(state.toFullString()))) {
+                if (ConfiguredTypeMatcher.matches(this.state, state)) {
+                    Map<String, Object> values = new HashMap<String, Object>();
                     values.put("state", state);
+                    values.put("event", event);
+                    ruleEngineCallback.triggered(this.module, values);
                 }
-            } else if (event instanceof ItemStateChangedEvent && CHANGE_MODULE_TYPE_ID.equals(module.getTypeUID())) {
+            } else if (event instanceof ItemStateChangedEvent) {
                 State state = ((ItemStateChangedEvent) event).getItemState();
                 State oldState = ((ItemStateChangedEvent) event).getOldItemState();
-
-                if (stateMatches(this.state, state) && stateMatches(this.previousState, oldState)) {
+                if (ConfiguredTypeMatcher.matches(this.state, state)
+                        && ConfiguredTypeMatcher.matches(this.previousState, oldState)) {
+                    Map<String, Object> values = new HashMap<String, Object>();
                     values.put("oldState", oldState);
                     values.put("newState", state);
+                    values.put("event", event);
+                    ruleEngineCallback.triggered(this.module, values);
                 }
             }
-            if (!values.isEmpty()) {
-                values.put("event", event);
-                ruleEngineCallback.triggered(this.module, values);
-            }
         }
     }
 
-    private boolean stateMatches(String requiredState, State state) {
-        if (requiredState == null) {
-            return true;
-        }
-
-        String reqState = requiredState.trim();
-        return reqState.isEmpty() || reqState.equals(state.toFullString());
-    }
-
     /**
-     * do the cleanup: unregistering eventSubscriber...
+     * do the cleanup: unregistering from the dispatcher...
      */
     @Override
     public void dispose() {
         super.dispose();
-        if (eventSubscriberRegistration != null) {
-            eventSubscriberRegistration.unregister();
-            eventSubscriberRegistration = null;
+        if (itemName != null) {
+            dispatcher.removeTrigger(itemName, eventType, this);
+        }
+        if (dispatcherRegistration != null) {
+            dispatcherRegistration.unregister();
+            dispatcherRegistration = null;
         }
-    }
-
-    @Override
-    public boolean apply(Event event) {
-        logger.trace("->FILTER: {}:{}", event.getTopic(), itemName);
-        return event.getTopic().contains("/" + itemName + "/");
     }
 
 }
@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.automation.module.core.handler;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.core.events.EventFilter;
+import org.eclipse.smarthome.core.events.EventSubscriber;
+import org.eclipse.smarthome.core.items.events.ItemCommandEvent;
+import org.eclipse.smarthome.core.items.events.ItemStateChangedEvent;
+import org.eclipse.smarthome.core.items.events.ItemStateEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * The {@link ItemTriggerDispatcher} is a single {@link EventSubscriber} which dispatches item state, state change and
+ * command events to the item based trigger handlers. The triggers are indexed by item name and event type, so the
+ * cost of an event only depends on the number of triggers which are interested in it.
+ * <p>
+ * The dispatcher is owned by the module handler factory, which registers it once as an {@link EventSubscriber}
+ * service. The trigger handlers register themselves with the dispatcher instead of registering their own services.
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemTriggerDispatcher implements EventSubscriber {
+
+    /**
+     * A trigger which receives the item events dispatched by the {@link ItemTriggerDispatcher}.
+     */
+    public interface ItemEventTrigger {
+
+        /**
+         * Called for every event of the event type and item name the trigger has been registered for.
+         *
+         * @param event the received event
+         */
+        void receive(Event event);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ItemTriggerDispatcher.class);
+
+    private static final Set<String> TYPES = ImmutableSet.of(ItemStateEvent.TYPE, ItemStateChangedEvent.TYPE,
+            ItemCommandEvent.TYPE);
+
+    /**
+     * item name -> event type -> triggers
+     */
+    private final Map<String, Map<String, Set<ItemEventTrigger>>> triggers = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a trigger for the events of the given type and item.
+     *
+     * @param itemName the name of the item
+     * @param eventType the type of the events, one of {@link ItemStateEvent#TYPE}, {@link ItemStateChangedEvent#TYPE}
+     *            and {@link ItemCommandEvent#TYPE}
+     * @param trigger the trigger to register
+     */
+    public synchronized void addTrigger(String itemName, String eventType, ItemEventTrigger trigger) {
+        Map<String, Set<ItemEventTrigger>> triggersByType = triggers.get(itemName);
+        if (triggersByType == null) {
+            triggersByType = new ConcurrentHashMap<>();
+            triggers.put(itemName, triggersByType);
+        }
+        Set<ItemEventTrigger> itemTriggers = triggersByType.get(eventType);
+        if (itemTriggers == null) {
+            itemTriggers = new CopyOnWriteArraySet<>();
+            triggersByType.put(eventType, itemTriggers);
+        }
+        itemTriggers.add(trigger);
+    }
+
+    /**
+     * Unregisters a trigger which has been registered by {@link #addTrigger(String, String, ItemEventTrigger)}.
+     *
+     * @param itemName the name of the item
+     * @param eventType the type of the events
+     * @param trigger the trigger to unregister
+     */
+    public synchronized void removeTrigger(String itemName, String eventType, ItemEventTrigger trigger) {
+        Map<String, Set<ItemEventTrigger>> triggersByType = triggers.get(itemName);
+        if (triggersByType == null) {
+            return;
+        }
+        Set<ItemEventTrigger> itemTriggers = triggersByType.get(eventType);
+        if (itemTriggers != null) {
+            itemTriggers.remove(trigger);
+            if (itemTriggers.isEmpty()) {
+                triggersByType.remove(eventType);
+            }
+        }
+        if (triggersByType.isEmpty()) {
+            triggers.remove(itemName);
+        }
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return TYPES;
+    }
+
+    @Override
+    public EventFilter getEventFilter() {
+        return null;
+    }
+
+    @Override
+    public void receive(Event event) {
+        String itemName;
+        if (event instanceof ItemStateEvent) {
+            itemName = ((ItemStateEvent) event).getItemName();
+        } else if (event instanceof ItemStateChangedEvent) {
+            itemName = ((ItemStateChangedEvent) event).getItemName();
+        } else if (event instanceof ItemCommandEvent) {
+            itemName = ((ItemCommandEvent) event).getItemName();
+        } else {
+            return;
+        }
+        Map<String, Set<ItemEventTrigger>> triggersByType = triggers.get(itemName);
+        if (triggersByType == null) {
+            return;
+        }
+        Set<ItemEventTrigger> itemTriggers = triggersByType.get(event.getType());
+        if (itemTriggers == null) {
+            return;
+        }
+        for (ItemEventTrigger trigger : itemTriggers) {
+            try {
+                trigger.receive(event);
+            } catch (Exception e) {
+                logger.error("Error while dispatching event '{}' to trigger '{}'", event, trigger, e);
+            }
+        }
+    }
+
+}
@@ -31,6 +31,9 @@ import org.eclipse.smarthome.automation.Action;
 import org.eclipse.smarthome.automation.Condition;
 import org.eclipse.smarthome.automation.Module;
 import org.eclipse.smarthome.automation.Rule;
+import org.eclipse.smarthome.automation.RuleExecutionProfiler;
+import org.eclipse.smarthome.automation.RuleExecutionStatistics;
+import org.eclipse.smarthome.automation.RuleExecutionTrace;
 import org.eclipse.smarthome.automation.RuleRegistry;
 import org.eclipse.smarthome.automation.Trigger;
 import org.eclipse.smarthome.automation.dto.ActionDTO;
@@ -72,6 +75,8 @@ public class RuleResource implements SatisfiableRESTResource {
 
     private RuleRegistry ruleRegistry;
 
+    private RuleExecutionProfiler ruleExecutionProfiler;
+
     @Context
     private UriInfo uriInfo;
 
@@ -83,6 +88,14 @@ public class RuleResource implements SatisfiableRESTResource {
         this.ruleRegistry = null;
     }
 
+    protected void setRuleExecutionProfiler(RuleExecutionProfiler ruleExecutionProfiler) {
+        this.ruleExecutionProfiler = ruleExecutionProfiler;
+    }
+
+    protected void unsetRuleExecutionProfiler(RuleExecutionProfiler ruleExecutionProfiler) {
+        this.ruleExecutionProfiler = null;
+    }
+
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Get all available rules.", response = EnrichedRuleDTO.class, responseContainer = "Collection")
@@ -254,6 +267,66 @@ public class RuleResource implements SatisfiableRESTResource {
         }
     }
 
+    @GET
+    @Path("/{ruleUID}/statistics")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Gets the execution statistics of the rule.", response = RuleExecutionStatistics.class)
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 404, message = "Rule corresponding to the given UID does not found or has not been initialized."),
+            @ApiResponse(code = 503, message = "The rule execution profiler is not available.") })
+    public Response getStatistics(@PathParam("ruleUID") @ApiParam(value = "ruleUID", required = true) String ruleUID) {
+        RuleExecutionProfiler profiler = ruleExecutionProfiler;
+        if (profiler == null) {
+            return JSONResponse.createErrorResponse(Status.SERVICE_UNAVAILABLE,
+                    "The rule execution profiler is not available.");
+        }
+        RuleExecutionStatistics statistics = profiler.getStatistics(ruleUID);
+        if (statistics != null) {
+            return Response.ok(statistics).build();
+        } else {
+            return Response.status(Status.NOT_FOUND).build();
+        }
+    }
+
+    @DELETE
+    @Path("/{ruleUID}/statistics")
+    @ApiOperation(value = "Resets the execution statistics and traces of the rule.")
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 404, message = "Rule corresponding to the given UID does not found."),
+            @ApiResponse(code = 503, message = "The rule execution profiler is not available.") })
+    public Response resetStatistics(
+            @PathParam("ruleUID") @ApiParam(value = "ruleUID", required = true) String ruleUID) {
+        RuleExecutionProfiler profiler = ruleExecutionProfiler;
+        if (profiler == null) {
+            return JSONResponse.createErrorResponse(Status.SERVICE_UNAVAILABLE,
+                    "The rule execution profiler is not available.");
+        }
+        if (ruleRegistry.get(ruleUID) == null) {
+            return Response.status(Status.NOT_FOUND).build();
+        }
+        profiler.reset(ruleUID);
+        return Response.ok().build();
+    }
+
+    @GET
+    @Path("/{ruleUID}/traces")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Gets the traces of the last slow executions of the rule.", response = RuleExecutionTrace.class, responseContainer = "List")
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 404, message = "Rule corresponding to the given UID does not found."),
+            @ApiResponse(code = 503, message = "The rule execution profiler is not available.") })
+    public Response getTraces(@PathParam("ruleUID") @ApiParam(value = "ruleUID", required = true) String ruleUID) {
+        RuleExecutionProfiler profiler = ruleExecutionProfiler;
+        if (profiler == null) {
+            return JSONResponse.createErrorResponse(Status.SERVICE_UNAVAILABLE,
+                    "The rule execution profiler is not available.");
+        }
+        if (ruleRegistry.get(ruleUID) == null) {
+            return Response.status(Status.NOT_FOUND).build();
+        }
+        return Response.ok(profiler.getTraces(ruleUID)).build();
+    }
+
     @GET
     @Path("/{ruleUID}/triggers")
     @Produces(MediaType.APPLICATION_JSON)
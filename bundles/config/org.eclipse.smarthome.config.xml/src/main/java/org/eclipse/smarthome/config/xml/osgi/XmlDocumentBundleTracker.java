@@ -8,13 +8,20 @@
 package org.eclipse.smarthome.config.xml.osgi;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.eclipse.smarthome.config.core.BundleProcessor;
 import org.eclipse.smarthome.config.xml.util.XmlDocumentReader;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.BundleEvent;
@@ -30,6 +37,9 @@ import org.slf4j.LoggerFactory;
  * according bundle and added to an {@link XmlDocumentProvider} for further
  * processing. For each module an own {@link XmlDocumentProvider} is created by
  * using the specified {@link XmlDocumentProviderFactory}.
+ * <p>
+ * The XML files of the modules are parsed in parallel as soon as the modules are tracked, while the results are passed
+ * to the {@link XmlDocumentProvider}s one module after the other.
  *
  * @author Michael Grammling - Initial Contribution
  * @author Benedikt Niehues - Changed resource handling so that resources can be
@@ -40,6 +50,8 @@ import org.slf4j.LoggerFactory;
  */
 public class XmlDocumentBundleTracker<T> extends BundleTracker<Bundle> {
 
+    private static final String THREAD_POOL_NAME = "xmlDocumentReader";
+
     private final Logger logger = LoggerFactory.getLogger(XmlDocumentBundleTracker.class);
 
     private final String xmlDirectory;
@@ -51,6 +63,9 @@ public class XmlDocumentBundleTracker<T> extends BundleTracker<Bundle> {
 
     private final AbstractAsyncBundleProcessor asyncLoader;
 
+    /** the XML files of the modules, which are parsed, but have not yet been passed to the providers */
+    private final Map<Bundle, Future<List<T>>> bundleDocumentsMap = new ConcurrentHashMap<>();
+
     private BundleContext bundleContext;
 
     @SuppressWarnings("rawtypes")
@@ -110,37 +125,35 @@ public class XmlDocumentBundleTracker<T> extends BundleTracker<Bundle> {
                 return isResourcePresent(bundle, XmlDocumentBundleTracker.this.xmlDirectory);
             }
 
+            @Override
+            public void addingBundle(Bundle bundle) {
+                if (isBundleRelevant(bundle)) {
+                    // start parsing right away, so that the modules in the queue are parsed in parallel
+                    bundleDocumentsMap.put(bundle, ThreadPoolManager.getPool(THREAD_POOL_NAME)
+                            .submit(() -> readDocuments(bundle, filterPatches(bundle))));
+                }
+                super.addingBundle(bundle);
+            }
+
             @Override
             protected void processBundle(Bundle bundle) {
+                List<T> objects = getDocuments(bundle, filterPatches(bundle));
+                for (T object : objects) {
+                    addingObject(bundle, object);
+                }
+
+                if (!objects.isEmpty()) {
+                    addingFinished(bundle);
+                }
+            }
+
+            private Collection<URL> filterPatches(Bundle bundle) {
                 Enumeration<URL> xmlDocumentPaths = bundle.findEntries(XmlDocumentBundleTracker.this.xmlDirectory,
                         "*.xml", true);
-                if (xmlDocumentPaths != null) {
-                    Collection<URL> filteredPaths = filterPatches(xmlDocumentPaths, bundle);
-                    int numberOfParsedXmlDocuments = 0;
-                    for (URL xmlDocumentURL : filteredPaths) {
-
-                        String moduleName = bundle.getSymbolicName();
-                        String xmlDocumentFile = xmlDocumentURL.getFile();
-
-                        try {
-                            XmlDocumentBundleTracker.this.logger.debug(
-                                    "Reading the XML document '{}' in module '{}'...", xmlDocumentFile, moduleName);
-
-                            T object = XmlDocumentBundleTracker.this.xmlDocumentTypeReader.readFromXML(xmlDocumentURL);
-                            addingObject(bundle, object);
-
-                            numberOfParsedXmlDocuments++;
-                        } catch (Exception ex) {
-                            XmlDocumentBundleTracker.this.logger
-                                    .warn(String.format("The XML document '%s' in module '%s' could not be parsed: %s",
-                                            xmlDocumentFile, moduleName, ex.getLocalizedMessage()), ex);
-                        }
-                    }
-
-                    if (numberOfParsedXmlDocuments > 0) {
-                        addingFinished(bundle);
-                    }
+                if (xmlDocumentPaths == null) {
+                    return Collections.emptyList();
                 }
+                return filterPatches(xmlDocumentPaths, bundle);
             }
 
             @Override
@@ -161,12 +174,51 @@ public class XmlDocumentBundleTracker<T> extends BundleTracker<Bundle> {
     public final synchronized void close() {
         super.close();
         this.bundleDocumentProviderMap.clear();
+        this.bundleDocumentsMap.clear();
         if (asyncLoaderRegistration != null) {
             asyncLoaderRegistration.unregister();
             asyncLoaderRegistration = null;
         }
     }
 
+    /**
+     * Returns the parsed XML files of the specified module. If they are not being parsed already, they are parsed by
+     * the calling thread.
+     */
+    private List<T> getDocuments(Bundle bundle, Collection<URL> xmlDocumentURLs) {
+        Future<List<T>> documents = this.bundleDocumentsMap.remove(bundle);
+        if (documents != null) {
+            try {
+                return documents.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return Collections.emptyList();
+            } catch (ExecutionException ex) {
+                this.logger.warn("The XML documents in module '{}' could not be read in parallel: {}",
+                        bundle.getSymbolicName(), ex.getCause().getMessage());
+            }
+        }
+        return readDocuments(bundle, xmlDocumentURLs);
+    }
+
+    private List<T> readDocuments(Bundle bundle, Collection<URL> xmlDocumentURLs) {
+        String moduleName = bundle.getSymbolicName();
+        List<T> objects = new ArrayList<>();
+        for (URL xmlDocumentURL : xmlDocumentURLs) {
+            String xmlDocumentFile = xmlDocumentURL.getFile();
+
+            try {
+                this.logger.debug("Reading the XML document '{}' in module '{}'...", xmlDocumentFile, moduleName);
+
+                objects.add(this.xmlDocumentTypeReader.readFromXML(xmlDocumentURL));
+            } catch (Exception ex) {
+                this.logger.warn(String.format("The XML document '%s' in module '%s' could not be parsed: %s",
+                        xmlDocumentFile, moduleName, ex.getLocalizedMessage()), ex);
+            }
+        }
+        return objects;
+    }
+
     private XmlDocumentProvider<T> acquireXmlDocumentProvider(Bundle bundle) {
         if (bundle != null) {
             XmlDocumentProvider<T> xmlDocumentProvider = this.bundleDocumentProviderMap.get(bundle);
@@ -236,6 +288,10 @@ public class XmlDocumentBundleTracker<T> extends BundleTracker<Bundle> {
         this.logger.debug("Removing the XML related objects from module '{}'...", bundle.getSymbolicName());
 
         asyncLoader.removeBundle(bundle);
+        Future<List<T>> documents = this.bundleDocumentsMap.remove(bundle);
+        if (documents != null) {
+            documents.cancel(false);
+        }
         releaseXmlDocumentProvider(bundle);
     }
 
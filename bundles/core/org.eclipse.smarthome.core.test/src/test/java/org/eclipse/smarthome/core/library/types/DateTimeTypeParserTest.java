@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.library.types;
+
+import static org.junit.Assert.*;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that {@link DateTimeType} parses and formats values like {@link SimpleDateFormat} and
+ * {@link String#format(String, Object...)}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DateTimeTypeParserTest {
+
+    private static final String[] TIME_ZONES = { "UTC", "CET", "GMT+5", "GMT-2", "America/New_York" };
+
+    private static final String[] VALUES = { "2014-03-30T10:58:47.033+0000", "2014-03-30T10:58:47.033+0200",
+            "2014-03-30T01:58:47.033-0530", "2014-03-30T10:58:47.033Z", "2014-03-30T10:58:47.033+02:00",
+            "2014-03-30T10:58:47.033+02", "2014-03-30T10:58:47+0100", "2014-03-30T10:58:47", "2014-03-30T02:30:00",
+            "2014-10-26T02:30:00", "2014-02-30T10:58:47.999+0000", "2014-03-30T10:58:47UTS",
+            "2014-03-30T10:58:47CET", "2014-03-30T10:58:47GMT+01:00", "2014-3-30T1:58:47", "2014-03-30T10:58:47.5Z" };
+
+    private static final String[] PATTERNS = { "%1$td.%1$tm.%1$tY %1$tH:%1$tM", "%1$tT", "%1$tF %1$tR", "%1$tD",
+            "%1$tI:%1$tM %1$tk %1$tl", "%1$tL %1$tN %1$tz", "%1$ts %1$tQ", "%1$tC %1$ty %1$tj %1$te", "[%1$tH]%%%n",
+            "%1$tH:%<tM", "%1$tA, %1$tB %1$td", "%1$tH:%1$tM:%1$tS %1$tZ", "%1$-10tH|", "%1$tc", "no time" };
+
+    private TimeZone defaultTimeZone;
+
+    @Before
+    public void setUp() {
+        defaultTimeZone = TimeZone.getDefault();
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(defaultTimeZone);
+    }
+
+    @Test
+    public void testParseLikeSimpleDateFormat() {
+        for (String timeZone : TIME_ZONES) {
+            TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+            for (String value : VALUES) {
+                assertEquals(value + " in " + timeZone, parseWithSimpleDateFormat(value).getTime(),
+                        new DateTimeType(value).getCalendar().getTimeInMillis());
+            }
+        }
+    }
+
+    @Test
+    public void testFormatLikeFormatter() {
+        for (String timeZone : TIME_ZONES) {
+            TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+            for (String value : VALUES) {
+                DateTimeType dateTime = new DateTimeType(value);
+                for (String pattern : PATTERNS) {
+                    assertEquals(pattern, String.format(pattern, dateTime.getCalendar()), dateTime.format(pattern));
+                }
+                assertEquals(new SimpleDateFormat(DateTimeType.DATE_PATTERN_WITH_TZ_AND_MS)
+                        .format(dateTime.getCalendar().getTime()), dateTime.toFullString());
+            }
+        }
+    }
+
+    @Test
+    public void testFormatWithoutPattern() {
+        Calendar calendar = Calendar.getInstance();
+        assertEquals(new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(calendar.getTime()),
+                new DateTimeType(calendar).format(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidValue() {
+        new DateTimeType("30.03.2014 10:58");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidValueWithSeparator() {
+        new DateTimeType("Tomorrow");
+    }
+
+    @Test
+    public void testEverySupportedConversionLikeFormatter() {
+        String[] timeZones = { "UTC", "GMT-2", "Asia/Kolkata", "America/St_Johns", "Europe/Berlin" };
+        int[][] dates = { { 2014, Calendar.MARCH, 30, 0, 0, 0, 0 }, { 2014, Calendar.JULY, 1, 12, 5, 9, 7 },
+                { 2000, Calendar.DECEMBER, 31, 13, 59, 59, 999 }, { 999, Calendar.JANUARY, 9, 1, 30, 0, 50 },
+                { 2016, Calendar.FEBRUARY, 29, 23, 0, 1, 100 } };
+        for (String timeZone : timeZones) {
+            for (int[] date : dates) {
+                Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone(timeZone));
+                calendar.clear();
+                calendar.set(date[0], date[1], date[2], date[3], date[4], date[5]);
+                calendar.set(Calendar.MILLISECOND, date[6]);
+                for (char conversion : "HIklMSLNzsQCYymdejRTDF".toCharArray()) {
+                    String pattern = "%1$t" + conversion + " - %<t" + conversion;
+                    assertEquals(pattern + " in " + timeZone, String.format(pattern, calendar),
+                            CalendarPattern.get(pattern).format(calendar));
+                }
+            }
+        }
+    }
+
+    /**
+     * The way values have been parsed before.
+     */
+    private static Date parseWithSimpleDateFormat(String value) {
+        String[] patterns = { DateTimeType.DATE_PATTERN_WITH_TZ_AND_MS, DateTimeType.DATE_PATTERN_WITH_TZ_AND_MS_ISO,
+                DateTimeType.DATE_PATTERN_WITH_TZ, DateTimeType.DATE_PATTERN };
+        for (String pattern : patterns) {
+            try {
+                return new SimpleDateFormat(pattern).parse(value);
+            } catch (ParseException e) {
+                // try the next pattern
+            }
+        }
+        throw new IllegalArgumentException(value);
+    }
+
+}
@@ -9,6 +9,11 @@ package org.eclipse.smarthome.core.library.types;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
 import java.text.DecimalFormatSymbols;
 
 import org.eclipse.smarthome.core.types.UnDefType;
@@ -112,4 +117,85 @@ public class DecimalTypeTest {
         assertEquals(new HSBType("0,0,50"), new DecimalType("0.5").as(HSBType.class));
     }
 
+    @Test
+    public void testCompactValues() {
+        assertEquals("0.05", new DecimalType("0.05").toString());
+        assertEquals("-0.5", new DecimalType("-.5").toString());
+        assertEquals("1.50", new DecimalType("+1.50").toString());
+        assertEquals("-42", new DecimalType(-42).toString());
+        assertEquals(new BigDecimal("1.50"), new DecimalType("1.50").toBigDecimal());
+
+        assertEquals(new DecimalType("1.5"), new DecimalType("1.50"));
+        assertEquals(new DecimalType("1.5").hashCode(), new DecimalType(new BigDecimal("1.5")).hashCode());
+        assertEquals(0, new DecimalType("2").compareTo(new DecimalType("2.000")));
+        assertTrue(new DecimalType("-0.001").compareTo(new DecimalType(0)) < 0);
+        assertTrue(new DecimalType("123456789012345678").compareTo(new DecimalType("0.000000000000000001")) > 0);
+
+        assertEquals(12, new DecimalType("12.99").intValue());
+        assertEquals(-12, new DecimalType("-12.99").longValue());
+        assertEquals(0.1, new DecimalType("0.1").doubleValue(), 0);
+        assertEquals(new BigDecimal("-7.3").doubleValue(), new DecimalType("-7.3").doubleValue(), 0);
+    }
+
+    @Test
+    public void testValuesExceedingTheCompactForm() {
+        DecimalType large = new DecimalType("1234567890123456789012.5");
+        assertEquals("1234567890123456789012.5", large.toString());
+        assertTrue(large.compareTo(new DecimalType(Long.MAX_VALUE)) > 0);
+        assertEquals(new DecimalType(Long.MIN_VALUE), new DecimalType(Long.toString(Long.MIN_VALUE)));
+
+        assertEquals("1000", new DecimalType("1E3").toString());
+        assertEquals(new DecimalType(1000), new DecimalType("1E3"));
+    }
+
+    @Test
+    public void testValueOfCompactValues() {
+        assertEquals(new BigDecimal("1.50"), new DecimalType("1.50").value);
+        assertEquals(new BigDecimal(-42), new DecimalType(-42).value);
+        assertEquals(BigDecimal.ZERO, new DecimalType().value);
+    }
+
+    @Test
+    public void testNumericValuesOfSubclasses() {
+        assertEquals(100, HSBType.RED.intValue());
+        assertEquals(100L, HSBType.RED.longValue());
+        assertEquals(100.0, HSBType.RED.doubleValue(), 0);
+        assertEquals(100.0f, HSBType.RED.floatValue(), 0);
+        assertEquals(50, new HSBType("120,100,50").intValue());
+        assertEquals(new DecimalType("50"), new HSBType(new DecimalType(120), PercentType.HUNDRED, new PercentType(50)));
+        assertEquals(0, new HSBType("120,100,50.0").compareTo(new DecimalType("50")));
+        assertTrue(new HSBType("0,0,75").compareTo(new DecimalType(50)) > 0);
+        assertTrue(new DecimalType(50).compareTo(new HSBType("0,0,75")) < 0);
+        assertTrue(HSBType.BLACK.compareTo(HSBType.WHITE) < 0);
+
+        assertEquals(42, new PercentType(42).intValue());
+        assertEquals(42.5, new PercentType("42.5").doubleValue(), 0);
+        assertEquals(42L, new PercentType(new BigDecimal("42.9")).longValue());
+        assertEquals(0, PercentType.HUNDRED.compareTo(new DecimalType("100.0")));
+        assertTrue(new PercentType(42).compareTo(new PercentType("42.5")) < 0);
+    }
+
+    @Test
+    public void testSerializedCompactValues() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new DecimalType("1.50"));
+        }
+        DecimalType deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (DecimalType) in.readObject();
+        }
+
+        assertEquals("1.50", deserialized.toString());
+        assertEquals(new DecimalType("1.5"), deserialized);
+        assertEquals(0, new DecimalType("1.5").compareTo(deserialized));
+        assertEquals(1.5, deserialized.doubleValue(), 0);
+        assertEquals(1, deserialized.intValue());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testInvalidValue() {
+        new DecimalType("1.2.3");
+    }
+
 }
@@ -83,6 +83,59 @@ class ItemChannelLinkOSGiTest extends OSGiTest {
         assertThat  itemChannelLinkRegistry.isLinked("item", CHANNEL_UID), is(false)
     }
 
+    @Test
+    void 'assert getLinks returns the links of a channel until they are removed'() {
+        def otherChannelUID = new ChannelUID("binding:typeId:thingId:otherChannelId")
+        managedItemChannelLinkProvider.add ITEM_CHANNEL_LINK
+        managedItemChannelLinkProvider.add new ItemChannelLink("otherItem", CHANNEL_UID)
+        managedItemChannelLinkProvider.add new ItemChannelLink("item", otherChannelUID)
+
+        assertThat itemChannelLinkRegistry.getLinks(CHANNEL_UID).collect { it.itemName } as Set, is(["item", "otherItem"] as Set)
+        assertThat itemChannelLinkRegistry.getLinks(otherChannelUID).collect { it.itemName }, is(["item"])
+        assertThat itemChannelLinkRegistry.isLinked("otherItem", otherChannelUID), is(false)
+
+        managedItemChannelLinkProvider.remove(ITEM_CHANNEL_LINK.getID())
+
+        assertThat itemChannelLinkRegistry.getLinks(CHANNEL_UID).collect { it.itemName }, is(["otherItem"])
+        assertThat itemChannelLinkRegistry.isLinked("item", CHANNEL_UID), is(false)
+        assertThat itemChannelLinkRegistry.isLinked("item", otherChannelUID), is(true)
+    }
+
+    @Test
+    void 'assert a link is linked as long as any provider provides it'() {
+        def itemChannelLinkProvider = [
+            getAll: { [ITEM_CHANNEL_LINK] },
+            addProviderChangeListener: {},
+            removeProviderChangeListener: {}
+        ] as ItemChannelLinkProvider
+        registerService itemChannelLinkProvider
+        managedItemChannelLinkProvider.add ITEM_CHANNEL_LINK
+
+        managedItemChannelLinkProvider.remove(ITEM_CHANNEL_LINK.getID())
+        assertThat itemChannelLinkRegistry.isLinked("item", CHANNEL_UID), is(true)
+
+        unregisterService itemChannelLinkProvider
+        assertThat itemChannelLinkRegistry.isLinked("item", CHANNEL_UID), is(false)
+        assertThat itemChannelLinkRegistry.getLinks(CHANNEL_UID).isEmpty(), is(true)
+    }
+
+    @Test
+    void 'assert a link which is added twice by a provider is unlinked when it is removed'() {
+        def itemChannelLinkProvider = [
+            getAll: { [] },
+            addProviderChangeListener: {},
+            removeProviderChangeListener: {}
+        ] as ItemChannelLinkProvider
+        registerService itemChannelLinkProvider
+
+        itemChannelLinkRegistry.added(itemChannelLinkProvider, ITEM_CHANNEL_LINK)
+        itemChannelLinkRegistry.added(itemChannelLinkProvider, ITEM_CHANNEL_LINK)
+        assertThat itemChannelLinkRegistry.getLinks(CHANNEL_UID).size(), is(1)
+
+        itemChannelLinkRegistry.removed(itemChannelLinkProvider, ITEM_CHANNEL_LINK)
+        assertThat itemChannelLinkRegistry.isLinked("item", CHANNEL_UID), is(false)
+    }
+
     @Test
     void 'assert getBoundChannels returns channel'() {
         managedItemChannelLinkProvider.add ITEM_CHANNEL_LINK
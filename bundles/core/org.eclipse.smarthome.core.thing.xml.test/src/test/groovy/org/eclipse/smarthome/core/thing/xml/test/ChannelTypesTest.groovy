@@ -69,9 +69,14 @@ class ChannelTypesTest extends OSGiTest {
         def channelGroupType = channelGroupTypes.find( {it.UID.toString().equals("somebinding:channelgroup")} )
         assertThat channelGroupType, is(not(null))
 
+        assertThat channelTypeProvider.getChannelType(channelType1.UID, null), is(channelType1)
+        assertThat channelTypeProvider.getChannelGroupType(channelGroupType.UID, null), is(channelGroupType)
+
         SyntheticBundleInstaller.uninstall(bundleContext, TEST_BUNDLE_NAME)
 
         assertThat channelTypeProvider.getChannelTypes(null).size(), is(initialNumberOfChannelTypes)
         assertThat channelTypeProvider.getChannelGroupTypes(null).size(), is(initialNumberOfChannelGroupTypes)
+        assertThat channelTypeProvider.getChannelType(channelType1.UID, null), is(nullValue())
+        assertThat channelTypeProvider.getChannelGroupType(channelGroupType.UID, null), is(nullValue())
     }
 }
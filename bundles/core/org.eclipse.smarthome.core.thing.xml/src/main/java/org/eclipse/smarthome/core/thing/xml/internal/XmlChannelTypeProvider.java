@@ -7,8 +7,10 @@
  */
 package org.eclipse.smarthome.core.thing.xml.internal;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -101,6 +103,14 @@ public class XmlChannelTypeProvider implements ChannelTypeProvider {
     private final Map<LocalizedChannelTypeKey, ChannelGroupType> localizedChannelGroupTypeCache = new ConcurrentHashMap<>();
     private final Map<LocalizedChannelTypeKey, ChannelType> localizedChannelTypeCache = new ConcurrentHashMap<>();
 
+    /** the channel group types and channel types by their UIDs together with the modules they are associated with */
+    private final Map<ChannelGroupTypeUID, Entry<Bundle, ChannelGroupType>> channelGroupTypeIndex = new ConcurrentHashMap<>();
+    private final Map<ChannelTypeUID, Entry<Bundle, ChannelType>> channelTypeIndex = new ConcurrentHashMap<>();
+
+    /** the localized channel group types and channel types of all modules by the language tags of their locales */
+    private final Map<String, Collection<ChannelGroupType>> localizedChannelGroupTypesCache = new ConcurrentHashMap<>();
+    private final Map<String, Collection<ChannelType>> localizedChannelTypesCache = new ConcurrentHashMap<>();
+
     private ThingTypeI18nUtil thingTypeI18nUtil;
 
     public synchronized void addChannelGroupType(Bundle bundle, ChannelGroupType channelGroupType) {
@@ -109,6 +119,8 @@ public class XmlChannelTypeProvider implements ChannelTypeProvider {
 
             if (channelGroupTypes != null) {
                 channelGroupTypes.add(channelGroupType);
+                this.channelGroupTypeIndex.put(channelGroupType.getUID(),
+                        new SimpleImmutableEntry<>(bundle, channelGroupType));
                 // just make sure no old entry remains in the cache
                 removeCachedChannelGroupTypes(channelGroupType);
             }
@@ -121,6 +133,7 @@ public class XmlChannelTypeProvider implements ChannelTypeProvider {
 
             if (channelTypes != null) {
                 channelTypes.add(channelType);
+                this.channelTypeIndex.put(channelType.getUID(), new SimpleImmutableEntry<>(bundle, channelType));
                 // just make sure no old entry remains in the cache
                 removeCachedChannelTypes(channelType);
             }
@@ -129,75 +142,87 @@ public class XmlChannelTypeProvider implements ChannelTypeProvider {
 
     @Override
     public ChannelGroupType getChannelGroupType(ChannelGroupTypeUID channelGroupTypeUID, Locale locale) {
-        Collection<Entry<Bundle, List<ChannelGroupType>>> channelGroupTypesList = this.bundleChannelGroupTypesMap
-                .entrySet();
-
-        if (channelGroupTypesList != null) {
-            for (Entry<Bundle, List<ChannelGroupType>> channelGroupTypes : channelGroupTypesList) {
-                for (ChannelGroupType channelGroupType : channelGroupTypes.getValue()) {
-                    if (channelGroupType.getUID().equals(channelGroupTypeUID)) {
-                        return createLocalizedChannelGroupType(channelGroupTypes.getKey(), channelGroupType, locale);
-                    }
-                }
-            }
+        Entry<Bundle, ChannelGroupType> channelGroupType = this.channelGroupTypeIndex.get(channelGroupTypeUID);
+
+        if (channelGroupType != null) {
+            return createLocalizedChannelGroupType(channelGroupType.getKey(), channelGroupType.getValue(), locale);
         }
         return null;
     }
 
     @Override
     public Collection<ChannelGroupType> getChannelGroupTypes(Locale locale) {
-        List<ChannelGroupType> allChannelGroupTypes = new ArrayList<>(10);
+        String localeKey = getLocaleKey(locale);
+        Collection<ChannelGroupType> cachedChannelGroupTypes = this.localizedChannelGroupTypesCache.get(localeKey);
+        if (cachedChannelGroupTypes != null) {
+            return cachedChannelGroupTypes;
+        }
+
+        // the types are collected while holding the lock, so that no outdated list is cached
+        synchronized (this) {
+            List<ChannelGroupType> allChannelGroupTypes = new ArrayList<>(10);
 
-        Collection<Entry<Bundle, List<ChannelGroupType>>> channelGroupTypesList = this.bundleChannelGroupTypesMap
-                .entrySet();
+            Collection<Entry<Bundle, List<ChannelGroupType>>> channelGroupTypesList = this.bundleChannelGroupTypesMap
+                    .entrySet();
 
-        if (channelGroupTypesList != null) {
-            for (Entry<Bundle, List<ChannelGroupType>> channelGroupTypes : channelGroupTypesList) {
-                for (ChannelGroupType channelGroupType : channelGroupTypes.getValue()) {
-                    ChannelGroupType localizedChannelType = createLocalizedChannelGroupType(channelGroupTypes.getKey(),
-                            channelGroupType, locale);
-                    allChannelGroupTypes.add(localizedChannelType);
+            if (channelGroupTypesList != null) {
+                for (Entry<Bundle, List<ChannelGroupType>> channelGroupTypes : channelGroupTypesList) {
+                    for (ChannelGroupType channelGroupType : channelGroupTypes.getValue()) {
+                        ChannelGroupType localizedChannelType = createLocalizedChannelGroupType(
+                                channelGroupTypes.getKey(), channelGroupType, locale);
+                        allChannelGroupTypes.add(localizedChannelType);
+                    }
                 }
             }
-        }
 
-        return allChannelGroupTypes;
+            Collection<ChannelGroupType> channelGroupTypes = Collections.unmodifiableList(allChannelGroupTypes);
+            if (this.thingTypeI18nUtil != null) {
+                this.localizedChannelGroupTypesCache.put(localeKey, channelGroupTypes);
+            }
+            return channelGroupTypes;
+        }
     }
 
     @Override
     public ChannelType getChannelType(ChannelTypeUID channelTypeUID, Locale locale) {
-        Collection<Entry<Bundle, List<ChannelType>>> channelTypesList = this.bundleChannelTypesMap.entrySet();
+        Entry<Bundle, ChannelType> channelType = this.channelTypeIndex.get(channelTypeUID);
 
-        if (channelTypesList != null) {
-            for (Entry<Bundle, List<ChannelType>> channelTypes : channelTypesList) {
-                for (ChannelType channelType : channelTypes.getValue()) {
-                    if (channelType.getUID().equals(channelTypeUID)) {
-                        return createLocalizedChannelType(channelTypes.getKey(), channelType, locale);
-                    }
-                }
-            }
-        } else {
+        if (channelType != null) {
+            return createLocalizedChannelType(channelType.getKey(), channelType.getValue(), locale);
         }
         return null;
     }
 
     @Override
-    public synchronized Collection<ChannelType> getChannelTypes(Locale locale) {
-        List<ChannelType> allChannelTypes = new ArrayList<>(10);
+    public Collection<ChannelType> getChannelTypes(Locale locale) {
+        String localeKey = getLocaleKey(locale);
+        Collection<ChannelType> cachedChannelTypes = this.localizedChannelTypesCache.get(localeKey);
+        if (cachedChannelTypes != null) {
+            return cachedChannelTypes;
+        }
 
-        Collection<Entry<Bundle, List<ChannelType>>> channelTypesList = this.bundleChannelTypesMap.entrySet();
+        // the types are collected while holding the lock, so that no outdated list is cached
+        synchronized (this) {
+            List<ChannelType> allChannelTypes = new ArrayList<>(10);
 
-        if (channelTypesList != null) {
-            for (Entry<Bundle, List<ChannelType>> channelTypes : channelTypesList) {
-                for (ChannelType channelType : channelTypes.getValue()) {
-                    ChannelType localizedChannelType = createLocalizedChannelType(channelTypes.getKey(), channelType,
-                            locale);
-                    allChannelTypes.add(localizedChannelType);
+            Collection<Entry<Bundle, List<ChannelType>>> channelTypesList = this.bundleChannelTypesMap.entrySet();
+
+            if (channelTypesList != null) {
+                for (Entry<Bundle, List<ChannelType>> channelTypes : channelTypesList) {
+                    for (ChannelType channelType : channelTypes.getValue()) {
+                        ChannelType localizedChannelType = createLocalizedChannelType(channelTypes.getKey(),
+                                channelType, locale);
+                        allChannelTypes.add(localizedChannelType);
+                    }
                 }
             }
-        }
 
-        return allChannelTypes;
+            Collection<ChannelType> channelTypes = Collections.unmodifiableList(allChannelTypes);
+            if (this.thingTypeI18nUtil != null) {
+                this.localizedChannelTypesCache.put(localeKey, channelTypes);
+            }
+            return channelTypes;
+        }
     }
 
     public synchronized void removeAllChannelGroupTypes(Bundle bundle) {
@@ -206,6 +231,7 @@ public class XmlChannelTypeProvider implements ChannelTypeProvider {
 
             if (channelGroupTypes != null) {
                 this.bundleChannelGroupTypesMap.remove(bundle);
+                removeChannelGroupTypeIndexEntries(bundle, channelGroupTypes);
                 removeCachedChannelGroupTypes(channelGroupTypes);
             }
         }
@@ -217,19 +243,60 @@ public class XmlChannelTypeProvider implements ChannelTypeProvider {
 
             if (channelTypes != null) {
                 this.bundleChannelTypesMap.remove(bundle);
+                removeChannelTypeIndexEntries(bundle, channelTypes);
                 removeCachedChannelTypes(channelTypes);
             }
         }
     }
 
+    private void removeChannelGroupTypeIndexEntries(Bundle bundle, List<ChannelGroupType> channelGroupTypes) {
+        for (ChannelGroupType channelGroupType : channelGroupTypes) {
+            Entry<Bundle, ChannelGroupType> indexEntry = this.channelGroupTypeIndex.get(channelGroupType.getUID());
+            if (indexEntry != null && indexEntry.getKey().equals(bundle)) {
+                this.channelGroupTypeIndex.remove(channelGroupType.getUID());
+                // another module might provide a channel group type with the same UID
+                for (Entry<Bundle, List<ChannelGroupType>> otherTypes : this.bundleChannelGroupTypesMap.entrySet()) {
+                    for (ChannelGroupType otherType : otherTypes.getValue()) {
+                        if (otherType.getUID().equals(channelGroupType.getUID())) {
+                            this.channelGroupTypeIndex.put(otherType.getUID(),
+                                    new SimpleImmutableEntry<>(otherTypes.getKey(), otherType));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void removeChannelTypeIndexEntries(Bundle bundle, List<ChannelType> channelTypes) {
+        for (ChannelType channelType : channelTypes) {
+            Entry<Bundle, ChannelType> indexEntry = this.channelTypeIndex.get(channelType.getUID());
+            if (indexEntry != null && indexEntry.getKey().equals(bundle)) {
+                this.channelTypeIndex.remove(channelType.getUID());
+                // another module might provide a channel type with the same UID
+                for (Entry<Bundle, List<ChannelType>> otherTypes : this.bundleChannelTypesMap.entrySet()) {
+                    for (ChannelType otherType : otherTypes.getValue()) {
+                        if (otherType.getUID().equals(channelType.getUID())) {
+                            this.channelTypeIndex.put(otherType.getUID(),
+                                    new SimpleImmutableEntry<>(otherTypes.getKey(), otherType));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     @Bind
     public void setI18nProvider(I18nProvider i18nProvider) {
         this.thingTypeI18nUtil = new ThingTypeI18nUtil(i18nProvider);
+        this.localizedChannelGroupTypesCache.clear();
+        this.localizedChannelTypesCache.clear();
     }
 
     @Unbind
     public void unsetI18nProvider(I18nProvider i18nProvider) {
         this.thingTypeI18nUtil = null;
+        this.localizedChannelGroupTypesCache.clear();
+        this.localizedChannelTypesCache.clear();
     }
 
     private List<ChannelGroupType> acquireChannelGroupTypes(Bundle bundle) {
@@ -348,6 +415,10 @@ public class XmlChannelTypeProvider implements ChannelTypeProvider {
         return channelType;
     }
 
+    private String getLocaleKey(Locale locale) {
+        return locale != null ? locale.toLanguageTag() : "";
+    }
+
     private LocalizedChannelTypeKey getLocalizedChannelTypeKey(UID uid, Locale locale) {
         String localeString = locale != null ? locale.toLanguageTag() : null;
         LocalizedChannelTypeKey localizedChannelTypeKey = new LocalizedChannelTypeKey(uid,
@@ -356,6 +427,7 @@ public class XmlChannelTypeProvider implements ChannelTypeProvider {
     }
 
     private void removeCachedChannelGroupTypes(ChannelGroupType channelGroupType) {
+        this.localizedChannelGroupTypesCache.clear();
         for (Iterator<Entry<LocalizedChannelTypeKey, ChannelGroupType>> iterator = this.localizedChannelGroupTypeCache
                 .entrySet().iterator(); iterator.hasNext();) {
             Entry<LocalizedChannelTypeKey, ChannelGroupType> entry = iterator.next();
@@ -372,6 +444,7 @@ public class XmlChannelTypeProvider implements ChannelTypeProvider {
     }
 
     private void removeCachedChannelTypes(ChannelType channelType) {
+        this.localizedChannelTypesCache.clear();
         for (Iterator<Entry<LocalizedChannelTypeKey, ChannelType>> iterator = this.localizedChannelTypeCache.entrySet()
                 .iterator(); iterator.hasNext();) {
             Entry<LocalizedChannelTypeKey, ChannelType> entry = iterator.next();
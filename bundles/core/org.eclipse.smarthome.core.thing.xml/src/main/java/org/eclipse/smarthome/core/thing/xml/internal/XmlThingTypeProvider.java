@@ -7,8 +7,10 @@
  */
 package org.eclipse.smarthome.core.thing.xml.internal;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -97,8 +99,14 @@ public class XmlThingTypeProvider implements ThingTypeProvider {
 
     private Map<LocalizedThingTypeKey, ThingType> localizedThingTypeCache = new ConcurrentHashMap<>();
 
+    /** the localized thing types of all modules by the language tags of their locales */
+    private Map<String, Collection<ThingType>> localizedThingTypesCache = new ConcurrentHashMap<>();
+
     private Map<Bundle, List<ThingType>> bundleThingTypesMap;
 
+    /** the thing types by their UIDs together with the modules they are associated with */
+    private Map<ThingTypeUID, Entry<Bundle, ThingType>> thingTypeIndex = new ConcurrentHashMap<>();
+
     private ThingTypeI18nLocalizationService thingTypeI18nLocalizationService;
 
     public XmlThingTypeProvider() {
@@ -138,6 +146,7 @@ public class XmlThingTypeProvider implements ThingTypeProvider {
 
             if (thingTypes != null) {
                 thingTypes.add(thingType);
+                this.thingTypeIndex.put(thingType.getUID(), new SimpleImmutableEntry<>(bundle, thingType));
                 // just make sure no old entry remains in the cache
                 removeCachedEntries(thingType);
             }
@@ -182,6 +191,7 @@ public class XmlThingTypeProvider implements ThingTypeProvider {
     }
 
     private void removeCachedEntries(ThingType thingType) {
+        this.localizedThingTypesCache.clear();
         for (Iterator<Entry<LocalizedThingTypeKey, ThingType>> iterator = this.localizedThingTypeCache.entrySet()
                 .iterator(); iterator.hasNext();) {
             Entry<LocalizedThingTypeKey, ThingType> entry = iterator.next();
@@ -193,37 +203,45 @@ public class XmlThingTypeProvider implements ThingTypeProvider {
 
     @Override
     public ThingType getThingType(ThingTypeUID thingTypeUID, Locale locale) {
-        Collection<Entry<Bundle, List<ThingType>>> thingTypesList = this.bundleThingTypesMap.entrySet();
+        Entry<Bundle, ThingType> thingType = this.thingTypeIndex.get(thingTypeUID);
 
-        if (thingTypesList != null) {
-            for (Entry<Bundle, List<ThingType>> thingTypes : thingTypesList) {
-                for (ThingType thingType : thingTypes.getValue()) {
-                    if (thingType.getUID().equals(thingTypeUID)) {
-                        return createLocalizedThingType(thingTypes.getKey(), thingType, locale);
-                    }
-                }
-            }
+        if (thingType != null) {
+            return createLocalizedThingType(thingType.getKey(), thingType.getValue(), locale);
         }
         return null;
     }
 
     @Override
-    public synchronized Collection<ThingType> getThingTypes(Locale locale) {
-        List<ThingType> allThingTypes = new ArrayList<>(10);
+    public Collection<ThingType> getThingTypes(Locale locale) {
+        String localeKey = locale != null ? locale.toLanguageTag() : "";
+        Collection<ThingType> cachedThingTypes = this.localizedThingTypesCache.get(localeKey);
+        if (cachedThingTypes != null) {
+            return cachedThingTypes;
+        }
+
+        // the thing types are collected while holding the lock, so that no outdated list is cached
+        synchronized (this) {
+            List<ThingType> allThingTypes = new ArrayList<>(10);
 
-        Collection<Entry<Bundle, List<ThingType>>> thingTypesList = this.bundleThingTypesMap.entrySet();
+            Collection<Entry<Bundle, List<ThingType>>> thingTypesList = this.bundleThingTypesMap.entrySet();
 
-        if (thingTypesList != null) {
-            for (Entry<Bundle, List<ThingType>> thingTypes : thingTypesList) {
-                for (ThingType thingType : thingTypes.getValue()) {
-                    ThingType localizedThingType = createLocalizedThingType(thingTypes.getKey(), thingType, locale);
+            if (thingTypesList != null) {
+                for (Entry<Bundle, List<ThingType>> thingTypes : thingTypesList) {
+                    for (ThingType thingType : thingTypes.getValue()) {
+                        ThingType localizedThingType = createLocalizedThingType(thingTypes.getKey(), thingType,
+                                locale);
 
-                    allThingTypes.add(localizedThingType);
+                        allThingTypes.add(localizedThingType);
+                    }
                 }
             }
-        }
 
-        return allThingTypes;
+            Collection<ThingType> thingTypes = Collections.unmodifiableList(allThingTypes);
+            if (thingTypeI18nLocalizationService != null) {
+                this.localizedThingTypesCache.put(localeKey, thingTypes);
+            }
+            return thingTypes;
+        }
     }
 
     /**
@@ -241,20 +259,41 @@ public class XmlThingTypeProvider implements ThingTypeProvider {
 
             if (thingTypes != null) {
                 this.bundleThingTypesMap.remove(bundle);
+                removeIndexEntries(bundle, thingTypes);
                 removeCachedEntries(thingTypes);
             }
         }
     }
 
+    private void removeIndexEntries(Bundle bundle, List<ThingType> thingTypes) {
+        for (ThingType thingType : thingTypes) {
+            Entry<Bundle, ThingType> indexEntry = this.thingTypeIndex.get(thingType.getUID());
+            if (indexEntry != null && indexEntry.getKey().equals(bundle)) {
+                this.thingTypeIndex.remove(thingType.getUID());
+                // another module might provide a thing type with the same UID
+                for (Entry<Bundle, List<ThingType>> otherThingTypes : this.bundleThingTypesMap.entrySet()) {
+                    for (ThingType otherThingType : otherThingTypes.getValue()) {
+                        if (otherThingType.getUID().equals(thingType.getUID())) {
+                            this.thingTypeIndex.put(otherThingType.getUID(),
+                                    new SimpleImmutableEntry<>(otherThingTypes.getKey(), otherThingType));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     @Bind
     public void setThingTypeI18nLocalizationService(
             final ThingTypeI18nLocalizationService thingTypeI18nLocalizationService) {
         this.thingTypeI18nLocalizationService = thingTypeI18nLocalizationService;
+        this.localizedThingTypesCache.clear();
     }
 
     @Unbind
     public void unsetThingTypeI18nLocalizationService(
             final ThingTypeI18nLocalizationService thingTypeI18nLocalizationService) {
         this.thingTypeI18nLocalizationService = null;
+        this.localizedThingTypesCache.clear();
     }
 }
@@ -8,9 +8,12 @@
 package org.eclipse.smarthome.core.thing.link;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.eclipse.smarthome.core.common.registry.AbstractRegistry;
 import org.eclipse.smarthome.core.common.registry.Provider;
@@ -19,6 +22,9 @@ import org.eclipse.smarthome.core.thing.UID;
 /**
  * {@link AbstractLinkRegistry} is an abstract class for link based registries,
  * which handle {@link AbstractLink}s.
+ * <p>
+ * The links are indexed by their UIDs, so that the links of a channel or thing are looked up without iterating over
+ * all links.
  *
  * @author Dennis Nobel - Initial contribution
  *
@@ -28,6 +34,9 @@ import org.eclipse.smarthome.core.thing.UID;
 public abstract class AbstractLinkRegistry<L extends AbstractLink, P extends Provider<L>>
         extends AbstractRegistry<L, String, P> {
 
+    /* the links of each UID, which are provided by at least one provider */
+    private final Map<UID, Set<L>> linksByUID = new ConcurrentHashMap<>();
+
     protected AbstractLinkRegistry(final Class<P> providerClazz) {
         super(providerClazz);
     }
@@ -44,8 +53,8 @@ public abstract class AbstractLinkRegistry<L extends AbstractLink, P extends Pro
      */
     public boolean isLinked(String itemName, UID uid) {
 
-        for (AbstractLink link : getAll()) {
-            if (link.getUID().equals(uid) && link.getItemName().equals(itemName)) {
+        for (AbstractLink link : getIndexedLinks(uid)) {
+            if (link.getItemName().equals(itemName)) {
                 return true;
             }
         }
@@ -61,10 +70,8 @@ public abstract class AbstractLinkRegistry<L extends AbstractLink, P extends Pro
      */
     public Set<String> getLinkedItemNames(UID uid) {
         Set<String> linkedItems = new LinkedHashSet<>();
-        for (AbstractLink link : getAll()) {
-            if (link.getUID().equals(uid)) {
-                linkedItems.add(link.getItemName());
-            }
+        for (AbstractLink link : getIndexedLinks(uid)) {
+            linkedItems.add(link.getItemName());
         }
         return linkedItems;
     }
@@ -76,13 +83,7 @@ public abstract class AbstractLinkRegistry<L extends AbstractLink, P extends Pro
      * @return a set of links for the given UID
      */
     public Set<L> getLinks(UID uid) {
-        Set<L> links = new LinkedHashSet<>();
-        for (L link : getAll()) {
-            if (link.getUID().equals(uid)) {
-                links.add(link);
-            }
-        }
-        return links;
+        return new LinkedHashSet<>(getIndexedLinks(uid));
     }
 
     @Override
@@ -97,4 +98,66 @@ public abstract class AbstractLinkRegistry<L extends AbstractLink, P extends Pro
         return null;
     }
 
+    @Override
+    protected void notifyListenersAboutAddedElement(L element) {
+        index(element);
+        super.notifyListenersAboutAddedElement(element);
+    }
+
+    @Override
+    protected void notifyListenersAboutRemovedElement(L element) {
+        unindexIfNotProvided(element);
+        super.notifyListenersAboutRemovedElement(element);
+    }
+
+    @Override
+    protected void notifyListenersAboutUpdatedElement(L oldElement, L element) {
+        unindexIfNotProvided(oldElement);
+        index(element);
+        super.notifyListenersAboutUpdatedElement(oldElement, element);
+    }
+
+    @Override
+    protected void removeProvider(Provider<L> provider) {
+        Collection<L> links = elementMap.get(provider);
+        super.removeProvider(provider);
+        // the links are still provided while the listeners are notified, so they are unindexed afterwards
+        if (links != null) {
+            for (L link : links) {
+                unindexIfNotProvided(link);
+            }
+        }
+    }
+
+    private Set<L> getIndexedLinks(UID uid) {
+        Set<L> links = linksByUID.get(uid);
+        return links != null ? links : Collections.<L> emptySet();
+    }
+
+    private void index(L link) {
+        linksByUID.computeIfAbsent(link.getUID(), uid -> new CopyOnWriteArraySet<>()).add(link);
+    }
+
+    /**
+     * Removes the link from the index, unless it is still provided by any provider, e.g. if it has been removed by
+     * another provider only or if it has been removed twice.
+     */
+    private void unindexIfNotProvided(L link) {
+        linksByUID.computeIfPresent(link.getUID(), (uid, links) -> {
+            if (!isProvided(link)) {
+                links.remove(link);
+            }
+            return links.isEmpty() ? null : links;
+        });
+    }
+
+    private boolean isProvided(L link) {
+        for (Collection<L> links : elementMap.values()) {
+            if (links.contains(link)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
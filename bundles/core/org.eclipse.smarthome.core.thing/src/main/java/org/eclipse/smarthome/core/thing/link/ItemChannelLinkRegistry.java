@@ -68,9 +68,9 @@ public class ItemChannelLinkRegistry extends AbstractLinkRegistry<ItemChannelLin
     @Override
     public Set<String> getLinkedItemNames(UID uid) {
         final Set<String> linkedItems = new LinkedHashSet<>();
-        for (final AbstractLink link : getAll()) {
+        for (final AbstractLink link : getLinks(uid)) {
             final String itemName = link.getItemName();
-            if (link.getUID().equals(uid) && itemRegistry.get(itemName) != null) {
+            if (itemRegistry.get(itemName) != null) {
                 linkedItems.add(itemName);
             }
         }
@@ -79,10 +79,10 @@ public class ItemChannelLinkRegistry extends AbstractLinkRegistry<ItemChannelLin
 
     public Set<Item> getLinkedItems(UID uid) {
         final Set<Item> linkedItems = new LinkedHashSet<>();
-        for (final AbstractLink link : getAll()) {
+        for (final AbstractLink link : getLinks(uid)) {
             final String itemName = link.getItemName();
             Item item = itemRegistry.get(itemName);
-            if (link.getUID().equals(uid) && item != null) {
+            if (item != null) {
                 linkedItems.add(item);
             }
         }
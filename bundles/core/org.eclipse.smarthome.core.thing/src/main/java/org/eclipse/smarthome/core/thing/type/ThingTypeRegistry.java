@@ -66,7 +66,7 @@ public class ThingTypeRegistry {
     public List<ThingType> getThingTypes(String bindingId, Locale locale) {
         List<ThingType> thingTypesForBinding = Lists.newArrayList();
 
-        for (ThingType thingType : getThingTypes()) {
+        for (ThingType thingType : getThingTypes(locale)) {
             if (thingType.getBindingId().equals(bindingId)) {
                 thingTypesForBinding.add(thingType);
             }
@@ -14,6 +14,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.smarthome.core.common.registry.AbstractRegistry;
 import org.eclipse.smarthome.core.common.registry.Provider;
@@ -27,7 +28,9 @@ import org.eclipse.smarthome.core.items.ItemProvider;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.ItemUtil;
 import org.eclipse.smarthome.core.items.ManagedItemProvider;
+import org.eclipse.smarthome.core.items.StateChangeListener;
 import org.eclipse.smarthome.core.items.events.ItemEventFactory;
+import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.StateDescriptionProvider;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
@@ -58,6 +61,20 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
 
     private Map<String, Integer> stateDescriptionProviderRanking = new ConcurrentHashMap<>();
 
+    private final AtomicLong changeCount = new AtomicLong();
+
+    private final StateChangeListener stateChangeCounter = new StateChangeListener() {
+        @Override
+        public void stateChanged(Item item, State oldState, State newState) {
+            changeCount.incrementAndGet();
+        }
+
+        @Override
+        public void stateUpdated(Item item, State state) {
+            // the item has not changed
+        }
+    };
+
     public ItemRegistryImpl() {
         super(ItemProvider.class);
     }
@@ -198,6 +215,7 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
             GenericItem genericItem = (GenericItem) item;
             genericItem.setEventPublisher(eventPublisher);
             genericItem.setStateDescriptionProviders(stateDescriptionProviders);
+            genericItem.addStateChangeListener(stateChangeCounter);
         }
     }
 
@@ -206,6 +224,7 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
             GenericItem genericItem = (GenericItem) item;
             genericItem.setEventPublisher(null);
             genericItem.setStateDescriptionProviders(null);
+            genericItem.removeStateChangeListener(stateChangeCounter);
         }
     }
 
@@ -322,20 +341,28 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
         }
     }
 
+    @Override
+    public long getChangeCount() {
+        return changeCount.get();
+    }
+
     @Override
     protected void notifyListenersAboutAddedElement(Item element) {
+        changeCount.incrementAndGet();
         super.notifyListenersAboutAddedElement(element);
         postEvent(ItemEventFactory.createAddedEvent(element));
     }
 
     @Override
     protected void notifyListenersAboutRemovedElement(Item element) {
+        changeCount.incrementAndGet();
         super.notifyListenersAboutRemovedElement(element);
         postEvent(ItemEventFactory.createRemovedEvent(element));
     }
 
     @Override
     protected void notifyListenersAboutUpdatedElement(Item oldElement, Item element) {
+        changeCount.incrementAndGet();
         super.notifyListenersAboutUpdatedElement(oldElement, element);
         postEvent(ItemEventFactory.createUpdateEvent(element, oldElement));
     }
@@ -387,6 +414,7 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
                     ((GenericItem) item).setStateDescriptionProviders(stateDescriptionProviders);
                 }
             }
+            changeCount.incrementAndGet();
             return provider;
         }
 
@@ -398,6 +426,7 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
             for (Item item : getItems()) {
                 ((GenericItem) item).setStateDescriptionProviders(stateDescriptionProviders);
             }
+            changeCount.incrementAndGet();
         }
     }
 
@@ -105,4 +105,14 @@ public interface ItemRegistry extends Registry<Item, String> {
      */
     public Item remove(String itemName, boolean recursive);
 
+    /**
+     * Returns a counter, which is incremented whenever an item is added, removed or updated or the state of an item
+     * changes. It allows to check cheaply, whether the items have changed since they were last retrieved.
+     *
+     * @return the number of changes since the registry was started or -1, if the registry does not count its changes
+     */
+    public default long getChangeCount() {
+        return -1;
+    }
+
 }
@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.library.types;
+
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link java.util.Formatter} pattern which formats a calendar, as used by {@link DateTimeType#format(String)}.
+ * <p>
+ * Patterns which only consist of text and of numeric date/time conversions of the first argument, e.g.
+ * {@code "%1$td.%1$tm.%1$tY %1$tH:%1$tM"}, are split into their parts once and formatted without parsing the pattern
+ * again. All other patterns, e.g. patterns with flags, a width or names of months, are formatted by
+ * {@link String#format(String, Object...)}.
+ *
+ * @author agent - Initial contribution
+ */
+final class CalendarPattern {
+
+    private static final int MAX_CACHE_SIZE = 256;
+
+    private static final String NUMERIC_CONVERSIONS = "HIklMSLNzsQCYymdej";
+
+    private static final Map<String, CalendarPattern> CACHE = new ConcurrentHashMap<>();
+
+    private static final Map<Locale, Boolean> ASCII_DIGIT_LOCALES = new ConcurrentHashMap<>();
+
+    private final String pattern;
+
+    /**
+     * the literal texts as strings and the conversions as characters or null, if the pattern cannot be compiled
+     */
+    private final Object[] parts;
+
+    private CalendarPattern(String pattern, Object[] parts) {
+        this.pattern = pattern;
+        this.parts = parts;
+    }
+
+    /**
+     * @param pattern the pattern, must not be null
+     * @return the compiled pattern
+     */
+    static CalendarPattern get(String pattern) {
+        CalendarPattern calendarPattern = CACHE.get(pattern);
+        if (calendarPattern == null) {
+            calendarPattern = new CalendarPattern(pattern, compile(pattern));
+            // the patterns come from item labels, so there are only a few of them
+            if (CACHE.size() < MAX_CACHE_SIZE) {
+                CACHE.put(pattern, calendarPattern);
+            }
+        }
+        return calendarPattern;
+    }
+
+    private static Object[] compile(String pattern) {
+        List<Object> parts = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        boolean hasConversion = false;
+        int length = pattern.length();
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i++);
+            if (c != '%') {
+                text.append(c);
+                continue;
+            }
+            if (pattern.startsWith("%", i)) {
+                text.append('%');
+                i++;
+                continue;
+            }
+            if (pattern.startsWith("n", i)) {
+                text.append(System.lineSeparator());
+                i++;
+                continue;
+            }
+            if (pattern.startsWith("1$t", i)) {
+                i += 3;
+            } else if (pattern.startsWith("<t", i) && hasConversion) {
+                i += 2;
+            } else {
+                return null;
+            }
+            if (i == length) {
+                return null;
+            }
+            char conversion = pattern.charAt(i++);
+            String conversions = expand(conversion);
+            if (conversions == null) {
+                return null;
+            }
+            for (int j = 0; j < conversions.length(); j++) {
+                char part = conversions.charAt(j);
+                if (NUMERIC_CONVERSIONS.indexOf(part) >= 0) {
+                    if (text.length() > 0) {
+                        parts.add(text.toString());
+                        text.setLength(0);
+                    }
+                    parts.add(part);
+                } else {
+                    text.append(part);
+                }
+            }
+            hasConversion = true;
+        }
+        if (text.length() > 0) {
+            parts.add(text.toString());
+        }
+        return parts.toArray();
+    }
+
+    /**
+     * @return the numeric conversions and separators the given conversion consists of or null, if it is not numeric
+     */
+    private static String expand(char conversion) {
+        switch (conversion) {
+            case 'R':
+                return "H:M";
+            case 'T':
+                return "H:M:S";
+            case 'D':
+                return "m/d/y";
+            case 'F':
+                return "Y-m-d";
+            default:
+                return NUMERIC_CONVERSIONS.indexOf(conversion) >= 0 ? String.valueOf(conversion) : null;
+        }
+    }
+
+    String format(Calendar calendar) {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        if (parts == null || !hasAsciiDigits(locale)) {
+            return String.format(pattern, calendar);
+        }
+        // like the Formatter, work on a copy, as reading the fields of a calendar may modify it
+        Calendar copy = (Calendar) calendar.clone();
+        copy.setLenient(true);
+        StringBuilder sb = new StringBuilder();
+        for (Object part : parts) {
+            if (part instanceof String) {
+                sb.append((String) part);
+            } else {
+                append(sb, copy, (Character) part);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean hasAsciiDigits(Locale locale) {
+        Boolean asciiDigits = ASCII_DIGIT_LOCALES.get(locale);
+        if (asciiDigits == null) {
+            asciiDigits = locale.equals(Locale.US) || DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0';
+            ASCII_DIGIT_LOCALES.put(locale, asciiDigits);
+        }
+        return asciiDigits;
+    }
+
+    private static void append(StringBuilder sb, Calendar calendar, char conversion) {
+        switch (conversion) {
+            case 'H':
+                append(sb, calendar.get(Calendar.HOUR_OF_DAY), 2);
+                break;
+            case 'I':
+                append(sb, toTwelveHours(calendar.get(Calendar.HOUR)), 2);
+                break;
+            case 'k':
+                append(sb, calendar.get(Calendar.HOUR_OF_DAY), 0);
+                break;
+            case 'l':
+                append(sb, toTwelveHours(calendar.get(Calendar.HOUR)), 0);
+                break;
+            case 'M':
+                append(sb, calendar.get(Calendar.MINUTE), 2);
+                break;
+            case 'S':
+                append(sb, calendar.get(Calendar.SECOND), 2);
+                break;
+            case 'L':
+                append(sb, calendar.get(Calendar.MILLISECOND), 3);
+                break;
+            case 'N':
+                append(sb, calendar.get(Calendar.MILLISECOND) * 1000000L, 9);
+                break;
+            case 'z':
+                int offset = calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET);
+                sb.append(offset < 0 ? '-' : '+');
+                int minutes = Math.abs(offset) / 60000;
+                append(sb, (minutes / 60) * 100 + (minutes % 60), 4);
+                break;
+            case 's':
+                sb.append(calendar.getTimeInMillis() / 1000);
+                break;
+            case 'Q':
+                sb.append(calendar.getTimeInMillis());
+                break;
+            case 'C':
+                append(sb, calendar.get(Calendar.YEAR) / 100, 2);
+                break;
+            case 'Y':
+                append(sb, calendar.get(Calendar.YEAR), 4);
+                break;
+            case 'y':
+                append(sb, calendar.get(Calendar.YEAR) % 100, 2);
+                break;
+            case 'm':
+                append(sb, calendar.get(Calendar.MONTH) + 1, 2);
+                break;
+            case 'd':
+                append(sb, calendar.get(Calendar.DATE), 2);
+                break;
+            case 'e':
+                append(sb, calendar.get(Calendar.DATE), 0);
+                break;
+            case 'j':
+                append(sb, calendar.get(Calendar.DAY_OF_YEAR), 3);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected conversion " + conversion);
+        }
+    }
+
+    private static int toTwelveHours(int hour) {
+        return hour == 0 ? 12 : hour;
+    }
+
+    private static void append(StringBuilder sb, long value, int width) {
+        String digits = Long.toString(value);
+        for (int i = digits.length(); i < width; i++) {
+            sb.append('0');
+        }
+        sb.append(digits);
+    }
+
+}
@@ -7,8 +7,16 @@
  */
 package org.eclipse.smarthome.core.library.types;
 
+import static java.time.temporal.ChronoField.*;
+
 import java.text.ParseException;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.TemporalAccessor;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
@@ -24,6 +32,24 @@ public class DateTimeType implements PrimitiveType, State, Command {
     public static final String DATE_PATTERN_WITH_TZ_AND_MS = "yyyy-MM-dd'T'HH:mm:ss.SSSZ";
     public static final String DATE_PATTERN_WITH_TZ_AND_MS_ISO = "yyyy-MM-dd'T'HH:mm:ss.SSSX";
 
+    /**
+     * Parses the common shapes of the patterns above in one pass: the milliseconds and the time zone offset, either
+     * as RFC 822 offset or as ISO 8601 offset, are optional. The fields are not validated, so that they can be
+     * resolved as leniently as by {@link SimpleDateFormat}.
+     */
+    private static final DateTimeFormatter PARSER = new DateTimeFormatterBuilder().appendValue(YEAR, 4)
+            .appendLiteral('-').appendValue(MONTH_OF_YEAR, 2).appendLiteral('-').appendValue(DAY_OF_MONTH, 2)
+            .appendLiteral('T').appendValue(HOUR_OF_DAY, 2).appendLiteral(':').appendValue(MINUTE_OF_HOUR, 2)
+            .appendLiteral(':').appendValue(SECOND_OF_MINUTE, 2).optionalStart().appendLiteral('.')
+            .appendValue(MILLI_OF_SECOND, 3).optionalEnd().optionalStart().appendOffset("+HH:MM", "Z")
+            .optionalEnd().optionalStart().appendOffset("+HHMM", "Z").optionalEnd().optionalStart()
+            .appendOffset("+HH", "Z").optionalEnd().toFormatter(Locale.ROOT);
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DATE_PATTERN, Locale.ROOT);
+
+    private static final DateTimeFormatter FORMATTER_WITH_TZ_AND_MS = DateTimeFormatter
+            .ofPattern(DATE_PATTERN_WITH_TZ_AND_MS, Locale.ROOT);
+
     private Calendar calendar;
 
     public DateTimeType() {
@@ -35,30 +61,71 @@ public class DateTimeType implements PrimitiveType, State, Command {
     }
 
     public DateTimeType(String calendarValue) {
-        Date date = null;
+        calendar = parse(calendarValue);
+        if (calendar == null) {
+            Date date = parseWithSimpleDateFormat(calendarValue);
+            if (date != null) {
+                calendar = Calendar.getInstance();
+                calendar.setTime(date);
+            }
+        }
+    }
+
+    /**
+     * Parses values which have one of the common shapes without creating any exceptions.
+     *
+     * @return the calendar or null, if the value has another shape
+     */
+    private static Calendar parse(String value) {
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor parsed = PARSER.parseUnresolved(value, position);
+        if (parsed == null || position.getIndex() != value.length()) {
+            return null;
+        }
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set((int) parsed.getLong(YEAR), (int) parsed.getLong(MONTH_OF_YEAR) - 1,
+                (int) parsed.getLong(DAY_OF_MONTH), (int) parsed.getLong(HOUR_OF_DAY),
+                (int) parsed.getLong(MINUTE_OF_HOUR), (int) parsed.getLong(SECOND_OF_MINUTE));
+        if (parsed.isSupported(MILLI_OF_SECOND)) {
+            calendar.set(Calendar.MILLISECOND, (int) parsed.getLong(MILLI_OF_SECOND));
+        }
+        if (parsed.isSupported(OFFSET_SECONDS)) {
+            calendar.set(Calendar.ZONE_OFFSET, (int) parsed.getLong(OFFSET_SECONDS) * 1000);
+            calendar.set(Calendar.DST_OFFSET, 0);
+        }
+
+        // like a parsed date, the calendar always refers to the default time zone
+        long time = calendar.getTimeInMillis();
+        calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        return calendar;
+    }
+
+    private static Date parseWithSimpleDateFormat(String calendarValue) {
+        // all of the patterns contain the separator of date and time
+        if (calendarValue.indexOf('T') < 0) {
+            throw new IllegalArgumentException(calendarValue + " is not in a valid format.");
+        }
 
         try {
             try {
-                date = new SimpleDateFormat(DATE_PATTERN_WITH_TZ_AND_MS).parse(calendarValue);
+                return new SimpleDateFormat(DATE_PATTERN_WITH_TZ_AND_MS).parse(calendarValue);
             } catch (ParseException fpe3) {
                 try {
-                    date = new SimpleDateFormat(DATE_PATTERN_WITH_TZ_AND_MS_ISO).parse(calendarValue);
+                    return new SimpleDateFormat(DATE_PATTERN_WITH_TZ_AND_MS_ISO).parse(calendarValue);
                 } catch (ParseException fpe4) {
                     try {
-                        date = new SimpleDateFormat(DATE_PATTERN_WITH_TZ).parse(calendarValue);
+                        return new SimpleDateFormat(DATE_PATTERN_WITH_TZ).parse(calendarValue);
                     } catch (ParseException fpe2) {
-                        date = new SimpleDateFormat(DATE_PATTERN).parse(calendarValue);
+                        return new SimpleDateFormat(DATE_PATTERN).parse(calendarValue);
                     }
                 }
             }
         } catch (ParseException fpe) {
             throw new IllegalArgumentException(calendarValue + " is not in a valid format.", fpe);
         }
-
-        if (date != null) {
-            calendar = Calendar.getInstance();
-            calendar.setTime(date);
-        }
     }
 
     public Calendar getCalendar() {
@@ -72,9 +139,9 @@ public class DateTimeType implements PrimitiveType, State, Command {
     @Override
     public String format(String pattern) {
         try {
-            return String.format(pattern, calendar);
+            return CalendarPattern.get(pattern).format(calendar);
         } catch (NullPointerException npe) {
-            return new SimpleDateFormat(DATE_PATTERN).format(calendar.getTime());
+            return format(FORMATTER);
         }
     }
 
@@ -89,7 +156,12 @@ public class DateTimeType implements PrimitiveType, State, Command {
 
     @Override
     public String toFullString() {
-        return new SimpleDateFormat(DATE_PATTERN_WITH_TZ_AND_MS).format(calendar.getTime());
+        return format(FORMATTER_WITH_TZ_AND_MS);
+    }
+
+    private String format(DateTimeFormatter formatter) {
+        // like SimpleDateFormat, the formatter uses the default time zone
+        return formatter.format(Instant.ofEpochMilli(calendar.getTimeInMillis()).atZone(ZoneId.systemDefault()));
     }
 
     @Override
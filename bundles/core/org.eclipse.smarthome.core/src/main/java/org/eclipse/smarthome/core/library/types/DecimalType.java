@@ -20,6 +20,11 @@ import org.eclipse.smarthome.core.types.UnDefType;
 /**
  * The decimal type uses a BigDecimal internally and thus can be used for
  * integers, longs and floating point numbers alike.
+ * <p>
+ * Values with at most {@value #MAX_COMPACT_DIGITS} digits, which are created from longs or parsed from strings, are
+ * additionally kept in a compact form of an unscaled long and a scale, like {@link BigDecimal} does internally. They
+ * are parsed without the string parsing of {@link BigDecimal} and compared and converted without {@link BigDecimal}
+ * arithmetic.
  *
  * @author Kai Kreuzer - Initial contribution and API
  *
@@ -28,10 +33,37 @@ public class DecimalType extends Number implements PrimitiveType, State, Command
 
     private static final long serialVersionUID = 4226845847123464690L;
 
+    /**
+     * the maximum number of digits of a value in compact form, so that it always fits into a long
+     */
+    private static final int MAX_COMPACT_DIGITS = 18;
+
+    private static final long[] LONG_TEN_POWERS = new long[MAX_COMPACT_DIGITS + 1];
+
+    private static final double[] DOUBLE_TEN_POWERS = new double[23];
+
+    static {
+        LONG_TEN_POWERS[0] = 1;
+        for (int i = 1; i < LONG_TEN_POWERS.length; i++) {
+            LONG_TEN_POWERS[i] = LONG_TEN_POWERS[i - 1] * 10;
+        }
+        DOUBLE_TEN_POWERS[0] = 1;
+        for (int i = 1; i < DOUBLE_TEN_POWERS.length; i++) {
+            DOUBLE_TEN_POWERS[i] = DOUBLE_TEN_POWERS[i - 1] * 10;
+        }
+    }
+
     final static public DecimalType ZERO = new DecimalType(0);
 
     protected BigDecimal value;
 
+    // the compact form of the value, unscaledValue * 10^-scale, which is only valid for the value it has been created
+    // for; subclasses, which assign the value themselves, and deserialized values, whose compact form is transient,
+    // therefore fall back to the value
+    private transient BigDecimal compactValue;
+    private transient long unscaledValue;
+    private transient int scale;
+
     public DecimalType() {
         this.value = BigDecimal.ZERO;
     }
@@ -42,6 +74,10 @@ public class DecimalType extends Number implements PrimitiveType, State, Command
 
     public DecimalType(long value) {
         this.value = BigDecimal.valueOf(value);
+        if (value != Long.MIN_VALUE) {
+            this.unscaledValue = value;
+            this.compactValue = this.value;
+        }
     }
 
     public DecimalType(double value) {
@@ -49,7 +85,53 @@ public class DecimalType extends Number implements PrimitiveType, State, Command
     }
 
     public DecimalType(String value) {
-        this.value = new BigDecimal(value);
+        if (parseCompact(value)) {
+            this.value = BigDecimal.valueOf(unscaledValue, scale);
+            this.compactValue = this.value;
+        } else {
+            this.value = new BigDecimal(value);
+        }
+    }
+
+    /**
+     * Parses plain decimal numbers with at most {@value #MAX_COMPACT_DIGITS} digits into the compact form. All other
+     * values are left to {@link BigDecimal}.
+     *
+     * @return true, if the value has been parsed
+     */
+    private boolean parseCompact(String value) {
+        int length = value.length();
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            index++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; index < length; index++) {
+            char c = value.charAt(index);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_COMPACT_DIGITS) {
+                    return false;
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return false;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        this.unscaledValue = negative ? -unscaled : unscaled;
+        this.scale = Math.max(fractionDigits, 0);
+        return true;
     }
 
     @Override
@@ -59,7 +141,28 @@ public class DecimalType extends Number implements PrimitiveType, State, Command
 
     @Override
     public String toFullString() {
-        return value.toPlainString();
+        if (!isCompact()) {
+            return value.toPlainString();
+        }
+        if (scale == 0) {
+            return Long.toString(unscaledValue);
+        }
+        String digits = Long.toString(Math.abs(unscaledValue));
+        StringBuilder sb = new StringBuilder(digits.length() + 3);
+        if (unscaledValue < 0) {
+            sb.append('-');
+        }
+        int integerDigits = digits.length() - scale;
+        if (integerDigits > 0) {
+            sb.append(digits, 0, integerDigits).append('.').append(digits, integerDigits, digits.length());
+        } else {
+            sb.append("0.");
+            for (int i = integerDigits; i < 0; i++) {
+                sb.append('0');
+            }
+            sb.append(digits);
+        }
+        return sb.toString();
     }
 
     public static DecimalType valueOf(String value) {
@@ -112,7 +215,7 @@ public class DecimalType extends Number implements PrimitiveType, State, Command
             if (other.value != null) {
                 return false;
             }
-        } else if (value.compareTo(other.value) != 0) {
+        } else if (compareTo(other) != 0) {
             return false;
         }
         return true;
@@ -120,26 +223,62 @@ public class DecimalType extends Number implements PrimitiveType, State, Command
 
     @Override
     public int compareTo(DecimalType o) {
+        if (isCompact() && o.isCompact()) {
+            if (scale == o.scale) {
+                return Long.compare(unscaledValue, o.unscaledValue);
+            }
+            // bring both values to the same scale, if this is possible without an overflow
+            if (scale < o.scale) {
+                if (canScaleUp(unscaledValue, o.scale - scale)) {
+                    return Long.compare(unscaledValue * LONG_TEN_POWERS[o.scale - scale], o.unscaledValue);
+                }
+            } else if (canScaleUp(o.unscaledValue, scale - o.scale)) {
+                return Long.compare(unscaledValue, o.unscaledValue * LONG_TEN_POWERS[scale - o.scale]);
+            }
+        }
         return value.compareTo(o.toBigDecimal());
     }
 
+    private boolean isCompact() {
+        return compactValue != null && compactValue == value;
+    }
+
+    private static boolean canScaleUp(long unscaled, int digits) {
+        return digits < LONG_TEN_POWERS.length && Math.abs(unscaled) <= Long.MAX_VALUE / LONG_TEN_POWERS[digits];
+    }
+
     @Override
     public double doubleValue() {
+        if (isCompact()) {
+            if (scale == 0) {
+                return unscaledValue;
+            }
+            // both operands are exact doubles, so the division is correctly rounded
+            if (Math.abs(unscaledValue) < 1L << 52 && scale < DOUBLE_TEN_POWERS.length) {
+                return unscaledValue / DOUBLE_TEN_POWERS[scale];
+            }
+        }
         return value.doubleValue();
     }
 
     @Override
     public float floatValue() {
+        if (isCompact() && scale == 0) {
+            return unscaledValue;
+        }
         return value.floatValue();
     }
 
     @Override
     public int intValue() {
-        return value.intValue();
+        return (int) longValue();
     }
 
     @Override
     public long longValue() {
+        if (isCompact()) {
+            return scale == 0 ? unscaledValue : unscaledValue / LONG_TEN_POWERS[scale];
+        }
         return value.longValue();
     }
 
@@ -12,19 +12,28 @@ import static org.junit.Assert.*
 import static org.junit.matchers.JUnitMatchers.*
 
 import javax.ws.rs.core.Response
+import javax.ws.rs.core.StreamingOutput
 import javax.ws.rs.core.UriInfo
 import javax.ws.rs.core.Response.Status
 
 import org.eclipse.smarthome.core.items.ItemProvider
+import org.eclipse.smarthome.core.items.ItemRegistry
 import org.eclipse.smarthome.core.items.ManagedItemProvider
 import org.eclipse.smarthome.core.library.items.DimmerItem
 import org.eclipse.smarthome.core.library.items.SwitchItem
+import org.eclipse.smarthome.core.library.types.OnOffType
+import org.eclipse.smarthome.core.thing.ChannelUID
+import org.eclipse.smarthome.core.thing.binding.ThingTypeProvider
+import org.eclipse.smarthome.core.thing.link.ItemChannelLink
+import org.eclipse.smarthome.core.thing.link.ManagedItemChannelLinkProvider
+import org.eclipse.smarthome.io.rest.core.item.EnrichedItemDTO
 import org.eclipse.smarthome.io.rest.core.item.ItemResource
 import org.eclipse.smarthome.test.OSGiTest
 import org.junit.After
 import org.junit.Before
 import org.junit.Test
 
+import com.google.gson.Gson
 
 /**
  * ItemResourceOSGiTest tests the ItemResource REST resource on the OSGi level.
@@ -34,12 +43,16 @@ import org.junit.Test
 class ItemResourceOSGiTest extends OSGiTest {
 
     ItemResource itemResource
+    ItemRegistry itemRegistry
     ManagedItemProvider managedItemProvider
+    ManagedItemChannelLinkProvider managedItemChannelLinkProvider
 
     @Before
     void setUp() {
         registerVolatileStorageService()
         managedItemProvider = getService ManagedItemProvider
+        itemRegistry = getService ItemRegistry
+        managedItemChannelLinkProvider = getService ManagedItemChannelLinkProvider
         itemResource = getService ItemResource
         itemResource.uriInfo = [
             getPath: { return "path" },
@@ -49,6 +62,9 @@ class ItemResourceOSGiTest extends OSGiTest {
 
     @After
     void cleanUp() {
+        managedItemChannelLinkProvider.getAll().each {
+            managedItemChannelLinkProvider.remove(it.getID())
+        }
         managedItemProvider.getAll().each {
             managedItemProvider.remove(it.name)
         }
@@ -76,9 +92,9 @@ class ItemResourceOSGiTest extends OSGiTest {
         ] as ItemProvider
         registerService itemProvider
 
-        assertThat containsItems(itemResource.getItems(null, null, "Tag1", false).getEntity(), ["Item1", "Item2"]), is(true)
-        assertThat containsItems(itemResource.getItems(null, null, "Tag2", false).getEntity(), ["Item2", "Item3"]), is(true)
-        assertThat itemResource.getItems(null, null, "NotExistingTag", false).getEntity().size(), is(0)
+        assertThat containsItems(getItemBeans(null, "Tag1"), ["Item1", "Item2"]), is(true)
+        assertThat containsItems(getItemBeans(null, "Tag2"), ["Item2", "Item3"]), is(true)
+        assertThat getItemBeans(null, "NotExistingTag").size(), is(0)
     }
 
     @Test
@@ -97,19 +113,19 @@ class ItemResourceOSGiTest extends OSGiTest {
         ] as ItemProvider
         registerService itemProvider
 
-        assertThat containsItems(itemResource.getItems(null, "Switch", null, false).getEntity(), ["Item1", "Item2"]), is(true)
-        assertThat containsItems(itemResource.getItems(null, "Dimmer", null, false).getEntity(), ["Item3"]), is(true)
-        assertThat itemResource.getItems(null, null, "Color", false).getEntity().size(), is(0)
+        assertThat containsItems(getItemBeans("Switch", null), ["Item1", "Item2"]), is(true)
+        assertThat containsItems(getItemBeans("Dimmer", null), ["Item3"]), is(true)
+        assertThat getItemBeans(null, "Color").size(), is(0)
     }
 
     @Test
     void 'assert addTag and removeTag works'() {
         managedItemProvider.add(new SwitchItem("Switch"))
-        assertThat itemResource.getItems(null, null, "MyTag", false).getEntity().size(), is(0)
+        assertThat getItemBeans(null, "MyTag").size(), is(0)
         itemResource.addTag("Switch", "MyTag")
-        assertThat itemResource.getItems(null, null, "MyTag", false).getEntity().size(), is(1)
+        assertThat getItemBeans(null, "MyTag").size(), is(1)
         itemResource.removeTag("Switch", "MyTag")
-        assertThat itemResource.getItems(null, null, "MyTag", false).getEntity().size(), is(0)
+        assertThat getItemBeans(null, "MyTag").size(), is(0)
     }
 
     @Test
@@ -135,6 +151,79 @@ class ItemResourceOSGiTest extends OSGiTest {
         assertThat response.status, is(Status.METHOD_NOT_ALLOWED.code)
     }
 
+    @Test
+    void 'assert getItems returns not modified as long as the items have not changed'() {
+        managedItemProvider.add(new SwitchItem("Switch"))
+
+        Response response = itemResource.getItems(null, null, null, null, false, null, false)
+        assertThat response.status, is(Status.OK.code)
+        def etag = response.entityTag
+        assertThat etag, is(notNullValue())
+
+        response = itemResource.getItems(null, "\"" + etag.value + "\"", null, null, false, null, false)
+        assertThat response.status, is(Status.NOT_MODIFIED.code)
+        assertThat response.entity, is(nullValue())
+
+        managedItemProvider.add(new SwitchItem("Switch2"))
+        response = itemResource.getItems(null, "\"" + etag.value + "\"", null, null, false, null, false)
+        assertThat response.status, is(Status.OK.code)
+        assertThat response.entityTag, is(not(etag))
+
+        etag = response.entityTag
+        itemRegistry.get("Switch").setState(OnOffType.ON)
+        waitForAssert {
+            response = itemResource.getItems(null, "\"" + etag.value + "\"", null, null, false, null, false)
+            assertThat response.status, is(Status.OK.code)
+        }
+    }
+
+    @Test
+    void 'assert getItems returns the items again when the sources of their state descriptions have changed'() {
+        managedItemProvider.add(new SwitchItem("Switch"))
+        def etag = itemResource.getItems(null, null, null, null, false, null, false).entityTag
+
+        managedItemChannelLinkProvider.add(new ItemChannelLink("Switch", new ChannelUID("binding:type:thing:channel")))
+        def response = itemResource.getItems(null, "\"" + etag.value + "\"", null, null, false, null, false)
+        assertThat response.status, is(Status.OK.code)
+        assertThat response.entityTag, is(not(etag))
+
+        etag = response.entityTag
+        registerService([
+            getThingTypes: { locale -> [] },
+            getThingType: { thingTypeUID, locale -> null }
+        ] as ThingTypeProvider)
+        response = itemResource.getItems(null, "\"" + etag.value + "\"", null, null, false, null, false)
+        assertThat response.status, is(Status.OK.code)
+        assertThat response.entityTag, is(not(etag))
+
+        etag = response.entityTag
+        response = itemResource.getItems(null, "\"" + etag.value + "\"", null, null, false, null, false)
+        assertThat response.status, is(Status.NOT_MODIFIED.code)
+    }
+
+    @Test
+    void 'assert getItems only returns the requested fields'() {
+        managedItemProvider.add(new SwitchItem("Switch"))
+
+        def itemBean = getItemBeans(null, null, "name, state").find { it.name == "Switch" }
+        assertThat itemBean, is(notNullValue())
+        assertThat itemBean.state, is("NULL")
+        assertThat itemBean.type, is(nullValue())
+        assertThat itemBean.link, is(nullValue())
+        assertThat itemBean.stateDescription, is(nullValue())
+
+        itemBean = getItemBeans(null, null, null).find { it.name == "Switch" }
+        assertThat itemBean.type, is("Switch")
+        assertThat itemBean.link, is("uri/items/Switch")
+    }
+
+    private List<EnrichedItemDTO> getItemBeans(String type, String tags, String fields = null) {
+        def response = itemResource.getItems(null, null, type, tags, false, fields, false)
+        def json = new ByteArrayOutputStream()
+        ((StreamingOutput) response.entity).write(json)
+        return new Gson().fromJson(json.toString("UTF-8"), EnrichedItemDTO[]) as List
+    }
+
     private containsItems(Object entity, List<String> itemNames) {
         def allFound = true
         itemNames.each { itemName ->
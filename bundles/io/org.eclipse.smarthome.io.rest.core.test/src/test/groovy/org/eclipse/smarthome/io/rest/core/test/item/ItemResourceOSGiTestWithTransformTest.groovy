@@ -11,6 +11,7 @@ import static org.hamcrest.CoreMatchers.*
 import static org.junit.Assert.*
 import static org.junit.matchers.JUnitMatchers.*
 
+import javax.ws.rs.core.StreamingOutput
 import javax.ws.rs.core.UriInfo
 
 import org.eclipse.smarthome.core.items.ItemProvider
@@ -28,6 +29,8 @@ import org.junit.Before
 import org.junit.Test
 import org.osgi.framework.BundleContext
 
+import com.google.gson.Gson
+
 
 /**
  * This test checks whether REST resource supports items where transformation will be applied.
@@ -96,7 +99,10 @@ class ItemResourceOSGiTestWithTransformTest extends OSGiTest {
         // set after adding to ItemProvider. Why?
         item1.setStateDescriptionProviders(stateDescriptionProviders)
 
-        def enrichedDTOResult = itemResource.getItems(null, null, null, false).getEntity()
+        def response = itemResource.getItems(null, null, null, null, false, null, false)
+        def json = new ByteArrayOutputStream()
+        ((StreamingOutput) response.entity).write(json)
+        def enrichedDTOResult = new Gson().fromJson(json.toString("UTF-8"), EnrichedItemDTO[])
         def EnrichedItemDTO enrichedDTO = enrichedDTOResult.find() { itemBean ->
             itemBean.name == "Item1"
         }
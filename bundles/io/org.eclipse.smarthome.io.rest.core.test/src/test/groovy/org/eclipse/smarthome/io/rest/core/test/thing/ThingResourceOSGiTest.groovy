@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.io.rest.core.test.thing
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import javax.ws.rs.core.Response
+import javax.ws.rs.core.StreamingOutput
+import javax.ws.rs.core.UriInfo
+import javax.ws.rs.core.Response.Status
+
+import org.eclipse.smarthome.core.items.ManagedItemProvider
+import org.eclipse.smarthome.core.library.items.SwitchItem
+import org.eclipse.smarthome.core.thing.ChannelUID
+import org.eclipse.smarthome.core.thing.ManagedThingProvider
+import org.eclipse.smarthome.core.thing.ThingStatus
+import org.eclipse.smarthome.core.thing.ThingStatusDetail
+import org.eclipse.smarthome.core.thing.ThingTypeUID
+import org.eclipse.smarthome.core.thing.ThingUID
+import org.eclipse.smarthome.core.thing.binding.builder.ChannelBuilder
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder
+import org.eclipse.smarthome.core.thing.binding.builder.ThingStatusInfoBuilder
+import org.eclipse.smarthome.core.thing.link.ItemChannelLink
+import org.eclipse.smarthome.core.thing.link.ManagedItemChannelLinkProvider
+import org.eclipse.smarthome.io.rest.core.thing.ThingResource
+import org.eclipse.smarthome.test.OSGiTest
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+import com.google.gson.Gson
+
+/**
+ * Tests the filters and the paging of the thing listing of the {@link ThingResource}.
+ *
+ * @author agent - Initial contribution
+ */
+class ThingResourceOSGiTest extends OSGiTest {
+
+    ThingResource thingResource
+    ManagedThingProvider managedThingProvider
+    ManagedItemProvider managedItemProvider
+    ManagedItemChannelLinkProvider managedItemChannelLinkProvider
+
+    @Before
+    void setUp() {
+        registerVolatileStorageService()
+        managedThingProvider = getService ManagedThingProvider
+        managedItemProvider = getService ManagedItemProvider
+        managedItemChannelLinkProvider = getService ManagedItemChannelLinkProvider
+        thingResource = getService ThingResource
+        thingResource.uriInfo = [
+            getPath: { return "path" },
+            getBaseUri: { return new URI("uri")}
+        ] as UriInfo
+
+        def thing = addThing("bindingA:type:thing3", "Kitchen")
+        addThing("bindingA:type:thing1", "Living room")
+        addThing("bindingB:type:thing2", "Kitchen")
+        thing.setStatusInfo(ThingStatusInfoBuilder.create(ThingStatus.ONLINE, ThingStatusDetail.NONE).build())
+
+        managedItemProvider.add(new SwitchItem("Switch"))
+        managedItemChannelLinkProvider.add(new ItemChannelLink("Switch",
+                new ChannelUID(thing.getUID(), "channel")))
+    }
+
+    @After
+    void cleanUp() {
+        managedItemChannelLinkProvider.getAll().each { managedItemChannelLinkProvider.remove(it.getID()) }
+        managedItemProvider.getAll().each { managedItemProvider.remove(it.name) }
+        managedThingProvider.getAll().each { managedThingProvider.remove(it.getUID()) }
+    }
+
+    @Test
+    void 'assert getAll filters the things by binding, status and location'() {
+        assertThat getThingUIDs(getAll(null, null, null)).size(), is(3)
+        assertThat getThingUIDs(getAll("bindingA", null, null)), is(["bindingA:type:thing1", "bindingA:type:thing3"] as Set)
+        assertThat getThingUIDs(getAll(null, "online", null)), is(["bindingA:type:thing3"] as Set)
+        assertThat getThingUIDs(getAll(null, null, "kitchen")), is(["bindingA:type:thing3", "bindingB:type:thing2"] as Set)
+        assertThat getThingUIDs(getAll("bindingB", "ONLINE", null)), is([] as Set)
+
+        Response response = getAll("bindingA", null, null)
+        assertThat response.status, is(Status.OK.code)
+        assertThat response.getHeaderString(ThingResource.HEADER_TOTAL_COUNT), is("2")
+    }
+
+    @Test
+    void 'assert getAll rejects an unknown thing status'() {
+        Response response = getAll(null, "UNKNOWN_STATUS", null)
+        assertThat response.status, is(Status.BAD_REQUEST.code)
+    }
+
+    @Test
+    void 'assert getAll returns the pages of the things sorted by their UIDs'() {
+        def response = thingResource.getAll(null, null, null, null, true, 0, 2, false)
+        assertThat getThings(response).collect { it.UID }, is(["bindingA:type:thing1", "bindingA:type:thing3"])
+        assertThat response.getHeaderString(ThingResource.HEADER_TOTAL_COUNT), is("3")
+
+        response = thingResource.getAll(null, null, null, null, true, 1, 2, false)
+        assertThat getThings(response).collect { it.UID }, is(["bindingB:type:thing2"])
+        assertThat response.getHeaderString(ThingResource.HEADER_TOTAL_COUNT), is("3")
+
+        response = thingResource.getAll(null, null, null, null, true, 2, 2, false)
+        assertThat getThings(response).size(), is(0)
+    }
+
+    @Test
+    void 'assert getAll omits the linked items if they are not requested'() {
+        def thing = getThings(thingResource.getAll(null, null, null, null, true, 0, 0, false))
+                .find { it.UID == "bindingA:type:thing3" }
+        assertThat thing.channels[0].linkedItems, is(["Switch"])
+
+        thing = getThings(thingResource.getAll(null, null, null, null, false, 0, 0, false))
+                .find { it.UID == "bindingA:type:thing3" }
+        assertThat thing.channels[0].linkedItems, is(nullValue())
+    }
+
+    private addThing(String thingUID, String location) {
+        def uid = new ThingUID(thingUID)
+        def thing = ThingBuilder.create(new ThingTypeUID(uid.getBindingId(), uid.getThingTypeId()), uid)
+                .withChannels([
+                    ChannelBuilder.create(new ChannelUID(uid, "channel"), "Switch").build()
+                ]).build()
+        thing.setLocation(location)
+        managedThingProvider.add(thing)
+        return thing
+    }
+
+    private Response getAll(String bindingId, String status, String location) {
+        return thingResource.getAll(null, bindingId, status, location, true, 0, 0, false)
+    }
+
+    private List getThings(Response response) {
+        def json = new ByteArrayOutputStream()
+        ((StreamingOutput) response.entity).write(json)
+        return new Gson().fromJson(json.toString("UTF-8"), List)
+    }
+
+    private Set getThingUIDs(Response response) {
+        return getThings(response).collect { it.UID } as Set
+    }
+}
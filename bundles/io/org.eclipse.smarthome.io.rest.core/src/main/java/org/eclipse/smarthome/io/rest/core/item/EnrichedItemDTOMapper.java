@@ -11,6 +11,7 @@ import java.net.URI;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Locale;
+import java.util.Set;
 
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
@@ -28,6 +29,19 @@ import org.eclipse.smarthome.io.rest.core.internal.RESTCoreActivator;
  */
 public class EnrichedItemDTOMapper {
 
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_NAME = "name";
+    public static final String FIELD_LABEL = "label";
+    public static final String FIELD_CATEGORY = "category";
+    public static final String FIELD_TAGS = "tags";
+    public static final String FIELD_GROUP_NAMES = "groupNames";
+    public static final String FIELD_LINK = "link";
+    public static final String FIELD_STATE = "state";
+    public static final String FIELD_STATE_DESCRIPTION = "stateDescription";
+    public static final String FIELD_MEMBERS = "members";
+    public static final String FIELD_GROUP_TYPE = "groupType";
+    public static final String FIELD_FUNCTION = "function";
+
     /**
      * Maps item into enriched item DTO object.
      *
@@ -37,38 +51,94 @@ public class EnrichedItemDTOMapper {
      * @return item DTO object
      */
     public static EnrichedItemDTO map(Item item, boolean drillDown, URI uri, Locale locale) {
+        return map(item, drillDown, null, uri, locale);
+    }
+
+    /**
+     * Maps item into enriched item DTO object, which only contains the given fields. The expensive fields like the
+     * state description or the members of a group are only determined, if they are requested.
+     *
+     * @param item the item
+     * @param drillDown the drill down
+     * @param fields the names of the fields of the DTO, which should be filled, or null for all fields
+     * @param uri the uri
+     * @return item DTO object
+     */
+    public static EnrichedItemDTO map(Item item, boolean drillDown, Set<String> fields, URI uri, Locale locale) {
         ItemDTO itemDTO = ItemDTOMapper.map(item);
-        return map(item, itemDTO, uri, drillDown, locale);
+        return map(item, itemDTO, uri, drillDown, fields, locale);
     }
 
-    private static EnrichedItemDTO map(Item item, ItemDTO itemDTO, URI uri, boolean drillDown, Locale locale) {
+    private static EnrichedItemDTO map(Item item, ItemDTO itemDTO, URI uri, boolean drillDown, Set<String> fields,
+            Locale locale) {
 
-        String state = considerTransformation(item.getState().toString(), item.getStateDescription(locale));
-        StateDescription stateDescription = considerTransformation(item.getStateDescription(locale));
-        String link = null != uri ? uri.toASCIIString() + ItemResource.PATH_ITEMS + "/" + itemDTO.name : null;
+        StateDescription itemStateDescription = includes(fields, FIELD_STATE)
+                || includes(fields, FIELD_STATE_DESCRIPTION) ? item.getStateDescription(locale) : null;
+        String state = includes(fields, FIELD_STATE)
+                ? considerTransformation(item.getState().toString(), itemStateDescription) : null;
+        StateDescription stateDescription = includes(fields, FIELD_STATE_DESCRIPTION)
+                ? considerTransformation(itemStateDescription) : null;
+        String link = null != uri && includes(fields, FIELD_LINK)
+                ? uri.toASCIIString() + ItemResource.PATH_ITEMS + "/" + itemDTO.name : null;
 
         EnrichedItemDTO enrichedItemDTO = null;
 
         if (item instanceof GroupItem) {
             GroupItem groupItem = (GroupItem) item;
             EnrichedItemDTO[] memberDTOs;
-            if (drillDown) {
+            if (!includes(fields, FIELD_MEMBERS)) {
+                memberDTOs = null;
+            } else if (drillDown) {
                 Collection<EnrichedItemDTO> members = new LinkedHashSet<>();
                 for (Item member : groupItem.getMembers()) {
-                    members.add(map(member, drillDown, uri, locale));
+                    members.add(map(member, drillDown, fields, uri, locale));
                 }
                 memberDTOs = members.toArray(new EnrichedItemDTO[members.size()]);
             } else {
                 memberDTOs = new EnrichedItemDTO[0];
             }
-            enrichedItemDTO = new EnrichedGroupItemDTO(itemDTO, memberDTOs, link, state, stateDescription);
+            EnrichedGroupItemDTO enrichedGroupItemDTO = new EnrichedGroupItemDTO(itemDTO, memberDTOs, link, state,
+                    stateDescription);
+            if (!includes(fields, FIELD_GROUP_TYPE)) {
+                enrichedGroupItemDTO.groupType = null;
+            }
+            if (!includes(fields, FIELD_FUNCTION)) {
+                enrichedGroupItemDTO.function = null;
+            }
+            enrichedItemDTO = enrichedGroupItemDTO;
         } else {
             enrichedItemDTO = new EnrichedItemDTO(itemDTO, link, state, stateDescription);
         }
 
+        if (fields != null) {
+            // fields without a value are omitted in the JSON
+            if (!fields.contains(FIELD_TYPE)) {
+                enrichedItemDTO.type = null;
+            }
+            if (!fields.contains(FIELD_NAME)) {
+                enrichedItemDTO.name = null;
+            }
+            if (!fields.contains(FIELD_LABEL)) {
+                enrichedItemDTO.label = null;
+            }
+            if (!fields.contains(FIELD_CATEGORY)) {
+                enrichedItemDTO.category = null;
+            }
+            if (!fields.contains(FIELD_TAGS)) {
+                enrichedItemDTO.tags = null;
+            }
+            if (!fields.contains(FIELD_GROUP_NAMES)) {
+                enrichedItemDTO.groupNames = null;
+            }
+        }
+
         return enrichedItemDTO;
     }
 
+    private static boolean includes(Set<String> fields, String field) {
+        return fields == null || fields.contains(field);
+    }
+
     private static StateDescription considerTransformation(StateDescription desc) {
         if (desc == null || desc.getPattern() == null) {
             return desc;
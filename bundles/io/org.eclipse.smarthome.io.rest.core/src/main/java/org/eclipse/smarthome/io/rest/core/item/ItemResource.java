@@ -7,12 +7,14 @@
  */
 package org.eclipse.smarthome.io.rest.core.item;
 
+import java.net.URI;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import javax.annotation.security.RolesAllowed;
 import javax.ws.rs.Consumes;
@@ -28,6 +30,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -36,6 +39,7 @@ import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.smarthome.core.auth.Role;
+import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
 import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.items.ActiveItem;
 import org.eclipse.smarthome.core.items.GenericItem;
@@ -52,6 +56,12 @@ import org.eclipse.smarthome.core.library.items.RollershutterItem;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingRegistry;
+import org.eclipse.smarthome.core.thing.binding.ThingTypeProvider;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLink;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLinkRegistry;
+import org.eclipse.smarthome.core.thing.type.ChannelTypeProvider;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.TypeParser;
@@ -102,12 +112,22 @@ public class ItemResource implements SatisfiableRESTResource {
     UriInfo uriInfo;
 
     private ItemRegistry itemRegistry;
+    private String itemRegistryTag;
     private EventPublisher eventPublisher;
     private ManagedItemProvider managedItemProvider;
     private Set<ItemFactory> itemFactories = new HashSet<>();
 
+    /**
+     * The state descriptions of the items are derived from their linked channels, so that the item listings also
+     * change with the links, the things and the thing and channel types.
+     */
+    private final AtomicLong stateDescriptionChangeCount = new AtomicLong();
+    private final ChangeCounter<ItemChannelLink> linkChangeCounter = new ChangeCounter<>();
+    private final ChangeCounter<Thing> thingChangeCounter = new ChangeCounter<>();
+
     protected void setItemRegistry(ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
+        this.itemRegistryTag = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
     }
 
     protected void unsetItemRegistry(ItemRegistry itemRegistry) {
@@ -138,20 +158,69 @@ public class ItemResource implements SatisfiableRESTResource {
         this.itemFactories.remove(itemFactory);
     }
 
+    protected void setItemChannelLinkRegistry(ItemChannelLinkRegistry itemChannelLinkRegistry) {
+        itemChannelLinkRegistry.addRegistryChangeListener(linkChangeCounter);
+        stateDescriptionChangeCount.incrementAndGet();
+    }
+
+    protected void unsetItemChannelLinkRegistry(ItemChannelLinkRegistry itemChannelLinkRegistry) {
+        itemChannelLinkRegistry.removeRegistryChangeListener(linkChangeCounter);
+        stateDescriptionChangeCount.incrementAndGet();
+    }
+
+    protected void setThingRegistry(ThingRegistry thingRegistry) {
+        thingRegistry.addRegistryChangeListener(thingChangeCounter);
+        stateDescriptionChangeCount.incrementAndGet();
+    }
+
+    protected void unsetThingRegistry(ThingRegistry thingRegistry) {
+        thingRegistry.removeRegistryChangeListener(thingChangeCounter);
+        stateDescriptionChangeCount.incrementAndGet();
+    }
+
+    protected void addThingTypeProvider(ThingTypeProvider thingTypeProvider) {
+        stateDescriptionChangeCount.incrementAndGet();
+    }
+
+    protected void removeThingTypeProvider(ThingTypeProvider thingTypeProvider) {
+        stateDescriptionChangeCount.incrementAndGet();
+    }
+
+    protected void addChannelTypeProvider(ChannelTypeProvider channelTypeProvider) {
+        stateDescriptionChangeCount.incrementAndGet();
+    }
+
+    protected void removeChannelTypeProvider(ChannelTypeProvider channelTypeProvider) {
+        stateDescriptionChangeCount.incrementAndGet();
+    }
+
     @GET
     @RolesAllowed({ Role.USER, Role.ADMIN })
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Get all available items.", response = EnrichedItemDTO.class, responseContainer = "List")
-    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 304, message = "Not Modified") })
     public Response getItems(@HeaderParam(HttpHeaders.ACCEPT_LANGUAGE) @ApiParam(value = "language") String language,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) @ApiParam(value = "entity tag of the items known by the client") String ifNoneMatch,
             @QueryParam("type") @ApiParam(value = "item type filter", required = false) String type,
             @QueryParam("tags") @ApiParam(value = "item tag filter", required = false) String tags,
-            @DefaultValue("false") @QueryParam("recursive") @ApiParam(value = "get member items recursivly", required = false) boolean recursive) {
+            @DefaultValue("false") @QueryParam("recursive") @ApiParam(value = "get member items recursivly", required = false) boolean recursive,
+            @QueryParam("fields") @ApiParam(value = "limit the output to the given fields (comma separated)", required = false) String fields,
+            @DefaultValue("false") @QueryParam("prettyPrint") @ApiParam(value = "indent the JSON for readability", required = false) boolean prettyPrint) {
         final Locale locale = LocaleUtil.getLocale(language);
         logger.debug("Received HTTP GET request at '{}'", uriInfo.getPath());
 
-        Object responseObject = getItemBeans(type, tags, recursive, locale);
-        return Response.ok(responseObject).build();
+        // the items are only mapped, if they have changed since the client retrieved them
+        EntityTag entityTag = getItemsEntityTag(locale);
+        if (entityTag != null && matches(ifNoneMatch, entityTag)) {
+            return Response.notModified(entityTag).build();
+        }
+
+        Set<String> fieldSet = fields != null ? new HashSet<>(Arrays.asList(fields.trim().split("\\s*,\\s*")))
+                : null;
+        Stream<EnrichedItemDTO> itemBeans = getItemBeans(type, tags, recursive, fieldSet, locale);
+        return Response.fromResponse(JSONResponse.createResponse(Status.OK, itemBeans, null, prettyPrint))
+                .tag(entityTag).build();
     }
 
     @GET
@@ -548,8 +617,8 @@ public class ItemResource implements SatisfiableRESTResource {
         return item;
     }
 
-    private List<EnrichedItemDTO> getItemBeans(String type, String tags, boolean recursive, Locale locale) {
-        List<EnrichedItemDTO> beans = new LinkedList<>();
+    private Stream<EnrichedItemDTO> getItemBeans(String type, String tags, boolean recursive, Set<String> fields,
+            Locale locale) {
         Collection<Item> items;
         if (tags == null) {
             if (type == null) {
@@ -565,12 +634,66 @@ public class ItemResource implements SatisfiableRESTResource {
                 items = itemRegistry.getItemsByTagAndType(type, tagList);
             }
         }
-        if (items != null) {
-            for (Item item : items) {
-                beans.add(EnrichedItemDTOMapper.map(item, recursive, uriInfo.getBaseUri(), locale));
+        if (items == null) {
+            return Stream.empty();
+        }
+        // the beans are mapped one by one while they are written to the response
+        final URI baseUri = uriInfo.getBaseUri();
+        return items.stream().map(item -> EnrichedItemDTOMapper.map(item, recursive, fields, baseUri, locale));
+    }
+
+    /**
+     * The entity tag of the item listings changes with every change of the item registry and of the sources of the
+     * state descriptions. It contains the time, when the item registry was set, so that the tags of a restarted
+     * registry differ from the previous ones.
+     *
+     * @return the entity tag or null, if the item registry does not count its changes
+     */
+    private EntityTag getItemsEntityTag(Locale locale) {
+        long changeCount = itemRegistry.getChangeCount();
+        if (changeCount < 0) {
+            return null;
+        }
+        return new EntityTag(itemRegistryTag + "-" + changeCount + "-" + stateDescriptionChangeCount.get() + "-"
+                + locale.toLanguageTag());
+    }
+
+    private static boolean matches(String ifNoneMatch, EntityTag entityTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            // the weak comparison ignores the weak indicator
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals("\"" + entityTag.getValue() + "\"")) {
+                return true;
             }
         }
-        return beans;
+        return false;
+    }
+
+    /**
+     * Counts the changes of a registry, whose elements the state descriptions of the items are derived from.
+     */
+    private class ChangeCounter<E> implements RegistryChangeListener<E> {
+
+        @Override
+        public void added(E element) {
+            stateDescriptionChangeCount.incrementAndGet();
+        }
+
+        @Override
+        public void removed(E element) {
+            stateDescriptionChangeCount.incrementAndGet();
+        }
+
+        @Override
+        public void updated(E oldElement, E element) {
+            stateDescriptionChangeCount.incrementAndGet();
+        }
     }
 
     @Override
@@ -21,6 +21,10 @@ public class EnrichedChannelDTO extends ChannelDTO {
 
     final public Set<String> linkedItems;
 
+    /**
+     * @param channelDTO the channel
+     * @param linkedItems the names of the linked items or null, if they should be omitted
+     */
     public EnrichedChannelDTO(ChannelDTO channelDTO, Set<String> linkedItems) {
         this.uid = channelDTO.uid;
         this.id = channelDTO.id;
@@ -32,6 +36,6 @@ public class EnrichedChannelDTO extends ChannelDTO {
         this.properties = channelDTO.properties;
         this.configuration = channelDTO.configuration;
         this.defaultTags = channelDTO.defaultTags;
-        this.linkedItems = linkedItems != null ? new HashSet<>(linkedItems) : new HashSet<String>();
+        this.linkedItems = linkedItems != null ? new HashSet<>(linkedItems) : null;
     }
 }
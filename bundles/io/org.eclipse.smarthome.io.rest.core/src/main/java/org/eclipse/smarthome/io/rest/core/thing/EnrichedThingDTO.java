@@ -28,6 +28,11 @@ public class EnrichedThingDTO extends ThingDTO {
     public ThingStatusInfo statusInfo;
     // public List<EnrichedChannelDTO> channels;
 
+    /**
+     * @param thingDTO the thing
+     * @param statusInfo the status of the thing
+     * @param linkedItemsMap the linked items of each channel id or null, if the linked items should be omitted
+     */
     public EnrichedThingDTO(ThingDTO thingDTO, ThingStatusInfo statusInfo, Map<String, Set<String>> linkedItemsMap) {
         this.UID = thingDTO.UID;
         if (thingDTO.label != null) {
@@ -37,7 +42,11 @@ public class EnrichedThingDTO extends ThingDTO {
         this.bridgeUID = thingDTO.bridgeUID;
         this.channels = new ArrayList<>();
         for (ChannelDTO channel : thingDTO.channels) {
-            Set<String> linkedItems = linkedItemsMap != null ? linkedItemsMap.get(channel.id) : new HashSet<String>();
+            Set<String> linkedItems = null;
+            if (linkedItemsMap != null) {
+                linkedItems = linkedItemsMap.containsKey(channel.id) ? linkedItemsMap.get(channel.id)
+                        : new HashSet<String>();
+            }
             this.channels.add(new EnrichedChannelDTO(channel, linkedItems));
         }
         this.configuration = thingDTO.configuration;
@@ -27,6 +27,8 @@ public class EnrichedThingDTOMapper extends ThingDTOMapper {
      *
      * @param thing the thing
      * @param uri the uri
+     * @param locale the locale
+     * @param linkedItemsMap the linked items of each channel id or null, if the linked items should be omitted
      * @return the enriched thing DTO object
      */
     public static EnrichedThingDTO map(Thing thing, URI uri, Locale locale, Map<String, Set<String>> linkedItemsMap) {
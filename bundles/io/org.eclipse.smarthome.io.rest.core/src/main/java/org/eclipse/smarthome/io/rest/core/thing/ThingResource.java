@@ -13,13 +13,15 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.security.RolesAllowed;
 import javax.ws.rs.BadRequestException;
@@ -59,6 +61,7 @@ import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.ManagedThingProvider;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingRegistry;
+import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.dto.ChannelDTO;
@@ -83,6 +86,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import io.swagger.annotations.ResponseHeader;
 
 /**
  * This class acts as a REST resource for things and is registered with the
@@ -106,6 +110,9 @@ public class ThingResource implements SatisfiableRESTResource {
     /** The URI path to this resource */
     public static final String PATH_THINGS = "things";
 
+    /** The response header with the number of things, which match the filters of a listing */
+    public static final String HEADER_TOTAL_COUNT = "X-Total-Count";
+
     private ItemChannelLinkRegistry itemChannelLinkRegistry;
     private ItemFactory itemFactory;
     private ItemRegistry itemRegistry;
@@ -198,13 +205,39 @@ public class ThingResource implements SatisfiableRESTResource {
     @RolesAllowed({ Role.USER, Role.ADMIN })
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Get all available things.", response = EnrichedThingDTO.class, responseContainer = "Set")
-    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
-    public Response getAll(@HeaderParam(HttpHeaders.ACCEPT_LANGUAGE) @ApiParam(value = "language") String language) {
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", responseHeaders = @ResponseHeader(name = HEADER_TOTAL_COUNT, description = "Number of things matching the filters", response = Integer.class)),
+            @ApiResponse(code = 400, message = "The thing status is unknown.") })
+    public Response getAll(@HeaderParam(HttpHeaders.ACCEPT_LANGUAGE) @ApiParam(value = "language") String language,
+            @QueryParam("bindingId") @ApiParam(value = "binding id to filter results", required = false) String bindingId,
+            @QueryParam("status") @ApiParam(value = "thing status to filter results", required = false) String status,
+            @QueryParam("location") @ApiParam(value = "location to filter results", required = false) String location,
+            @DefaultValue("true") @QueryParam("linkedItems") @ApiParam(value = "include the linked items of the channels", required = false) boolean linkedItems,
+            @QueryParam("page") @ApiParam(value = "Page number of things to return. This parameter will enable paging.", required = false) int pageNumber,
+            @QueryParam("pagelength") @ApiParam(value = "The length of each page.", required = false) int pageLength,
+            @DefaultValue("false") @QueryParam("prettyPrint") @ApiParam(value = "indent the JSON for readability", required = false) boolean prettyPrint) {
         final Locale locale = LocaleUtil.getLocale(language);
 
-        Collection<Thing> things = thingRegistry.getAll();
-        Set<EnrichedThingDTO> thingBeans = convertToListBean(things, locale);
-        return Response.ok(thingBeans).build();
+        ThingStatus thingStatus = null;
+        if (status != null) {
+            try {
+                thingStatus = ThingStatus.valueOf(status.toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                return JSONResponse.createErrorResponse(Status.BAD_REQUEST, "Unknown thing status: " + status);
+            }
+        }
+
+        List<Thing> filteredThings = filterThings(thingRegistry.getAll(), bindingId, thingStatus, location)
+                .collect(Collectors.toList());
+        Stream<Thing> things = filteredThings.stream();
+        if (pageLength > 0) {
+            // the pages are taken from the things sorted by their UIDs, so that they do not overlap between requests
+            things = things.sorted(Comparator.comparing(thing -> thing.getUID().getAsString()))
+                    .skip((long) Math.max(pageNumber, 0) * pageLength).limit(pageLength);
+        }
+        Stream<EnrichedThingDTO> thingBeans = convertToListBean(things, locale, linkedItems);
+        return Response.fromResponse(JSONResponse.createResponse(Status.OK, thingBeans, null, prettyPrint))
+                .header(HEADER_TOTAL_COUNT, filteredThings.size()).build();
     }
 
     @GET
@@ -604,14 +637,26 @@ public class ThingResource implements SatisfiableRESTResource {
         this.configStatusService = null;
     }
 
-    private Set<EnrichedThingDTO> convertToListBean(Collection<Thing> things, Locale locale) {
-        Set<EnrichedThingDTO> thingBeans = new LinkedHashSet<>();
-        for (Thing thing : things) {
-            EnrichedThingDTO thingBean = EnrichedThingDTOMapper.map(thing, uriInfo.getBaseUri(), locale,
-                    getLinkedItemsMap(thing));
-            thingBeans.add(thingBean);
+    private static Stream<Thing> filterThings(Collection<Thing> things, String bindingId, ThingStatus status,
+            String location) {
+        Stream<Thing> filteredThings = things.stream();
+        if (bindingId != null) {
+            filteredThings = filteredThings.filter(thing -> bindingId.equals(thing.getUID().getBindingId()));
+        }
+        if (status != null) {
+            filteredThings = filteredThings.filter(thing -> status == thing.getStatus());
+        }
+        if (location != null) {
+            filteredThings = filteredThings.filter(thing -> location.equalsIgnoreCase(thing.getLocation()));
         }
-        return thingBeans;
+        return filteredThings;
+    }
+
+    private Stream<EnrichedThingDTO> convertToListBean(Stream<Thing> things, Locale locale, boolean linkedItems) {
+        // the beans are mapped one by one while they are written to the response
+        final URI baseUri = uriInfo.getBaseUri();
+        return things.map(thing -> EnrichedThingDTOMapper.map(thing, baseUri, locale,
+                linkedItems ? getLinkedItemsMap(thing) : null));
     }
 
     private Map<String, Set<String>> getLinkedItemsMap(Thing thing) {
@@ -0,0 +1,260 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.io.rest.sitemap;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemNotFoundException;
+import org.eclipse.smarthome.core.items.StateChangeListener;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.types.UnDefType;
+import org.eclipse.smarthome.io.rest.sitemap.SitemapSubscriptionService.SitemapSubscriptionCallback;
+import org.eclipse.smarthome.io.rest.sitemap.internal.SitemapChangedEvent;
+import org.eclipse.smarthome.io.rest.sitemap.internal.SitemapEvent;
+import org.eclipse.smarthome.io.rest.sitemap.internal.SitemapWidgetEvent;
+import org.eclipse.smarthome.model.core.EventType;
+import org.eclipse.smarthome.model.core.ModelRepository;
+import org.eclipse.smarthome.model.sitemap.ColorArray;
+import org.eclipse.smarthome.model.sitemap.Sitemap;
+import org.eclipse.smarthome.model.sitemap.SitemapFactory;
+import org.eclipse.smarthome.model.sitemap.SitemapProvider;
+import org.eclipse.smarthome.model.sitemap.Switch;
+import org.eclipse.smarthome.model.sitemap.Text;
+import org.eclipse.smarthome.model.sitemap.VisibilityRule;
+import org.eclipse.smarthome.model.sitemap.Widget;
+import org.eclipse.smarthome.ui.items.ItemUIRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Tests the subscriptions to the pages of a sitemap and the updates of the pages when their sitemap is changed.
+ *
+ * @author agent - Initial contribution
+ */
+public class SitemapSubscriptionServiceTest {
+
+    private final Map<String, Item> items = new HashMap<>();
+    private ItemUIRegistry itemUIRegistry;
+    private ModelRepository modelRepository;
+    private SitemapProvider sitemapProvider;
+    private SitemapSubscriptionCallback callback;
+    private SitemapSubscriptionService subscriptionService;
+
+    @Before
+    public void setUp() throws Exception {
+        for (String itemName : new String[] { "Light", "Switch", "Presence", "Temperature", "Alarm", "Other" }) {
+            items.put(itemName, spy(new SwitchItem(itemName)));
+        }
+        itemUIRegistry = mock(ItemUIRegistry.class);
+        when(itemUIRegistry.getItem(anyString())).thenAnswer(invocation -> {
+            Item item = items.get(invocation.getArguments()[0]);
+            if (item == null) {
+                throw new ItemNotFoundException((String) invocation.getArguments()[0]);
+            }
+            return item;
+        });
+        when(itemUIRegistry.getWidgetId(any(Widget.class)))
+                .thenAnswer(invocation -> ((Widget) invocation.getArguments()[0]).getLabel());
+        modelRepository = mock(ModelRepository.class);
+        sitemapProvider = mock(SitemapProvider.class);
+        when(sitemapProvider.getSitemap("demo")).thenReturn(createSitemap());
+        callback = mock(SitemapSubscriptionCallback.class);
+
+        subscriptionService = new SitemapSubscriptionService();
+        subscriptionService.setItemUIRegistry(itemUIRegistry);
+        subscriptionService.setModelRepository(modelRepository);
+        subscriptionService.addSitemapProvider(sitemapProvider);
+        subscriptionService.activate();
+
+        String subscriptionId = subscriptionService.createSubscription(callback);
+        subscriptionService.setPageId(subscriptionId, "demo", "demo");
+    }
+
+    @After
+    public void tearDown() {
+        subscriptionService.deactivate();
+        subscriptionService.unsetModelRepository(modelRepository);
+    }
+
+    @Test
+    public void testOnlyTheWidgetsOfTheChangedItemAreSent() {
+        stateChanged("Light");
+
+        List<SitemapEvent> events = captureEvents(1);
+        assertThat(((SitemapWidgetEvent) events.get(0)).widgetId, is("Light"));
+        assertThat(((SitemapWidgetEvent) events.get(0)).item.name, is("Light"));
+    }
+
+    @Test
+    public void testWidgetsAreIndexedByTheItemsOfTheirVisibilityRules() {
+        stateChanged("Presence");
+
+        List<SitemapEvent> events = captureEvents(1);
+        assertThat(((SitemapWidgetEvent) events.get(0)).widgetId, is("Switch"));
+    }
+
+    @Test
+    public void testWidgetsAreIndexedByTheItemsOfTheirColorRules() {
+        stateChanged("Alarm");
+
+        List<SitemapEvent> events = captureEvents(1);
+        assertThat(((SitemapWidgetEvent) events.get(0)).widgetId, is("Temperature"));
+        // the widget shows its own item and not the item of its color rule
+        assertThat(((SitemapWidgetEvent) events.get(0)).item.name, is("Temperature"));
+    }
+
+    @Test
+    public void testAllWidgetsOfAnItemAreSent() {
+        stateChanged("Switch");
+
+        List<SitemapEvent> events = captureEvents(2);
+        assertThat(((SitemapWidgetEvent) events.get(0)).widgetId, is("Switch"));
+        assertThat(((SitemapWidgetEvent) events.get(1)).widgetId, is("Other switch"));
+    }
+
+    @Test
+    public void testItemsWhichAreNotShownAreNotListenedTo() {
+        verify((GenericItem) items.get("Other"), never()).addStateChangeListener(any(StateChangeListener.class));
+    }
+
+    @Test
+    public void testServiceListensToTheModelRepository() {
+        verify(modelRepository).addModelRepositoryChangeListener(subscriptionService);
+    }
+
+    @Test
+    public void testChangedSitemapIsAnnouncedToTheSubscribersOfItsPages() {
+        StateChangeListener listener = getListener("Light");
+        Sitemap sitemap = createSitemap();
+        sitemap.getChildren().remove(0);
+        when(sitemapProvider.getSitemap("demo")).thenReturn(sitemap);
+
+        subscriptionService.modelChanged("demo.sitemap", EventType.MODIFIED);
+
+        List<SitemapEvent> events = captureEvents(1);
+        assertThat(events.get(0), is(instanceOf(SitemapChangedEvent.class)));
+        assertThat(events.get(0).sitemapName, is("demo"));
+        assertThat(events.get(0).pageId, is("demo"));
+
+        // the light is not shown anymore, so it is not listened to and its state changes are not sent
+        verify((GenericItem) items.get("Light")).removeStateChangeListener(listener);
+        listener.stateChanged(items.get("Light"), UnDefType.NULL, OnOffType.ON);
+        verifyNoMoreInteractions(callback);
+    }
+
+    @Test
+    public void testUnchangedSitemapIsNotAnnounced() {
+        when(sitemapProvider.getSitemap("demo")).thenReturn(createSitemap());
+
+        subscriptionService.modelChanged("demo.sitemap", EventType.MODIFIED);
+
+        verify(callback, never()).onEvent(any(SitemapEvent.class));
+        verify((GenericItem) items.get("Light"), never()).removeStateChangeListener(any(StateChangeListener.class));
+    }
+
+    @Test
+    public void testRemovedSitemapIsAnnouncedAsEmptyPage() {
+        StateChangeListener listener = getListener("Light");
+
+        subscriptionService.modelChanged("demo.sitemap", EventType.REMOVED);
+
+        List<SitemapEvent> events = captureEvents(1);
+        assertThat(events.get(0), is(instanceOf(SitemapChangedEvent.class)));
+        listener.stateChanged(items.get("Light"), UnDefType.NULL, OnOffType.ON);
+        verifyNoMoreInteractions(callback);
+    }
+
+    @Test
+    public void testOtherModelsAreIgnored() {
+        Sitemap sitemap = createSitemap();
+        sitemap.getChildren().remove(0);
+        when(sitemapProvider.getSitemap("demo")).thenReturn(sitemap);
+
+        subscriptionService.modelChanged("demo.items", EventType.MODIFIED);
+        subscriptionService.modelChanged("other.sitemap", EventType.MODIFIED);
+
+        verify(callback, never()).onEvent(any(SitemapEvent.class));
+    }
+
+    /**
+     * Sends a state change of the item with the given name to the listener of the page, as it is done by the item.
+     */
+    private void stateChanged(String itemName) {
+        Item item = items.get(itemName);
+        getListener(itemName).stateChanged(item, UnDefType.NULL, OnOffType.ON);
+    }
+
+    private StateChangeListener getListener(String itemName) {
+        ArgumentCaptor<StateChangeListener> listener = ArgumentCaptor.forClass(StateChangeListener.class);
+        verify((GenericItem) items.get(itemName)).addStateChangeListener(listener.capture());
+        return listener.getValue();
+    }
+
+    private List<SitemapEvent> captureEvents(int count) {
+        ArgumentCaptor<SitemapEvent> event = ArgumentCaptor.forClass(SitemapEvent.class);
+        verify(callback, times(count)).onEvent(event.capture());
+        return new ArrayList<>(event.getAllValues());
+    }
+
+    /**
+     * Creates a sitemap with a text for the light, two switches, one of them with a visibility rule for the presence,
+     * and a text for the temperature with a value color rule for the alarm. Each call creates new instances, as they are created when a sitemap is reloaded.
+     */
+    private Sitemap createSitemap() {
+        Sitemap sitemap = SitemapFactory.eINSTANCE.createSitemap();
+        sitemap.setName("demo");
+
+        Text text = SitemapFactory.eINSTANCE.createText();
+        text.setLabel("Light");
+        text.setItem("Light");
+        sitemap.getChildren().add(text);
+
+        Switch switchWidget = SitemapFactory.eINSTANCE.createSwitch();
+        switchWidget.setLabel("Switch");
+        switchWidget.setItem("Switch");
+        VisibilityRule rule = SitemapFactory.eINSTANCE.createVisibilityRule();
+        rule.setItem("Presence");
+        rule.setCondition("==");
+        rule.setState("ON");
+        switchWidget.getVisibility().add(rule);
+        sitemap.getChildren().add(switchWidget);
+
+        Text temperature = SitemapFactory.eINSTANCE.createText();
+        temperature.setLabel("Temperature");
+        temperature.setItem("Temperature");
+        ColorArray color = SitemapFactory.eINSTANCE.createColorArray();
+        color.setItem("Alarm");
+        color.setCondition("==");
+        color.setState("ON");
+        color.setArg("red");
+        temperature.getValueColor().add(color);
+        sitemap.getChildren().add(temperature);
+
+        Switch otherSwitch = SitemapFactory.eINSTANCE.createSwitch();
+        otherSwitch.setLabel("Other switch");
+        otherSwitch.setItem("Switch");
+        sitemap.getChildren().add(otherSwitch);
+
+        return sitemap;
+    }
+
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.io.rest.sitemap.internal;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemNotFoundException;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.types.UnDefType;
+import org.eclipse.smarthome.io.rest.sitemap.SitemapSubscriptionService.SitemapSubscriptionCallback;
+import org.eclipse.smarthome.model.sitemap.Frame;
+import org.eclipse.smarthome.model.sitemap.Mapping;
+import org.eclipse.smarthome.model.sitemap.SitemapFactory;
+import org.eclipse.smarthome.model.sitemap.Switch;
+import org.eclipse.smarthome.model.sitemap.Text;
+import org.eclipse.smarthome.model.sitemap.VisibilityRule;
+import org.eclipse.smarthome.model.sitemap.Widget;
+import org.eclipse.smarthome.ui.items.ItemUIRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Tests the comparison of the widgets of a page and the events of the {@link PageChangeListener}.
+ *
+ * @author agent - Initial contribution
+ */
+public class PageChangeListenerTest {
+
+    private final Map<String, Item> items = new HashMap<>();
+    private ItemUIRegistry itemUIRegistry;
+    private SitemapSubscriptionCallback callback;
+
+    @Before
+    public void setUp() throws Exception {
+        items.put("Switch", new SwitchItem("Switch"));
+        items.put("Light", new SwitchItem("Light"));
+        items.put("Presence", new SwitchItem("Presence"));
+        itemUIRegistry = mock(ItemUIRegistry.class);
+        when(itemUIRegistry.getItem(anyString())).thenAnswer(invocation -> {
+            Item item = items.get(invocation.getArguments()[0]);
+            if (item == null) {
+                throw new ItemNotFoundException((String) invocation.getArguments()[0]);
+            }
+            return item;
+        });
+        callback = mock(SitemapSubscriptionCallback.class);
+    }
+
+    @Test
+    public void testPagesWithEqualWidgetsAreTheSame() {
+        assertThat(PageChangeListener.isSamePage(createPage(), createPage()), is(true));
+        assertThat(PageChangeListener.isSamePage(new BasicEList<Widget>(), new BasicEList<Widget>()), is(true));
+    }
+
+    @Test
+    public void testPagesWithChangedWidgetsAreNotTheSame() {
+        EList<Widget> page = createPage();
+        page.get(0).setLabel("Other label");
+        assertThat(PageChangeListener.isSamePage(createPage(), page), is(false));
+
+        page = createPage();
+        page.remove(1);
+        assertThat(PageChangeListener.isSamePage(createPage(), page), is(false));
+
+        page = createPage();
+        page.set(1, createText("Light", "Light"));
+        assertThat(PageChangeListener.isSamePage(createPage(), page), is(false));
+    }
+
+    @Test
+    public void testPagesWithChangedMappingsOrRulesAreNotTheSame() {
+        EList<Widget> page = createPage();
+        ((Switch) page.get(1)).getMappings().get(0).setLabel("Off");
+        assertThat(PageChangeListener.isSamePage(createPage(), page), is(false));
+
+        page = createPage();
+        page.get(1).getVisibility().get(0).setState("OFF");
+        assertThat(PageChangeListener.isSamePage(createPage(), page), is(false));
+    }
+
+    @Test
+    public void testWidgetsOfFramesAreComparedCompletely() {
+        EList<Widget> page = createPage();
+        ((Frame) page.get(2)).getChildren().get(0).setLabel("Other label");
+        assertThat(PageChangeListener.isSamePage(createPage(), page), is(false));
+    }
+
+    @Test
+    public void testOnlyThePresenceOfTheChildrenOfOtherWidgetsIsCompared() {
+        EList<Widget> page = createPage();
+        ((Text) page.get(0)).getChildren().get(0).setLabel("Other label");
+        assertThat(PageChangeListener.isSamePage(createPage(), page), is(true));
+
+        ((Text) page.get(0)).getChildren().clear();
+        assertThat(PageChangeListener.isSamePage(createPage(), page), is(false));
+    }
+
+    @Test
+    public void testUnchangedPageIsNotAnnouncedAndKeepsItsIndex() throws Exception {
+        PageChangeListener listener = new PageChangeListener("demo", "demo", itemUIRegistry, createPage());
+        listener.addCallback(callback);
+        EList<Widget> page = createPage();
+
+        assertThat(listener.update(page), is(false));
+
+        verify(callback, never()).onEvent(any(SitemapEvent.class));
+        // the items are only resolved once, when the page is indexed
+        verify(itemUIRegistry, times(1)).getItem("Switch");
+
+        // the events are created for the widgets of the new page, as the previous model has been unloaded
+        listener.stateChanged(items.get("Switch"), UnDefType.NULL, OnOffType.ON);
+        verify(callback).onEvent(any(SitemapWidgetEvent.class));
+        verify(itemUIRegistry).getLabel(same(page.get(1)));
+
+        listener.stateChanged(items.get("Light"), UnDefType.NULL, OnOffType.ON);
+        verify(itemUIRegistry).getLabel(same(((Frame) page.get(2)).getChildren().get(0)));
+        verify(callback, times(2)).onEvent(any(SitemapWidgetEvent.class));
+    }
+
+    @Test
+    public void testChangedPageIsAnnouncedToItsSubscribers() {
+        PageChangeListener listener = new PageChangeListener("demo", "demo", itemUIRegistry, createPage());
+        listener.addCallback(callback);
+        EList<Widget> page = createPage();
+        page.remove(1);
+
+        assertThat(listener.update(page), is(true));
+
+        ArgumentCaptor<SitemapEvent> event = ArgumentCaptor.forClass(SitemapEvent.class);
+        verify(callback).onEvent(event.capture());
+        assertThat(event.getValue(), is(instanceOf(SitemapChangedEvent.class)));
+        assertThat(event.getValue().sitemapName, is("demo"));
+        assertThat(event.getValue().pageId, is("demo"));
+
+        // the switch is not shown anymore, so its state changes are not sent
+        listener.stateChanged(items.get("Switch"), UnDefType.NULL, OnOffType.ON);
+        verifyNoMoreInteractions(callback);
+    }
+
+    @Test
+    public void testChangedPageIsSentAsPageChangedEvent() {
+        SitemapChangedEvent changedEvent = new SitemapChangedEvent();
+        SitemapWidgetEvent widgetEvent = new SitemapWidgetEvent();
+
+        assertThat(SitemapResource.createOutboundEvent(changedEvent).getName(), is("pagechanged"));
+        assertThat(SitemapResource.createOutboundEvent(changedEvent).getData(), is((Object) changedEvent));
+        assertThat(SitemapResource.createOutboundEvent(widgetEvent).getName(), is("event"));
+    }
+
+    /**
+     * Creates the widgets of a page with a text with children, a switch with a mapping and a visibility rule and a
+     * frame. Each call creates new instances, as they are created when a sitemap is reloaded.
+     */
+    private EList<Widget> createPage() {
+        EList<Widget> widgets = new BasicEList<>();
+
+        Text text = createText("Text", null);
+        text.getChildren().add(createText("Child", "Light"));
+        widgets.add(text);
+
+        Switch switchWidget = SitemapFactory.eINSTANCE.createSwitch();
+        switchWidget.setLabel("Switch");
+        switchWidget.setItem("Switch");
+        Mapping mapping = SitemapFactory.eINSTANCE.createMapping();
+        mapping.setCmd("ON");
+        mapping.setLabel("On");
+        switchWidget.getMappings().add(mapping);
+        VisibilityRule rule = SitemapFactory.eINSTANCE.createVisibilityRule();
+        rule.setItem("Presence");
+        rule.setCondition("==");
+        rule.setState("ON");
+        switchWidget.getVisibility().add(rule);
+        widgets.add(switchWidget);
+
+        Frame frame = SitemapFactory.eINSTANCE.createFrame();
+        frame.setLabel("Frame");
+        frame.getChildren().add(createText("Light", "Light"));
+        widgets.add(frame);
+
+        return widgets;
+    }
+
+    private Text createText(String label, String itemName) {
+        Text text = SitemapFactory.eINSTANCE.createText();
+        text.setLabel(label);
+        text.setItem(itemName);
+        return text;
+    }
+
+}
@@ -13,9 +13,13 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.eclipse.emf.common.util.BasicEList;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.io.rest.sitemap.internal.PageChangeListener;
 import org.eclipse.smarthome.io.rest.sitemap.internal.SitemapEvent;
+import org.eclipse.smarthome.model.core.EventType;
+import org.eclipse.smarthome.model.core.ModelRepository;
+import org.eclipse.smarthome.model.core.ModelRepositoryChangeListener;
 import org.eclipse.smarthome.model.sitemap.LinkableWidget;
 import org.eclipse.smarthome.model.sitemap.Sitemap;
 import org.eclipse.smarthome.model.sitemap.SitemapProvider;
@@ -31,13 +35,17 @@ import org.slf4j.LoggerFactory;
  * events to the subscriber.
  * For this to work correctly, the subscriber needs to make sure that setPageId is called whenever it switches to a new
  * page.
+ * The listeners of the pages are updated whenever their sitemap is changed, and only the subscribers of the pages
+ * whose widgets have changed are notified.
  *
  * @author Kai Kreuzer - Initial contribution and API
  */
-public class SitemapSubscriptionService {
+public class SitemapSubscriptionService implements ModelRepositoryChangeListener {
 
     private static final String SITEMAP_PAGE_SEPARATOR = "#";
 
+    private static final String SITEMAP_SUFFIX = ".sitemap";
+
     private final Logger logger = LoggerFactory.getLogger(SitemapSubscriptionService.class);
 
     public interface SitemapSubscriptionCallback {
@@ -46,6 +54,7 @@ public class SitemapSubscriptionService {
     }
 
     private ItemUIRegistry itemUIRegistry;
+    private ModelRepository modelRepository;
     private List<SitemapProvider> sitemapProviders = new ArrayList<>();
 
     /* subscription id -> sitemap+page */
@@ -80,6 +89,16 @@ public class SitemapSubscriptionService {
         this.itemUIRegistry = null;
     }
 
+    protected void setModelRepository(ModelRepository modelRepository) {
+        this.modelRepository = modelRepository;
+        modelRepository.addModelRepositoryChangeListener(this);
+    }
+
+    protected void unsetModelRepository(ModelRepository modelRepository) {
+        modelRepository.removeModelRepositoryChangeListener(this);
+        this.modelRepository = null;
+    }
+
     protected void addSitemapProvider(SitemapProvider provider) {
         sitemapProviders.add(provider);
     }
@@ -177,18 +196,7 @@ public class SitemapSubscriptionService {
         PageChangeListener listener = pageChangeListeners.get(getValue(sitemapName, pageId));
         if (listener == null) {
             // there is no listener for this page yet, so let's try to create one
-            EList<Widget> widgets = null;
-            Sitemap sitemap = getSitemap(sitemapName);
-            if (sitemap != null) {
-                if (pageId.equals(sitemap.getName())) {
-                    widgets = sitemap.getChildren();
-                } else {
-                    Widget pageWidget = itemUIRegistry.getWidget(sitemap, pageId);
-                    if (pageWidget instanceof LinkableWidget) {
-                        widgets = itemUIRegistry.getChildren((LinkableWidget) pageWidget);
-                    }
-                }
-            }
+            EList<Widget> widgets = getWidgets(sitemapName, pageId);
             if (widgets != null) {
                 listener = new PageChangeListener(sitemapName, pageId, itemUIRegistry, widgets);
                 pageChangeListeners.put(getValue(sitemapName, pageId), listener);
@@ -211,6 +219,21 @@ public class SitemapSubscriptionService {
         }
     }
 
+    private EList<Widget> getWidgets(String sitemapName, String pageId) {
+        Sitemap sitemap = getSitemap(sitemapName);
+        if (sitemap != null) {
+            if (pageId.equals(sitemap.getName())) {
+                return sitemap.getChildren();
+            } else {
+                Widget pageWidget = itemUIRegistry.getWidget(sitemap, pageId);
+                if (pageWidget instanceof LinkableWidget) {
+                    return itemUIRegistry.getChildren((LinkableWidget) pageWidget);
+                }
+            }
+        }
+        return null;
+    }
+
     private String getValue(String sitemapName, String pageId) {
         return sitemapName + SITEMAP_PAGE_SEPARATOR + pageId;
     }
@@ -225,4 +248,22 @@ public class SitemapSubscriptionService {
         return null;
     }
 
+    @Override
+    public void modelChanged(String modelName, EventType type) {
+        if (!modelName.endsWith(SITEMAP_SUFFIX) || itemUIRegistry == null) {
+            return;
+        }
+        String sitemapName = modelName.substring(0, modelName.length() - SITEMAP_SUFFIX.length());
+        for (PageChangeListener listener : pageChangeListeners.values()) {
+            if (listener.getSitemapName().equals(sitemapName)) {
+                EList<Widget> widgets = type == EventType.REMOVED ? null
+                        : getWidgets(sitemapName, listener.getPageId());
+                // a page that does not exist anymore has no widgets to send events for
+                if (listener.update(widgets != null ? widgets : new BasicEList<Widget>())) {
+                    logger.debug("Page {} of sitemap {} has changed", listener.getPageId(), sitemapName);
+                }
+            }
+        }
+    }
+
 }
@@ -9,37 +9,56 @@ package org.eclipse.smarthome.io.rest.sitemap.internal;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 
 import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.core.items.StateChangeListener;
 import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.io.rest.core.item.EnrichedItemDTO;
 import org.eclipse.smarthome.io.rest.core.item.EnrichedItemDTOMapper;
 import org.eclipse.smarthome.io.rest.sitemap.SitemapSubscriptionService.SitemapSubscriptionCallback;
+import org.eclipse.smarthome.model.sitemap.ColorArray;
 import org.eclipse.smarthome.model.sitemap.Frame;
+import org.eclipse.smarthome.model.sitemap.LinkableWidget;
 import org.eclipse.smarthome.model.sitemap.VisibilityRule;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.items.ItemUIRegistry;
 
 /**
  * This is a class that listens on item state change events and creates sitemap events for a dedicated sitemap page.
+ * It is shared by all subscriptions of the page and keeps an index of the widgets which are affected by the state of
+ * an item, i.e. which show the item or refer to it in their visibility or color rules. When the sitemap is reloaded,
+ * the subscriptions are only notified, if the widgets of the page have changed.
  *
  * @author Kai Kreuzer - Initial contribution and API
  *
  */
 public class PageChangeListener implements StateChangeListener {
 
+    private static final String CHILDREN_FEATURE = "children";
+
     private final String sitemapName;
     private final String pageId;
     private final ItemUIRegistry itemUIRegistry;
-    private final EList<Widget> widgets;
-    private final Set<Item> items;
+    private Set<Item> items = Collections.emptySet();
+    private List<Widget> widgets = Collections.emptyList();
+    private volatile Map<String, Set<Widget>> widgetsByItem = Collections.emptyMap();
     private final List<SitemapSubscriptionCallback> callbacks = Collections
             .synchronizedList(new ArrayList<SitemapSubscriptionCallback>());
     private Set<SitemapSubscriptionCallback> distinctCallbacks = Collections.emptySet();
@@ -56,15 +75,7 @@ public class PageChangeListener implements StateChangeListener {
         this.sitemapName = sitemapName;
         this.pageId = pageId;
         this.itemUIRegistry = itemUIRegistry;
-        this.widgets = widgets;
-        items = getAllItems(widgets);
-        for (Item item : items) {
-            if (item instanceof GenericItem) {
-                ((GenericItem) item).addStateChangeListener(this);
-            } else if (item instanceof GroupItem) {
-                ((GroupItem) item).addStateChangeListener(this);
-            }
-        }
+        index(widgets);
     }
 
     public String getSitemapName() {
@@ -86,10 +97,100 @@ public class PageChangeListener implements StateChangeListener {
         distinctCallbacks = new HashSet<>(callbacks);
     }
 
+    /**
+     * Updates the page after its sitemap has been changed. The widgets of the page are compared with the previous
+     * ones, and the subscribers of the page are only notified, if the page is shown differently.
+     *
+     * @param widgets the new list of widgets that are part of the page.
+     * @return true, if the page has changed, false otherwise
+     */
+    public boolean update(EList<Widget> widgets) {
+        synchronized (this) {
+            // the widgets of an unchanged page are shown in the same way and refer to the same items, so the index,
+            // the items and their listeners are kept and only the widgets of the unloaded model are replaced
+            if (isSamePage(this.widgets, widgets)) {
+                replaceWidgets(widgets);
+                return false;
+            }
+            index(widgets);
+        }
+        SitemapChangedEvent event = new SitemapChangedEvent();
+        event.sitemapName = sitemapName;
+        event.pageId = pageId;
+        for (SitemapSubscriptionCallback callback : distinctCallbacks) {
+            callback.onEvent(event);
+        }
+        return true;
+    }
+
+    /**
+     * Rebuilds the index of the page for the given widgets and listens to the items they refer to.
+     *
+     * @param widgets the list of widgets that are part of the page.
+     */
+    private synchronized void index(EList<Widget> widgets) {
+        Map<String, Set<Widget>> widgetsByItem = new HashMap<>();
+        indexWidgets(widgetsByItem, widgets);
+        Set<Item> items = getAllItems(widgetsByItem.keySet());
+        removeStateChangeListeners(this.items);
+        this.items = items;
+        addStateChangeListeners(items);
+        this.widgets = widgets;
+        this.widgetsByItem = widgetsByItem;
+    }
+
+    /**
+     * Replaces the widgets in the index of the page by the widgets at the same position of an unchanged page.
+     *
+     * @param widgets the list of widgets that replace the current widgets of the page.
+     */
+    private synchronized void replaceWidgets(EList<Widget> widgets) {
+        Map<Widget, Widget> replacements = new IdentityHashMap<>();
+        collectReplacements(replacements, this.widgets, widgets);
+        Map<String, Set<Widget>> widgetsByItem = new HashMap<>();
+        for (Entry<String, Set<Widget>> entry : this.widgetsByItem.entrySet()) {
+            Set<Widget> replacedWidgets = new LinkedHashSet<>();
+            for (Widget widget : entry.getValue()) {
+                replacedWidgets.add(replacements.get(widget));
+            }
+            widgetsByItem.put(entry.getKey(), replacedWidgets);
+        }
+        this.widgets = widgets;
+        this.widgetsByItem = widgetsByItem;
+    }
+
+    private void collectReplacements(Map<Widget, Widget> replacements, List<Widget> widgets1, List<Widget> widgets2) {
+        for (int i = 0; i < widgets1.size(); i++) {
+            Widget widget = widgets1.get(i);
+            replacements.put(widget, widgets2.get(i));
+            if (widget instanceof Frame) {
+                collectReplacements(replacements, ((Frame) widget).getChildren(),
+                        ((Frame) widgets2.get(i)).getChildren());
+            }
+        }
+    }
+
     /**
      * Disposes this instance and releases all resources.
      */
-    public void dispose() {
+    public synchronized void dispose() {
+        removeStateChangeListeners(items);
+        items = Collections.emptySet();
+        widgets = Collections.emptyList();
+        widgetsByItem = Collections.emptyMap();
+    }
+
+    private void addStateChangeListeners(Set<Item> items) {
+        for (Item item : items) {
+            if (item instanceof GenericItem) {
+                ((GenericItem) item).addStateChangeListener(this);
+            } else if (item instanceof GroupItem) {
+                ((GroupItem) item).addStateChangeListener(this);
+            }
+        }
+    }
+
+    private void removeStateChangeListeners(Set<Item> items) {
         for (Item item : items) {
             if (item instanceof GenericItem) {
                 ((GenericItem) item).removeStateChangeListener(this);
@@ -100,48 +201,116 @@ public class PageChangeListener implements StateChangeListener {
     }
 
     /**
-     * Collects all items that are represented by a given list of widgets
+     * Adds the given widgets and the widgets of all contained frames to the index of the items they depend on.
      *
-     * @param widgets
-     *            the widget list to get the items for added to all bundles containing REST resources
-     * @return all items that are represented by the list of widgets
+     * @param widgetsByItem the index to add the widgets to
+     * @param widgets the widget list to index
      */
-    private Set<Item> getAllItems(EList<Widget> widgets) {
-        Set<Item> items = new HashSet<Item>();
-        if (itemUIRegistry != null) {
-            for (Widget widget : widgets) {
-                String itemName = widget.getItem();
-                if (itemName != null) {
-                    addItemWithName(items, itemName);
-                } else {
-                    if (widget instanceof Frame) {
-                        items.addAll(getAllItems(((Frame) widget).getChildren()));
-                    }
+    private void indexWidgets(Map<String, Set<Widget>> widgetsByItem, List<Widget> widgets) {
+        for (Widget widget : widgets) {
+            if (widget instanceof Frame) {
+                indexWidgets(widgetsByItem, ((Frame) widget).getChildren());
+            }
+            addWidget(widgetsByItem, widget.getItem(), widget);
+            for (VisibilityRule rule : widget.getVisibility()) {
+                addWidget(widgetsByItem, rule.getItem(), widget);
+            }
+            for (ColorArray color : widget.getLabelColor()) {
+                addWidget(widgetsByItem, color.getItem(), widget);
+            }
+            for (ColorArray color : widget.getValueColor()) {
+                addWidget(widgetsByItem, color.getItem(), widget);
+            }
+        }
+    }
+
+    private void addWidget(Map<String, Set<Widget>> widgetsByItem, String itemName, Widget widget) {
+        if (itemName != null) {
+            Set<Widget> widgets = widgetsByItem.get(itemName);
+            if (widgets == null) {
+                widgets = new LinkedHashSet<>();
+                widgetsByItem.put(itemName, widgets);
+            }
+            widgets.add(widget);
+        }
+    }
+
+    /**
+     * Checks whether two lists of widgets are shown in the same way on a page. The widgets of frames are compared
+     * completely, as they are shown on the same page. The children of other widgets are shown on their own pages, so
+     * only their presence is compared.
+     *
+     * @param widgets1 the first list of widgets
+     * @param widgets2 the second list of widgets
+     * @return true, if the widgets are shown in the same way, false otherwise
+     */
+    static boolean isSamePage(List<Widget> widgets1, List<Widget> widgets2) {
+        if (widgets1.size() != widgets2.size()) {
+            return false;
+        }
+        for (int i = 0; i < widgets1.size(); i++) {
+            if (!isSameWidget(widgets1.get(i), widgets2.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean isSameWidget(Widget widget1, Widget widget2) {
+        if (widget1.eClass() != widget2.eClass()) {
+            return false;
+        }
+        for (EStructuralFeature feature : widget1.eClass().getEAllStructuralFeatures()) {
+            Object value1 = widget1.eGet(feature);
+            Object value2 = widget2.eGet(feature);
+            if (widget1 instanceof LinkableWidget && CHILDREN_FEATURE.equals(feature.getName())) {
+                List<Widget> children1 = (List<Widget>) value1;
+                List<Widget> children2 = (List<Widget>) value2;
+                if (widget1 instanceof Frame ? !isSamePage(children1, children2)
+                        : children1.isEmpty() != children2.isEmpty()) {
+                    return false;
                 }
-                // now scan visibility rules
-                for (VisibilityRule vr : widget.getVisibility()) {
-                    String ruleItemName = vr.getItem();
-                    addItemWithName(items, ruleItemName);
+            } else if (feature instanceof EReference) {
+                // the mappings, rules and colors of the widget
+                if (feature.isMany() ? !EcoreUtil.equals((List<EObject>) value1, (List<EObject>) value2)
+                        : !EcoreUtil.equals((EObject) value1, (EObject) value2)) {
+                    return false;
                 }
+            } else if (!Objects.equals(value1, value2)) {
+                return false;
             }
         }
-        return items;
+        return true;
     }
 
-    private void addItemWithName(Set<Item> items, String itemName) {
-        if (itemName != null) {
-            try {
-                Item item = itemUIRegistry.getItem(itemName);
-                items.add(item);
-            } catch (ItemNotFoundException e) {
-                // ignore
+    /**
+     * Collects all items with the given names
+     *
+     * @param itemNames the names of the items
+     * @return all items which exist in the registry
+     */
+    private Set<Item> getAllItems(Set<String> itemNames) {
+        Set<Item> items = new HashSet<Item>();
+        if (itemUIRegistry != null) {
+            for (String itemName : itemNames) {
+                try {
+                    items.add(itemUIRegistry.getItem(itemName));
+                } catch (ItemNotFoundException e) {
+                    // ignore
+                }
             }
         }
+        return items;
     }
 
     @Override
     public void stateChanged(Item item, State oldState, State newState) {
-        Set<SitemapEvent> events = constructSitemapEvents(item, oldState, newState, widgets);
+        Set<Widget> widgets = widgetsByItem.get(item.getName());
+        if (widgets == null) {
+            return;
+        }
+        Set<SitemapEvent> events = constructSitemapEvents(item, widgets);
         for (SitemapEvent event : events) {
             for (SitemapSubscriptionCallback callback : distinctCallbacks) {
                 callback.onEvent(event);
@@ -153,36 +322,44 @@ public class PageChangeListener implements StateChangeListener {
     public void stateUpdated(Item item, State state) {
     }
 
-    private Set<SitemapEvent> constructSitemapEvents(Item item, State oldState, State newState, List<Widget> widgets) {
-        Set<SitemapEvent> events = new HashSet<>();
+    private Set<SitemapEvent> constructSitemapEvents(Item item, Set<Widget> widgets) {
+        Set<SitemapEvent> events = new LinkedHashSet<>();
+        // the changed item is shown by most of the widgets, so it is only mapped once
+        EnrichedItemDTO itemDTO = EnrichedItemDTOMapper.map(item, false, null, null);
         for (Widget w : widgets) {
-            if (w instanceof Frame) {
-                events.addAll(constructSitemapEvents(item, oldState, newState, ((Frame) w).getChildren()));
-            }
-
-            if ((w.getItem() != null && w.getItem().equals(item.getName())) || definesVisibility(w, item.getName())) {
-                SitemapWidgetEvent event = new SitemapWidgetEvent();
-                event.sitemapName = sitemapName;
-                event.pageId = pageId;
-                event.label = itemUIRegistry.getLabel(w);
-                event.labelcolor = itemUIRegistry.getLabelColor(w);
-                event.valuecolor = itemUIRegistry.getValueColor(w);
-                event.widgetId = itemUIRegistry.getWidgetId(w);
-                event.visibility = itemUIRegistry.getVisiblity(w);
-                event.item = EnrichedItemDTOMapper.map(item, false, null, null);
-                events.add(event);
-            }
+            SitemapWidgetEvent event = new SitemapWidgetEvent();
+            event.sitemapName = sitemapName;
+            event.pageId = pageId;
+            event.label = itemUIRegistry.getLabel(w);
+            event.labelcolor = itemUIRegistry.getLabelColor(w);
+            event.valuecolor = itemUIRegistry.getValueColor(w);
+            event.widgetId = itemUIRegistry.getWidgetId(w);
+            event.visibility = itemUIRegistry.getVisiblity(w);
+            event.item = getItemDTO(w, item, itemDTO);
+            events.add(event);
         }
         return events;
     }
 
-    private boolean definesVisibility(Widget w, String name) {
-        for (VisibilityRule vr : w.getVisibility()) {
-            if (name.equals(vr.getItem())) {
-                return true;
-            }
+    /**
+     * Determines the item of a widget event. A widget, which depends on the changed item only through its visibility
+     * or color rules, gets the state of the item it shows.
+     *
+     * @param widget the widget of the event
+     * @param item the changed item
+     * @param itemDTO the DTO of the changed item
+     * @return the DTO of the item shown by the widget, or of the changed item if the widget does not show an item
+     */
+    private EnrichedItemDTO getItemDTO(Widget widget, Item item, EnrichedItemDTO itemDTO) {
+        String itemName = widget.getItem();
+        if (itemName == null || itemName.equals(item.getName())) {
+            return itemDTO;
+        }
+        try {
+            return EnrichedItemDTOMapper.map(itemUIRegistry.getItem(itemName), false, null, null);
+        } catch (ItemNotFoundException e) {
+            return itemDTO;
         }
-        return false;
     }
 
 }
@@ -0,0 +1,19 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.io.rest.sitemap.internal;
+
+/**
+ * A sitemap event, which tells that the widgets of a page have changed, so that the page has to be loaded again.
+ *
+ * @author agent - Initial contribution
+ */
+public class SitemapChangedEvent extends SitemapEvent {
+
+    public SitemapChangedEvent() {
+    }
+}
@@ -654,10 +654,20 @@ public class SitemapResource
 
     @Override
     public void onEvent(SitemapEvent event) {
-        OutboundEvent.Builder eventBuilder = new OutboundEvent.Builder();
-        OutboundEvent outboundEvent = eventBuilder.name("event").mediaType(MediaType.APPLICATION_JSON_TYPE).data(event)
+        broadcaster.broadcast(createOutboundEvent(event));
+    }
+
+    /**
+     * Creates the server-sent event for a sitemap event. Changed pages are announced by a separate event, so that they
+     * do not interfere with the widget events.
+     *
+     * @param event the sitemap event
+     * @return the event named "pagechanged" for a changed page or "event" otherwise
+     */
+    static OutboundEvent createOutboundEvent(SitemapEvent event) {
+        String eventName = event instanceof SitemapChangedEvent ? "pagechanged" : "event";
+        return new OutboundEvent.Builder().name(eventName).mediaType(MediaType.APPLICATION_JSON_TYPE).data(event)
                 .build();
-        broadcaster.broadcast(outboundEvent);
     }
 
     @Override
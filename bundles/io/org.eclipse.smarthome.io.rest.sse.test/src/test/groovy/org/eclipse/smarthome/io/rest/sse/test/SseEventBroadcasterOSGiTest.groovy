@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.io.rest.sse.test
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+import org.eclipse.smarthome.core.items.events.ItemEventFactory
+import org.eclipse.smarthome.core.library.types.DecimalType
+import org.eclipse.smarthome.io.rest.sse.internal.SseEventBroadcaster
+import org.eclipse.smarthome.io.rest.sse.internal.SseEventOutput
+import org.eclipse.smarthome.test.OSGiTest
+import org.glassfish.jersey.media.sse.OutboundEvent
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Tests the fan-out of events to many in-process SSE clients.
+ *
+ * @author agent - Initial contribution
+ */
+class SseEventBroadcasterOSGiTest extends OSGiTest {
+
+    ExecutorService executor
+    SseEventBroadcaster broadcaster
+
+    @Before
+    void setUp() {
+        executor = Executors.newFixedThreadPool(5)
+        broadcaster = new SseEventBroadcaster(executor)
+    }
+
+    @After
+    void tearDown() {
+        executor.shutdownNow()
+    }
+
+    @Test
+    void 'assert that events are only sent to clients with a matching filter'() {
+        def allEvents = new RecordingEventOutput("")
+        def item1Events = new RecordingEventOutput("smarthome/items/item1/*")
+        def otherItem1Events = new RecordingEventOutput("smarthome/items/item1/*")
+        def commandEvents = new RecordingEventOutput("*/command, smarthome/things")
+        [allEvents, item1Events, otherItem1Events, commandEvents].each { broadcaster.add(it) }
+
+        assertThat item1Events.topicFilter.is(otherItem1Events.topicFilter), is(true)
+
+        broadcaster.broadcast(ItemEventFactory.createStateEvent("item1", new DecimalType(1)))
+        broadcaster.broadcast(ItemEventFactory.createStateEvent("item2", new DecimalType(2)))
+        broadcaster.broadcast(ItemEventFactory.createCommandEvent("item2", new DecimalType(3)))
+
+        waitForAssert {
+            assertThat allEvents.events.size(), is(3)
+            assertThat item1Events.events.size(), is(1)
+            assertThat otherItem1Events.events.size(), is(1)
+            assertThat commandEvents.events.size(), is(1)
+        }
+
+        // the event is serialized once for all clients
+        assertThat item1Events.events[0].is(allEvents.events[0]), is(true)
+        assertThat item1Events.events[0].data as String, containsString('"topic":"smarthome/items/item1/state"')
+        assertThat commandEvents.events[0].data as String, containsString('"type":"ItemCommandEvent"')
+    }
+
+    @Test
+    void 'assert that a slow client does not delay the other clients'() {
+        def slowClientLatch = new CountDownLatch(1)
+        def slowClient = new RecordingEventOutput("", slowClientLatch)
+        def clients = (1..10).collect { new RecordingEventOutput("") }
+        broadcaster.add(slowClient)
+        clients.each { broadcaster.add(it) }
+
+        int numberOfEvents = SseEventOutput.MAX_QUEUED_EVENTS + 10
+        for (int i = 0; i < numberOfEvents; i++) {
+            broadcaster.broadcast(ItemEventFactory.createStateEvent("item", new DecimalType(i)))
+        }
+
+        waitForAssert {
+            clients.each { assertThat it.events.size(), is(numberOfEvents) }
+        }
+        assertThat slowClient.isClosed(), is(true)
+        assertThat broadcaster.size(), is(clients.size())
+        slowClientLatch.countDown()
+    }
+
+    @Test
+    void 'assert that a slow client gives way to the other clients of its thread'() {
+        def singleThreadExecutor = Executors.newSingleThreadExecutor()
+        def singleThreadBroadcaster = new SseEventBroadcaster(singleThreadExecutor)
+        def slowClient = new RecordingEventOutput("") {
+                    @Override
+                    void write(OutboundEvent event) throws IOException {
+                        Thread.sleep(10)
+                        super.write(event)
+                    }
+                }
+        def client = new RecordingEventOutput("")
+        singleThreadBroadcaster.add(slowClient)
+        singleThreadBroadcaster.add(client)
+
+        int numberOfEvents = 50
+        for (int i = 0; i < numberOfEvents; i++) {
+            singleThreadBroadcaster.broadcast(ItemEventFactory.createStateEvent("item", new DecimalType(i)))
+        }
+
+        try {
+            waitForAssert {
+                assertThat client.events.size(), is(numberOfEvents)
+            }
+            // the slow client needs 500 ms for its events, but writes for at most 50 ms before the other client
+            assertThat slowClient.events.size() < numberOfEvents, is(true)
+            waitForAssert {
+                assertThat slowClient.events.size(), is(numberOfEvents)
+            }
+        } finally {
+            singleThreadExecutor.shutdownNow()
+        }
+    }
+
+    @Test
+    void 'assert that many clients receive the matching events in their order'() {
+        int numberOfClients = 100
+        int numberOfEvents = 500
+        def clients = (1..numberOfClients).collect { new RecordingEventOutput(it % 2 == 0 ? "" : "smarthome/items/*") }
+        clients.each { broadcaster.add(it) }
+
+        for (int i = 0; i < numberOfEvents; i++) {
+            broadcaster.broadcast(ItemEventFactory.createStateEvent("item" + i, new DecimalType(i)))
+        }
+
+        waitForAssert {
+            clients.each { assertThat it.events.size(), is(numberOfEvents) }
+        }
+        clients.each { client ->
+            client.events.eachWithIndex { OutboundEvent event, int i ->
+                assertThat event.data as String, containsString('"topic":"smarthome/items/item' + i + '/state"')
+            }
+        }
+    }
+}
+
+/**
+ * An {@link SseEventOutput} which records the written events instead of sending them.
+ */
+class RecordingEventOutput extends SseEventOutput {
+
+    final List<OutboundEvent> events = Collections.synchronizedList(new ArrayList<>())
+    final CountDownLatch latch
+
+    RecordingEventOutput(String topicFilter, CountDownLatch latch = null) {
+        super(topicFilter)
+        this.latch = latch
+    }
+
+    @Override
+    void write(OutboundEvent event) throws IOException {
+        events.add(event)
+        if (latch != null) {
+            latch.await()
+        }
+    }
+}
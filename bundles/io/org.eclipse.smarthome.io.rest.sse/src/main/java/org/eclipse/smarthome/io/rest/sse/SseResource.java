@@ -27,10 +27,10 @@ import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.smarthome.core.auth.Role;
 import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.io.rest.sse.internal.SseEventBroadcaster;
 import org.eclipse.smarthome.io.rest.sse.internal.SseEventOutput;
 import org.eclipse.smarthome.io.rest.sse.internal.util.SseUtil;
 import org.glassfish.jersey.media.sse.EventOutput;
-import org.glassfish.jersey.media.sse.SseBroadcaster;
 import org.glassfish.jersey.media.sse.SseFeature;
 
 import io.swagger.annotations.Api;
@@ -56,7 +56,7 @@ public class SseResource {
 
     private static final String X_ACCEL_BUFFERING_HEADER = "X-Accel-Buffering";
 
-    private final SseBroadcaster broadcaster;
+    private final SseEventBroadcaster broadcaster;
 
     private final ExecutorService executorService;
 
@@ -71,7 +71,7 @@ public class SseResource {
 
     public SseResource() {
         this.executorService = Executors.newSingleThreadExecutor();
-        this.broadcaster = new SseBroadcaster();
+        this.broadcaster = new SseEventBroadcaster();
     }
 
     /**
@@ -98,7 +98,7 @@ public class SseResource {
 
         // construct an EventOutput that will only write out events that match
         // the given filter
-        final EventOutput eventOutput = new SseEventOutput(eventFilter);
+        final SseEventOutput eventOutput = new SseEventOutput(eventFilter);
         broadcaster.add(eventOutput);
 
         // Disables proxy buffering when using an nginx http server proxy for this response.
@@ -126,7 +126,8 @@ public class SseResource {
 
     /**
      * Broadcasts an event described by the given parameter to all currently
-     * listening clients.
+     * listening clients. The events are dispatched in the order they are
+     * received, while each client is written to independently.
      *
      * @param sseEventType
      *            the SSE event type
@@ -137,7 +138,7 @@ public class SseResource {
         executorService.execute(new Runnable() {
             @Override
             public void run() {
-                broadcaster.broadcast(SseUtil.buildEvent(event));
+                broadcaster.broadcast(event);
             }
         });
     }
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.io.rest.sse.internal;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+
+import org.eclipse.smarthome.core.common.QueueingThreadPoolExecutor;
+import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.io.rest.sse.internal.util.SseUtil;
+import org.glassfish.jersey.media.sse.OutboundEvent;
+
+/**
+ * The {@link SseEventBroadcaster} fans out Eclipse SmartHome events to the {@link SseEventOutput}s of the connected
+ * clients.
+ * <p>
+ * Each event is matched once against each distinct topic filter and serialized once for all clients. The clients
+ * receive the events through their own queues, see {@link SseEventOutput#offer(OutboundEvent, Executor)}.
+ * <p>
+ * The events are written by a pool of its own, so that clients whose connections block do not hold the threads of
+ * the shared pools. Its threads are only created when clients are writing and terminate when they are idle.
+ *
+ * @author agent - Initial contribution
+ */
+public class SseEventBroadcaster {
+
+    private static final String THREAD_POOL_NAME = "sseWriter";
+
+    /**
+     * The maximum number of clients whose events are written at the same time.
+     */
+    private static final int WRITER_THREADS = 32;
+
+    private final Set<SseEventOutput> eventOutputs = new CopyOnWriteArraySet<>();
+
+    private final Executor executor;
+
+    public SseEventBroadcaster() {
+        this(QueueingThreadPoolExecutor.createInstance(THREAD_POOL_NAME, WRITER_THREADS));
+    }
+
+    /**
+     * @param executor the executor which writes the events to the clients
+     */
+    public SseEventBroadcaster(Executor executor) {
+        this.executor = executor;
+    }
+
+    public void add(SseEventOutput eventOutput) {
+        eventOutputs.add(eventOutput);
+    }
+
+    public void remove(SseEventOutput eventOutput) {
+        eventOutputs.remove(eventOutput);
+    }
+
+    /**
+     * Returns the number of connected clients.
+     *
+     * @return the number of clients
+     */
+    public int size() {
+        return eventOutputs.size();
+    }
+
+    /**
+     * Queues the given event for all clients whose topic filter matches its topic.
+     *
+     * @param event the event
+     */
+    public void broadcast(Event event) {
+        String topic = event.getTopic();
+        Map<Pattern, Boolean> matchingFilters = new IdentityHashMap<>();
+        OutboundEvent outboundEvent = null;
+        for (SseEventOutput eventOutput : eventOutputs) {
+            if (eventOutput.isClosed()) {
+                eventOutputs.remove(eventOutput);
+                continue;
+            }
+
+            Pattern topicFilter = eventOutput.getTopicFilter();
+            Boolean matches = matchingFilters.get(topicFilter);
+            if (matches == null) {
+                matches = topicFilter.matcher(topic).matches();
+                matchingFilters.put(topicFilter, matches);
+            }
+            if (!matches) {
+                continue;
+            }
+
+            if (outboundEvent == null) {
+                outboundEvent = SseUtil.buildEvent(event);
+            }
+            if (!eventOutput.offer(outboundEvent, executor)) {
+                eventOutputs.remove(eventOutput);
+            }
+        }
+    }
+
+}
@@ -8,39 +8,113 @@
 package org.eclipse.smarthome.io.rest.sse.internal;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
 
-import org.eclipse.smarthome.io.rest.sse.beans.EventBean;
 import org.eclipse.smarthome.io.rest.sse.internal.util.SseUtil;
 import org.glassfish.jersey.media.sse.EventOutput;
 import org.glassfish.jersey.media.sse.OutboundEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * {@link EventOutput} implementation that takes a filter parameter and only writes out events that match this filter.
- * Should only be used when the {@link OutboundEvent}s sent through this {@link EventOutput} contain a data object of
- * type {@link EventBean}
- * 
+ * {@link EventOutput} implementation that takes a filter parameter and only receives events that match this filter.
+ * <p>
+ * The events are queued by {@link #offer(OutboundEvent, Executor)} and written by a task of the given executor, so
+ * that a slow client does not delay the other clients. A task writes for at most {@value #MAX_WRITE_TIME_MILLIS}
+ * milliseconds, before it gives way to the tasks of the other clients. If a client falls behind by more than
+ * {@value #MAX_QUEUED_EVENTS} events, its output is closed, so that it can reconnect.
+ *
  * @author Ivan Iliev - Initial contribution and API
- * 
+ *
  */
 public class SseEventOutput extends EventOutput {
 
-    private List<String> regexFilters;
+    public static final int MAX_QUEUED_EVENTS = 1000;
+
+    public static final long MAX_WRITE_TIME_MILLIS = 50;
+
+    private final Logger logger = LoggerFactory.getLogger(SseEventOutput.class);
+
+    private final Pattern topicFilter;
+
+    private final BlockingQueue<OutboundEvent> queue = new ArrayBlockingQueue<>(MAX_QUEUED_EVENTS);
+
+    private final AtomicBoolean writing = new AtomicBoolean();
 
     public SseEventOutput(String topicFilter) {
         super();
-        this.regexFilters = SseUtil.convertToRegex(topicFilter);
+        this.topicFilter = SseUtil.compileTopicFilter(topicFilter);
     }
 
-    @Override
-    public void write(OutboundEvent chunk) throws IOException {
-        EventBean event = (EventBean) chunk.getData();
+    /**
+     * Returns the compiled topic filter, which is shared by all outputs with the same topic filter.
+     *
+     * @return the topic filter
+     */
+    public Pattern getTopicFilter() {
+        return topicFilter;
+    }
 
-        for (String filter : regexFilters) {
-            if (event.topic.matches(filter)) {
-                super.write(chunk);
-                return;
+    /**
+     * Queues the given event to be written to the client, if it is not closed.
+     *
+     * @param event the event, which must match the topic filter
+     * @param executor the executor which writes the queued events
+     * @return false if the output has been closed, otherwise true
+     */
+    public boolean offer(OutboundEvent event, Executor executor) {
+        if (isClosed()) {
+            return false;
+        }
+        if (!queue.offer(event)) {
+            logger.debug("Closing the SSE connection, as the client does not keep up with the events.");
+            closeQuietly();
+            return false;
+        }
+        if (writing.compareAndSet(false, true)) {
+            executor.execute(() -> writeQueuedEvents(executor));
+        }
+        return true;
+    }
+
+    private void writeQueuedEvents(Executor executor) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_WRITE_TIME_MILLIS);
+        do {
+            boolean continued = false;
+            try {
+                OutboundEvent event;
+                while ((event = queue.poll()) != null) {
+                    write(event);
+                    if (System.nanoTime() - deadline >= 0 && !queue.isEmpty()) {
+                        // give way to the other clients, the remaining events are written by a new task
+                        executor.execute(() -> writeQueuedEvents(executor));
+                        continued = true;
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                logger.debug("Closing the SSE connection, as an event could not be written: {}", e.getMessage());
+                closeQuietly();
+            } finally {
+                if (!continued) {
+                    writing.set(false);
+                }
             }
+            // an event might have been queued after the queue has been found empty
+        } while (!queue.isEmpty() && !isClosed() && writing.compareAndSet(false, true));
+    }
+
+    private void closeQuietly() {
+        queue.clear();
+        try {
+            close();
+        } catch (IOException e) {
+            logger.debug("The SSE connection could not be closed: {}", e.getMessage());
         }
     }
 
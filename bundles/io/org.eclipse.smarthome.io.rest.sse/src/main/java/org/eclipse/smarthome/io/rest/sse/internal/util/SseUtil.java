@@ -9,7 +9,10 @@ package org.eclipse.smarthome.io.rest.sse.internal.util;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 import javax.servlet.ServletRequest;
 import javax.ws.rs.core.MediaType;
@@ -19,6 +22,9 @@ import org.eclipse.smarthome.core.events.Event;
 import org.eclipse.smarthome.io.rest.sse.beans.EventBean;
 import org.glassfish.jersey.media.sse.OutboundEvent;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
 /**
  * Utility class containing helper methods for the SSE implementation.
  * 
@@ -28,6 +34,12 @@ import org.glassfish.jersey.media.sse.OutboundEvent;
 public class SseUtil {
     static final String TOPIC_VALIDATE_PATTERN = "(\\w*\\*?\\/?,?\\s*)*";
 
+    private static final int MAX_CACHED_TOPIC_FILTERS = 100;
+
+    private static final Map<String, Pattern> TOPIC_FILTERS = new ConcurrentHashMap<>();
+
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
     static {
         boolean servlet3 = false;
         try {
@@ -46,7 +58,8 @@ public class SseUtil {
 
     /**
      * Creates a new {@link OutboundEvent} object containing an {@link EventBean} created for the given Eclipse
-     * SmartHome {@link Event}.
+     * SmartHome {@link Event}. The bean is serialized to JSON right away, so that the event can be written to any
+     * number of clients without serializing it again.
      * 
      * @param event the event
      * 
@@ -58,9 +71,10 @@ public class SseUtil {
         eventBean.type = event.getType();
         eventBean.payload = event.getPayload();
 
+        // the data is written as it is, the media type only selects the writer
         OutboundEvent.Builder eventBuilder = new OutboundEvent.Builder();
-        OutboundEvent outboundEvent = eventBuilder.name("message").mediaType(MediaType.APPLICATION_JSON_TYPE)
-                .data(eventBean).build();
+        OutboundEvent outboundEvent = eventBuilder.name("message").mediaType(MediaType.TEXT_PLAIN_TYPE)
+                .data(String.class, GSON.toJson(eventBean)).build();
 
         return outboundEvent;
     }
@@ -126,4 +140,32 @@ public class SseUtil {
 
         return filters;
     }
+
+    /**
+     * Compiles the given topicFilter to a pattern, which matches a topic if any of the regular expressions returned
+     * by {@link #convertToRegex(String)} matches it. The patterns are cached, so that clients with the same topic
+     * filter share them.
+     * 
+     * @param topicFilter
+     * @return the compiled pattern
+     */
+    public static Pattern compileTopicFilter(String topicFilter) {
+        String key = topicFilter != null ? topicFilter : "";
+        Pattern pattern = TOPIC_FILTERS.get(key);
+        if (pattern == null) {
+            StringBuilder regex = new StringBuilder();
+            for (String filter : convertToRegex(topicFilter)) {
+                if (regex.length() > 0) {
+                    regex.append('|');
+                }
+                regex.append("(?:").append(filter).append(')');
+            }
+            pattern = Pattern.compile(regex.toString());
+            // the topic filters are chosen by the clients, so only a limited number of them is kept
+            if (TOPIC_FILTERS.size() < MAX_CACHED_TOPIC_FILTERS) {
+                TOPIC_FILTERS.put(key, pattern);
+            }
+        }
+        return pattern;
+    }
 }
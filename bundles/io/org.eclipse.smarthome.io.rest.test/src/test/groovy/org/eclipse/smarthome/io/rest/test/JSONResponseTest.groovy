@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.io.rest.test
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import java.util.stream.Stream
+
+import javax.ws.rs.core.MediaType
+import javax.ws.rs.core.Response
+import javax.ws.rs.core.StreamingOutput
+import javax.ws.rs.core.Response.Status
+
+import org.eclipse.smarthome.io.rest.JSONResponse
+import org.junit.Test
+
+import com.google.gson.Gson
+import com.google.gson.JsonParser
+
+/**
+ * Tests the JSON of the {@link JSONResponse}, which is either converted in advance or streamed.
+ *
+ * @author agent - Initial contribution
+ */
+class JSONResponseTest {
+
+    static class TestBean {
+        String name
+        String label
+        String state
+        List<String> tags
+        Map<String, Object> configuration
+    }
+
+    @Test
+    void 'assert that entities are converted to pretty printed JSON'() {
+        Response response = JSONResponse.createResponse(Status.OK, createBean(1), null)
+
+        assertThat response.getHeaderString("Content-Type"), is(MediaType.APPLICATION_JSON)
+        assertThat response.entity, is(instanceOf(String))
+        assertThat response.entity, containsString("\n  \"name\": \"Item1\"")
+        assertThat new JsonParser().parse(response.entity), is(new JsonParser().parse(new Gson().toJson(createBean(1))))
+    }
+
+    @Test
+    void 'assert that entities are streamed as compact JSON'() {
+        Response response = JSONResponse.createResponse(Status.OK, createBeans(2), null, false)
+
+        assertThat response.getHeaderString("Content-Type"), is(MediaType.APPLICATION_JSON)
+        assertThat response.entity, is(instanceOf(StreamingOutput))
+        def json = write(response)
+        assertThat json, not(containsString("\n"))
+        assertThat new JsonParser().parse(json), is(new JsonParser().parse(new Gson().toJson(createBeans(2).toArray())))
+    }
+
+    @Test
+    void 'assert that pretty printing of streamed entities is optional'() {
+        def json = write(JSONResponse.createResponse(Status.OK, createBean(1), null, true))
+
+        assertThat json, containsString("\n  \"name\": \"Item1\"")
+        assertThat new JsonParser().parse(json), is(new JsonParser().parse(new Gson().toJson(createBean(1))))
+    }
+
+    @Test
+    void 'assert that the stream and the output are closed after the entities have been written'() {
+        boolean streamClosed = false
+        def output = new ByteArrayOutputStream() {
+                    boolean closed
+
+                    @Override
+                    void close() {
+                        closed = true
+                    }
+                }
+        Response response = JSONResponse.createResponse(Status.OK, createBeans(2).onClose({ streamClosed = true }),
+                null, false)
+
+        ((StreamingOutput) response.entity).write(output)
+
+        assertThat streamClosed, is(true)
+        assertThat output.closed, is(true)
+        assertThat new JsonParser().parse(output.toString("UTF-8")).getAsJsonArray().size(), is(2)
+    }
+
+    @Test
+    void 'assert that a failure while streaming is rethrown and the stream is closed'() {
+        boolean streamClosed = false
+        def beans = Stream.of(createBean(1), createBean(2)).map({ TestBean bean ->
+            if (bean.name == "Item2") {
+                throw new IllegalStateException("failed to create the bean")
+            }
+            return bean
+        }).onClose({ streamClosed = true })
+        Response response = JSONResponse.createResponse(Status.OK, beans, null, false)
+
+        try {
+            ((StreamingOutput) response.entity).write(new ByteArrayOutputStream())
+            fail "the failure has not been rethrown"
+        } catch (IllegalStateException e) {
+            assertThat e.getMessage(), is("failed to create the bean")
+        }
+        assertThat streamClosed, is(true)
+    }
+
+    @Test
+    void 'assert that error responses are not streamed'() {
+        Response response = JSONResponse.createErrorResponse(Status.NOT_FOUND, "not found")
+
+        assertThat response.entity, is(instanceOf(String))
+        def error = new JsonParser().parse(response.entity).getAsJsonObject().getAsJsonObject(JSONResponse.JSON_KEY_ERROR)
+        assertThat error.get(JSONResponse.JSON_KEY_ERROR_MESSAGE).getAsString(), is("not found")
+        assertThat error.get(JSONResponse.JSON_KEY_HTTPCODE).getAsInt(), is(404)
+    }
+
+    private static String write(Response response) {
+        def output = new ByteArrayOutputStream()
+        ((StreamingOutput) response.entity).write(output)
+        return output.toString("UTF-8")
+    }
+
+    private static Stream<TestBean> createBeans(int count) {
+        return (1..count).stream().map({ int i -> createBean(i) })
+    }
+
+    private static TestBean createBean(int i) {
+        return new TestBean(name: "Item" + i, label: "Label of item " + i, state: String.valueOf(i),
+        tags: ["Tag1", "Tag2"], configuration: [host: "192.168.0." + (i % 256), port: 8080, refresh: 60])
+    }
+}
@@ -7,10 +7,20 @@
  */
 package org.eclipse.smarthome.io.rest;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.ext.Provider;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
@@ -21,6 +31,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * Static helper methods to build up JSON-like Response objects and error handling.
@@ -36,6 +47,9 @@ public class JSONResponse {
     // also dump stacktrace?
     private final static boolean WITH_STACKTRACE = false;
 
+    // indentation of pretty printed JSON, the streamed output is compact otherwise
+    private final static String PRETTY_PRINTING_INDENT = "  ";
+
     final static Gson GSON = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_WITH_TZ_AND_MS)
             .setPrettyPrinting().create();
 
@@ -140,6 +154,97 @@ public class JSONResponse {
         return rp.build();
     }
 
+    /**
+     * Depending in the status, create a Response object containing either the entity alone or an error JSON
+     * which might hold the entity as well.
+     * <p>
+     * The entity of a successful response is not converted in advance, but streamed, i.e. written directly to the
+     * output stream of the response. If the entity is a {@link Stream}, it is written as a JSON array, whose elements
+     * are only produced while they are written. As the status has already been sent when the entity is written, a
+     * failure can only be logged and results in an incomplete JSON document.
+     *
+     * @param status
+     * @param entity
+     * @param errormessage an optional error message (may be null), ignored if the status family is successful
+     * @param prettyPrinting true, if the JSON should be indented for readability, false for compact JSON
+     * @return Response configure for error or success
+     */
+    public static Response createResponse(Response.Status status, Object entity, String errormessage,
+            boolean prettyPrinting) {
+        // configure response
+        ResponseBuilder rp = response(status);
+        if (status.getFamily() == Response.Status.Family.SUCCESSFUL) {
+            if (null != entity) {
+                rp = rp.entity(new JSONStreamingOutput(entity, prettyPrinting));
+            }
+        } else {
+            rp = rp.entity(toJson(createErrorJson(errormessage, status, entity, null), prettyPrinting));
+        }
+        return rp.build();
+    }
+
+    private static String toJson(JsonElement element, boolean prettyPrinting) {
+        if (prettyPrinting) {
+            return GSON.toJson(element);
+        }
+        StringWriter json = new StringWriter();
+        GSON.toJson(element, new JsonWriter(json));
+        return json.toString();
+    }
+
+    /**
+     * Writes an entity as JSON to the output stream of a response.
+     */
+    private static class JSONStreamingOutput implements StreamingOutput {
+
+        private final Logger logger = LoggerFactory.getLogger(JSONStreamingOutput.class);
+
+        private final Object entity;
+        private final boolean prettyPrinting;
+
+        JSONStreamingOutput(Object entity, boolean prettyPrinting) {
+            this.entity = entity;
+            this.prettyPrinting = prettyPrinting;
+        }
+
+        @Override
+        public void write(OutputStream output) throws IOException, WebApplicationException {
+            // the buffer avoids that the writer copies each string before encoding it
+            try (JsonWriter writer = new JsonWriter(
+                    new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)))) {
+                if (prettyPrinting) {
+                    writer.setIndent(PRETTY_PRINTING_INDENT);
+                }
+                if (entity instanceof Stream) {
+                    writer.beginArray();
+                    Iterator<?> iterator = ((Stream<?>) entity).iterator();
+                    while (iterator.hasNext()) {
+                        write(iterator.next(), writer);
+                    }
+                    writer.endArray();
+                } else {
+                    write(entity, writer);
+                }
+            } catch (IOException | RuntimeException e) {
+                // the status has already been sent, so the client only receives an incomplete document
+                logger.error("Failed to write the JSON response, it is incomplete: {}", e.getMessage(), e);
+                throw e;
+            } finally {
+                if (entity instanceof Stream) {
+                    ((Stream<?>) entity).close();
+                }
+            }
+        }
+
+        private void write(Object element, JsonWriter writer) throws IOException {
+            if (null == element) {
+                writer.nullValue();
+            } else {
+                GSON.toJson(element, element.getClass(), writer);
+            }
+        }
+    }
+
     /**
      * trap exceptions
      *
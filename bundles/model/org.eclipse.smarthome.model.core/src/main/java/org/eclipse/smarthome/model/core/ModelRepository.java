@@ -8,6 +8,7 @@
 package org.eclipse.smarthome.model.core;
 
 import java.io.InputStream;
+import java.util.Map;
 
 import org.eclipse.emf.ecore.EObject;
 
@@ -40,6 +41,19 @@ public interface ModelRepository {
      */
     public boolean addOrRefreshModel(String name, InputStream inputStream);
 
+    /**
+     * Adds several models to the repository or refreshes them, as
+     * {@link #addOrRefreshModel(String, InputStream)} does for each of them. Implementations may parse the models in
+     * parallel, but must notify the listeners in the iteration order of the given map.
+     * 
+     * @param models input streams with the models' contents by the model names
+     */
+    public default void addOrRefreshModels(Map<String, InputStream> models) {
+        for (Map.Entry<String, InputStream> model : models.entrySet()) {
+            addOrRefreshModel(model.getKey(), model.getValue());
+        }
+    }
+
     /**
      * Removes a model from the repository
      * 
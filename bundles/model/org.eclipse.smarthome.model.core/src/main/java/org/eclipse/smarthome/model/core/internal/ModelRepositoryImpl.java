@@ -7,19 +7,22 @@
  */
 package org.eclipse.smarthome.model.core.internal;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
@@ -27,6 +30,7 @@ import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.Resource.Diagnostic;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.util.Diagnostician;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.model.core.EventType;
 import org.eclipse.smarthome.model.core.ModelRepository;
 import org.eclipse.smarthome.model.core.ModelRepositoryChangeListener;
@@ -48,6 +52,8 @@ import com.google.common.collect.Lists;
  */
 public class ModelRepositoryImpl implements ModelRepository {
 
+    private static final String THREAD_POOL_NAME = "modelLoader";
+
     private final Logger logger = LoggerFactory.getLogger(ModelRepositoryImpl.class);
     private final ResourceSet resourceSet;
 
@@ -81,83 +87,141 @@ public class ModelRepositoryImpl implements ModelRepository {
     }
 
     @Override
-    public boolean addOrRefreshModel(String name, final InputStream originalInputStream) {
-        Resource resource = null;
-        try {
-            InputStream inputStream = null;
-            if (originalInputStream != null) {
-                byte[] bytes = IOUtils.toByteArray(originalInputStream);
-                String validationResult = validateModel(name, new ByteArrayInputStream(bytes));
-                if (validationResult != null) {
-                    logger.warn("Configuration model '{}' has errors, therefore ignoring it: {}", name,
-                            validationResult);
-                    removeModel(name);
-                    return false;
-                }
-                inputStream = new ByteArrayInputStream(bytes);
-            }
-            resource = getResource(name);
-            if (resource == null) {
-                synchronized (resourceSet) {
-                    // try again to retrieve the resource as it might have been created by now
-                    resource = getResource(name);
-                    if (resource == null) {
-                        // seems to be a new file
-                        // don't use XMI as a default
-                        Resource.Factory.Registry.INSTANCE.getExtensionToFactoryMap().remove("*");
-                        resource = resourceSet.createResource(URI.createURI(name));
-                        if (resource != null) {
-                            logger.info("Loading model '{}'", name);
-                            Map<String, String> options = new HashMap<String, String>();
-                            options.put(XtextResource.OPTION_ENCODING, "UTF-8");
-                            if (inputStream == null) {
-                                logger.warn(
-                                        "Resource '{}' not found. You have to pass an inputStream to create the resource.",
-                                        name);
-                                return false;
-                            }
-                            resource.load(inputStream, options);
-                            notifyListeners(name, EventType.ADDED);
-                            return true;
-                        } else {
-                            logger.warn("Ignoring file '{}' as we do not have a parser for it.", name);
-                        }
-                    }
-                }
-            } else {
-                synchronized (resourceSet) {
-                    resource.unload();
-                    logger.info("Refreshing model '{}'", name);
-                    if (inputStream != null) {
-                        resource.load(inputStream, Collections.EMPTY_MAP);
-                    } else {
-                        resource.load(Collections.EMPTY_MAP);
-                    }
-                    notifyListeners(name, EventType.MODIFIED);
-                    return true;
+    public boolean addOrRefreshModel(String name, final InputStream inputStream) {
+        if (inputStream == null) {
+            return refreshModel(name);
+        }
+        return addModel(name, parseModel(name, inputStream));
+    }
+
+    @Override
+    public void addOrRefreshModels(Map<String, InputStream> models) {
+        if (models.size() < 2) {
+            ModelRepository.super.addOrRefreshModels(models);
+            return;
+        }
+
+        // each model is parsed in a resource set of its own, so they can be parsed in parallel
+        ExecutorService executor = ThreadPoolManager.getPool(THREAD_POOL_NAME);
+        Map<String, Future<ParsedModel>> parsedModels = new LinkedHashMap<>();
+        for (Map.Entry<String, InputStream> model : models.entrySet()) {
+            parsedModels.put(model.getKey(), executor.submit(new Callable<ParsedModel>() {
+                @Override
+                public ParsedModel call() {
+                    return parseModel(model.getKey(), model.getValue());
                 }
+            }));
+        }
+
+        // the listeners are notified one after another in the given order
+        for (Map.Entry<String, Future<ParsedModel>> parsedModel : parsedModels.entrySet()) {
+            String name = parsedModel.getKey();
+            try {
+                addModel(name, parsedModel.getValue().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                logger.warn("Configuration model '{}' cannot be parsed correctly!", name, e.getCause());
             }
-        } catch (IOException e) {
+        }
+    }
+
+    /**
+     * Parses and validates a model into a new resource. The resource is created in a resource set of its own, so that
+     * models can be parsed in parallel without touching the resources of the repository, and is only moved to the
+     * resource set of the repository by {@link #addModel(String, ParsedModel)}.
+     *
+     * @param name the name of the model
+     * @param inputStream the content of the model
+     * @return the parsed model or null, if the model cannot be parsed
+     */
+    private ParsedModel parseModel(String name, InputStream inputStream) {
+        synchronized (resourceSet) {
+            // don't use XMI as a default
+            Resource.Factory.Registry.INSTANCE.getExtensionToFactoryMap().remove("*");
+        }
+        XtextResourceSet parseResourceSet = new XtextResourceSet();
+        parseResourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
+        Resource resource = parseResourceSet.createResource(URI.createURI(name));
+        if (resource == null) {
+            logger.warn("Ignoring file '{}' as we do not have a parser for it.", name);
+            return null;
+        }
+        try {
+            Map<String, String> options = new HashMap<String, String>();
+            options.put(XtextResource.OPTION_ENCODING, "UTF-8");
+            resource.load(inputStream, options);
+            return new ParsedModel(resource, validateModel(name, resource));
+        } catch (IOException | RuntimeException e) {
             logger.warn("Configuration model '{}' cannot be parsed correctly!", name, e);
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the resource of a model by the given parsed model, if it does not have any errors, and notifies the
+     * listeners.
+     */
+    private boolean addModel(String name, ParsedModel parsedModel) {
+        if (parsedModel == null) {
+            return false;
+        }
+        if (parsedModel.errors != null) {
+            logger.warn("Configuration model '{}' has errors, therefore ignoring it: {}", name, parsedModel.errors);
+            removeModel(name);
+            return false;
+        }
+        synchronized (resourceSet) {
+            Resource resource = getResource(name);
             if (resource != null) {
+                logger.info("Refreshing model '{}'", name);
                 resourceSet.getResources().remove(resource);
+                resource.unload();
+            } else {
+                logger.info("Loading model '{}'", name);
             }
+            // the parsed resource takes the place of the previous one at once, adding it to the resource set of the
+            // repository removes it from the resource set it has been parsed in
+            resourceSet.getResources().add(parsedModel.resource);
+            notifyListeners(name, resource != null ? EventType.MODIFIED : EventType.ADDED);
+            return true;
+        }
+    }
+
+    private boolean refreshModel(String name) {
+        synchronized (resourceSet) {
+            Resource resource = getResource(name);
+            if (resource == null) {
+                logger.warn("Resource '{}' not found. You have to pass an inputStream to create the resource.", name);
+                return false;
+            }
+            try {
+                resource.unload();
+                logger.info("Refreshing model '{}'", name);
+                resource.load(Collections.EMPTY_MAP);
+                notifyListeners(name, EventType.MODIFIED);
+                return true;
+            } catch (IOException e) {
+                logger.warn("Configuration model '{}' cannot be parsed correctly!", name, e);
+                resourceSet.getResources().remove(resource);
+            }
+            return false;
         }
-        return false;
     }
 
     @Override
     public boolean removeModel(String name) {
-        Resource resource = getResource(name);
-        if (resource != null) {
-            synchronized (resourceSet) {
+        synchronized (resourceSet) {
+            Resource resource = getResource(name);
+            if (resource != null) {
                 // do not physically delete it, but remove it from the resource set
                 notifyListeners(name, EventType.REMOVED);
                 resourceSet.getResources().remove(resource);
                 return true;
+            } else {
+                return false;
             }
-        } else {
-            return false;
         }
     }
 
@@ -169,7 +233,7 @@ public class ModelRepositoryImpl implements ModelRepository {
             Iterable<Resource> matchingResources = Iterables.filter(resourceListCopy, new Predicate<Resource>() {
                 @Override
                 public boolean apply(Resource input) {
-                    if (input != null && input.getURI().lastSegment().contains(".") && input.isLoaded()) {
+                    if (isModel(input)) {
                         return modelType.equalsIgnoreCase(input.getURI().fileExtension());
                     } else {
                         return false;
@@ -191,7 +255,7 @@ public class ModelRepositoryImpl implements ModelRepository {
             // Make a copy to avoid ConcurrentModificationException
             List<Resource> resourceListCopy = new ArrayList<Resource>(resourceSet.getResources());
             for (Resource resource : resourceListCopy) {
-                if (resource != null && resource.getURI().lastSegment().contains(".") && resource.isLoaded()) {
+                if (isModel(resource)) {
                     if (modelType.equalsIgnoreCase(resource.getURI().fileExtension())) {
                         XtextResource xtextResource = (XtextResource) resource;
                         // It's not sufficient to discard the derived state.
@@ -220,6 +284,10 @@ public class ModelRepositoryImpl implements ModelRepository {
         return resourceSet.getResource(URI.createURI(name), false);
     }
 
+    private boolean isModel(Resource resource) {
+        return resource != null && resource.getURI().lastSegment().contains(".") && resource.isLoaded();
+    }
+
     /**
      * Validates the given model.
      *
@@ -233,45 +301,37 @@ public class ModelRepositoryImpl implements ModelRepository {
      * return value.
      * </ol>
      * <p>
-     * Validation will be done on a separate resource, in order to keep the original one intact in case its content
-     * needs to be removed because of syntactical errors.
+     * Validation is done on the newly parsed resource, which only replaces the original one if it does not contain
+     * syntactical errors.
      *
      * @param name
-     * @param inputStream
+     * @param resource the loaded resource
      * @return error messages as a String if any syntactical error were found, <code>null</code> otherwise
-     * @throws IOException if there was an error with the given {@link InputStream}, loading the resource from there
      */
-    private String validateModel(String name, InputStream inputStream) throws IOException {
-        // use another resource for validation in order to keep the original one for emergency-removal in case of errors
-        Resource resource = resourceSet.createResource(URI.createURI("tmp_" + name));
-        try {
-            resource.load(inputStream, Collections.EMPTY_MAP);
-            StringBuilder criticalErrors = new StringBuilder();
-            List<String> warnings = new LinkedList<>();
-
-            if (resource != null && !resource.getContents().isEmpty()) {
-                // Check for syntactical errors
-                for (Diagnostic diagnostic : resource.getErrors()) {
-                    criticalErrors.append(MessageFormat.format("[{0},{1}]: {2}\n", diagnostic.getLine(),
-                            diagnostic.getColumn(), diagnostic.getMessage()));
-                }
-                if (criticalErrors.length() > 0) {
-                    return criticalErrors.toString();
-                }
+    private String validateModel(String name, Resource resource) {
+        StringBuilder criticalErrors = new StringBuilder();
+        List<String> warnings = new LinkedList<>();
 
-                // Check for validation errors, but log them only
-                org.eclipse.emf.common.util.Diagnostic diagnostic = Diagnostician.INSTANCE
-                        .validate(resource.getContents().get(0));
-                for (org.eclipse.emf.common.util.Diagnostic d : diagnostic.getChildren()) {
-                    warnings.add(d.getMessage());
-                }
-                if (warnings.size() > 0) {
-                    logger.info("Validation issues found in configuration model '{}', using it anyway:\n{}", name,
-                            StringUtils.join(warnings, "\n"));
-                }
+        if (!resource.getContents().isEmpty()) {
+            // Check for syntactical errors
+            for (Diagnostic diagnostic : resource.getErrors()) {
+                criticalErrors.append(MessageFormat.format("[{0},{1}]: {2}\n", diagnostic.getLine(),
+                        diagnostic.getColumn(), diagnostic.getMessage()));
+            }
+            if (criticalErrors.length() > 0) {
+                return criticalErrors.toString();
+            }
+
+            // Check for validation errors, but log them only
+            org.eclipse.emf.common.util.Diagnostic diagnostic = Diagnostician.INSTANCE
+                    .validate(resource.getContents().get(0));
+            for (org.eclipse.emf.common.util.Diagnostic d : diagnostic.getChildren()) {
+                warnings.add(d.getMessage());
+            }
+            if (warnings.size() > 0) {
+                logger.info("Validation issues found in configuration model '{}', using it anyway:\n{}", name,
+                        StringUtils.join(warnings, "\n"));
             }
-        } finally {
-            resourceSet.getResources().remove(resource);
         }
         return null;
     }
@@ -282,4 +342,22 @@ public class ModelRepositoryImpl implements ModelRepository {
         }
     }
 
+    /**
+     * A model which has been parsed into a new resource.
+     */
+    private static class ParsedModel {
+
+        private final Resource resource;
+
+        /**
+         * the syntactical errors of the model or null, if there are none
+         */
+        private final String errors;
+
+        ParsedModel(Resource resource, String errors) {
+            this.resource = resource;
+            this.errors = errors;
+        }
+    }
+
 }
@@ -13,6 +13,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchEvent.Kind;
@@ -22,6 +23,7 @@ import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +34,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.config.core.ConfigConstants;
@@ -195,9 +198,7 @@ public class FolderObserver extends AbstractWatchService implements ManagedServi
 
                     File[] files = folder.listFiles(new FileExtensionsFilter(validExtension));
                     if (files != null && files.length > 0) {
-                        for (File file : files) {
-                            checkFile(modelRepo, file, ENTRY_CREATE);
-                        }
+                        addFiles(modelRepo, files);
                     }
                 }
             }
@@ -285,6 +286,41 @@ public class FolderObserver extends AbstractWatchService implements ManagedServi
         }
     }
 
+    /**
+     * Adds the given files to the model repository at once, so that it can parse them in parallel.
+     */
+    private static void addFiles(final ModelRepository modelRepo, final File[] files) {
+        if (modelRepo == null) {
+            return;
+        }
+        synchronized (FolderObserver.class) {
+            Map<String, InputStream> models = new LinkedHashMap<>();
+            try {
+                for (File file : files) {
+                    if (parsers.contains(getExtension(file.getName()))) {
+                        try {
+                            models.put(file.getName(), FileUtils.openInputStream(file));
+                        } catch (IOException e) {
+                            LoggerFactory.getLogger(FolderObserver.class).error(
+                                    "Error handling update of file '{}': {}.", file.getAbsolutePath(), e.getMessage(),
+                                    e);
+                        }
+                    } else {
+                        ignoredFiles.add(file);
+                    }
+                }
+                modelRepo.addOrRefreshModels(models);
+            } catch (Exception e) {
+                LoggerFactory.getLogger(FolderObserver.class).error("Error handling update of files: {}.",
+                        e.getMessage(), e);
+            } finally {
+                for (InputStream inputStream : models.values()) {
+                    IOUtils.closeQuietly(inputStream);
+                }
+            }
+        }
+    }
+
     private static File getFileByFileExtMap(Map<String, String[]> folderFileExtMap, String filename) {
         if (StringUtils.isNotBlank(filename) && MapUtils.isNotEmpty(folderFileExtMap)) {
 
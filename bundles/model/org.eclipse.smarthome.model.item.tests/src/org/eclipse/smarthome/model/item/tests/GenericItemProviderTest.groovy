@@ -226,4 +226,119 @@ class GenericItemProviderTest extends OSGiTest {
         assertThat itemRegistry.getAll().size(), is(1)
         assertThat itemRegistry.getItem("test1").is(unchangedItem), is(false)
     }
+
+    @Test
+    void 'assert that only items with a changed definition are updated'() {
+        List<Event> receivedEvents = new ArrayList<>()
+        def itemEventSubscriber = [
+            receive: { event -> receivedEvents.add(event) },
+            getSubscribedEventTypes: { Sets.newHashSet(ItemAddedEvent.TYPE, ItemUpdatedEvent.TYPE, ItemRemovedEvent.TYPE) },
+            getEventFilter: {},
+        ] as EventSubscriber
+        registerService(itemEventSubscriber)
+
+        String model =
+                '''
+            Group group1
+            String test1 "Test Item [%s]" (group1) { channel="test:test:test:test" }
+            String test2 "Test Item [%s]" { channel="test:test:test:test" }
+            String test3 "Test Item [%s]" [tag1]
+            String test4 "Test Item [%s]"
+            '''
+        modelRepository.addOrRefreshModel(TESTMODEL_NAME, new ByteArrayInputStream(model.bytes))
+
+        waitForAssert {
+            assertThat itemRegistry.getAll().size(), is(5)
+            assertThat receivedEvents.size(), is(5)
+        }
+        def unchangedItem = itemRegistry.getItem("test4")
+
+        receivedEvents.clear()
+        model =
+                '''
+            Group group1
+            String test1 "Test Item [%s]" { channel="test:test:test:test" }
+            String test2 "Test Item [%s]" (group1) { channel="test:test:test:test" }
+            String test3 "Test Item [%s]" [tag2]
+            String test4 "Test Item [%s]"
+            '''
+        modelRepository.addOrRefreshModel(TESTMODEL_NAME, new ByteArrayInputStream(model.bytes))
+
+        waitForAssert {
+            assertThat receivedEvents.size(), is(3)
+            assertThat receivedEvents.findAll {it instanceof ItemUpdatedEvent}.collect {it.getItem().name}.sort(), is(["test1", "test2", "test3"])
+        }
+        assertThat itemRegistry.getItem("test2").getGroupNames(), is(["group1"])
+        assertThat itemRegistry.getItem("test3").getTags(), is(["tag2"] as Set)
+        assertThat itemRegistry.getItem("test4").is(unchangedItem), is(true)
+    }
+
+    @Test
+    void 'assert that several models can be added at once'() {
+        String secondModelName = "testModel2.items"
+        String model =
+                '''
+            String test1 "Test Item [%s]" { channel="test:test:test:test" }
+            String test2 "Test Item [%s]" { channel="test:test:test:test" }
+            '''
+        String secondModel =
+                '''
+            Switch test3 "Test Item"
+            '''
+        try {
+            def models = new LinkedHashMap<String, InputStream>()
+            models.put(TESTMODEL_NAME, new ByteArrayInputStream(model.bytes))
+            models.put(secondModelName, new ByteArrayInputStream(secondModel.bytes))
+            modelRepository.addOrRefreshModels(models)
+
+            assertThat itemRegistry.getAll().size(), is(3)
+            assertThat modelRepository.getAllModelNamesOfType("items").sort(), is([TESTMODEL_NAME, secondModelName])
+
+            models.put(TESTMODEL_NAME, new ByteArrayInputStream('String {something is wrong}'.bytes))
+            models.put(secondModelName, new ByteArrayInputStream((model + secondModel).bytes))
+            modelRepository.addOrRefreshModels(models)
+
+            assertThat itemRegistry.getAll().size(), is(3)
+            assertThat modelRepository.getAllModelNamesOfType("items") as List, is([secondModelName])
+        } finally {
+            modelRepository.removeModel(secondModelName)
+        }
+    }
+
+    @Test
+    void 'assert that interdependent models can be loaded concurrently'() {
+        int modelCount = 8
+        def models = new LinkedHashMap<String, InputStream>()
+        models.put(TESTMODEL_NAME, new ByteArrayInputStream('Group Home\nGroup Floor (Home)'.bytes))
+        (1..modelCount).each {
+            // each model refers to groups of the first and of the previous model
+            String model = "Group Room${it} (Floor)\nSwitch Light${it} (Room${it}, Room${it - 1}, Home)"
+            models.put("testModel_${it}.items".toString(), new ByteArrayInputStream(model.bytes))
+        }
+        def otherModelName = "testModel_other.items"
+        def loader = Thread.start {
+            (1..20).each {
+                modelRepository.addOrRefreshModel(otherModelName, new ByteArrayInputStream("Switch Other${it}".bytes))
+                modelRepository.getAllModelNamesOfType("items")
+            }
+        }
+        try {
+            modelRepository.addOrRefreshModels(models)
+            loader.join(30000)
+
+            assertThat modelRepository.getAllModelNamesOfType("items").size(), is(modelCount + 2)
+            assertThat itemRegistry.getAll().size(), is(2 + 2 * modelCount + 1)
+            assertThat itemRegistry.getItem("Other20"), is(notNullValue())
+            assertThat itemRegistry.getItem("Home").getMembers().size(), is(1 + modelCount)
+            assertThat itemRegistry.getItem("Floor").getMembers().size(), is(modelCount)
+            (2..modelCount).each {
+                def members = itemRegistry.getItem("Room${it - 1}".toString()).getMembers().collect { it.name }
+                assertThat members as Set, is(["Light${it - 1}".toString(), "Light${it}".toString()] as Set)
+            }
+        } finally {
+            loader.join(30000)
+            modelRepository.removeModel(otherModelName)
+            (1..modelCount).each { modelRepository.removeModel("testModel_${it}.items".toString()) }
+        }
+    }
 }
@@ -9,7 +9,9 @@ package org.eclipse.smarthome.model.item.internal;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -58,7 +60,8 @@ public class GenericItemProvider extends AbstractProvider<Item>
 
     private ModelRepository modelRepository = null;
 
-    private Map<String, Collection<Item>> itemsMap = new ConcurrentHashMap<>();
+    /** the items of each model by their names */
+    private Map<String, Map<String, ModelItemEntry>> itemsMap = new ConcurrentHashMap<>();
 
     private Collection<ItemFactory> itemFactorys = new ArrayList<ItemFactory>();
 
@@ -120,33 +123,102 @@ public class GenericItemProvider extends AbstractProvider<Item>
         List<Item> items = new ArrayList<Item>();
         stateDescriptions.clear();
         for (String name : modelRepository.getAllModelNamesOfType("items")) {
-            items.addAll(getItemsFromModel(name));
+            Map<String, ModelItemEntry> entries = getItemsFromModel(name, Collections.emptyMap());
+            // keep the instances which are handed out, so that updates refer to them
+            itemsMap.put(name, entries);
+            items.addAll(toItems(entries));
         }
         return items;
     }
 
-    private Collection<Item> getItemsFromModel(String modelName) {
+    /**
+     * Creates the items of a model. Items whose definition has not changed since they have been created are reused.
+     *
+     * @param modelName the name of the model
+     * @param previousEntries the previously created items of the model by their names
+     * @return the items of the model by their names
+     */
+    private Map<String, ModelItemEntry> getItemsFromModel(String modelName,
+            Map<String, ModelItemEntry> previousEntries) {
         logger.debug("Read items from model '{}'", modelName);
 
-        List<Item> items = new ArrayList<Item>();
+        Map<String, ModelItemEntry> entries = new LinkedHashMap<>();
         if (modelRepository != null) {
             ItemModel model = (ItemModel) modelRepository.getModel(modelName);
             if (model != null) {
                 for (ModelItem modelItem : model.getItems()) {
+                    List<Object> definition = getDefinition(modelItem);
+                    ModelItemEntry previousEntry = previousEntries.get(modelItem.getName());
+                    if (previousEntry != null && previousEntry.definition.equals(definition)) {
+                        entries.put(modelItem.getName(), previousEntry);
+                        continue;
+                    }
+                    stateDescriptions.remove(modelItem.getName());
                     Item item = createItemFromModelItem(modelItem);
                     if (item != null) {
                         for (String groupName : modelItem.getGroups()) {
                             ((GenericItem) item).addGroupName(groupName);
                         }
-                        items.add(item);
+                        entries.put(item.getName(), new ModelItemEntry(item, definition, getBindings(modelItem)));
                     }
                 }
             }
         }
+        return entries;
+    }
+
+    /**
+     * @return everything an item is created from, so that an item only needs to be recreated if this changes
+     */
+    private List<Object> getDefinition(ModelItem modelItem) {
+        List<Object> definition = new ArrayList<>();
+        definition.add(modelItem instanceof ModelGroupItem);
+        definition.add(modelItem.getType());
+        definition.add(modelItem.getLabel());
+        definition.add(modelItem.getIcon());
+        definition.add(new ArrayList<>(modelItem.getGroups()));
+        definition.add(new ArrayList<>(modelItem.getTags()));
+        if (modelItem instanceof ModelGroupItem) {
+            ModelGroupItem modelGroupItem = (ModelGroupItem) modelItem;
+            definition.add(modelGroupItem.getFunction() != null ? modelGroupItem.getFunction().getName() : null);
+            definition.add(new ArrayList<>(modelGroupItem.getArgs()));
+        }
+        definition.add(getBindings(modelItem));
+        return definition;
+    }
+
+    private List<String> getBindings(ModelItem modelItem) {
+        List<String> bindings = new ArrayList<>(modelItem.getBindings().size());
+        for (ModelBinding binding : modelItem.getBindings()) {
+            bindings.add(binding.getType() + "=" + binding.getConfiguration());
+        }
+        return bindings;
+    }
+
+    private boolean haveBindingsChanged(Map<String, ModelItemEntry> oldEntries,
+            Map<String, ModelItemEntry> newEntries) {
+        if (!oldEntries.keySet().equals(newEntries.keySet())) {
+            return true;
+        }
+        for (ModelItemEntry newEntry : newEntries.values()) {
+            ModelItemEntry oldEntry = oldEntries.get(newEntry.item.getName());
+            if (!oldEntry.bindings.equals(newEntry.bindings)
+                    || !oldEntry.item.getType().equals(newEntry.item.getType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Collection<Item> toItems(Map<String, ModelItemEntry> entries) {
+        List<Item> items = new ArrayList<>(entries.size());
+        for (ModelItemEntry entry : entries.values()) {
+            items.add(entry.item);
+        }
         return items;
     }
 
-    private void processBindingConfigsFromModel(String modelName) {
+    private void processBindingConfigsFromModel(String modelName, Map<String, ModelItemEntry> entries) {
         logger.debug("Processing binding configs for items from model '{}'", modelName);
 
         if (modelRepository != null) {
@@ -160,11 +232,11 @@ public class GenericItemProvider extends AbstractProvider<Item>
                 reader.startConfigurationUpdate(modelName);
             }
 
-            // create items and read new binding configuration
+            // read new binding configuration
             for (ModelItem modelItem : model.getItems()) {
-                Item item = createItemFromModelItem(modelItem);
-                if (item != null) {
-                    internalDispatchBindings(modelName, item, modelItem.getBindings());
+                ModelItemEntry entry = entries.get(modelItem.getName());
+                if (entry != null) {
+                    internalDispatchBindings(modelName, entry.item, modelItem.getBindings());
                 }
             }
 
@@ -329,59 +401,60 @@ public class GenericItemProvider extends AbstractProvider<Item>
      * {@inheritDoc}
      * <p>
      * Dispatches all binding configs and fires all {@link ItemsChangeListener}s if {@code modelName} ends with "items".
+     * If a model is modified, only the items whose definition has changed are recreated and only if a binding config
+     * has changed, the binding configs are dispatched again.
      */
     @Override
     public void modelChanged(String modelName, EventType type) {
         if (modelName.endsWith("items")) {
             switch (type) {
                 case ADDED:
-                    processBindingConfigsFromModel(modelName);
-                    Collection<Item> allNewItems = getAll();
-                    itemsMap.put(modelName, allNewItems);
-                    for (Item item : allNewItems) {
-                        notifyListenersAboutAddedElement(item);
+                    Map<String, ModelItemEntry> addedEntries = getItemsFromModel(modelName,
+                            Collections.emptyMap());
+                    processBindingConfigsFromModel(modelName, addedEntries);
+                    itemsMap.put(modelName, addedEntries);
+                    for (ModelItemEntry entry : addedEntries.values()) {
+                        notifyListenersAboutAddedElement(entry.item);
                     }
                     break;
                 case MODIFIED:
-                    processBindingConfigsFromModel(modelName);
-                    Map<String, Item> oldItems = toItemMap(itemsMap.get(modelName));
-                    Map<String, Item> newItems = toItemMap(getAll());
-                    itemsMap.put(modelName, newItems.values());
-                    for (Item newItem : newItems.values()) {
-                        if (oldItems.containsKey(newItem.getName())) {
-                            Item oldItem = oldItems.get(newItem.getName());
-                            if (!oldItem.equals(newItem)) {
-                                notifyListenersAboutUpdatedElement(oldItem, newItem);
-                            }
-                        } else {
-                            notifyListenersAboutAddedElement(newItem);
+                    Map<String, ModelItemEntry> oldEntries = itemsMap.get(modelName);
+                    if (oldEntries == null) {
+                        oldEntries = Collections.emptyMap();
+                    }
+                    Map<String, ModelItemEntry> newEntries = getItemsFromModel(modelName, oldEntries);
+                    if (haveBindingsChanged(oldEntries, newEntries)) {
+                        processBindingConfigsFromModel(modelName, newEntries);
+                    }
+                    itemsMap.put(modelName, newEntries);
+                    for (ModelItemEntry newEntry : newEntries.values()) {
+                        ModelItemEntry oldEntry = oldEntries.get(newEntry.item.getName());
+                        if (oldEntry == null) {
+                            notifyListenersAboutAddedElement(newEntry.item);
+                        } else if (oldEntry != newEntry) {
+                            notifyListenersAboutUpdatedElement(oldEntry.item, newEntry.item);
                         }
                     }
-                    for (Item oldItem : oldItems.values()) {
-                        if (!newItems.containsKey(oldItem.getName())) {
-                            notifyListenersAboutRemovedElement(oldItem);
+                    for (ModelItemEntry oldEntry : oldEntries.values()) {
+                        if (!newEntries.containsKey(oldEntry.item.getName())) {
+                            stateDescriptions.remove(oldEntry.item.getName());
+                            notifyListenersAboutRemovedElement(oldEntry.item);
                         }
                     }
                     break;
                 case REMOVED:
-                    Collection<Item> itemsFromModel = getItemsFromModel(modelName);
-                    itemsMap.remove(modelName);
-                    for (Item item : itemsFromModel) {
-                        notifyListenersAboutRemovedElement(item);
+                    Map<String, ModelItemEntry> removedEntries = itemsMap.remove(modelName);
+                    if (removedEntries == null) {
+                        removedEntries = getItemsFromModel(modelName, Collections.emptyMap());
+                    }
+                    for (ModelItemEntry entry : removedEntries.values()) {
+                        notifyListenersAboutRemovedElement(entry.item);
                     }
                     break;
             }
         }
     }
 
-    private Map<String, Item> toItemMap(Collection<Item> items) {
-        Map<String, Item> ret = new HashMap<>();
-        for (Item item : items) {
-            ret.put(item.getName(), item);
-        }
-        return ret;
-    }
-
     /**
      * Creates a new item of type {@code itemType} by utilizing an appropriate {@link ItemFactory}.
      *
@@ -412,4 +485,20 @@ public class GenericItemProvider extends AbstractProvider<Item>
         return stateDescriptions.get(itemName);
     }
 
+    /**
+     * An item together with the definition in the model it has been created from.
+     */
+    private static class ModelItemEntry {
+
+        private final Item item;
+        private final List<Object> definition;
+        private final List<String> bindings;
+
+        ModelItemEntry(Item item, List<Object> definition, List<String> bindings) {
+            this.item = item;
+            this.definition = definition;
+            this.bindings = bindings;
+        }
+    }
+
 }
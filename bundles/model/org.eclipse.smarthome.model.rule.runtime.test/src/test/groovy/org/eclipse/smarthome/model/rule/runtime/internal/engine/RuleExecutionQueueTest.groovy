@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.runtime.internal.engine
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import org.eclipse.smarthome.model.rule.rules.Rule
+import org.eclipse.smarthome.model.rule.runtime.internal.engine.RuleExecutionQueue.ExecutionCallback
+import org.eclipse.smarthome.model.rule.runtime.internal.engine.RuleExecutionQueue.OverflowPolicy
+import org.eclipse.smarthome.model.script.engine.Script
+import org.eclipse.smarthome.model.script.engine.ScriptExecutionException
+import org.eclipse.xtext.xbase.interpreter.IEvaluationContext
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Tests the {@link RuleExecutionQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+class RuleExecutionQueueTest {
+
+    ExecutorService executor
+    Rule rule
+
+    @Before
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4)
+        rule = [getName: { "rule" }] as Rule
+    }
+
+    @After
+    void tearDown() {
+        executor.shutdownNow()
+    }
+
+    @Test
+    void 'assert that the invocations of a rule are executed one after the other in their order'() {
+        def executed = Collections.synchronizedList([])
+        def running = new AtomicInteger()
+        def maxRunning = new AtomicInteger()
+        def done = new CountDownLatch(50)
+        def queue = createQueue({ IEvaluationContext context ->
+            maxRunning.set(Math.max(maxRunning.get(), running.incrementAndGet()))
+            Thread.sleep(1)
+            executed << context
+            running.decrementAndGet()
+            done.countDown()
+        })
+
+        def contexts = (1..50).collect { new RuleEvaluationContext() }
+        contexts.each { queue.submit(it, 100, OverflowPolicy.DISCARD_OLDEST) }
+
+        assertThat done.await(10, TimeUnit.SECONDS), is(true)
+        assertThat executed, is(contexts)
+        assertThat maxRunning.get(), is(1)
+    }
+
+    @Test
+    void 'assert that the oldest waiting invocation is discarded if the queue is full'() {
+        def release = new CountDownLatch(1)
+        def queue = createBlockedQueue(release)
+        def callbacks = (0..3).collect { new TestCallback() }
+
+        callbacks.each { queue.submit(new RuleEvaluationContext(), it, 2, OverflowPolicy.DISCARD_OLDEST) }
+        release.countDown()
+
+        (0..3).each { assertThat callbacks[it].done.await(10, TimeUnit.SECONDS), is(true) }
+        assertThat callbacks.collect { it.executed }, is([false, false, true, true])
+    }
+
+    @Test
+    void 'assert that the new invocation is discarded if the queue is full'() {
+        def release = new CountDownLatch(1)
+        def queue = createBlockedQueue(release)
+        def callbacks = (0..3).collect { new TestCallback() }
+
+        callbacks.each { queue.submit(new RuleEvaluationContext(), it, 2, OverflowPolicy.DISCARD_NEWEST) }
+        release.countDown()
+
+        (0..3).each { assertThat callbacks[it].done.await(10, TimeUnit.SECONDS), is(true) }
+        assertThat callbacks.collect { it.executed }, is([true, true, false, false])
+    }
+
+    @Test
+    void 'assert that submitting to a full queue does not block'() {
+        def release = new CountDownLatch(1)
+        def queue = createBlockedQueue(release)
+
+        long start = System.nanoTime()
+        (1..10).each { queue.submit(new RuleEvaluationContext(), 1, OverflowPolicy.DISCARD_NEWEST) }
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+        release.countDown()
+
+        assertThat duration < 500, is(true)
+    }
+
+    @Test
+    void 'assert that clear discards the waiting invocations'() {
+        def release = new CountDownLatch(1)
+        def queue = createBlockedQueue(release)
+        def callbacks = (0..2).collect { new TestCallback() }
+
+        callbacks.each { queue.submit(new RuleEvaluationContext(), it, 10, OverflowPolicy.DISCARD_OLDEST) }
+        assertThat queue.size(), is(3)
+        queue.clear()
+        assertThat queue.size(), is(0)
+        release.countDown()
+
+        (0..2).each { assertThat callbacks[it].done.await(10, TimeUnit.SECONDS), is(true) }
+        assertThat callbacks.collect { it.executed }, is([false, false, false])
+    }
+
+    @Test
+    void 'assert that the exception of an invocation is reported to its callback'() {
+        def exception = new ScriptExecutionException("failed")
+        def queue = createQueue({ IEvaluationContext context -> throw exception })
+        def callback = new TestCallback()
+
+        queue.submit(new RuleEvaluationContext(), callback, 10, OverflowPolicy.DISCARD_OLDEST)
+
+        assertThat callback.done.await(10, TimeUnit.SECONDS), is(true)
+        assertThat callback.exception, is(exception)
+    }
+
+    @Test
+    void 'assert that a replaced script is used by the following invocations'() {
+        def executed = []
+        def queue = createQueue({ IEvaluationContext context -> executed << "interpreted" })
+        def first = new TestCallback()
+        queue.submit(new RuleEvaluationContext(), first, 10, OverflowPolicy.DISCARD_OLDEST)
+        assertThat first.done.await(10, TimeUnit.SECONDS), is(true)
+
+        queue.setScript([execute: { IEvaluationContext context -> executed << "compiled" }] as Script)
+        def second = new TestCallback()
+        queue.submit(new RuleEvaluationContext(), second, 10, OverflowPolicy.DISCARD_OLDEST)
+
+        assertThat second.done.await(10, TimeUnit.SECONDS), is(true)
+        assertThat executed, is(["interpreted", "compiled"])
+    }
+
+    @Test
+    void 'assert that the overflow policies are parsed from their configuration values'() {
+        assertThat OverflowPolicy.fromConfig("discardOldest"), is(OverflowPolicy.DISCARD_OLDEST)
+        assertThat OverflowPolicy.fromConfig(" DISCARDNEWEST "), is(OverflowPolicy.DISCARD_NEWEST)
+        assertThat OverflowPolicy.fromConfig("block"), is(nullValue())
+    }
+
+    private RuleExecutionQueue createQueue(Closure execute) {
+        def script = [execute: execute] as Script
+        return new RuleExecutionQueue(rule, script, null, executor) {
+                    IEvaluationContext getGlobalContext() {
+                        return null
+                    }
+                }
+    }
+
+    /**
+     * Creates a queue whose first invocation waits for the given latch, so that the following invocations are kept
+     * waiting in the queue.
+     */
+    private RuleExecutionQueue createBlockedQueue(CountDownLatch release) {
+        def started = new CountDownLatch(1)
+        def queue = createQueue({ IEvaluationContext context ->
+            started.countDown()
+            release.await(10, TimeUnit.SECONDS)
+        })
+        queue.submit(new RuleEvaluationContext(), 10, OverflowPolicy.DISCARD_OLDEST)
+        assertThat started.await(10, TimeUnit.SECONDS), is(true)
+        return queue
+    }
+
+    private static class TestCallback implements ExecutionCallback {
+
+        final CountDownLatch done = new CountDownLatch(1)
+        volatile boolean executed
+        volatile Exception exception
+
+        @Override
+        void executed(Exception exception) {
+            this.exception = exception
+            executed = true
+            done.countDown()
+        }
+
+        @Override
+        void discarded() {
+            executed = false
+            done.countDown()
+        }
+    }
+}
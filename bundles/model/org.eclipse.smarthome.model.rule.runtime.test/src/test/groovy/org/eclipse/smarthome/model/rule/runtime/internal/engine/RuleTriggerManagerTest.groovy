@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.runtime.internal.engine
+
+import static org.eclipse.smarthome.model.rule.runtime.internal.engine.RuleTriggerManager.TriggerTypes.*
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.emf.common.util.BasicEList
+import org.eclipse.emf.common.util.URI
+import org.eclipse.emf.ecore.resource.Resource
+import org.eclipse.smarthome.core.scheduler.Expression
+import org.eclipse.smarthome.core.scheduler.ExpressionThreadPoolManager.ExpressionThreadPoolExecutor
+import org.eclipse.smarthome.model.rule.rules.Rule
+import org.eclipse.smarthome.model.rule.rules.RuleModel
+import org.eclipse.smarthome.model.rule.rules.TimerTrigger
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+import com.google.inject.Injector
+
+/**
+ * Tests the scheduling of the timer rules by the {@link RuleTriggerManager}.
+ *
+ * @author agent - Initial contribution
+ */
+class RuleTriggerManagerTest {
+
+    List<String> scheduled = []
+    List<String> removed = []
+    ExpressionThreadPoolExecutor scheduler
+    RuleTriggerManager triggerManager
+
+    @Before
+    void setUp() {
+        scheduler = new ExpressionThreadPoolExecutor("ruleTriggerManagerTest", 1) {
+                    @Override
+                    void schedule(Runnable task, Expression expression) {
+                        scheduled << expression.getExpression()
+                    }
+
+                    @Override
+                    boolean remove(Expression expression) {
+                        removed << expression.getExpression()
+                        return true
+                    }
+                }
+        triggerManager = new RuleTriggerManager([getInstance: { Class type -> null }] as Injector, scheduler)
+    }
+
+    @After
+    void tearDown() {
+        scheduler.shutdownNow()
+    }
+
+    @Test
+    void 'assert that timer rules are only scheduled after the timer rule execution has been started'() {
+        triggerManager.addRule(createRule("rule", cron("0 0 * * * ?")))
+        assertThat scheduled.isEmpty(), is(true)
+
+        triggerManager.startTimerRuleExecution()
+        assertThat scheduled, is(["0 0 * * * ?"])
+
+        triggerManager.addRule(createRule("other", cron("0 30 * * * ?")))
+        assertThat scheduled, is(["0 0 * * * ?", "0 30 * * * ?"])
+    }
+
+    @Test
+    void 'assert that the same cron expression of a rule is only scheduled once'() {
+        triggerManager.startTimerRuleExecution()
+        triggerManager.addRule(createRule("rule", cron("0 0 * * * ?"), cron("0 0 * * * ?"), cron("0 15 * * * ?")))
+
+        assertThat scheduled, is(["0 0 * * * ?", "0 15 * * * ?"])
+    }
+
+    @Test
+    void 'assert that noon and midnight are scheduled as cron expressions'() {
+        triggerManager.startTimerRuleExecution()
+        triggerManager.addRule(createRule("rule", time("noon"), time("midnight"), time("teatime")))
+
+        assertThat scheduled, is(["0 0 12 * * ?", "0 0 0 * * ?"])
+    }
+
+    @Test
+    void 'assert that an invalid cron expression is not scheduled'() {
+        triggerManager.startTimerRuleExecution()
+        triggerManager.addRule(createRule("rule", cron("not a cron expression")))
+
+        assertThat scheduled.isEmpty(), is(true)
+    }
+
+    @Test
+    void 'assert that the timers of a removed rule are removed from the scheduler'() {
+        def rule = createRule("rule", cron("0 0 * * * ?"), cron("0 15 * * * ?"))
+        triggerManager.addRule(rule)
+        triggerManager.startTimerRuleExecution()
+
+        triggerManager.removeRule(TIMER, rule)
+
+        assertThat removed, is(["0 0 * * * ?", "0 15 * * * ?"])
+        assertThat triggerManager.getRules(TIMER).iterator().hasNext(), is(false)
+    }
+
+    @Test
+    void 'assert that a rule which is added again replaces its timers'() {
+        def rule = createRule("rule", cron("0 0 * * * ?"))
+        triggerManager.startTimerRuleExecution()
+
+        triggerManager.addRule(rule)
+        triggerManager.addRule(rule)
+
+        assertThat scheduled, is(["0 0 * * * ?", "0 0 * * * ?"])
+        assertThat removed, is(["0 0 * * * ?"])
+    }
+
+    @Test
+    void 'assert that the timers of the rules of a removed model are removed from the scheduler'() {
+        def rule = createRule("rule", cron("0 0 * * * ?"))
+        def otherRule = createRule("other", cron("0 30 * * * ?"))
+        triggerManager.addRule(rule)
+        triggerManager.addRule(otherRule)
+        triggerManager.startTimerRuleExecution()
+
+        triggerManager.removeRuleModel([getRules: { new BasicEList([createRule("rule")]) }] as RuleModel)
+
+        assertThat removed, is(["0 0 * * * ?"])
+        assertThat triggerManager.getRules(TIMER).toList(), is([otherRule])
+    }
+
+    @Test
+    void 'assert that clearing all rules removes all timers from the scheduler'() {
+        triggerManager.addRule(createRule("rule", cron("0 0 * * * ?")))
+        triggerManager.addRule(createRule("other", cron("0 30 * * * ?")))
+        triggerManager.startTimerRuleExecution()
+
+        triggerManager.clearAll()
+
+        assertThat removed.sort(), is(["0 0 * * * ?", "0 30 * * * ?"])
+    }
+
+    @Test
+    void 'assert that timers which are removed before the timer rule execution starts are never scheduled'() {
+        def rule = createRule("rule", cron("0 0 * * * ?"))
+        triggerManager.addRule(rule)
+        triggerManager.removeRule(TIMER, rule)
+
+        triggerManager.startTimerRuleExecution()
+
+        assertThat scheduled.isEmpty(), is(true)
+        assertThat removed.isEmpty(), is(true)
+    }
+
+    private Rule createRule(String name, TimerTrigger... triggers) {
+        def resource = [getURI: { URI.createURI("test.rules") }] as Resource
+        return [getName: { name }, getEventtrigger: { new BasicEList(triggers as List) }, eResource: { resource },
+            eIsProxy: { false }] as Rule
+    }
+
+    private TimerTrigger cron(String expression) {
+        return [getCron: { expression }, getTime: { null }] as TimerTrigger
+    }
+
+    private TimerTrigger time(String time) {
+        return [getCron: { null }, getTime: { time }] as TimerTrigger
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.runtime.internal.engine
+
+import static org.eclipse.smarthome.model.rule.runtime.internal.engine.RuleTriggerManager.TriggerTypes.*
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.smarthome.core.items.Item
+import org.eclipse.smarthome.core.library.items.NumberItem
+import org.eclipse.smarthome.core.library.items.StringItem
+import org.eclipse.smarthome.core.library.items.SwitchItem
+import org.eclipse.smarthome.core.library.types.DecimalType
+import org.eclipse.smarthome.core.library.types.OnOffType
+import org.eclipse.smarthome.core.library.types.StringType
+import org.eclipse.smarthome.core.types.UnDefType
+import org.eclipse.smarthome.model.rule.rules.Rule
+import org.junit.Test
+
+/**
+ * Tests the {@link TriggerMatcher} for each trigger type with and without the optional values of the trigger.
+ *
+ * @author agent - Initial contribution
+ */
+class TriggerMatcherTest {
+
+    Rule rule = [getName: { "rule" }] as Rule
+    SwitchItem switchItem = new SwitchItem("Switch")
+
+    @Test
+    void 'assert that an update trigger without a state matches every update'() {
+        def matcher = new TriggerMatcher(rule, UPDATE, null, null)
+
+        assertThat matcher.matches(switchItem, null, OnOffType.ON), is(true)
+        assertThat matcher.matches(switchItem, null, UnDefType.UNDEF), is(true)
+    }
+
+    @Test
+    void 'assert that an update trigger with a state only matches this state'() {
+        def matcher = new TriggerMatcher(rule, UPDATE, null, "ON")
+
+        assertThat matcher.matches(switchItem, null, OnOffType.ON), is(true)
+        assertThat matcher.matches(switchItem, null, OnOffType.OFF), is(false)
+        assertThat matcher.matches(switchItem, null, UnDefType.UNDEF), is(false)
+    }
+
+    @Test
+    void 'assert that a change trigger without states matches every change'() {
+        def matcher = new TriggerMatcher(rule, CHANGE, null, null)
+
+        assertThat matcher.matches(switchItem, OnOffType.OFF, OnOffType.ON), is(true)
+        assertThat matcher.matches(switchItem, UnDefType.NULL, OnOffType.OFF), is(true)
+    }
+
+    @Test
+    void 'assert that a change trigger with both states only matches this change'() {
+        def matcher = new TriggerMatcher(rule, CHANGE, "OFF", "ON")
+
+        assertThat matcher.matches(switchItem, OnOffType.OFF, OnOffType.ON), is(true)
+        assertThat matcher.matches(switchItem, UnDefType.NULL, OnOffType.ON), is(false)
+        assertThat matcher.matches(switchItem, OnOffType.ON, OnOffType.OFF), is(false)
+    }
+
+    @Test
+    void 'assert that a change trigger with only a new state matches every change to this state'() {
+        def matcher = new TriggerMatcher(rule, CHANGE, null, "ON")
+
+        assertThat matcher.matches(switchItem, OnOffType.OFF, OnOffType.ON), is(true)
+        assertThat matcher.matches(switchItem, UnDefType.NULL, OnOffType.ON), is(true)
+        assertThat matcher.matches(switchItem, OnOffType.ON, OnOffType.OFF), is(false)
+    }
+
+    @Test
+    void 'assert that a change trigger with only an old state matches every change from this state'() {
+        def matcher = new TriggerMatcher(rule, CHANGE, "OFF", null)
+
+        assertThat matcher.matches(switchItem, OnOffType.OFF, OnOffType.ON), is(true)
+        assertThat matcher.matches(switchItem, OnOffType.OFF, UnDefType.UNDEF), is(true)
+        assertThat matcher.matches(switchItem, OnOffType.ON, OnOffType.OFF), is(false)
+    }
+
+    @Test
+    void 'assert that a command trigger without a command matches every command'() {
+        def matcher = new TriggerMatcher(rule, COMMAND, null, null)
+
+        assertThat matcher.matches(switchItem, null, OnOffType.ON), is(true)
+        assertThat matcher.matches(switchItem, null, OnOffType.OFF), is(true)
+    }
+
+    @Test
+    void 'assert that a command trigger with a command only matches this command'() {
+        def matcher = new TriggerMatcher(rule, COMMAND, null, "OFF")
+
+        assertThat matcher.matches(switchItem, null, OnOffType.OFF), is(true)
+        assertThat matcher.matches(switchItem, null, OnOffType.ON), is(false)
+    }
+
+    @Test
+    void 'assert that a channel trigger without an event matches every event'() {
+        def matcher = new TriggerMatcher(rule, TRIGGER, null, null)
+
+        assertThat matcher.matches("PRESSED"), is(true)
+        assertThat matcher.matches("RELEASED"), is(true)
+    }
+
+    @Test
+    void 'assert that a channel trigger with an event only matches this event'() {
+        def matcher = new TriggerMatcher(rule, TRIGGER, null, "PRESSED")
+
+        assertThat matcher.matches("PRESSED"), is(true)
+        assertThat matcher.matches("RELEASED"), is(false)
+    }
+
+    @Test
+    void 'assert that a value which cannot be parsed by the item never matches'() {
+        def matcher = new TriggerMatcher(rule, UPDATE, null, "UP")
+
+        assertThat matcher.matches(switchItem, null, OnOffType.ON), is(false)
+        assertThat matcher.matches(switchItem, null, UnDefType.UNDEF), is(false)
+    }
+
+    @Test
+    void 'assert that the values are parsed with the accepted types of the item'() {
+        def matcher = new TriggerMatcher(rule, UPDATE, null, "5")
+
+        assertThat matcher.matches(new NumberItem("Number"), null, new DecimalType(5)), is(true)
+        assertThat matcher.matches(new StringItem("String"), null, new StringType("5")), is(true)
+        assertThat matcher.matches(new StringItem("String"), null, new DecimalType(5)), is(false)
+    }
+
+    @Test
+    void 'assert that the values are parsed again if the accepted types of the item change'() {
+        def acceptedTypes = new NumberItem("Number").getAcceptedDataTypes()
+        def item = [getName: { "Item" }, getAcceptedDataTypes: { acceptedTypes }] as Item
+        def matcher = new TriggerMatcher(rule, UPDATE, null, "5")
+        matcher.prepare(item)
+        assertThat matcher.matches(item, null, new DecimalType(5)), is(true)
+
+        acceptedTypes = new StringItem("String").getAcceptedDataTypes()
+
+        assertThat matcher.matches(item, null, new DecimalType(5)), is(false)
+        assertThat matcher.matches(item, null, new StringType("5")), is(true)
+    }
+}
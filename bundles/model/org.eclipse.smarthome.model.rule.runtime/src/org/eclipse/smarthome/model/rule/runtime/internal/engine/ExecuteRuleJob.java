@@ -12,55 +12,45 @@ import org.eclipse.smarthome.model.core.ModelRepository;
 import org.eclipse.smarthome.model.rule.rules.Rule;
 import org.eclipse.smarthome.model.rule.rules.RuleModel;
 import org.eclipse.smarthome.model.script.ScriptServiceUtil;
-import org.eclipse.smarthome.model.script.engine.Script;
-import org.eclipse.smarthome.model.script.engine.ScriptEngine;
-import org.eclipse.smarthome.model.script.engine.ScriptExecutionException;
-import org.quartz.Job;
-import org.quartz.JobExecutionContext;
-import org.quartz.JobExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.inject.Inject;
-import com.google.inject.Injector;
-
 /**
- * Implementation of Quartz {@link Job}-Interface. It takes a rule
- * and simply executes it.
+ * This job is scheduled for the timer triggers of a rule. It looks up
+ * the rule by its model and name and submits it to the execution queue
+ * of the rule in the rule engine, so that it is executed with the cached
+ * or compiled script of the rule and never in parallel to other executions
+ * of the same rule.
  *
  * @author Kai Kreuzer - Initial contribution and API
  */
-public class ExecuteRuleJob implements Job {
+public class ExecuteRuleJob implements Runnable {
 
     private final Logger logger = LoggerFactory.getLogger(ExecuteRuleJob.class);
 
-    public static final String JOB_DATA_RULEMODEL = "model";
-    public static final String JOB_DATA_RULENAME = "rule";
+    private final RuleTriggerManager triggerManager;
+    private final String modelName;
+    private final String ruleName;
 
-    @Inject
-    private Injector injector;
+    public ExecuteRuleJob(RuleTriggerManager triggerManager, String modelName, String ruleName) {
+        this.triggerManager = triggerManager;
+        this.modelName = modelName;
+        this.ruleName = ruleName;
+    }
 
     @Override
-    public void execute(JobExecutionContext context) throws JobExecutionException {
-        String modelName = (String) context.getJobDetail().getJobDataMap().get(JOB_DATA_RULEMODEL);
-        String ruleName = (String) context.getJobDetail().getJobDataMap().get(JOB_DATA_RULENAME);
-
+    public void run() {
         ModelRepository modelRepository = ScriptServiceUtil.getModelRepository();
-        ScriptEngine scriptEngine = ScriptServiceUtil.getScriptEngine();
+        RuleEngineImpl ruleEngine = triggerManager.getRuleEngine();
 
-        if (modelRepository != null && scriptEngine != null) {
+        if (modelRepository != null && ruleEngine != null) {
             EObject model = modelRepository.getModel(modelName);
             if (model instanceof RuleModel) {
                 RuleModel ruleModel = (RuleModel) model;
                 Rule rule = getRule(ruleModel, ruleName);
                 if (rule != null) {
-                    Script script = scriptEngine.newScriptFromXExpression(rule.getScript());
                     logger.debug("Executing scheduled rule '{}'", rule.getName());
-                    try {
-                        script.execute(RuleContextHelper.getContext(rule, injector));
-                    } catch (ScriptExecutionException e) {
-                        logger.error("Error during the execution of rule {}: {}", rule.getName(), e.getMessage());
-                    }
+                    ruleEngine.executeRule(rule, new RuleEvaluationContext());
                 } else {
                     logger.debug("Scheduled rule '{}' does not exist", ruleName);
                 }
@@ -78,4 +68,4 @@ public class ExecuteRuleJob implements Job {
         }
         return null;
     }
-}
\ No newline at end of file
+}
@@ -11,14 +11,20 @@ import static org.eclipse.smarthome.model.rule.runtime.internal.engine.RuleTrigg
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.events.Event;
 import org.eclipse.smarthome.core.events.EventFilter;
 import org.eclipse.smarthome.core.events.EventSubscriber;
@@ -36,14 +42,16 @@ import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.model.core.ModelRepository;
 import org.eclipse.smarthome.model.core.ModelRepositoryChangeListener;
 import org.eclipse.smarthome.model.rule.RulesStandaloneSetup;
+import org.eclipse.smarthome.model.rule.compiler.RuleCompiler;
 import org.eclipse.smarthome.model.rule.jvmmodel.RulesJvmModelInferrer;
 import org.eclipse.smarthome.model.rule.rules.Rule;
 import org.eclipse.smarthome.model.rule.rules.RuleModel;
 import org.eclipse.smarthome.model.rule.runtime.RuleEngine;
+import org.eclipse.smarthome.model.rule.runtime.internal.engine.RuleExecutionQueue.ExecutionCallback;
+import org.eclipse.smarthome.model.rule.runtime.internal.engine.RuleExecutionQueue.OverflowPolicy;
 import org.eclipse.smarthome.model.script.engine.Script;
 import org.eclipse.smarthome.model.script.engine.ScriptEngine;
 import org.eclipse.smarthome.model.script.engine.ScriptExecutionException;
-import org.eclipse.smarthome.model.script.engine.ScriptExecutionThread;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,18 +75,61 @@ public class RuleEngineImpl implements ItemRegistryChangeListener, StateChangeLi
 
     private final Logger logger = LoggerFactory.getLogger(RuleEngineImpl.class);
 
+    /**
+     * Name of the thread pool the rules are executed on, its size can be configured through the
+     * {@link ThreadPoolManager}.
+     */
+    private static final String THREAD_POOL_NAME = "ruleEngine";
+
+    /**
+     * Configuration property for the maximum number of waiting executions of a single rule.
+     */
+    private static final String CONFIG_QUEUE_SIZE = "rule.queue.size";
+
+    /**
+     * Configuration property for the {@link OverflowPolicy} applied when the queue of a rule is full, one of
+     * "discardOldest" and "discardNewest".
+     */
+    private static final String CONFIG_QUEUE_OVERFLOW = "rule.queue.overflow";
+
+    /**
+     * Configuration property for compiling the rules of a model to byte code when the model is loaded. Models which
+     * cannot be compiled are interpreted.
+     */
+    private static final String CONFIG_COMPILE = "rule.compile";
+
+    private static final int DEFAULT_QUEUE_SIZE = 100;
+
     protected final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
 
+    /**
+     * The execution queues of the rules, which also hold the scripts of the rules.
+     */
+    private final Map<Rule, RuleExecutionQueue> ruleQueues = new ConcurrentHashMap<>();
+
+    private volatile int queueSize = DEFAULT_QUEUE_SIZE;
+
+    private volatile OverflowPolicy overflowPolicy = OverflowPolicy.DISCARD_OLDEST;
+
+    private volatile boolean compileRules = false;
+
     private ItemRegistry itemRegistry;
     private ModelRepository modelRepository;
     private ScriptEngine scriptEngine;
 
     private RuleTriggerManager triggerManager;
 
+    private RuleCompiler ruleCompiler;
+
     private Injector injector;
 
     private ScheduledFuture<?> startupJob;
 
+    /**
+     * The startup rules which are queued for execution, but have not been executed yet.
+     */
+    private final Set<Rule> queuedStartupRules = ConcurrentHashMap.newKeySet();
+
     // this flag is used to signal that items are still being added and that we hence do not consider the rule engine
     // ready to be operational
     private boolean starting = true;
@@ -90,9 +141,12 @@ public class RuleEngineImpl implements ItemRegistryChangeListener, StateChangeLi
         }
     };
 
-    public void activate() {
+    public void activate(Map<String, Object> config) {
+        modified(config);
         injector = RulesStandaloneSetup.getInjector();
         triggerManager = injector.getInstance(RuleTriggerManager.class);
+        triggerManager.setRuleEngine(this);
+        ruleCompiler = injector.getInstance(RuleCompiler.class);
 
         if (!isEnabled()) {
             logger.info("Rule engine is disabled.");
@@ -108,6 +162,7 @@ public class RuleEngineImpl implements ItemRegistryChangeListener, StateChangeLi
             EObject model = modelRepository.getModel(ruleModelName);
             if (model instanceof RuleModel) {
                 RuleModel ruleModel = (RuleModel) model;
+                compileRuleModel(ruleModel);
                 triggerManager.addRuleModel(ruleModel);
             }
         }
@@ -123,6 +178,38 @@ public class RuleEngineImpl implements ItemRegistryChangeListener, StateChangeLi
         scheduleStartupRules();
     }
 
+    public void modified(Map<String, Object> config) {
+        int queueSize = DEFAULT_QUEUE_SIZE;
+        OverflowPolicy overflowPolicy = OverflowPolicy.DISCARD_OLDEST;
+        boolean compileRules = false;
+        if (config != null) {
+            Object value = config.get(CONFIG_QUEUE_SIZE);
+            if (value != null) {
+                try {
+                    queueSize = Math.max(1, Integer.parseInt(value.toString().trim()));
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring invalid configuration value '{}' for '{}'", value, CONFIG_QUEUE_SIZE);
+                }
+            }
+            value = config.get(CONFIG_QUEUE_OVERFLOW);
+            if (value != null) {
+                OverflowPolicy policy = OverflowPolicy.fromConfig(value.toString());
+                if (policy != null) {
+                    overflowPolicy = policy;
+                } else {
+                    logger.warn("Ignoring invalid configuration value '{}' for '{}'", value, CONFIG_QUEUE_OVERFLOW);
+                }
+            }
+            value = config.get(CONFIG_COMPILE);
+            if (value != null) {
+                compileRules = Boolean.parseBoolean(value.toString().trim());
+            }
+        }
+        this.queueSize = queueSize;
+        this.overflowPolicy = overflowPolicy;
+        this.compileRules = compileRules;
+    }
+
     public void deactivate() {
         // unregister listeners
         for (Item item : itemRegistry.getItems()) {
@@ -131,10 +218,15 @@ public class RuleEngineImpl implements ItemRegistryChangeListener, StateChangeLi
         modelRepository.removeModelRepositoryChangeListener(this);
         itemRegistry.removeRegistryChangeListener(this);
 
-        // execute all scripts that were registered for system shutdown
+        // drop the pending executions and execute all scripts that were registered for system shutdown
+        for (RuleExecutionQueue queue : ruleQueues.values()) {
+            queue.clear();
+        }
         executeRules(triggerManager.getRules(SHUTDOWN));
         triggerManager.clearAll();
+        triggerManager.setRuleEngine(null);
         triggerManager = null;
+        ruleQueues.clear();
     }
 
     public void setItemRegistry(ItemRegistry itemRegistry) {
@@ -251,12 +343,85 @@ public class RuleEngineImpl implements ItemRegistryChangeListener, StateChangeLi
                 // add new and modified rules to the trigger sets
                 if (model != null && (type == org.eclipse.smarthome.model.core.EventType.ADDED
                         || type == org.eclipse.smarthome.model.core.EventType.MODIFIED)) {
+                    compileRuleModel(model);
                     triggerManager.addRuleModel(model);
                     // now execute all rules that are meant to trigger at startup
                     scheduleStartupRules();
                 }
+                removeStaleRuleQueues();
+            }
+        }
+    }
+
+    /**
+     * Drops the cached queues and scripts of rules whose model has been reloaded or removed together with the
+     * executions which are still waiting in them.
+     */
+    private void removeStaleRuleQueues() {
+        for (Iterator<Map.Entry<Rule, RuleExecutionQueue>> it = ruleQueues.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<Rule, RuleExecutionQueue> entry = it.next();
+            Resource resource = entry.getKey().eResource();
+            if (resource == null || resource.getResourceSet() == null) {
+                it.remove();
+                entry.getValue().clear();
+            }
+        }
+    }
+
+    /**
+     * Compiles the rules of a model on the rule engine thread pool, if compiling rules is enabled. The rules are
+     * interpreted until the compilation has finished, from then on the compiled rules are used for all executions until
+     * the model is reloaded.
+     */
+    private void compileRuleModel(final RuleModel model) {
+        if (compileRules && ruleCompiler != null) {
+            final RuleCompiler compiler = ruleCompiler;
+            ThreadPoolManager.getPool(THREAD_POOL_NAME).execute(new Runnable() {
+                @Override
+                public void run() {
+                    boolean compiled;
+                    // the compiler shares its generator between all models
+                    synchronized (compiler) {
+                        compiled = compiler.compile(model);
+                    }
+                    if (compiled) {
+                        useCompiledScripts(model);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Switches the queues of the rules of a model, which have been created while the model was compiled, to the
+     * compiled scripts.
+     */
+    private void useCompiledScripts(RuleModel model) {
+        for (Rule rule : model.getRules()) {
+            RuleExecutionQueue queue = ruleQueues.get(rule);
+            if (queue != null) {
+                Script script = scriptEngine.newScriptFromXExpression(rule.getScript());
+                Script compiledScript = RuleCompiler.getCompiledScript(rule, script);
+                if (compiledScript != null) {
+                    queue.setScript(compiledScript);
+                }
+            }
+        }
+    }
+
+    private RuleExecutionQueue getRuleQueue(Rule rule) {
+        RuleExecutionQueue queue = ruleQueues.get(rule);
+        if (queue == null) {
+            Script script = scriptEngine.newScriptFromXExpression(rule.getScript());
+            Script compiledScript = RuleCompiler.getCompiledScript(rule, script);
+            queue = new RuleExecutionQueue(rule, compiledScript != null ? compiledScript : script, injector,
+                    ThreadPoolManager.getPool(THREAD_POOL_NAME));
+            RuleExecutionQueue existingQueue = ruleQueues.putIfAbsent(rule, queue);
+            if (existingQueue != null) {
+                queue = existingQueue;
             }
         }
+        return queue;
     }
 
     private void scheduleStartupRules() {
@@ -268,56 +433,95 @@ public class RuleEngineImpl implements ItemRegistryChangeListener, StateChangeLi
 
     private void runStartupRules() {
         if (triggerManager != null) {
-            Iterable<Rule> startupRules = triggerManager.getRules(STARTUP);
-            List<Rule> executedRules = Lists.newArrayList();
+            List<Rule> startupRules = Lists.newArrayList(triggerManager.getRules(STARTUP));
+            CountDownLatch latch = new CountDownLatch(startupRules.size());
 
             for (Rule rule : startupRules) {
-                try {
-                    Script script = scriptEngine.newScriptFromXExpression(rule.getScript());
-                    logger.debug("Executing startup rule '{}'", rule.getName());
-                    RuleEvaluationContext context = new RuleEvaluationContext();
-                    context.setGlobalContext(RuleContextHelper.getContext(rule, injector));
-                    script.execute(context);
-                    executedRules.add(rule);
-                } catch (ScriptExecutionException e) {
-                    if (!e.getMessage().contains("cannot be resolved to an item or type")) {
-                        logger.error("Error during the execution of startup rule '{}': {}",
-                                new Object[] { rule.getName(), e.getCause().getMessage() });
-                        executedRules.add(rule);
-                    } else {
-                        logger.debug("Execution of startup rule '{}' has been postponed as items are still missing: {}",
-                                rule.getName(), e.getMessage());
-                    }
+                if (queuedStartupRules.add(rule)) {
+                    logger.debug("Scheduling startup rule '{}'", rule.getName());
+                    getRuleQueue(rule).submit(new RuleEvaluationContext(), new StartupCallback(rule, latch), queueSize,
+                            overflowPolicy);
+                } else {
+                    // the rule is still queued by a previous run
+                    latch.countDown();
                 }
             }
-            for (Rule rule : executedRules) {
-                triggerManager.removeRule(STARTUP, rule);
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                // the job has been rescheduled, the next run takes care of the remaining startup rules
+                Thread.currentThread().interrupt();
+                return;
             }
             // now that we have executed the startup rules, we are ready for others as well
             starting = false;
-            triggerManager.startTimerRuleExecution();
+            RuleTriggerManager triggerManager = this.triggerManager;
+            if (triggerManager != null) {
+                triggerManager.startTimerRuleExecution();
+            }
         }
     }
 
-    protected synchronized void executeRule(Rule rule, RuleEvaluationContext context) {
-        Script script = scriptEngine.newScriptFromXExpression(rule.getScript());
+    /**
+     * Removes a startup rule from the trigger sets after it has been executed on its queue, unless it failed because
+     * items are still missing.
+     */
+    private class StartupCallback implements ExecutionCallback {
 
-        logger.debug("Executing rule '{}'", rule.getName());
+        private final Rule rule;
+        private final CountDownLatch latch;
 
-        context.setGlobalContext(RuleContextHelper.getContext(rule, injector));
+        StartupCallback(Rule rule, CountDownLatch latch) {
+            this.rule = rule;
+            this.latch = latch;
+        }
+
+        @Override
+        public void executed(Exception exception) {
+            try {
+                boolean executed = true;
+                if (exception instanceof ScriptExecutionException
+                        && exception.getMessage().contains("cannot be resolved to an item or type")) {
+                    logger.debug("Execution of startup rule '{}' has been postponed as items are still missing: {}",
+                            rule.getName(), exception.getMessage());
+                    executed = false;
+                } else if (exception != null) {
+                    String msg = exception.getCause() != null ? exception.getCause().getMessage()
+                            : exception.getMessage();
+                    logger.error("Error during the execution of startup rule '{}': {}", rule.getName(), msg);
+                }
+                RuleTriggerManager triggerManager = RuleEngineImpl.this.triggerManager;
+                if (executed && triggerManager != null) {
+                    triggerManager.removeRule(STARTUP, rule);
+                }
+            } finally {
+                queuedStartupRules.remove(rule);
+                latch.countDown();
+            }
+        }
+
+        @Override
+        public void discarded() {
+            logger.debug("Execution of startup rule '{}' has been discarded, it is retried with the next run.",
+                    rule.getName());
+            queuedStartupRules.remove(rule);
+            latch.countDown();
+        }
+    }
 
-        ScriptExecutionThread thread = new ScriptExecutionThread(rule.getName(), script, context);
-        thread.start();
+    protected void executeRule(Rule rule, RuleEvaluationContext context) {
+        logger.debug("Scheduling rule '{}'", rule.getName());
+        getRuleQueue(rule).submit(context, queueSize, overflowPolicy);
     }
 
-    protected synchronized void executeRules(Iterable<Rule> rules) {
+    protected void executeRules(Iterable<Rule> rules) {
         for (Rule rule : rules) {
             RuleEvaluationContext context = new RuleEvaluationContext();
             executeRule(rule, context);
         }
     }
 
-    protected synchronized void executeRules(Iterable<Rule> rules, ChannelTriggeredEvent event) {
+    protected void executeRules(Iterable<Rule> rules, ChannelTriggeredEvent event) {
         for (Rule rule : rules) {
             RuleEvaluationContext context = new RuleEvaluationContext();
             context.newValue(QualifiedName.create(RulesJvmModelInferrer.VAR_RECEIVED_EVENT), event);
@@ -325,7 +529,7 @@ public class RuleEngineImpl implements ItemRegistryChangeListener, StateChangeLi
         }
     }
 
-    protected synchronized void executeRules(Iterable<Rule> rules, Command command) {
+    protected void executeRules(Iterable<Rule> rules, Command command) {
         for (Rule rule : rules) {
             RuleEvaluationContext context = new RuleEvaluationContext();
             context.newValue(QualifiedName.create(RulesJvmModelInferrer.VAR_RECEIVED_COMMAND), command);
@@ -333,7 +537,7 @@ public class RuleEngineImpl implements ItemRegistryChangeListener, StateChangeLi
         }
     }
 
-    protected synchronized void executeRules(Iterable<Rule> rules, State oldState) {
+    protected void executeRules(Iterable<Rule> rules, State oldState) {
         for (Rule rule : rules) {
             RuleEvaluationContext context = new RuleEvaluationContext();
             context.newValue(QualifiedName.create(RulesJvmModelInferrer.VAR_PREVIOUS_STATE), oldState);
@@ -0,0 +1,268 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.runtime.internal.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.smarthome.model.rule.rules.Rule;
+import org.eclipse.smarthome.model.script.engine.Script;
+import org.eclipse.xtext.xbase.interpreter.IEvaluationContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.inject.Injector;
+
+/**
+ * The {@link RuleExecutionQueue} executes the invocations of a single rule one after the other on a shared thread
+ * pool. The script of the rule is created once and reused for all invocations.
+ * <p>
+ * Only one invocation of a rule is handed to the thread pool at a time, and the queue resubmits itself after every
+ * invocation, so that a rule which is triggered very often does not starve the other rules. The number of waiting
+ * invocations is bounded; what happens to further invocations is defined by the {@link OverflowPolicy}. Submitting
+ * an invocation never blocks the triggering thread.
+ *
+ * @author agent - Initial contribution
+ */
+@SuppressWarnings("restriction")
+class RuleExecutionQueue implements Runnable {
+
+    /**
+     * Defines what happens when a rule is triggered while its queue is full.
+     */
+    enum OverflowPolicy {
+        /** the oldest waiting invocation is dropped */
+        DISCARD_OLDEST,
+        /** the new invocation is dropped */
+        DISCARD_NEWEST;
+
+        /**
+         * Parses a policy from its configuration value, e.g. "discardOldest".
+         *
+         * @param value the configuration value
+         * @return the policy or null, if the value is unknown
+         */
+        static OverflowPolicy fromConfig(String value) {
+            for (OverflowPolicy policy : values()) {
+                if (policy.name().replace("_", "").equalsIgnoreCase(value.trim())) {
+                    return policy;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Is notified about the outcome of a single invocation.
+     */
+    interface ExecutionCallback {
+
+        /**
+         * Called after the invocation has been executed.
+         *
+         * @param exception the exception thrown by the execution or null, if it succeeded
+         */
+        void executed(Exception exception);
+
+        /**
+         * Called if the invocation has been dropped without being executed.
+         */
+        void discarded();
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(RuleExecutionQueue.class);
+
+    private final Rule rule;
+    private volatile Script script;
+    private final Injector injector;
+    private final ExecutorService executor;
+
+    private final Deque<Invocation> pending = new ArrayDeque<Invocation>();
+
+    /**
+     * true while an invocation is handed to or executed by the thread pool
+     */
+    private boolean scheduled = false;
+
+    RuleExecutionQueue(Rule rule, Script script, Injector injector, ExecutorService executor) {
+        this.rule = rule;
+        this.script = script;
+        this.injector = injector;
+        this.executor = executor;
+    }
+
+    /**
+     * @return the script of the rule
+     */
+    Script getScript() {
+        return script;
+    }
+
+    /**
+     * Replaces the script of the rule, which is used by all invocations that are executed from now on.
+     *
+     * @param script the new script of the rule
+     */
+    void setScript(Script script) {
+        this.script = script;
+    }
+
+    /**
+     * Queues an invocation of the rule.
+     *
+     * @param context the evaluation context of the invocation
+     * @param maxSize the maximum number of waiting invocations
+     * @param policy the policy to apply if the queue is full
+     */
+    void submit(RuleEvaluationContext context, int maxSize, OverflowPolicy policy) {
+        submit(context, null, maxSize, policy);
+    }
+
+    /**
+     * Queues an invocation of the rule, whose outcome is reported to the given callback instead of being logged.
+     *
+     * @param context the evaluation context of the invocation
+     * @param callback the callback to notify or null
+     * @param maxSize the maximum number of waiting invocations
+     * @param policy the policy to apply if the queue is full
+     */
+    void submit(RuleEvaluationContext context, ExecutionCallback callback, int maxSize, OverflowPolicy policy) {
+        Invocation invocation = new Invocation(context, callback);
+        Invocation discarded = null;
+        boolean schedule = false;
+        synchronized (this) {
+            if (pending.size() >= maxSize) {
+                if (policy == OverflowPolicy.DISCARD_NEWEST) {
+                    discarded = invocation;
+                    logger.warn("Execution queue of rule '{}' is full, discarding the new execution.", rule.getName());
+                } else {
+                    discarded = pending.pollFirst();
+                    logger.warn("Execution queue of rule '{}' is full, discarding its oldest pending execution.",
+                            rule.getName());
+                }
+            }
+            if (discarded != invocation) {
+                pending.addLast(invocation);
+                schedule = !scheduled;
+                scheduled = true;
+            }
+        }
+        notifyDiscarded(discarded);
+        if (schedule) {
+            schedule();
+        }
+    }
+
+    /**
+     * Drops all waiting invocations. An invocation which is currently executed is not interrupted.
+     */
+    void clear() {
+        List<Invocation> discarded;
+        synchronized (this) {
+            discarded = new ArrayList<Invocation>(pending);
+            pending.clear();
+        }
+        for (Invocation invocation : discarded) {
+            notifyDiscarded(invocation);
+        }
+    }
+
+    /**
+     * @return the number of waiting invocations
+     */
+    synchronized int size() {
+        return pending.size();
+    }
+
+    @Override
+    public void run() {
+        Invocation invocation;
+        synchronized (this) {
+            invocation = pending.pollFirst();
+            if (invocation == null) {
+                scheduled = false;
+                return;
+            }
+        }
+        try {
+            execute(invocation);
+        } finally {
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    scheduled = false;
+                    return;
+                }
+            }
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        try {
+            executor.execute(this);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Execution of rule '{}' has been rejected: {}", rule.getName(), e.getMessage());
+            synchronized (this) {
+                scheduled = false;
+            }
+            clear();
+        }
+    }
+
+    private void notifyDiscarded(Invocation invocation) {
+        if (invocation != null && invocation.callback != null) {
+            invocation.callback.discarded();
+        }
+    }
+
+    /**
+     * Provides the evaluation context, which the rule shares with the other rules of its model.
+     *
+     * @return the global evaluation context of the rule
+     */
+    IEvaluationContext getGlobalContext() {
+        return RuleContextHelper.getContext(rule, injector);
+    }
+
+    private void execute(Invocation invocation) {
+        logger.debug("Executing rule '{}'", rule.getName());
+        Exception exception = null;
+        try {
+            invocation.context.setGlobalContext(getGlobalContext());
+            script.execute(invocation.context);
+        } catch (Exception e) {
+            exception = e;
+        }
+        if (invocation.callback != null) {
+            invocation.callback.executed(exception);
+        } else if (exception != null) {
+            String msg = exception.getMessage();
+            if (msg == null) {
+                logger.error("Rule '{}'", rule.getName(), exception.getCause());
+            } else {
+                logger.error("Rule '{}': {}", rule.getName(), msg);
+            }
+        }
+    }
+
+    private static class Invocation {
+
+        private final RuleEvaluationContext context;
+        private final ExecutionCallback callback;
+
+        Invocation(RuleEvaluationContext context, ExecutionCallback callback) {
+            this.context = context;
+            this.callback = callback;
+        }
+    }
+
+}
@@ -8,24 +8,31 @@
 package org.eclipse.smarthome.model.rule.runtime.internal.engine;
 
 import static org.eclipse.smarthome.model.rule.runtime.internal.engine.RuleTriggerManager.TriggerTypes.*;
-import static org.quartz.JobBuilder.newJob;
-import static org.quartz.TriggerBuilder.newTrigger;
 
+import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 
-import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemNotFoundException;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.scheduler.CronExpression;
+import org.eclipse.smarthome.core.scheduler.Expression;
+import org.eclipse.smarthome.core.scheduler.ExpressionThreadPoolManager;
+import org.eclipse.smarthome.core.scheduler.ExpressionThreadPoolManager.ExpressionThreadPoolExecutor;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.Type;
-import org.eclipse.smarthome.core.types.TypeParser;
 import org.eclipse.smarthome.model.rule.rules.ChangedEventTrigger;
 import org.eclipse.smarthome.model.rule.rules.CommandEventTrigger;
 import org.eclipse.smarthome.model.rule.rules.EventEmittedTrigger;
@@ -36,21 +43,11 @@ import org.eclipse.smarthome.model.rule.rules.SystemOnShutdownTrigger;
 import org.eclipse.smarthome.model.rule.rules.SystemOnStartupTrigger;
 import org.eclipse.smarthome.model.rule.rules.TimerTrigger;
 import org.eclipse.smarthome.model.rule.rules.UpdateEventTrigger;
-import org.quartz.CronScheduleBuilder;
-import org.quartz.Job;
-import org.quartz.JobDetail;
-import org.quartz.JobKey;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
-import org.quartz.Trigger;
-import org.quartz.impl.StdSchedulerFactory;
-import org.quartz.impl.matchers.GroupMatcher;
+import org.eclipse.smarthome.model.script.engine.IItemRegistryProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
+import com.google.common.base.Predicate;
 import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
@@ -59,6 +56,8 @@ import com.google.inject.Injector;
  * This is a helper class which deals with everything about rule triggers.
  * It keeps lists of which rule must be executed for which trigger and takes
  * over the evaluation of states and trigger conditions for the rule engine.
+ * Item and channel triggers are compiled into {@link TriggerMatcher}s when a
+ * rule is added, so that an event is matched by a lookup and equals checks.
  *
  * @author Kai Kreuzer - Initial contribution and API
  *
@@ -77,30 +76,54 @@ public class RuleTriggerManager {
         TIMER // fires at a given time
     }
 
-    // lookup maps for different triggering conditions
-    private Map<String, Set<Rule>> updateEventTriggeredRules = Maps.newHashMap();
-    private Map<String, Set<Rule>> changedEventTriggeredRules = Maps.newHashMap();
-    private Map<String, Set<Rule>> commandEventTriggeredRules = Maps.newHashMap();
-    // Maps from channelName -> Rules
-    private Map<String, Set<Rule>> triggerEventTriggeredRules = Maps.newHashMap();
+    // lookup maps for different triggering conditions, item name -> compiled triggers
+    private final Map<String, TriggerMatcher[]> updateEventTriggers = new ConcurrentHashMap<>();
+    private final Map<String, TriggerMatcher[]> changedEventTriggers = new ConcurrentHashMap<>();
+    private final Map<String, TriggerMatcher[]> commandEventTriggers = new ConcurrentHashMap<>();
+    // Maps from channelName -> compiled triggers
+    private final Map<String, TriggerMatcher[]> triggerEventTriggers = new ConcurrentHashMap<>();
     private Set<Rule> systemStartupTriggeredRules = new CopyOnWriteArraySet<>();
     private Set<Rule> systemShutdownTriggeredRules = new CopyOnWriteArraySet<>();
     private Set<Rule> timerEventTriggeredRules = new CopyOnWriteArraySet<>();
 
-    // the scheduler used for timer events
-    private Scheduler scheduler;
+    // used to parse the states and commands of item triggers when a rule is added
+    private final IItemRegistryProvider itemRegistryProvider;
+
+    // the scheduler used for timer events, it is shared with the timer triggers of the automation rules
+    private static final String THREAD_POOL_NAME = "ruletimer";
+
+    private final ExpressionThreadPoolExecutor scheduler;
+
+    // the cron jobs of the timer rules by their cron expression, the expressions are the handles to remove them again
+    private final Map<Rule, Map<String, TimerJob>> timerJobs = new ConcurrentHashMap<>();
+
+    // we want to defer timer rule execution until after the startup rules have been executed.
+    private boolean timerRulesStarted = false;
+
+    // the rule engine which executes the rules of the timer triggers in the execution queues of the rules
+    private volatile RuleEngineImpl ruleEngine;
 
     @Inject
     public RuleTriggerManager(Injector injector) {
-        try {
-            scheduler = StdSchedulerFactory.getDefaultScheduler();
-            scheduler.setJobFactory(injector.getInstance(GuiceAwareJobFactory.class));
+        this(injector, ExpressionThreadPoolManager.getExpressionScheduledPool(THREAD_POOL_NAME));
+    }
 
-            // we want to defer timer rule execution until after the startup rules have been executed.
-            scheduler.standby();
-        } catch (SchedulerException e) {
-            logger.error("initializing scheduler throws exception", e);
-        }
+    RuleTriggerManager(Injector injector, ExpressionThreadPoolExecutor scheduler) {
+        this.scheduler = scheduler;
+        itemRegistryProvider = injector.getInstance(IItemRegistryProvider.class);
+    }
+
+    /**
+     * Sets the rule engine which executes the rules, when their timer triggers fire.
+     *
+     * @param ruleEngine the rule engine or <code>null</code>, if the rules of the timer triggers must not be executed
+     */
+    void setRuleEngine(RuleEngineImpl ruleEngine) {
+        this.ruleEngine = ruleEngine;
+    }
+
+    RuleEngineImpl getRuleEngine() {
+        return ruleEngine;
     }
 
     /**
@@ -122,16 +145,10 @@ public class RuleTriggerManager {
                 result = timerEventTriggeredRules;
                 break;
             case UPDATE:
-                result = Iterables.concat(updateEventTriggeredRules.values());
-                break;
             case CHANGE:
-                result = Iterables.concat(changedEventTriggeredRules.values());
-                break;
             case COMMAND:
-                result = Iterables.concat(commandEventTriggeredRules.values());
-                break;
             case TRIGGER:
-                result = Iterables.concat(triggerEventTriggeredRules.values());
+                result = getAllRules(getTriggerMatchers(type));
                 break;
             default:
                 result = Sets.newHashSet();
@@ -192,58 +209,51 @@ public class RuleTriggerManager {
      * @return all rules for which the trigger condition is true
      */
     public Iterable<Rule> getRules(TriggerTypes triggerType, String channel, String event) {
-        List<Rule> result = Lists.newArrayList();
-
-        switch (triggerType) {
-            case TRIGGER:
-                Set<Rule> rules = triggerEventTriggeredRules.get(channel);
-                if (rules == null) {
-                    return Sets.newHashSet();
-                }
-                for (Rule rule : rules) {
-                    for (EventTrigger t : rule.getEventtrigger()) {
-                        if (t instanceof EventEmittedTrigger) {
-                            EventEmittedTrigger et = (EventEmittedTrigger) t;
-                            if (et.getTrigger() != null) {
-                                if (!et.getTrigger().equals(event)) {
-                                    continue;
-                                }
-                            }
-                            result.add(rule);
-                        }
-                    }
+        if (triggerType != TRIGGER) {
+            return Collections.emptyList();
+        }
+        TriggerMatcher[] matchers = triggerEventTriggers.get(channel);
+        if (matchers == null) {
+            return Collections.emptyList();
+        }
+        List<Rule> result = null;
+        for (TriggerMatcher matcher : matchers) {
+            if (matcher.matches(event)) {
+                if (result == null) {
+                    result = new ArrayList<>(matchers.length);
                 }
-                break;
-            default:
-                return Sets.newHashSet();
+                result.add(matcher.getRule());
+            }
         }
-
-        return result;
+        return result != null ? result : Collections.<Rule> emptyList();
     }
 
-    private Iterable<Rule> getAllRules(TriggerTypes type, String itemName) {
+    private Map<String, TriggerMatcher[]> getTriggerMatchers(TriggerTypes type) {
         switch (type) {
-            case STARTUP:
-                return systemStartupTriggeredRules;
-            case SHUTDOWN:
-                return systemShutdownTriggeredRules;
             case UPDATE:
-                return updateEventTriggeredRules.get(itemName);
+                return updateEventTriggers;
             case CHANGE:
-                return changedEventTriggeredRules.get(itemName);
+                return changedEventTriggers;
             case COMMAND:
-                return commandEventTriggeredRules.get(itemName);
+                return commandEventTriggers;
+            case TRIGGER:
+                return triggerEventTriggers;
             default:
-                return Sets.newHashSet();
+                return Collections.emptyMap();
         }
     }
 
-    private Iterable<Rule> internalGetRules(TriggerTypes triggerType, Item item, Type oldType, Type newType) {
-        List<Rule> result = Lists.newArrayList();
-        Iterable<Rule> rules = getAllRules(triggerType, item.getName());
-        if (rules == null) {
-            rules = Lists.newArrayList();
+    private static Set<Rule> getAllRules(Map<String, TriggerMatcher[]> triggerMatchers) {
+        Set<Rule> rules = new LinkedHashSet<>();
+        for (TriggerMatcher[] matchers : triggerMatchers.values()) {
+            for (TriggerMatcher matcher : matchers) {
+                rules.add(matcher.getRule());
+            }
         }
+        return rules;
+    }
+
+    private Iterable<Rule> internalGetRules(TriggerTypes triggerType, Item item, Type oldType, Type newType) {
         switch (triggerType) {
             case STARTUP:
                 return systemStartupTriggeredRules;
@@ -252,83 +262,37 @@ public class RuleTriggerManager {
             case TIMER:
                 return timerEventTriggeredRules;
             case UPDATE:
-                if (newType instanceof State) {
-                    State state = (State) newType;
-                    for (Rule rule : rules) {
-                        for (EventTrigger t : rule.getEventtrigger()) {
-                            if (t instanceof UpdateEventTrigger) {
-                                UpdateEventTrigger ut = (UpdateEventTrigger) t;
-                                if (ut.getItem().equals(item.getName())) {
-                                    if (ut.getState() != null) {
-                                        State triggerState = TypeParser.parseState(item.getAcceptedDataTypes(),
-                                                ut.getState());
-                                        if (!state.equals(triggerState)) {
-                                            continue;
-                                        }
-                                    }
-                                    result.add(rule);
-                                }
-                            }
-                        }
-                    }
+                if (!(newType instanceof State)) {
+                    return Collections.emptyList();
                 }
                 break;
             case CHANGE:
-                if (newType instanceof State && oldType instanceof State) {
-                    State newState = (State) newType;
-                    State oldState = (State) oldType;
-                    for (Rule rule : rules) {
-                        for (EventTrigger t : rule.getEventtrigger()) {
-                            if (t instanceof ChangedEventTrigger) {
-                                ChangedEventTrigger ct = (ChangedEventTrigger) t;
-                                if (ct.getItem().equals(item.getName())) {
-                                    if (ct.getOldState() != null) {
-                                        State triggerOldState = TypeParser.parseState(item.getAcceptedDataTypes(),
-                                                ct.getOldState());
-                                        if (!oldState.equals(triggerOldState)) {
-                                            continue;
-                                        }
-                                    }
-                                    if (ct.getNewState() != null) {
-                                        State triggerNewState = TypeParser.parseState(item.getAcceptedDataTypes(),
-                                                ct.getNewState());
-                                        if (!newState.equals(triggerNewState)) {
-                                            continue;
-                                        }
-                                    }
-                                    result.add(rule);
-                                }
-                            }
-                        }
-                    }
+                if (!(newType instanceof State) || !(oldType instanceof State)) {
+                    return Collections.emptyList();
                 }
                 break;
             case COMMAND:
-                if (newType instanceof Command) {
-                    final Command command = (Command) newType;
-                    for (Rule rule : rules) {
-                        for (final EventTrigger t : rule.getEventtrigger()) {
-                            if (t instanceof CommandEventTrigger) {
-                                final CommandEventTrigger ct = (CommandEventTrigger) t;
-                                if (ct.getItem().equals(item.getName())) {
-                                    if (ct.getCommand() != null) {
-                                        final Command triggerCommand = TypeParser
-                                                .parseCommand(item.getAcceptedCommandTypes(), ct.getCommand());
-                                        if (!command.equals(triggerCommand)) {
-                                            continue;
-                                        }
-                                    }
-                                    result.add(rule);
-                                }
-                            }
-                        }
-                    }
+                if (!(newType instanceof Command)) {
+                    return Collections.emptyList();
                 }
                 break;
             default:
-                break;
+                return Collections.emptyList();
         }
-        return result;
+        TriggerMatcher[] matchers = getTriggerMatchers(triggerType).get(item.getName());
+        if (matchers == null) {
+            return Collections.emptyList();
+        }
+        List<Rule> result = null;
+        for (TriggerMatcher matcher : matchers) {
+            if (matcher.matches(item, oldType, newType)) {
+                if (result == null) {
+                    result = new ArrayList<>(matchers.length);
+                }
+                result.add(matcher.getRule());
+            }
+        }
+        return result != null ? result : Collections.<Rule> emptyList();
     }
 
     /**
@@ -345,20 +309,14 @@ public class RuleTriggerManager {
                 systemShutdownTriggeredRules.clear();
                 break;
             case UPDATE:
-                updateEventTriggeredRules.clear();
-                break;
             case CHANGE:
-                changedEventTriggeredRules.clear();
-                break;
             case COMMAND:
-                commandEventTriggeredRules.clear();
-                break;
             case TRIGGER:
-                triggerEventTriggeredRules.clear();
+                getTriggerMatchers(type).clear();
                 break;
             case TIMER:
                 for (Rule rule : timerEventTriggeredRules) {
-                    removeTimerRule(rule);
+                    removeTimer(rule);
                 }
                 timerEventTriggeredRules.clear();
                 break;
@@ -384,6 +342,9 @@ public class RuleTriggerManager {
      * @param rule the rule to add
      */
     public synchronized void addRule(Rule rule) {
+        // the triggers of a rule which is added again are compiled and scheduled anew
+        removeTriggerMatchers(rule);
+        removeTimer(rule);
         for (EventTrigger t : rule.getEventtrigger()) {
             // add the rule to the lookup map for the trigger kind
             if (t instanceof SystemOnStartupTrigger) {
@@ -392,44 +353,78 @@ public class RuleTriggerManager {
                 systemShutdownTriggeredRules.add(rule);
             } else if (t instanceof CommandEventTrigger) {
                 CommandEventTrigger ceTrigger = (CommandEventTrigger) t;
-                Set<Rule> rules = commandEventTriggeredRules.get(ceTrigger.getItem());
-                if (rules == null) {
-                    rules = new HashSet<Rule>();
-                    commandEventTriggeredRules.put(ceTrigger.getItem(), rules);
-                }
-                rules.add(rule);
+                addItemTriggerMatcher(commandEventTriggers, ceTrigger.getItem(),
+                        new TriggerMatcher(rule, COMMAND, null, ceTrigger.getCommand()));
             } else if (t instanceof UpdateEventTrigger) {
                 UpdateEventTrigger ueTrigger = (UpdateEventTrigger) t;
-                Set<Rule> rules = updateEventTriggeredRules.get(ueTrigger.getItem());
-                if (rules == null) {
-                    rules = new HashSet<Rule>();
-                    updateEventTriggeredRules.put(ueTrigger.getItem(), rules);
-                }
-                rules.add(rule);
+                addItemTriggerMatcher(updateEventTriggers, ueTrigger.getItem(),
+                        new TriggerMatcher(rule, UPDATE, null, ueTrigger.getState()));
             } else if (t instanceof ChangedEventTrigger) {
                 ChangedEventTrigger ceTrigger = (ChangedEventTrigger) t;
-                Set<Rule> rules = changedEventTriggeredRules.get(ceTrigger.getItem());
-                if (rules == null) {
-                    rules = new HashSet<Rule>();
-                    changedEventTriggeredRules.put(ceTrigger.getItem(), rules);
-                }
-                rules.add(rule);
+                addItemTriggerMatcher(changedEventTriggers, ceTrigger.getItem(),
+                        new TriggerMatcher(rule, CHANGE, ceTrigger.getOldState(), ceTrigger.getNewState()));
             } else if (t instanceof TimerTrigger) {
-                if (timerEventTriggeredRules.add(rule)) {
-                    try {
-                        createTimer(rule, (TimerTrigger) t);
-                    } catch (SchedulerException e) {
-                        logger.error("Cannot create timer for rule '{}': {}", rule.getName(), e.getMessage());
-                    }
-                }
+                timerEventTriggeredRules.add(rule);
+                createTimer(rule, (TimerTrigger) t);
             } else if (t instanceof EventEmittedTrigger) {
                 EventEmittedTrigger eeTrigger = (EventEmittedTrigger) t;
-                Set<Rule> rules = triggerEventTriggeredRules.get(eeTrigger.getChannel());
-                if (rules == null) {
-                    rules = new HashSet<Rule>();
-                    triggerEventTriggeredRules.put(eeTrigger.getChannel(), rules);
+                addTriggerMatcher(triggerEventTriggers, eeTrigger.getChannel(),
+                        new TriggerMatcher(rule, TRIGGER, null, eeTrigger.getTrigger()));
+            }
+        }
+    }
+
+    private void addItemTriggerMatcher(Map<String, TriggerMatcher[]> triggerMatchers, String itemName,
+            TriggerMatcher matcher) {
+        try {
+            ItemRegistry itemRegistry = itemRegistryProvider.get();
+            if (itemRegistry != null) {
+                matcher.prepare(itemRegistry.getItem(itemName));
+            }
+        } catch (ItemNotFoundException | IllegalStateException e) {
+            // the item or the item registry is not available yet, the trigger is parsed on the first event
+        }
+        addTriggerMatcher(triggerMatchers, itemName, matcher);
+    }
+
+    private void addTriggerMatcher(Map<String, TriggerMatcher[]> triggerMatchers, String name, TriggerMatcher matcher) {
+        // the arrays are never modified once they are in the map, so events can be matched without locking
+        TriggerMatcher[] matchers = triggerMatchers.get(name);
+        if (matchers == null) {
+            matchers = new TriggerMatcher[] { matcher };
+        } else {
+            matchers = Arrays.copyOf(matchers, matchers.length + 1);
+            matchers[matchers.length - 1] = matcher;
+        }
+        triggerMatchers.put(name, matchers);
+    }
+
+    private void removeTriggerMatchers(final Rule rule) {
+        Predicate<Rule> isRule = new Predicate<Rule>() {
+            @Override
+            public boolean apply(Rule oldRule) {
+                return oldRule == rule;
+            }
+        };
+        removeTriggerMatchers(updateEventTriggers, isRule);
+        removeTriggerMatchers(changedEventTriggers, isRule);
+        removeTriggerMatchers(commandEventTriggers, isRule);
+        removeTriggerMatchers(triggerEventTriggers, isRule);
+    }
+
+    private synchronized void removeTriggerMatchers(Map<String, TriggerMatcher[]> triggerMatchers,
+            Predicate<Rule> predicate) {
+        for (Map.Entry<String, TriggerMatcher[]> entry : triggerMatchers.entrySet()) {
+            List<TriggerMatcher> remaining = new ArrayList<>(entry.getValue().length);
+            for (TriggerMatcher matcher : entry.getValue()) {
+                if (!predicate.apply(matcher.getRule())) {
+                    remaining.add(matcher);
                 }
-                rules.add(rule);
+            }
+            if (remaining.isEmpty()) {
+                triggerMatchers.remove(entry.getKey());
+            } else if (remaining.size() < entry.getValue().length) {
+                triggerMatchers.put(entry.getKey(), remaining.toArray(new TriggerMatcher[remaining.size()]));
             }
         }
     }
@@ -440,7 +435,7 @@ public class RuleTriggerManager {
      * @param type the trigger type for which the rule should be removed
      * @param rule the rule to add
      */
-    public void removeRule(TriggerTypes type, Rule rule) {
+    public void removeRule(TriggerTypes type, final Rule rule) {
         switch (type) {
             case STARTUP:
                 systemStartupTriggeredRules.remove(rule);
@@ -449,26 +444,19 @@ public class RuleTriggerManager {
                 systemShutdownTriggeredRules.remove(rule);
                 break;
             case UPDATE:
-                for (Set<Rule> rules : updateEventTriggeredRules.values()) {
-                    rules.remove(rule);
-                }
-                break;
             case CHANGE:
-                for (Set<Rule> rules : changedEventTriggeredRules.values()) {
-                    rules.remove(rule);
-                }
-                break;
             case COMMAND:
-                for (Set<Rule> rules : commandEventTriggeredRules.values()) {
-                    rules.remove(rule);
-                }
-                break;
             case TRIGGER:
-                triggerEventTriggeredRules.remove(rule);
+                removeTriggerMatchers(getTriggerMatchers(type), new Predicate<Rule>() {
+                    @Override
+                    public boolean apply(Rule oldRule) {
+                        return oldRule == rule;
+                    }
+                });
                 break;
             case TIMER:
                 timerEventTriggeredRules.remove(rule);
-                removeTimerRule(rule);
+                removeTimer(rule);
                 break;
         }
     }
@@ -489,16 +477,34 @@ public class RuleTriggerManager {
      *
      * @param ruleModel the rule model
      */
-    public void removeRuleModel(RuleModel ruleModel) {
-        removeRules(UPDATE, updateEventTriggeredRules.values(), ruleModel);
-        removeRules(CHANGE, changedEventTriggeredRules.values(), ruleModel);
-        removeRules(COMMAND, commandEventTriggeredRules.values(), ruleModel);
-        removeRules(TRIGGER, triggerEventTriggeredRules.values(), ruleModel);
+    public void removeRuleModel(final RuleModel ruleModel) {
+        Predicate<Rule> isRemoved = new Predicate<Rule>() {
+            @Override
+            public boolean apply(Rule rule) {
+                return isRemoved(rule, ruleModel);
+            }
+        };
+        removeTriggerMatchers(updateEventTriggers, isRemoved);
+        removeTriggerMatchers(changedEventTriggers, isRemoved);
+        removeTriggerMatchers(commandEventTriggers, isRemoved);
+        removeTriggerMatchers(triggerEventTriggers, isRemoved);
         removeRules(STARTUP, Collections.singletonList(systemStartupTriggeredRules), ruleModel);
         removeRules(SHUTDOWN, Collections.singletonList(systemShutdownTriggeredRules), ruleModel);
         removeRules(TIMER, Collections.singletonList(timerEventTriggeredRules), ruleModel);
     }
 
+    private static boolean isRemoved(Rule rule, RuleModel model) {
+        // rules of the model and proxified rules are removed
+        if (model != null) {
+            for (Rule newRule : model.getRules()) {
+                if (newRule.getName().equals(rule.getName())) {
+                    return true;
+                }
+            }
+        }
+        return rule.eResource() == null;
+    }
+
     private void removeRules(TriggerTypes type, Collection<? extends Collection<Rule>> ruleSets, RuleModel model) {
         for (Collection<Rule> ruleSet : ruleSets) {
             Set<Rule> clonedSet = new HashSet<Rule>(ruleSet);
@@ -509,7 +515,7 @@ public class RuleTriggerManager {
                         if (newRule.getName().equals(oldRule.getName())) {
                             ruleSet.remove(oldRule);
                             if (type == TIMER) {
-                                removeTimerRule(oldRule);
+                                removeTimer(oldRule);
                             }
                         }
                     }
@@ -522,30 +528,20 @@ public class RuleTriggerManager {
                 if (rule.eResource() == null) {
                     ruleSet.remove(rule);
                     if (type == TIMER) {
-                        removeTimerRule(rule);
+                        removeTimer(rule);
                     }
                 }
             }
         }
     }
 
-    private void removeTimerRule(Rule rule) {
-        try {
-            removeTimer(rule);
-        } catch (SchedulerException e) {
-            logger.error("Cannot remove timer for rule '{}'", rule.getName(), e);
-        }
-    }
-
     /**
-     * Creates and schedules a new quartz-job and trigger with model and rule name as jobData.
+     * Creates a cron expression for a timer trigger of a rule and schedules it, if timer rules are already executed.
      *
      * @param rule the rule to schedule
      * @param trigger the defined trigger
-     *
-     * @throws SchedulerException if there is an internal Scheduler error.
      */
-    private void createTimer(Rule rule, TimerTrigger trigger) throws SchedulerException {
+    private synchronized void createTimer(Rule rule, TimerTrigger trigger) {
         String cronExpression = trigger.getCron();
         if (trigger.getTime() != null) {
             if (trigger.getTime().equals("noon")) {
@@ -558,58 +554,73 @@ public class RuleTriggerManager {
             }
         }
 
-        String jobIdentity = getJobIdentityString(rule, trigger);
+        Map<String, TimerJob> jobs = timerJobs.get(rule);
+        if (jobs == null) {
+            jobs = new LinkedHashMap<>();
+            timerJobs.put(rule, jobs);
+        } else if (jobs.containsKey(cronExpression)) {
+            logger.debug("Rule '{}' is already scheduled with cron expression '{}'", rule.getName(), cronExpression);
+            return;
+        }
 
+        Expression expression;
         try {
-            JobDetail job = newJob(ExecuteRuleJob.class)
-                    .usingJobData(ExecuteRuleJob.JOB_DATA_RULEMODEL, rule.eResource().getURI().path())
-                    .usingJobData(ExecuteRuleJob.JOB_DATA_RULENAME, rule.getName()).withIdentity(jobIdentity).build();
-            Trigger quartzTrigger = newTrigger().withSchedule(CronScheduleBuilder.cronSchedule(cronExpression)).build();
-            scheduler.scheduleJob(job, Collections.singleton(quartzTrigger), true);
+            expression = new CronExpression(cronExpression);
+        } catch (ParseException | RuntimeException e) {
+            logger.error("Cannot create timer for rule '{}': {}", rule.getName(), e.getMessage());
+            return;
+        }
+
+        // each expression gets its own job, as the scheduler cancels all executions of a job when removing it
+        TimerJob job = new TimerJob(expression,
+                new ExecuteRuleJob(this, rule.eResource().getURI().path(), rule.getName()));
+        jobs.put(cronExpression, job);
 
+        if (timerRulesStarted) {
+            scheduler.schedule(job.runnable, expression);
             logger.debug("Scheduled rule '{}' with cron expression '{}'", rule.getName(), cronExpression);
-        } catch (RuntimeException e) {
-            throw new SchedulerException(e.getMessage());
         }
     }
 
     /**
-     * Delete all {@link Job}s of the DEFAULT group whose name starts with <code>rule.getName()</code>.
+     * Removes the scheduled cron expressions of a rule and cancels their pending executions.
      *
-     * @throws SchedulerException if there is an internal Scheduler error.
+     * @param rule the rule to remove the timers for
      */
-    private void removeTimer(Rule rule) throws SchedulerException {
-        Set<JobKey> jobKeys = scheduler.getJobKeys(GroupMatcher.jobGroupEquals(Scheduler.DEFAULT_GROUP));
-        for (JobKey jobKey : jobKeys) {
-            String jobIdentityString = getJobIdentityString(rule, null);
-            if (jobKey.getName().startsWith(jobIdentityString)) {
-                boolean success = scheduler.deleteJob(jobKey);
-                if (!success) {
-                    logger.warn("Failed to delete cron job '{}'", jobKey.getName());
-                } else {
-                    logger.debug("Removed scheduled cron job '{}'", jobKey.getName());
-                }
+    private synchronized void removeTimer(Rule rule) {
+        Map<String, TimerJob> jobs = timerJobs.remove(rule);
+        if (jobs != null && timerRulesStarted) {
+            for (Map.Entry<String, TimerJob> job : jobs.entrySet()) {
+                scheduler.remove(job.getValue().expression);
+                logger.debug("Removed scheduled cron job '{}' of rule '{}'", job.getKey(), rule.getName());
             }
         }
     }
 
-    private String getJobIdentityString(Rule rule, TimerTrigger trigger) {
-        String jobIdentity = EcoreUtil.getURI(rule).trimFragment().appendFragment(rule.getName()).toString();
-        if (trigger != null) {
-            if (trigger.getTime() != null) {
-                jobIdentity += "#" + trigger.getTime();
-            } else if (trigger.getCron() != null) {
-                jobIdentity += "#" + trigger.getCron();
+    public synchronized void startTimerRuleExecution() {
+        if (!timerRulesStarted) {
+            timerRulesStarted = true;
+            for (Map.Entry<Rule, Map<String, TimerJob>> entry : timerJobs.entrySet()) {
+                for (Map.Entry<String, TimerJob> job : entry.getValue().entrySet()) {
+                    scheduler.schedule(job.getValue().runnable, job.getValue().expression);
+                    logger.debug("Scheduled rule '{}' with cron expression '{}'", entry.getKey().getName(),
+                            job.getKey());
+                }
             }
         }
-        return jobIdentity;
     }
 
-    public void startTimerRuleExecution() {
-        try {
-            scheduler.start();
-        } catch (SchedulerException e) {
-            logger.error("Error while starting the scheduler service: {}", e.getMessage());
+    /**
+     * A cron expression of a timer rule together with the job it triggers.
+     */
+    private static class TimerJob {
+
+        private final Expression expression;
+        private final Runnable runnable;
+
+        TimerJob(Expression expression, Runnable runnable) {
+            this.expression = expression;
+            this.runnable = runnable;
         }
     }
 }
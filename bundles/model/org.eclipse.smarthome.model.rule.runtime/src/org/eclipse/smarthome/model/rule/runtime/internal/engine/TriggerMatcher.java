@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.runtime.internal.engine;
+
+import java.util.List;
+
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.Type;
+import org.eclipse.smarthome.core.types.TypeParser;
+import org.eclipse.smarthome.model.rule.rules.Rule;
+import org.eclipse.smarthome.model.rule.runtime.internal.engine.RuleTriggerManager.TriggerTypes;
+
+/**
+ * A {@link TriggerMatcher} is the compiled form of a single item or channel trigger of a rule. It keeps the states,
+ * the command or the event of the trigger in their parsed form, so that matching an event is a simple equals check.
+ * <p>
+ * The values of item triggers can only be parsed with the accepted types of the item. They are parsed when the
+ * matcher is created, if the item is known at that time, and otherwise on the first event. The parsed values are
+ * kept together with the accepted types they have been parsed with and are only parsed again if the item changes
+ * its accepted types, e.g. because it has been replaced by an item of another type.
+ *
+ * @author agent - Initial contribution
+ */
+class TriggerMatcher {
+
+    private final Rule rule;
+    private final TriggerTypes type;
+
+    /**
+     * the old state of a {@link TriggerTypes#CHANGE} trigger or null
+     */
+    private final String oldValue;
+
+    /**
+     * the new state, the command or the channel event of the trigger or null
+     */
+    private final String newValue;
+
+    private volatile ParsedValues parsedValues;
+
+    TriggerMatcher(Rule rule, TriggerTypes type, String oldValue, String newValue) {
+        this.rule = rule;
+        this.type = type;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * Parses the values of the trigger with the accepted types of the given item.
+     *
+     * @param item the item of the trigger
+     */
+    void prepare(Item item) {
+        if (oldValue != null || newValue != null) {
+            getParsedValues(item);
+        }
+    }
+
+    /**
+     * Checks whether the trigger matches an event of an item.
+     *
+     * @param item the item which has received the event
+     * @param oldType the previous state for {@link TriggerTypes#CHANGE} triggers, null otherwise
+     * @param newType the new state or the received command
+     * @return true, if the trigger matches
+     */
+    boolean matches(Item item, Type oldType, Type newType) {
+        if (oldValue == null && newValue == null) {
+            return true;
+        }
+        ParsedValues values = getParsedValues(item);
+        if (oldValue != null && !oldType.equals(values.oldValue)) {
+            return false;
+        }
+        if (newValue != null && !newType.equals(values.newValue)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the trigger matches an event of a channel.
+     *
+     * @param event the event emitted by the channel
+     * @return true, if the trigger matches
+     */
+    boolean matches(String event) {
+        return newValue == null || newValue.equals(event);
+    }
+
+    private ParsedValues getParsedValues(Item item) {
+        ParsedValues values = parsedValues;
+        if (type == TriggerTypes.COMMAND) {
+            List<Class<? extends Command>> commandTypes = item.getAcceptedCommandTypes();
+            if (values == null || !values.isParsedWith(commandTypes)) {
+                values = new ParsedValues(commandTypes, null, TypeParser.parseCommand(commandTypes, newValue));
+                parsedValues = values;
+            }
+        } else {
+            List<Class<? extends State>> dataTypes = item.getAcceptedDataTypes();
+            if (values == null || !values.isParsedWith(dataTypes)) {
+                values = new ParsedValues(dataTypes, parseState(dataTypes, oldValue), parseState(dataTypes, newValue));
+                parsedValues = values;
+            }
+        }
+        return values;
+    }
+
+    private static State parseState(List<Class<? extends State>> types, String value) {
+        return value != null ? TypeParser.parseState(types, value) : null;
+    }
+
+    /**
+     * The values of a trigger parsed with the accepted types of an item. Values which could not be parsed are null,
+     * so they never match.
+     */
+    private static class ParsedValues {
+
+        private final List<?> acceptedTypes;
+        private final Type oldValue;
+        private final Type newValue;
+
+        ParsedValues(List<?> acceptedTypes, Type oldValue, Type newValue) {
+            this.acceptedTypes = acceptedTypes;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        boolean isParsedWith(List<?> types) {
+            // most items return the same list instance for all calls, group items may create a new one
+            return acceptedTypes == types || acceptedTypes.equals(types);
+        }
+    }
+
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.tests.compiler
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import java.nio.charset.StandardCharsets
+
+import org.eclipse.emf.common.util.URI
+import org.eclipse.emf.ecore.resource.Resource
+import org.eclipse.smarthome.core.common.registry.ProviderChangeListener
+import org.eclipse.smarthome.core.events.EventPublisher
+import org.eclipse.smarthome.core.items.Item
+import org.eclipse.smarthome.core.items.ItemProvider
+import org.eclipse.smarthome.core.library.items.NumberItem
+import org.eclipse.smarthome.core.library.items.StringItem
+import org.eclipse.smarthome.core.library.items.SwitchItem
+import org.eclipse.smarthome.core.library.types.DecimalType
+import org.eclipse.smarthome.core.library.types.OnOffType
+import org.eclipse.smarthome.core.library.types.StringType
+import org.eclipse.smarthome.model.rule.RulesStandaloneSetup
+import org.eclipse.smarthome.model.rule.compiler.RuleCompiler
+import org.eclipse.smarthome.model.rule.rules.Rule
+import org.eclipse.smarthome.model.rule.rules.RuleModel
+import org.eclipse.smarthome.model.script.ScriptServiceUtil
+import org.eclipse.smarthome.model.script.engine.Script
+import org.eclipse.smarthome.model.script.engine.ScriptEngine
+import org.eclipse.smarthome.model.script.engine.ScriptExecutionException
+import org.eclipse.smarthome.test.OSGiTest
+import org.eclipse.xtext.resource.XtextResourceSet
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+import com.google.inject.Injector
+
+
+/**
+ * The {@link RuleCompilerOSGiTest} checks that compiled rules behave like interpreted rules.
+ *
+ * @author agent - Initial contribution
+ */
+class RuleCompilerOSGiTest extends OSGiTest {
+
+    static final int ITEM_COUNT = 20
+
+    List<Item> items
+    NumberItem resultItem
+    StringItem namesItem
+    ProviderChangeListener<Item> providerChangeListener
+    ItemProvider itemProvider
+    ScriptEngine scriptEngine
+    Injector injector
+    RuleModel model
+
+    @Before
+    void setUp() {
+        registerVolatileStorageService()
+
+        def EventPublisher eventPublisher = [ post: {def Event -> }] as EventPublisher
+        registerService eventPublisher
+
+        items = []
+        for (int i = 1; i <= ITEM_COUNT; i++) {
+            def switchItem = new SwitchItem("Switch" + i)
+            switchItem.state = i % 2 == 0 ? OnOffType.ON : OnOffType.OFF
+            def numberItem = new NumberItem("Number" + i)
+            numberItem.state = new DecimalType(i)
+            items.add(switchItem)
+            items.add(numberItem)
+        }
+        resultItem = new NumberItem("Result")
+        namesItem = new StringItem("Names")
+        items.add(resultItem)
+        items.add(namesItem)
+
+        itemProvider = [
+            getAll: { items },
+            addProviderChangeListener: { def listener -> providerChangeListener = listener },
+            removeProviderChangeListener: { def listener -> }] as ItemProvider
+        registerService itemProvider
+
+        ScriptServiceUtil scriptServiceUtil = getService(ScriptServiceUtil)
+        assertNotNull(scriptServiceUtil)
+        scriptEngine = scriptServiceUtil.scriptEngine
+        assertNotNull(scriptEngine)
+
+        RulesStandaloneSetup.doSetup()
+        injector = RulesStandaloneSetup.getInjector()
+        model = loadModel(createRules())
+        assertThat injector.getInstance(RuleCompiler).compile(model), is(true)
+    }
+
+    @After
+    void tearDown() {
+        unregisterService itemProvider
+    }
+
+    private String createRules() {
+        StringBuilder rules = new StringBuilder()
+        rules.append("rule \"Sum\"\nwhen\n    Item Switch1 received update\nthen\n    var count = 0\n")
+        for (int i = 1; i <= ITEM_COUNT; i++) {
+            rules.append("    if (Switch${i}.state == ON) count = count + (Number${i}.state as DecimalType).intValue\n")
+        }
+        rules.append("    Result.state = new DecimalType(count)\nend\n\n")
+
+        rules.append("rule \"Names\"\nwhen\n    Item Switch1 received command\nthen\n    val switches = newArrayList(")
+        rules.append((1..ITEM_COUNT).collect { "Switch" + it }.join(", "))
+        rules.append(")\n    Names.state = new StringType(switches.filter[state == ON].map[name].join(\",\"))\nend\n")
+        return rules.toString()
+    }
+
+    private RuleModel loadModel(String content) {
+        XtextResourceSet resourceSet = injector.getInstance(XtextResourceSet)
+        Resource resource = resourceSet.createResource(URI.createURI("Benchmark.rules"))
+        resource.load(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), [:])
+        assertThat resource.errors.isEmpty(), is(true)
+        return resource.contents[0] as RuleModel
+    }
+
+    private Script getInterpretedScript(Rule rule) {
+        return scriptEngine.newScriptFromXExpression(rule.script)
+    }
+
+    private Script getCompiledScript(Rule rule) {
+        Script script = RuleCompiler.getCompiledScript(rule, getInterpretedScript(rule))
+        assertNotNull(script)
+        return script
+    }
+
+    @Test
+    void 'assert that compiled rules have the same effect as interpreted rules'() {
+        int expectedSum = (2..ITEM_COUNT).step(2).sum()
+        String expectedNames = (2..ITEM_COUNT).step(2).collect { "Switch" + it }.join(",")
+
+        for (Rule rule : model.rules) {
+            getInterpretedScript(rule).execute()
+        }
+        assertThat resultItem.state, is(new DecimalType(expectedSum))
+        assertThat namesItem.state, is(new StringType(expectedNames))
+
+        resultItem.state = new DecimalType(0)
+        namesItem.state = new StringType("")
+
+        for (Rule rule : model.rules) {
+            getCompiledScript(rule).execute()
+        }
+        assertThat resultItem.state, is(new DecimalType(expectedSum))
+        assertThat namesItem.state, is(new StringType(expectedNames))
+    }
+
+    @Test
+    void 'assert that compiled rules are interpreted if an item is missing'() {
+        Script script = getCompiledScript(model.rules[0])
+        def removedItem = items.remove(0)
+        providerChangeListener.removed(itemProvider, removedItem)
+
+        try {
+            script.execute()
+            fail("The missing item has not been reported")
+        } catch (ScriptExecutionException e) {
+            assertThat e.message, containsString("Switch1")
+        }
+    }
+}
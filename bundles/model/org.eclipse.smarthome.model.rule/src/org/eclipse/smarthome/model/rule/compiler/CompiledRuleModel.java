@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.compiler;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.model.rule.rules.Rule;
+import org.eclipse.smarthome.model.script.engine.IItemRegistryProvider;
+import org.eclipse.smarthome.model.script.jvmmodel.ScriptItemRefresher;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link CompiledRuleModel} holds the class a rule model has been compiled to. It is attached to the rule model
+ * as an EMF adapter, so it is dropped together with the model.
+ * <p>
+ * The compiled code refers to items through static fields of the class. They are assigned before a rule is executed
+ * whenever the item registry has changed. Items which are missing or have been replaced by an item of another type
+ * cannot be assigned; rules referring to them are executed by the interpreter instead.
+ *
+ * @author agent - Initial contribution
+ */
+class CompiledRuleModel extends AdapterImpl {
+
+    private final Logger logger = LoggerFactory.getLogger(CompiledRuleModel.class);
+
+    private final IItemRegistryProvider itemRegistryProvider;
+
+    /**
+     * the static fields of the items by the names of the items
+     */
+    private final Map<String, Field> itemFields;
+
+    private final Map<Rule, CompiledRule> rules;
+
+    private volatile Set<String> unresolvedItems = Collections.emptySet();
+
+    private volatile long itemRegistryVersion = Long.MIN_VALUE;
+
+    CompiledRuleModel(IItemRegistryProvider itemRegistryProvider, Map<String, Field> itemFields,
+            Map<Rule, CompiledRule> rules) {
+        this.itemRegistryProvider = itemRegistryProvider;
+        this.itemFields = itemFields;
+        this.rules = rules;
+    }
+
+    /**
+     * @param rule a rule of the model
+     * @return the compiled rule or null, if the rule is not part of the model
+     */
+    CompiledRule getRule(Rule rule) {
+        return rules.get(rule);
+    }
+
+    /**
+     * Assigns the items to their fields, if the item registry has changed, and checks whether all of the given items
+     * could be assigned.
+     *
+     * @param itemNames the names of the items a rule refers to
+     * @return true, if all items have been assigned
+     */
+    boolean resolveItems(Set<String> itemNames) {
+        long version = ScriptItemRefresher.getItemRegistryVersion();
+        if (version != itemRegistryVersion) {
+            synchronized (this) {
+                if (version != itemRegistryVersion) {
+                    unresolvedItems = assignItems();
+                    // written last, so that threads reading the new version also see the assigned fields
+                    itemRegistryVersion = version;
+                }
+            }
+        }
+        Set<String> unresolved = unresolvedItems;
+        if (unresolved.isEmpty()) {
+            return true;
+        }
+        for (String itemName : itemNames) {
+            if (unresolved.contains(itemName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Set<String> assignItems() {
+        ItemRegistry itemRegistry = itemRegistryProvider.get();
+        Set<String> unresolved = new HashSet<>();
+        for (Map.Entry<String, Field> entry : itemFields.entrySet()) {
+            String itemName = entry.getKey();
+            Field field = entry.getValue();
+            Item item = itemRegistry != null ? itemRegistry.get(itemName) : null;
+            if (!field.getType().isInstance(item)) {
+                unresolved.add(itemName);
+                item = null;
+            }
+            try {
+                field.set(null, item);
+            } catch (IllegalAccessException e) {
+                logger.debug("Item '{}' cannot be assigned to its field: {}", itemName, e.getMessage());
+                unresolved.add(itemName);
+            }
+        }
+        return unresolved;
+    }
+
+    /**
+     * The method a rule has been compiled to.
+     */
+    static class CompiledRule {
+
+        private final Method method;
+        private final QualifiedName[] parameterNames;
+        private final Set<String> itemNames;
+
+        /**
+         * @param method the static method of the rule
+         * @param parameterNames the names of the variables which are passed as parameters of the method
+         * @param itemNames the names of the items the rule refers to
+         */
+        CompiledRule(Method method, QualifiedName[] parameterNames, Set<String> itemNames) {
+            this.method = method;
+            this.parameterNames = parameterNames;
+            this.itemNames = itemNames;
+        }
+
+        Method getMethod() {
+            return method;
+        }
+
+        QualifiedName[] getParameterNames() {
+            return parameterNames;
+        }
+
+        Set<String> getItemNames() {
+            return itemNames;
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.compiler;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.eclipse.smarthome.model.rule.compiler.CompiledRuleModel.CompiledRule;
+import org.eclipse.smarthome.model.script.engine.Script;
+import org.eclipse.smarthome.model.script.engine.ScriptExecutionException;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.xbase.interpreter.IEvaluationContext;
+
+/**
+ * A {@link Script} which executes a rule by invoking the method it has been compiled to. The variables of the
+ * evaluation context which the rule can refer to, e.g. the received command, are passed as parameters.
+ * <p>
+ * If an item the rule refers to cannot be assigned to its field, the rule is executed by the interpreted script
+ * instead, which reports unknown items the same way as before.
+ *
+ * @author agent - Initial contribution
+ */
+@SuppressWarnings("restriction")
+class CompiledRuleScript implements Script {
+
+    private final CompiledRuleModel model;
+    private final CompiledRule rule;
+    private final Script interpretedScript;
+
+    CompiledRuleScript(CompiledRuleModel model, CompiledRule rule, Script interpretedScript) {
+        this.model = model;
+        this.rule = rule;
+        this.interpretedScript = interpretedScript;
+    }
+
+    @Override
+    public Object execute() throws ScriptExecutionException {
+        if (!model.resolveItems(rule.getItemNames())) {
+            return interpretedScript.execute();
+        }
+        return invoke(null);
+    }
+
+    @Override
+    public Object execute(IEvaluationContext evaluationContext) throws ScriptExecutionException {
+        if (!model.resolveItems(rule.getItemNames())) {
+            return interpretedScript.execute(evaluationContext);
+        }
+        return invoke(evaluationContext);
+    }
+
+    private Object invoke(IEvaluationContext evaluationContext) throws ScriptExecutionException {
+        QualifiedName[] parameterNames = rule.getParameterNames();
+        Object[] args = new Object[parameterNames.length];
+        if (evaluationContext != null) {
+            for (int i = 0; i < parameterNames.length; i++) {
+                args[i] = evaluationContext.getValue(parameterNames[i]);
+            }
+        }
+        try {
+            return rule.getMethod().invoke(null, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            // the rule engine expects a message, which is missing e.g. for a NullPointerException
+            String message = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+            throw new ScriptExecutionException(message, cause);
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            throw new ScriptExecutionException("An error occured during the script execution: " + e.getMessage(),
+                    e);
+        }
+    }
+
+}
@@ -0,0 +1,327 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.compiler;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.types.Type;
+import org.eclipse.smarthome.model.rule.compiler.CompiledRuleModel.CompiledRule;
+import org.eclipse.smarthome.model.rule.rules.Rule;
+import org.eclipse.smarthome.model.rule.rules.RuleModel;
+import org.eclipse.smarthome.model.script.ScriptServiceUtil;
+import org.eclipse.smarthome.model.script.engine.IItemRegistryProvider;
+import org.eclipse.smarthome.model.script.engine.Script;
+import org.eclipse.smarthome.model.script.engine.action.ActionService;
+import org.eclipse.smarthome.model.script.scoping.StateAndCommandProvider;
+import org.eclipse.xtext.EcoreUtil2;
+import org.eclipse.xtext.common.types.JvmField;
+import org.eclipse.xtext.common.types.JvmFormalParameter;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.xbase.XAbstractFeatureCall;
+import org.eclipse.xtext.xbase.compiler.IGeneratorConfigProvider;
+import org.eclipse.xtext.xbase.compiler.JvmModelGenerator;
+import org.eclipse.xtext.xbase.jvmmodel.IJvmModelAssociations;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * The {@link RuleCompiler} compiles the rules of a rule model to byte code, so that they do not need to be
+ * interpreted on every execution.
+ * <p>
+ * The Java source of the class which has been inferred from the model is generated by the Xbase compiler and
+ * compiled by the Java compiler of the running JDK into memory. The rules become static methods of this class. If a
+ * model cannot be compiled, e.g. because no Java compiler is available or the generated code contains errors, its
+ * rules are interpreted as before. Models which declare variables are always interpreted, as their variables are
+ * shared with the interpreted scripts of the model.
+ *
+ * @author agent - Initial contribution
+ */
+@Singleton
+@SuppressWarnings("restriction")
+public class RuleCompiler {
+
+    private final Logger logger = LoggerFactory.getLogger(RuleCompiler.class);
+
+    private static final List<String> COMPILER_OPTIONS = Arrays.asList("-g", "-nowarn", "-proc:none");
+
+    @Inject
+    private JvmModelGenerator generator;
+
+    @Inject
+    private IGeneratorConfigProvider generatorConfigProvider;
+
+    @Inject
+    private IJvmModelAssociations associations;
+
+    @Inject
+    private StateAndCommandProvider stateAndCommandProvider;
+
+    @Inject
+    private IItemRegistryProvider itemRegistryProvider;
+
+    @Inject
+    private ClassLoader classLoader;
+
+    /**
+     * Compiles the rules of a model. The compiled rules can be retrieved by {@link #getCompiledScript(Rule, Script)}
+     * until the model is reloaded.
+     *
+     * @param model the rule model
+     * @return true, if the model has been compiled
+     */
+    public boolean compile(RuleModel model) {
+        String modelName = model.eResource().getURI().lastSegment();
+        if (!model.getVariables().isEmpty()) {
+            logger.debug("Rule file '{}' declares variables, its rules are interpreted.", modelName);
+            return false;
+        }
+        if (!model.eResource().getErrors().isEmpty()) {
+            logger.debug("Rule file '{}' contains errors, its rules are interpreted.", modelName);
+            return false;
+        }
+        JvmGenericType type = getInferredType(model);
+        if (type == null) {
+            return false;
+        }
+        JavaCompiler compiler = getJavaCompiler();
+        if (compiler == null) {
+            logger.warn("Rule file '{}' cannot be compiled as no Java compiler is available, its rules are interpreted.",
+                    modelName);
+            return false;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            Class<?> rulesClass = compile(compiler, type, model);
+            if (rulesClass == null) {
+                return false;
+            }
+            CompiledRuleModel compiledModel = createCompiledModel(model, type, rulesClass);
+            // the adapters of the model are read by the threads which execute its rules
+            synchronized (model) {
+                model.eAdapters().add(compiledModel);
+            }
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            logger.info("Rule file '{}' cannot be compiled, its rules are interpreted: {}", modelName, e.toString());
+            return false;
+        }
+        logger.debug("Compiled rule file '{}' in {}ms", modelName, System.currentTimeMillis() - start);
+        return true;
+    }
+
+    /**
+     * Returns the compiled form of a rule.
+     *
+     * @param rule the rule
+     * @param interpretedScript the interpreted script of the rule, which is used if items the rule refers to are not
+     *            available
+     * @return the compiled script of the rule or null, if the model of the rule has not been compiled
+     */
+    public static Script getCompiledScript(Rule rule, Script interpretedScript) {
+        EObject model = rule.eContainer();
+        if (model == null) {
+            return null;
+        }
+        synchronized (model) {
+            for (Adapter adapter : model.eAdapters()) {
+                if (adapter instanceof CompiledRuleModel) {
+                    CompiledRuleModel compiledModel = (CompiledRuleModel) adapter;
+                    CompiledRule compiledRule = compiledModel.getRule(rule);
+                    if (compiledRule == null) {
+                        return null;
+                    }
+                    return new CompiledRuleScript(compiledModel, compiledRule, interpretedScript);
+                }
+            }
+        }
+        return null;
+    }
+
+    private JvmGenericType getInferredType(RuleModel model) {
+        for (EObject element : associations.getJvmElements(model)) {
+            if (element instanceof JvmGenericType) {
+                return (JvmGenericType) element;
+            }
+        }
+        return null;
+    }
+
+    private static JavaCompiler getJavaCompiler() {
+        try {
+            return ToolProvider.getSystemJavaCompiler();
+        } catch (NoClassDefFoundError e) {
+            // javax.tools is not available in the runtime
+            return null;
+        }
+    }
+
+    private Class<?> compile(JavaCompiler compiler, JvmGenericType type, RuleModel model)
+            throws ClassNotFoundException {
+        String className = type.getQualifiedName();
+        CharSequence source = generator.generateType(type, generatorConfigProvider.get(model));
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        RuleFileManager fileManager = new RuleFileManager(
+                compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8), getBundleContext());
+        for (ActionService actionService : getActionServices()) {
+            fileManager.addPackageOf(actionService.getActionClass());
+        }
+        JavaFileObject sourceFile = new RuleFileManager.SourceFile(className, source);
+        boolean success = compiler.getTask(null, fileManager, diagnostics, COMPILER_OPTIONS, null,
+                Collections.singletonList(sourceFile)).call();
+        if (!success) {
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                    logger.info("Rule file '{}' cannot be compiled, its rules are interpreted: {} (line {})",
+                            model.eResource().getURI().lastSegment(), diagnostic.getMessage(null),
+                            diagnostic.getLineNumber());
+                    break;
+                }
+            }
+            logger.debug("Generated source of rule file '{}':\n{}", model.eResource().getURI().lastSegment(),
+                    source);
+            return null;
+        }
+        return new CompiledRuleClassLoader(classLoader, fileManager.getClasses()).loadClass(className);
+    }
+
+    private CompiledRuleModel createCompiledModel(RuleModel model, JvmGenericType type, Class<?> rulesClass)
+            throws ReflectiveOperationException {
+        Map<String, Field> itemFields = new HashMap<>();
+        for (JvmField jvmField : type.getDeclaredFields()) {
+            Field field = rulesClass.getDeclaredField(jvmField.getSimpleName());
+            if (!Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            field.setAccessible(true);
+            if (Item.class.isAssignableFrom(field.getType())) {
+                itemFields.put(jvmField.getSimpleName(), field);
+            } else if (Type.class.isAssignableFrom(field.getType())) {
+                Type value = stateAndCommandProvider.getType(jvmField.getSimpleName());
+                if (field.getType().isInstance(value)) {
+                    field.set(null, value);
+                }
+            }
+        }
+
+        Map<Rule, CompiledRule> rules = new HashMap<>();
+        for (Rule rule : model.getRules()) {
+            JvmOperation operation = getInferredOperation(rule);
+            if (operation == null) {
+                throw new NoSuchMethodException("No method has been inferred for rule '" + rule.getName() + "'");
+            }
+            List<JvmFormalParameter> parameters = operation.getParameters();
+            QualifiedName[] parameterNames = new QualifiedName[parameters.size()];
+            for (int i = 0; i < parameterNames.length; i++) {
+                parameterNames[i] = QualifiedName.create(parameters.get(i).getName());
+            }
+            Method method = getMethod(rulesClass, operation.getSimpleName(), parameterNames.length);
+            method.setAccessible(true);
+            rules.put(rule, new CompiledRule(method, parameterNames, getReferencedItems(rule, type, itemFields)));
+        }
+        return new CompiledRuleModel(itemRegistryProvider, itemFields, rules);
+    }
+
+    private JvmOperation getInferredOperation(Rule rule) {
+        for (EObject element : associations.getJvmElements(rule)) {
+            if (element instanceof JvmOperation) {
+                return (JvmOperation) element;
+            }
+        }
+        return null;
+    }
+
+    private static Method getMethod(Class<?> rulesClass, String name, int parameterCount)
+            throws NoSuchMethodException {
+        for (Method method : rulesClass.getDeclaredMethods()) {
+            if (method.getName().equals(name) && method.getParameterTypes().length == parameterCount
+                    && Modifier.isStatic(method.getModifiers())) {
+                return method;
+            }
+        }
+        throw new NoSuchMethodException(rulesClass.getName() + "." + name);
+    }
+
+    private static Set<String> getReferencedItems(Rule rule, JvmGenericType type, Map<String, Field> itemFields) {
+        Set<String> itemNames = new HashSet<>();
+        for (XAbstractFeatureCall featureCall : EcoreUtil2.eAllOfType(rule.getScript(), XAbstractFeatureCall.class)) {
+            if (featureCall.getFeature() instanceof JvmField) {
+                JvmField field = (JvmField) featureCall.getFeature();
+                if (field.getDeclaringType() == type && itemFields.containsKey(field.getSimpleName())) {
+                    itemNames.add(field.getSimpleName());
+                }
+            }
+        }
+        return itemNames;
+    }
+
+    private static List<ActionService> getActionServices() {
+        try {
+            return ScriptServiceUtil.getActionServices();
+        } catch (IllegalStateException e) {
+            // the script services are not available outside of an OSGi framework
+            return Collections.emptyList();
+        }
+    }
+
+    private static BundleContext getBundleContext() {
+        Bundle bundle = FrameworkUtil.getBundle(RuleCompiler.class);
+        return bundle != null ? bundle.getBundleContext() : null;
+    }
+
+    /**
+     * Loads the compiled classes of a rule model. All other classes are loaded by the class loader of the rule
+     * language, which also knows the classes of the action services.
+     */
+    private static class CompiledRuleClassLoader extends ClassLoader {
+
+        private final Map<String, byte[]> classes;
+
+        CompiledRuleClassLoader(ClassLoader parent, Map<String, byte[]> classes) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+}
@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.wiring.BundleCapability;
+import org.osgi.framework.wiring.BundleRevision;
+import org.osgi.framework.wiring.BundleWiring;
+
+/**
+ * The {@link RuleFileManager} lets the Java compiler read the classes which rules refer to and keeps the compiled
+ * classes in memory.
+ * <p>
+ * Within an OSGi framework the class path of the application is not visible to the compiler, so the classes of a
+ * package are listed from the bundle which exports the package. Outside of OSGi the standard class path is used.
+ *
+ * @author agent - Initial contribution
+ */
+class RuleFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+    /**
+     * the bundles by the packages they export or null, if the standard class path is used
+     */
+    private final Map<String, BundleWiring> packageProviders;
+
+    private final Map<String, ClassFile> classFiles = new HashMap<>();
+
+    RuleFileManager(StandardJavaFileManager fileManager, BundleContext bundleContext) {
+        super(fileManager);
+        this.packageProviders = bundleContext != null ? getPackageProviders(bundleContext) : null;
+    }
+
+    private static Map<String, BundleWiring> getPackageProviders(BundleContext bundleContext) {
+        Map<String, BundleWiring> providers = new HashMap<>();
+        for (Bundle bundle : bundleContext.getBundles()) {
+            // the packages of the system bundle are found on the platform class path
+            if (bundle.getBundleId() == 0) {
+                continue;
+            }
+            BundleWiring wiring = bundle.adapt(BundleWiring.class);
+            if (wiring == null || !wiring.isInUse()) {
+                continue;
+            }
+            for (BundleCapability capability : wiring.getCapabilities(BundleRevision.PACKAGE_NAMESPACE)) {
+                Object packageName = capability.getAttributes().get(BundleRevision.PACKAGE_NAMESPACE);
+                if (packageName instanceof String && !providers.containsKey(packageName)) {
+                    providers.put((String) packageName, wiring);
+                }
+            }
+        }
+        return providers;
+    }
+
+    /**
+     * Makes the classes of the package of the given class visible to the compiler, even if the package is not
+     * exported by its bundle, e.g. for the classes of action services.
+     *
+     * @param clazz a class the compiled code may refer to
+     */
+    void addPackageOf(Class<?> clazz) {
+        if (packageProviders == null || clazz.getPackage() == null) {
+            return;
+        }
+        String packageName = clazz.getPackage().getName();
+        if (!packageProviders.containsKey(packageName)) {
+            Bundle bundle = FrameworkUtil.getBundle(clazz);
+            BundleWiring wiring = bundle != null ? bundle.adapt(BundleWiring.class) : null;
+            if (wiring != null) {
+                packageProviders.put(packageName, wiring);
+            }
+        }
+    }
+
+    /**
+     * @return the byte code of the compiled classes by their binary names
+     */
+    Map<String, byte[]> getClasses() {
+        Map<String, byte[]> classes = new HashMap<>();
+        for (Map.Entry<String, ClassFile> entry : classFiles.entrySet()) {
+            classes.put(entry.getKey(), entry.getValue().getBytes());
+        }
+        return classes;
+    }
+
+    @Override
+    public Iterable<JavaFileObject> list(Location location, String packageName, Set<Kind> kinds, boolean recurse)
+            throws IOException {
+        if (location != StandardLocation.CLASS_PATH || packageProviders == null) {
+            return super.list(location, packageName, kinds, recurse);
+        }
+        BundleWiring wiring = packageProviders.get(packageName);
+        if (wiring == null || !kinds.contains(Kind.CLASS)) {
+            return Collections.emptyList();
+        }
+        Collection<String> resources = wiring.listResources(packageName.replace('.', '/'), "*.class",
+                BundleWiring.LISTRESOURCES_LOCAL);
+        List<JavaFileObject> files = new ArrayList<>(resources.size());
+        for (String resource : resources) {
+            files.add(new BundleClassFile(wiring, resource));
+        }
+        return files;
+    }
+
+    @Override
+    public String inferBinaryName(Location location, JavaFileObject file) {
+        if (file instanceof BundleClassFile) {
+            return ((BundleClassFile) file).getBinaryName();
+        }
+        return super.inferBinaryName(location, file);
+    }
+
+    @Override
+    public boolean isSameFile(FileObject a, FileObject b) {
+        if (a instanceof BundleClassFile || b instanceof BundleClassFile) {
+            return a.toUri().equals(b.toUri());
+        }
+        return super.isSameFile(a, b);
+    }
+
+    @Override
+    public boolean hasLocation(Location location) {
+        return location == StandardLocation.CLASS_PATH || super.hasLocation(location);
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(Location location, String className, Kind kind, FileObject sibling)
+            throws IOException {
+        ClassFile classFile = new ClassFile(className);
+        classFiles.put(className, classFile);
+        return classFile;
+    }
+
+    /**
+     * The source code of a rule model.
+     */
+    static class SourceFile extends SimpleJavaFileObject {
+
+        private final CharSequence source;
+
+        SourceFile(String className, CharSequence source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    /**
+     * A class compiled into memory.
+     */
+    private static class ClassFile extends SimpleJavaFileObject {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        ClassFile(String className) {
+            super(URI.create("mem:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return bytes;
+        }
+
+        byte[] getBytes() {
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * A class contained in a bundle.
+     */
+    private static class BundleClassFile extends SimpleJavaFileObject {
+
+        private final BundleWiring wiring;
+        private final String resource;
+
+        BundleClassFile(BundleWiring wiring, String resource) {
+            super(URI.create("bundle://" + wiring.getBundle().getBundleId() + "/" + resource), Kind.CLASS);
+            this.wiring = wiring;
+            this.resource = resource;
+        }
+
+        String getBinaryName() {
+            return resource.substring(0, resource.length() - Kind.CLASS.extension.length()).replace('/', '.');
+        }
+
+        @Override
+        public InputStream openInputStream() throws IOException {
+            InputStream stream = wiring.getClassLoader().getResourceAsStream(resource);
+            if (stream == null) {
+                throw new IOException("Class file '" + resource + "' cannot be read from bundle "
+                        + wiring.getBundle().getSymbolicName());
+            }
+            return stream;
+        }
+    }
+
+}
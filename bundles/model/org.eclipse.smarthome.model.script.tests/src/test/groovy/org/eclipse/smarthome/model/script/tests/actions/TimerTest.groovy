@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.script.tests.actions
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ScheduledThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import org.eclipse.smarthome.core.common.ThreadPoolManager
+import org.eclipse.smarthome.model.script.actions.ScriptExecution
+import org.eclipse.smarthome.model.script.actions.Timer
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure0
+import org.joda.time.DateTime
+import org.junit.Test
+
+/**
+ * Tests the timers created by {@link ScriptExecution#createTimer}, which are scheduled on the "scriptTimer" thread
+ * pool.
+ *
+ * @author agent - Initial contribution
+ */
+class TimerTest {
+
+    @Test
+    void 'assert that a timer executes its closure at its start time'() {
+        def executed = new CountDownLatch(1)
+        long start = System.currentTimeMillis()
+        Timer timer = ScriptExecution.createTimer(DateTime.now().plusMillis(200),
+                { executed.countDown() } as Procedure0)
+
+        assertThat timer.hasTerminated(), is(false)
+        assertThat executed.await(10, TimeUnit.SECONDS), is(true)
+        assertThat System.currentTimeMillis() - start >= 150, is(true)
+        waitForCondition { timer.hasTerminated() }
+        assertThat timer.isRunning(), is(false)
+    }
+
+    @Test
+    void 'assert that a timer reports that it is running while its closure is executed'() {
+        def started = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        Timer timer = ScriptExecution.createTimer(DateTime.now(), {
+            started.countDown()
+            release.await(10, TimeUnit.SECONDS)
+        } as Procedure0)
+
+        assertThat started.await(10, TimeUnit.SECONDS), is(true)
+        assertThat timer.isRunning(), is(true)
+        assertThat timer.hasTerminated(), is(false)
+
+        release.countDown()
+        waitForCondition { timer.hasTerminated() }
+        assertThat timer.isRunning(), is(false)
+    }
+
+    @Test
+    void 'assert that a cancelled timer is not executed and removed from the scheduler'() {
+        def executions = new AtomicInteger()
+        def queue = ((ScheduledThreadPoolExecutor) ThreadPoolManager.getScheduledPool("scriptTimer")).getQueue()
+        Timer timer = ScriptExecution.createTimer(DateTime.now().plusSeconds(60),
+                { executions.incrementAndGet() } as Procedure0)
+        int queued = queue.size()
+
+        assertThat timer.cancel(), is(true)
+
+        assertThat queue.size(), is(queued - 1)
+        assertThat executions.get(), is(0)
+        assertThat timer.hasTerminated(), is(false)
+    }
+
+    @Test
+    void 'assert that a timer can be rescheduled to an earlier time'() {
+        def executed = new CountDownLatch(1)
+        def executions = new AtomicInteger()
+        Timer timer = ScriptExecution.createTimer(DateTime.now().plusSeconds(60), {
+            executions.incrementAndGet()
+            executed.countDown()
+        } as Procedure0)
+
+        assertThat timer.reschedule(DateTime.now().plusMillis(100)), is(true)
+
+        assertThat executed.await(10, TimeUnit.SECONDS), is(true)
+        waitForCondition { timer.hasTerminated() }
+        assertThat executions.get(), is(1)
+    }
+
+    @Test
+    void 'assert that a cancelled timer can be rescheduled'() {
+        def executed = new CountDownLatch(1)
+        Timer timer = ScriptExecution.createTimer(DateTime.now().plusSeconds(60),
+                { executed.countDown() } as Procedure0)
+        timer.cancel()
+
+        assertThat timer.reschedule(DateTime.now()), is(true)
+
+        assertThat executed.await(10, TimeUnit.SECONDS), is(true)
+    }
+
+    @Test
+    void 'assert that a timer which is rescheduled by its closure does not terminate'() {
+        def executions = new AtomicInteger()
+        def executedTwice = new CountDownLatch(2)
+        Timer timer
+        // the closure uses the timer, so it must not be executed before the timer has been assigned
+        timer = ScriptExecution.createTimer(DateTime.now().plusMillis(200), {
+            if (executions.incrementAndGet() == 1) {
+                timer.reschedule(DateTime.now().plusSeconds(60))
+            }
+            executedTwice.countDown()
+        } as Procedure0)
+
+        waitForCondition { executions.get() == 1 && !timer.isRunning() }
+        assertThat timer.hasTerminated(), is(false)
+
+        timer.reschedule(DateTime.now())
+        assertThat executedTwice.await(10, TimeUnit.SECONDS), is(true)
+        waitForCondition { timer.hasTerminated() }
+        assertThat executions.get(), is(2)
+    }
+
+    private void waitForCondition(Closure<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 10000
+        while (!condition() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        assertThat condition(), is(true)
+    }
+}
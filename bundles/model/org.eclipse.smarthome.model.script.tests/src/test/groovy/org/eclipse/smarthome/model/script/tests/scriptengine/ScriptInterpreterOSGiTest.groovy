@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.script.tests.scriptengine
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.smarthome.core.common.registry.ProviderChangeListener
+import org.eclipse.smarthome.core.events.EventPublisher
+import org.eclipse.smarthome.core.items.Item
+import org.eclipse.smarthome.core.items.ItemProvider
+import org.eclipse.smarthome.core.library.items.NumberItem
+import org.eclipse.smarthome.core.library.items.SwitchItem
+import org.eclipse.smarthome.core.library.types.DecimalType
+import org.eclipse.smarthome.core.library.types.OnOffType
+import org.eclipse.smarthome.model.script.ScriptServiceUtil
+import org.eclipse.smarthome.model.script.engine.Script
+import org.eclipse.smarthome.model.script.engine.ScriptEngine
+import org.eclipse.smarthome.test.OSGiTest
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+
+/**
+ * The {@link ScriptInterpreterOSGiTest} tests the resolution of states, commands and items by the script interpreter
+ * when they are referenced by scripts.
+ *
+ * @author agent - Initial contribution
+ */
+class ScriptInterpreterOSGiTest extends OSGiTest {
+
+    static final int ITEM_COUNT = 20
+
+    List<Item> items
+    ProviderChangeListener<Item> providerChangeListener
+    ItemProvider itemProvider
+    ScriptEngine scriptEngine
+
+    @Before
+    void setUp() {
+        registerVolatileStorageService()
+
+        def EventPublisher eventPublisher = [ post: {def Event -> }] as EventPublisher
+        registerService eventPublisher
+
+        items = []
+        for (int i = 1; i <= ITEM_COUNT; i++) {
+            def switchItem = new SwitchItem("Switch" + i)
+            switchItem.state = i % 2 == 0 ? OnOffType.ON : OnOffType.OFF
+            def numberItem = new NumberItem("Number" + i)
+            numberItem.state = new DecimalType(i)
+            items.add(switchItem)
+            items.add(numberItem)
+        }
+
+        itemProvider = [
+            getAll: { items },
+            addProviderChangeListener: { def listener -> providerChangeListener = listener },
+            removeProviderChangeListener: { def listener -> }] as ItemProvider
+        registerService itemProvider
+
+        ScriptServiceUtil scriptServiceUtil = getService(ScriptServiceUtil)
+        assertNotNull(scriptServiceUtil)
+        scriptEngine = scriptServiceUtil.scriptEngine
+        assertNotNull(scriptEngine)
+    }
+
+    @After
+    void tearDown() {
+        unregisterService itemProvider
+    }
+
+    @Test
+    void 'assert that states, commands and items are resolved'() {
+        Script script = scriptEngine.newScriptFromString("""
+			if (Switch2.state == ON && Switch1.state == OFF) Number1.state else UNDEF
+		""")
+
+        assertThat script.execute(), is(new DecimalType(1))
+        // the second evaluation uses the resolved fields
+        assertThat script.execute(), is(new DecimalType(1))
+    }
+
+    @Test
+    void 'assert that resolved items are refreshed after the item registry has changed'() {
+        Script script = scriptEngine.newScriptFromString("Switch1")
+        def oldItem = items[0]
+        assertThat script.execute(), is(sameInstance(oldItem))
+
+        def newItem = new SwitchItem("Switch1")
+        items[0] = newItem
+        providerChangeListener.updated(itemProvider, oldItem, newItem)
+
+        assertThat script.execute(), is(sameInstance(newItem))
+    }
+}
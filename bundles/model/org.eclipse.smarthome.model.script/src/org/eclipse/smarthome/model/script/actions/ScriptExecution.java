@@ -7,25 +7,16 @@
  */
 package org.eclipse.smarthome.model.script.actions;
 
-import static org.quartz.JobBuilder.newJob;
-import static org.quartz.TriggerBuilder.newTrigger;
-
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.model.core.ModelRepository;
 import org.eclipse.smarthome.model.script.ScriptServiceUtil;
 import org.eclipse.smarthome.model.script.engine.Script;
 import org.eclipse.smarthome.model.script.engine.ScriptEngine;
 import org.eclipse.smarthome.model.script.engine.ScriptExecutionException;
-import org.eclipse.smarthome.model.script.internal.actions.TimerExecutionJob;
 import org.eclipse.smarthome.model.script.internal.actions.TimerImpl;
 import org.eclipse.xtext.xbase.XExpression;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure0;
 import org.joda.time.base.AbstractInstant;
-import org.quartz.JobDataMap;
-import org.quartz.JobDetail;
-import org.quartz.JobKey;
-import org.quartz.SchedulerException;
-import org.quartz.Trigger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,23 +73,12 @@ public class ScriptExecution {
      */
     public static Timer createTimer(AbstractInstant instant, Procedure0 closure) {
         Logger logger = LoggerFactory.getLogger(ScriptExecution.class);
-        JobKey jobKey = new JobKey(instant.toString() + ": " + closure.toString());
-        Trigger trigger = newTrigger().startAt(instant.toDate()).build();
-        Timer timer = new TimerImpl(jobKey, trigger.getKey(), instant);
-        try {
-            JobDataMap dataMap = new JobDataMap();
-            dataMap.put("procedure", closure);
-            dataMap.put("timer", timer);
-            JobDetail job = newJob(TimerExecutionJob.class).withIdentity(jobKey).usingJobData(dataMap).build();
-            if (TimerImpl.scheduler.checkExists(job.getKey())) {
-                TimerImpl.scheduler.deleteJob(job.getKey());
-                logger.debug("Deleted existing Job {}", job.getKey().toString());
-            }
-            TimerImpl.scheduler.scheduleJob(job, trigger);
+        TimerImpl timer = new TimerImpl(instant, closure);
+        if (timer.schedule()) {
             logger.debug("Scheduled code for execution at {}", instant.toString());
             return timer;
-        } catch (SchedulerException e) {
-            logger.error("Failed to schedule code for execution.", e);
+        } else {
+            logger.error("Failed to schedule code for execution.");
             return null;
         }
     }
@@ -7,98 +7,124 @@
  */
 package org.eclipse.smarthome.model.script.internal.actions;
 
-import static org.quartz.TriggerBuilder.newTrigger;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.model.script.actions.Timer;
-import org.joda.time.DateTime;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure0;
 import org.joda.time.base.AbstractInstant;
-import org.quartz.JobExecutionContext;
-import org.quartz.JobKey;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
-import org.quartz.Trigger;
-import org.quartz.TriggerKey;
-import org.quartz.impl.StdSchedulerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This is an implementation of the {@link Timer} interface using the Quartz
- * library for scheduling.
+ * This is an implementation of the {@link Timer} interface using a scheduled thread pool of the
+ * {@link ThreadPoolManager}. A timer keeps the future of its scheduled execution, so cancelling and rescheduling it
+ * does not need any lookups.
  *
  * @author Kai Kreuzer - Initial contribution and API
  *
  */
 public class TimerImpl implements Timer {
 
+    private static final String THREAD_POOL_NAME = "scriptTimer";
+
     private final Logger logger = LoggerFactory.getLogger(TimerImpl.class);
 
     // the scheduler used for timer events
-    public static Scheduler scheduler;
+    private static final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME);
 
     static {
-        try {
-            scheduler = StdSchedulerFactory.getDefaultScheduler();
-        } catch (SchedulerException e) {
-            LoggerFactory.getLogger(TimerImpl.class).error("initializing scheduler throws exception", e);
+        // scripts may cancel and reschedule many timers, which should not stay in the queue until they are due
+        if (scheduler instanceof ScheduledThreadPoolExecutor) {
+            ((ScheduledThreadPoolExecutor) scheduler).setRemoveOnCancelPolicy(true);
         }
     }
 
-    private JobKey jobKey;
-    private TriggerKey triggerKey;
+    private final Procedure0 closure;
+
     private AbstractInstant startTime;
+    private ScheduledFuture<?> future;
+
+    /**
+     * the number of the current schedule, which is used to ignore executions of earlier schedules
+     */
+    private int generation;
 
     private boolean cancelled = false;
-    private boolean terminated = false;
+    private volatile boolean running = false;
+    private volatile boolean terminated = false;
 
-    public TimerImpl(JobKey jobKey, TriggerKey triggerKey, AbstractInstant startTime) {
-        this.jobKey = jobKey;
-        this.triggerKey = triggerKey;
+    public TimerImpl(AbstractInstant startTime, Procedure0 closure) {
         this.startTime = startTime;
+        this.closure = closure;
     }
 
-    @Override
-    public boolean cancel() {
+    /**
+     * Schedules the execution of the timer at its start time.
+     *
+     * @return true, if the timer has been scheduled
+     */
+    public synchronized boolean schedule() {
+        final int scheduledGeneration = ++generation;
+        long delay = Math.max(0, startTime.getMillis() - System.currentTimeMillis());
         try {
-            boolean result = scheduler.deleteJob(jobKey);
-            if (result) {
-                cancelled = true;
+            future = scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    execute(scheduledGeneration);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            logger.warn("An error occured while scheduling the timer for '{}': {}", startTime, e.getMessage());
+            return false;
+        }
+    }
+
+    private void execute(int scheduledGeneration) {
+        logger.debug("Executing timer scheduled for '{}'", startTime);
+        running = true;
+        try {
+            closure.apply();
+        } catch (RuntimeException e) {
+            logger.error("An error occured while executing the timer scheduled for '{}'", startTime, e);
+        } finally {
+            running = false;
+            synchronized (this) {
+                // the timer might have been rescheduled during its execution
+                if (scheduledGeneration == generation) {
+                    terminated = true;
+                }
             }
-        } catch (SchedulerException e) {
-            logger.warn("An error occured while cancelling the job '{}': {}", jobKey.toString(), e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized boolean cancel() {
+        if (future != null && future.cancel(false)) {
+            cancelled = true;
         }
         return cancelled;
     }
 
     @Override
-    public boolean reschedule(AbstractInstant newTime) {
-        try {
-            Trigger trigger = newTrigger().startAt(newTime.toDate()).build();
-            scheduler.rescheduleJob(triggerKey, trigger);
-            this.triggerKey = trigger.getKey();
-            this.cancelled = false;
-            this.terminated = false;
-            return true;
-        } catch (SchedulerException e) {
-            logger.warn("An error occured while rescheduling the job '{}': {}", jobKey.toString(), e.getMessage());
-            return false;
+    public synchronized boolean reschedule(AbstractInstant newTime) {
+        if (future != null) {
+            future.cancel(false);
         }
+        this.startTime = newTime;
+        this.cancelled = false;
+        this.terminated = false;
+        return schedule();
     }
 
     @Override
     public boolean isRunning() {
-        try {
-            for (JobExecutionContext context : scheduler.getCurrentlyExecutingJobs()) {
-                if (context.getJobDetail().getKey().equals(jobKey)) {
-                    return true;
-                }
-            }
-            return false;
-        } catch (SchedulerException e) {
-            // fallback implementation
-            logger.debug("An error occured getting currently running jobs: {}", e.getMessage());
-            return DateTime.now().isAfter(startTime) && !terminated;
-        }
+        return running;
     }
 
     @Override
@@ -106,7 +132,4 @@ public class TimerImpl implements Timer {
         return terminated;
     }
 
-    public void setTerminated(boolean terminated) {
-        this.terminated = terminated;
-    }
 }
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.script.interpreter;
+
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.types.Type;
+import org.eclipse.xtext.naming.QualifiedName;
+
+/**
+ * The {@link FieldResolution} keeps what the {@link ScriptInterpreter} has found out about a field of a script, so
+ * that it does not need to be resolved again on every evaluation.
+ * <p>
+ * Fields which are inferred from states and commands are resolved once. Fields which are inferred from items keep
+ * the resolved item together with the version of the item registry it has been looked up in, so the item is looked
+ * up again after the item registry has changed.
+ *
+ * @author agent - Initial contribution
+ */
+public class FieldResolution {
+
+    private final String name;
+    private final QualifiedName qualifiedName;
+    private final boolean inferred;
+    private final Type type;
+
+    private volatile ItemHandle itemHandle;
+
+    /**
+     * Creates the resolution of a field.
+     *
+     * @param name the simple name of the field
+     * @param inferred true, if the field has been inferred from a state, a command or an item
+     * @param type the state or command with the name of the field, or null
+     */
+    public FieldResolution(String name, boolean inferred, Type type) {
+        this.name = name;
+        this.qualifiedName = QualifiedName.create(name);
+        this.inferred = inferred;
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public QualifiedName getQualifiedName() {
+        return qualifiedName;
+    }
+
+    public boolean isInferred() {
+        return inferred;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Checks whether the item of the field has been resolved in the given version of the item registry.
+     *
+     * @param version the current version of the item registry
+     * @return true, if {@link #getItem()} returns the item of this version
+     */
+    public boolean isItemResolved(long version) {
+        ItemHandle handle = itemHandle;
+        return handle != null && handle.version == version;
+    }
+
+    /**
+     * @return the last resolved item, or null if there is no item with the name of the field
+     */
+    public Item getItem() {
+        ItemHandle handle = itemHandle;
+        return handle != null ? handle.item : null;
+    }
+
+    /**
+     * Keeps the item of the field.
+     *
+     * @param item the item or null, if there is no item with the name of the field
+     * @param version the version of the item registry read before the item has been looked up
+     */
+    public void setItem(Item item, long version) {
+        itemHandle = new ItemHandle(item, version);
+    }
+
+    private static class ItemHandle {
+
+        private final Item item;
+        private final long version;
+
+        ItemHandle(Item item, long version) {
+            this.item = item;
+            this.version = version;
+        }
+    }
+
+}
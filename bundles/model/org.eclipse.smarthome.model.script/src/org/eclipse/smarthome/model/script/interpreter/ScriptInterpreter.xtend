@@ -7,15 +7,17 @@
  */
 package org.eclipse.smarthome.model.script.interpreter;
 
+import com.google.common.collect.MapMaker
 import com.google.inject.Inject
+import java.util.Map
 import org.eclipse.smarthome.core.items.Item
 import org.eclipse.smarthome.core.items.ItemNotFoundException
 import org.eclipse.smarthome.core.types.Type
 import org.eclipse.smarthome.model.script.engine.IItemRegistryProvider
+import org.eclipse.smarthome.model.script.jvmmodel.ScriptItemRefresher
 import org.eclipse.smarthome.model.script.lib.NumberExtensions
 import org.eclipse.smarthome.model.script.scoping.StateAndCommandProvider
 import org.eclipse.xtext.common.types.JvmField
-import org.eclipse.xtext.naming.QualifiedName
 import org.eclipse.xtext.util.CancelIndicator
 import org.eclipse.xtext.xbase.XAbstractFeatureCall
 import org.eclipse.xtext.xbase.XAssignment
@@ -28,6 +30,10 @@ import org.eclipse.xtext.common.types.JvmIdentifiableElement
  * The script interpreter handles ESH specific script components, which are not known
  * to the standard Xbase interpreter.
  * 
+ * The states, commands and items which the inferred fields of a script refer to are resolved
+ * once per field and kept in a {@link FieldResolution}. Resolved items are looked up again
+ * after the item registry has changed.
+ * 
  * @author Kai Kreuzer - Initial contribution and API
  * @author Oliver Libutzki - Xtext 2.5.0 migration
  *
@@ -44,18 +50,21 @@ public class ScriptInterpreter extends XbaseInterpreter {
 	@Inject
 	extension IJvmModelAssociations
 
+	// an interpreter is created for every evaluation, so the resolutions are shared by all of them; the fields are
+	// weak keys, so the resolutions are dropped together with the model of the script
+	static val Map<JvmField, FieldResolution> fieldResolutions = new MapMaker().weakKeys().makeMap()
+
 	override protected _invokeFeature(JvmField jvmField, XAbstractFeatureCall featureCall, Object receiver,
 		IEvaluationContext context, CancelIndicator indicator) {
 
 		// Check if the JvmField is inferred
-		val sourceElement = jvmField.sourceElements.head
-		if (sourceElement != null) {
-			val value = context.getValue(QualifiedName.create(jvmField.simpleName))
+		val resolution = jvmField.resolution
+		if (resolution.inferred) {
+			val value = context.getValue(resolution.qualifiedName)
 			value ?: {
 
 				// Looks like we have an state, command or item field
-				val fieldName = jvmField.simpleName
-				fieldName.stateOrCommand ?: fieldName.item
+				resolution.type ?: resolution.resolvedItem
 			}
 		} else {
 			super._invokeFeature(jvmField, featureCall, receiver, context, indicator)
@@ -63,6 +72,26 @@ public class ScriptInterpreter extends XbaseInterpreter {
 
 	}
 
+	def protected FieldResolution getResolution(JvmField jvmField) {
+		var resolution = fieldResolutions.get(jvmField)
+		if (resolution == null) {
+			val fieldName = jvmField.simpleName
+			resolution = new FieldResolution(fieldName, jvmField.sourceElements.head != null,
+				fieldName.stateOrCommand)
+			fieldResolutions.put(jvmField, resolution)
+		}
+		resolution
+	}
+
+	def protected Item getResolvedItem(FieldResolution resolution) {
+		// the version is read before the lookup, so a concurrent change is detected on the next evaluation
+		val version = ScriptItemRefresher.itemRegistryVersion
+		if (!resolution.isItemResolved(version)) {
+			resolution.setItem(resolution.name.item, version)
+		}
+		resolution.item
+	}
+
 	override protected invokeFeature(JvmIdentifiableElement feature, XAbstractFeatureCall featureCall,
 		Object receiverObj, IEvaluationContext context, CancelIndicator indicator) {
 		if (feature != null && feature.eIsProxy) {
@@ -73,11 +102,7 @@ public class ScriptInterpreter extends XbaseInterpreter {
 	}
 
 	def protected Type getStateOrCommand(String name) {
-		for (Type type : stateAndCommandProvider.getAllTypes()) {
-			if (type.toString == name) {
-				return type
-			}
-		}
+		stateAndCommandProvider.getType(name)
 	}
 
 	def protected Item getItem(String name) {
@@ -103,9 +128,9 @@ public class ScriptInterpreter extends XbaseInterpreter {
 		IEvaluationContext context, CancelIndicator indicator) {
 
 		// Check if the JvmField is inferred
-		val sourceElement = jvmField.sourceElements.head
-		if (sourceElement != null) {
-			context.assignValue(QualifiedName.create(jvmField.simpleName), value)
+		val resolution = jvmField.resolution
+		if (resolution.inferred) {
+			context.assignValue(resolution.qualifiedName, value)
 			value
 		} else {
 			super._assignValueTo(jvmField, assignment, value, context, indicator)
@@ -12,6 +12,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemRegistry;
@@ -23,6 +24,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The {@link ScriptItemRefresher} is responsible for reloading script resources every time an item is added or removed.
+ * It also counts the changes of the item registry, so that the script interpreter knows when the items it has resolved
+ * are outdated.
  *
  * @author Oliver Libutzki - Initial contribution
  * @author Kai Kreuzer - added delayed execution
@@ -35,6 +38,9 @@ public class ScriptItemRefresher implements ItemRegistryChangeListener {
     // delay before rule resources are refreshed after items or services have changed
     private static final long REFRESH_DELAY = 2000;
 
+    // incremented on every change of the item registry
+    private static final AtomicLong itemRegistryVersion = new AtomicLong();
+
     ModelRepository modelRepository;
     private ItemRegistry itemRegistry;
     private ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
@@ -51,11 +57,22 @@ public class ScriptItemRefresher implements ItemRegistryChangeListener {
     public void setItemRegistry(ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
         this.itemRegistry.addRegistryChangeListener(this);
+        itemRegistryVersion.incrementAndGet();
     }
 
     public void unsetItemRegistry(ItemRegistry itemRegistry) {
         this.itemRegistry.removeRegistryChangeListener(this);
         this.itemRegistry = null;
+        itemRegistryVersion.incrementAndGet();
+    }
+
+    /**
+     * Returns the version of the item registry, which changes whenever an item is added, removed or updated.
+     *
+     * @return the current version
+     */
+    public static long getItemRegistryVersion() {
+        return itemRegistryVersion.get();
     }
 
     protected void addActionService(ActionService actionService) {
@@ -68,21 +85,24 @@ public class ScriptItemRefresher implements ItemRegistryChangeListener {
 
     @Override
     public void added(Item element) {
+        itemRegistryVersion.incrementAndGet();
         scheduleScriptRefresh();
     }
 
     @Override
     public void removed(Item element) {
+        itemRegistryVersion.incrementAndGet();
         scheduleScriptRefresh();
     }
 
     @Override
     public void updated(Item oldElement, Item element) {
-
+        itemRegistryVersion.incrementAndGet();
     }
 
     @Override
     public void allItemsChanged(Collection<String> oldItemNames) {
+        itemRegistryVersion.incrementAndGet();
         scheduleScriptRefresh();
     }
 
@@ -33,6 +33,13 @@ public class NumberExtensions {
     // Calculation operators for numbers
 
     public static BigDecimal operator_plus(Number x, Number y) {
+        if (isIntegral(x) && isIntegral(y)) {
+            try {
+                return BigDecimal.valueOf(Math.addExact(x.longValue(), y.longValue()));
+            } catch (ArithmeticException e) {
+                // the result does not fit into a long
+            }
+        }
         BigDecimal xValue = numberToBigDecimal(x);
         BigDecimal yValue = numberToBigDecimal(y);
         if (xValue == null) {
@@ -54,6 +61,13 @@ public class NumberExtensions {
     }
 
     public static BigDecimal operator_minus(Number x, Number y) {
+        if (isIntegral(x) && isIntegral(y)) {
+            try {
+                return BigDecimal.valueOf(Math.subtractExact(x.longValue(), y.longValue()));
+            } catch (ArithmeticException e) {
+                // the result does not fit into a long
+            }
+        }
         BigDecimal xValue = numberToBigDecimal(x);
         BigDecimal yValue = numberToBigDecimal(y);
         if (xValue == null) {
@@ -66,6 +80,13 @@ public class NumberExtensions {
     }
 
     public static BigDecimal operator_multiply(Number x, Number y) {
+        if (isIntegral(x) && isIntegral(y)) {
+            try {
+                return BigDecimal.valueOf(Math.multiplyExact(x.longValue(), y.longValue()));
+            } catch (ArithmeticException e) {
+                // the result does not fit into a long
+            }
+        }
         BigDecimal xValue = numberToBigDecimal(x);
         BigDecimal yValue = numberToBigDecimal(y);
         if (xValue == null) {
@@ -92,74 +113,62 @@ public class NumberExtensions {
     // Comparison operations between numbers
 
     public static boolean operator_equals(Number left, Number right) {
-        BigDecimal leftValue = numberToBigDecimal(left);
-        BigDecimal rightValue = numberToBigDecimal(right);
-        if (leftValue == null) {
-            return rightValue == null;
-        } else if (rightValue == null) {
+        if (left == null) {
+            return right == null;
+        } else if (right == null) {
             return false;
         } else {
-            return leftValue.compareTo(rightValue) == 0;
+            return compare(left, right) == 0;
         }
     }
 
     public static boolean operator_notEquals(Number left, Number right) {
-        BigDecimal leftValue = numberToBigDecimal(left);
-        BigDecimal rightValue = numberToBigDecimal(right);
-        if (leftValue == null) {
-            return rightValue != null;
-        } else if (rightValue == null) {
+        if (left == null) {
+            return right != null;
+        } else if (right == null) {
             return true;
         } else {
-            return leftValue.compareTo(rightValue) != 0;
+            return compare(left, right) != 0;
         }
     }
 
     public static boolean operator_lessThan(Number left, Number right) {
-        BigDecimal leftValue = numberToBigDecimal(left);
-        BigDecimal rightValue = numberToBigDecimal(right);
-        if (leftValue == null) {
+        if (left == null) {
             return true;
-        } else if (rightValue == null) {
+        } else if (right == null) {
             return false;
         } else {
-            return leftValue.compareTo(rightValue) < 0;
+            return compare(left, right) < 0;
         }
     }
 
     public static boolean operator_greaterThan(Number left, Number right) {
-        BigDecimal leftValue = numberToBigDecimal(left);
-        BigDecimal rightValue = numberToBigDecimal(right);
-        if (leftValue == null) {
+        if (left == null) {
             return false;
-        } else if (rightValue == null) {
+        } else if (right == null) {
             return true;
         } else {
-            return leftValue.compareTo(rightValue) > 0;
+            return compare(left, right) > 0;
         }
     }
 
     public static boolean operator_lessEqualsThan(Number left, Number right) {
-        BigDecimal leftValue = numberToBigDecimal(left);
-        BigDecimal rightValue = numberToBigDecimal(right);
-        if (leftValue == null) {
+        if (left == null) {
             return true;
-        } else if (rightValue == null) {
+        } else if (right == null) {
             return false;
         } else {
-            return leftValue.compareTo(rightValue) <= 0;
+            return compare(left, right) <= 0;
         }
     }
 
     public static boolean operator_greaterEqualsThan(Number left, Number right) {
-        BigDecimal leftValue = numberToBigDecimal(left);
-        BigDecimal rightValue = numberToBigDecimal(right);
-        if (leftValue == null) {
-            return (rightValue != null) ? false : true;
-        } else if (rightValue == null) {
+        if (left == null) {
+            return (right != null) ? false : true;
+        } else if (right == null) {
             return true;
         } else {
-            return leftValue.compareTo(rightValue) >= 0;
+            return compare(left, right) >= 0;
         }
     }
 
@@ -167,7 +176,7 @@ public class NumberExtensions {
 
     public static boolean operator_equals(Type type, Number x) {
         if (type != null && type instanceof DecimalType && x != null) {
-            return ((DecimalType) type).toBigDecimal().compareTo(numberToBigDecimal(x)) == 0;
+            return compare((DecimalType) type, x) == 0;
         } else {
             return type == x; // both might be null, then we should return true
         }
@@ -175,7 +184,7 @@ public class NumberExtensions {
 
     public static boolean operator_notEquals(Type type, Number x) {
         if (type != null && type instanceof DecimalType && x != null) {
-            return ((DecimalType) type).toBigDecimal().compareTo(numberToBigDecimal(x)) != 0;
+            return compare((DecimalType) type, x) != 0;
         } else {
             return type != x; // both might be null, then we should return
                               // false, otherwise true
@@ -184,7 +193,7 @@ public class NumberExtensions {
 
     public static boolean operator_greaterThan(Type type, Number x) {
         if (type != null && type instanceof DecimalType && x != null) {
-            return ((DecimalType) type).toBigDecimal().compareTo(numberToBigDecimal(x)) > 0;
+            return compare((DecimalType) type, x) > 0;
         } else {
             return false;
         }
@@ -192,7 +201,7 @@ public class NumberExtensions {
 
     public static boolean operator_greaterEqualsThan(Type type, Number x) {
         if (type != null && type instanceof DecimalType && x != null) {
-            return ((DecimalType) type).toBigDecimal().compareTo(numberToBigDecimal(x)) >= 0;
+            return compare((DecimalType) type, x) >= 0;
         } else {
             return false;
         }
@@ -200,7 +209,7 @@ public class NumberExtensions {
 
     public static boolean operator_lessThan(Type type, Number x) {
         if (type != null && type instanceof DecimalType && x != null) {
-            return ((DecimalType) type).toBigDecimal().compareTo(numberToBigDecimal(x)) < 0;
+            return compare((DecimalType) type, x) < 0;
         } else {
             return false;
         }
@@ -208,7 +217,7 @@ public class NumberExtensions {
 
     public static boolean operator_lessEqualsThan(Type type, Number x) {
         if (type != null && type instanceof DecimalType && x != null) {
-            return ((DecimalType) type).toBigDecimal().compareTo(numberToBigDecimal(x)) <= 0;
+            return compare((DecimalType) type, x) <= 0;
         } else {
             return false;
         }
@@ -222,8 +231,44 @@ public class NumberExtensions {
      * @return the given number as BigDecimal or null if number is null
      */
     public static BigDecimal numberToBigDecimal(Number number) {
-        if (number != null) {
+        if (number == null) {
+            return null;
+        } else if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        } else if (number instanceof DecimalType) {
+            BigDecimal value = ((DecimalType) number).toBigDecimal();
+            // the plain string representation of a DecimalType has no negative scale
+            return value.scale() < 0 ? value.setScale(0) : value;
+        } else if (isIntegral(number)) {
+            return BigDecimal.valueOf(number.longValue());
+        } else {
             return new BigDecimal(number.toString());
+        }
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Integer || number instanceof Long || number instanceof Short
+                || number instanceof Byte;
+    }
+
+    /**
+     * Compares two numbers which must not be null. Integral numbers and decimal types are compared without creating
+     * a BigDecimal, as long as their values fit into a long.
+     */
+    private static int compare(Number left, Number right) {
+        DecimalType leftValue = toDecimalType(left);
+        DecimalType rightValue = toDecimalType(right);
+        if (leftValue != null && rightValue != null) {
+            return leftValue.compareTo(rightValue);
+        }
+        return numberToBigDecimal(left).compareTo(numberToBigDecimal(right));
+    }
+
+    private static DecimalType toDecimalType(Number number) {
+        if (number instanceof DecimalType) {
+            return (DecimalType) number;
+        } else if (isIntegral(number)) {
+            return new DecimalType(number.longValue());
         } else {
             return null;
         }
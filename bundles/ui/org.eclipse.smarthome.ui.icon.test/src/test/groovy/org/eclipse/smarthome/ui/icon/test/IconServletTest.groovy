@@ -11,6 +11,7 @@ import static org.hamcrest.CoreMatchers.*
 import static org.junit.Assert.*
 import static org.junit.matchers.JUnitMatchers.*
 
+import javax.servlet.ServletOutputStream
 import javax.servlet.http.HttpServletRequest
 import javax.servlet.http.HttpServletResponse
 
@@ -31,6 +32,9 @@ class IconServletTest {
     def provider2
     def calledProvider
     def response
+    def headers
+    def status
+    def content
 
     @Before
     void setUp() {
@@ -46,7 +50,7 @@ class IconServletTest {
                 if(category=="x" && iconsetid=="test" && format.toString().toLowerCase().equals("svg") ||
                 category=="y" && iconsetid=="classic" && state=="34" && format.toString().toLowerCase().equals("png")) {
                     calledProvider = 1
-                    new StringBufferInputStream("")
+                    new ByteArrayInputStream("icon1".bytes)
                 }
                 else null
             }
@@ -58,17 +62,26 @@ class IconServletTest {
             getIcon : { category, iconsetid, state, format ->
                 if(category=="x" && iconsetid=="test" && format.toString().toLowerCase().equals("svg")) {
                     calledProvider = 2
-                    new StringBufferInputStream("")
+                    new ByteArrayInputStream("icon2".bytes)
                 } else null
             }
         ] as IconProvider
 
+        headers = [:]
+        status = 200
+        content = new ByteArrayOutputStream()
+        def outputStream = [
+            write : { int b -> content.write(b) }
+        ] as ServletOutputStream
         response = [
             setDateHeader : { s, d -> null },
+            setHeader : { s, v -> headers[s] = v },
             setContentType : { s -> null },
-            getOutputStream : { null },
+            setContentLength : { l -> null },
+            setStatus : { i -> status = i },
+            getOutputStream : { outputStream },
             flushBuffer : {},
-            sendError : { i -> null }
+            sendError : { i -> status = i }
         ] as HttpServletResponse
 
         calledProvider = null
@@ -80,6 +93,7 @@ class IconServletTest {
             getParameter : { p -> null },
             getRequestURI : { "/y-34.png" },
             getDateHeader : { s -> 0L },
+            getHeader : { s -> null },
         ] as HttpServletRequest
         servlet.addIconProvider(provider1)
         servlet.doGet(request, response)
@@ -99,6 +113,7 @@ class IconServletTest {
             },
             getRequestURI : { "/x" },
             getDateHeader : { s -> 0L },
+            getHeader : { s -> null },
         ] as HttpServletRequest
         servlet.addIconProvider(provider1)
         servlet.doGet(request, response)
@@ -109,4 +124,62 @@ class IconServletTest {
         servlet.doGet(request, response)
         assertThat calledProvider, equalTo(2)
     }
+
+    @Test
+    void 'assert that icons are cached and validated with their entity tag'() {
+        def ifNoneMatch = null
+        def request = [
+            getParameter : { p -> null },
+            getRequestURI : { "/y-34.png" },
+            getDateHeader : { s -> 0L },
+            getHeader : { s -> s == "If-None-Match" ? ifNoneMatch : null },
+        ] as HttpServletRequest
+        servlet.addIconProvider(provider1)
+        servlet.doGet(request, response)
+        assertThat calledProvider, equalTo(1)
+        assertThat content.toString(), is("icon1")
+        def etag = headers["ETag"]
+        assertThat etag, startsWith('"')
+
+        // the icon is served from the cache
+        calledProvider = null
+        content.reset()
+        servlet.doGet(request, response)
+        assertThat calledProvider, nullValue()
+        assertThat content.toString(), is("icon1")
+        assertThat headers["ETag"], is(etag)
+
+        // a matching entity tag is answered without content
+        content.reset()
+        ifNoneMatch = '"other", ' + etag
+        servlet.doGet(request, response)
+        assertThat status, is(HttpServletResponse.SC_NOT_MODIFIED)
+        assertThat content.size(), is(0)
+
+        // a different entity tag is answered with the icon
+        status = 200
+        ifNoneMatch = '"other"'
+        servlet.doGet(request, response)
+        assertThat status, is(200)
+        assertThat content.toString(), is("icon1")
+    }
+
+    @Test
+    void 'assert that the size of the cache is bound'() {
+        def request = [
+            getParameter : { p -> null },
+            getRequestURI : { "/y-34.png" },
+            getDateHeader : { s -> 0L },
+            getHeader : { s -> null },
+        ] as HttpServletRequest
+        servlet.modified([cacheSize: "0"])
+        servlet.addIconProvider(provider1)
+        servlet.doGet(request, response)
+        assertThat calledProvider, equalTo(1)
+
+        calledProvider = null
+        servlet.doGet(request, response)
+        assertThat calledProvider, equalTo(1)
+        assertThat content.toString(), is("icon1icon1")
+    }
 }
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.icon.internal;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.smarthome.ui.icon.IconSet.Format;
+
+/**
+ * A cache of the contents of icons, which are resolved by the {@link IconServlet}.
+ * <p>
+ * The least recently used icons are removed, as soon as the total size of the cached contents exceeds the maximum
+ * size.
+ *
+ * @author agent - Initial contribution
+ */
+class IconCache {
+
+    /**
+     * The content of an icon together with its entity tag.
+     */
+    static class Icon {
+
+        private final byte[] content;
+        private final String etag;
+
+        Icon(byte[] content) {
+            this.content = content;
+            this.etag = createETag(content);
+        }
+
+        byte[] getContent() {
+            return content;
+        }
+
+        /**
+         * @return the strong entity tag including its quotes
+         */
+        String getETag() {
+            return etag;
+        }
+    }
+
+    private final Map<String, Icon> icons = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long maxSize;
+
+    private long size;
+
+    /**
+     * @param maxSize the maximum total size of the cached icons in bytes, 0 disables the cache
+     */
+    IconCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    static String getKey(String category, String iconSetId, String state, Format format) {
+        return iconSetId + "/" + category + "/" + format + "/" + (state != null ? state : "");
+    }
+
+    synchronized Icon get(String key) {
+        return icons.get(key);
+    }
+
+    synchronized void put(String key, Icon icon) {
+        if (maxSize <= 0 || icon.getContent().length > maxSize) {
+            return;
+        }
+        Icon oldIcon = icons.put(key, icon);
+        if (oldIcon != null) {
+            size -= oldIcon.getContent().length;
+        }
+        size += icon.getContent().length;
+        evict();
+    }
+
+    synchronized void clear() {
+        icons.clear();
+        size = 0;
+    }
+
+    /**
+     * @param maxSize the maximum total size of the cached icons in bytes, 0 disables the cache
+     */
+    synchronized void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+        evict();
+    }
+
+    synchronized long getSize() {
+        return size;
+    }
+
+    private void evict() {
+        Iterator<Icon> iterator = icons.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().getContent().length;
+            iterator.remove();
+        }
+    }
+
+    private static String createETag(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(content);
+            StringBuilder etag = new StringBuilder(2 + 2 * digest.length).append('"');
+            for (byte b : digest) {
+                etag.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return etag.append('"').toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports MD5
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
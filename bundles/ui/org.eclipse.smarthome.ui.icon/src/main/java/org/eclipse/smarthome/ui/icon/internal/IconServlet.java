@@ -9,11 +9,10 @@ package org.eclipse.smarthome.ui.icon.internal;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.Date;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.servlet.ServletException;
 import javax.servlet.ServletOutputStream;
@@ -25,6 +24,7 @@ import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.ui.icon.IconProvider;
 import org.eclipse.smarthome.ui.icon.IconSet.Format;
+import org.eclipse.smarthome.ui.icon.internal.IconCache.Icon;
 import org.osgi.service.http.HttpContext;
 import org.osgi.service.http.HttpService;
 import org.osgi.service.http.NamespaceException;
@@ -47,13 +47,19 @@ public class IconServlet extends HttpServlet {
     private static final String PARAM_FORMAT = "format";
     private static final String PARAM_STATE = "state";
 
-    private long startupTime;
+    /* the maximum size of the cached icons in kilobytes */
+    private static final String CONFIG_CACHE_SIZE = "cacheSize";
+    private static final long DEFAULT_CACHE_SIZE = 4096;
+
+    private long startupTime = getCurrentTimeInSeconds();
 
     protected HttpService httpService;
 
     protected String defaultIconSetId = "classic";
 
-    private List<IconProvider> iconProvider = new ArrayList<>();
+    private List<IconProvider> iconProvider = new CopyOnWriteArrayList<>();
+
+    private final IconCache iconCache = new IconCache(DEFAULT_CACHE_SIZE * 1024);
 
     public void setHttpService(HttpService httpService) {
         this.httpService = httpService;
@@ -65,10 +71,12 @@ public class IconServlet extends HttpServlet {
 
     public void addIconProvider(IconProvider iconProvider) {
         this.iconProvider.add(iconProvider);
+        iconCache.clear();
     }
 
     public void removeIconProvider(IconProvider iconProvider) {
         this.iconProvider.remove(iconProvider);
+        iconCache.clear();
     }
 
     protected void activate(Map<String, Object> config) {
@@ -82,7 +90,7 @@ public class IconServlet extends HttpServlet {
         } catch (ServletException e) {
             logger.error("Error during servlet startup", e);
         }
-        startupTime = System.currentTimeMillis();
+        startupTime = getCurrentTimeInSeconds();
 
         modified(config);
     }
@@ -92,6 +100,23 @@ public class IconServlet extends HttpServlet {
         if (iconSetId instanceof String) {
             defaultIconSetId = (String) iconSetId;
         }
+        Object cacheSize = config.get(CONFIG_CACHE_SIZE);
+        if (cacheSize != null) {
+            try {
+                iconCache.setMaxSize(Long.parseLong(cacheSize.toString()) * 1024);
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid icon cache size '{}', it must be given in kilobytes", cacheSize);
+            }
+        } else {
+            iconCache.setMaxSize(DEFAULT_CACHE_SIZE * 1024);
+        }
+    }
+
+    /**
+     * @return the current time in milliseconds with a precision of seconds, as it is used by HTTP dates
+     */
+    private static long getCurrentTimeInSeconds() {
+        return System.currentTimeMillis() / 1000 * 1000;
     }
 
     /**
@@ -107,8 +132,10 @@ public class IconServlet extends HttpServlet {
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 
-        if (req.getDateHeader("If-Modified-Since") > startupTime) {
-            resp.setStatus(304);
+        // the entity tag takes precedence over the modification date, as the icons may not be cached yet
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch == null && req.getDateHeader("If-Modified-Since") >= startupTime) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
             return;
         }
 
@@ -117,33 +144,74 @@ public class IconServlet extends HttpServlet {
         String state = getState(req);
         String iconSetId = getIconSetId(req);
 
-        IconProvider topProvider = null;
-        int maxPrio = Integer.MIN_VALUE;
-        for (IconProvider provider : iconProvider) {
-            Integer prio = provider.hasIcon(category, iconSetId, format);
-            if (prio != null && prio > maxPrio) {
-                maxPrio = prio;
-                topProvider = provider;
+        String key = IconCache.getKey(category, iconSetId, state, format);
+        Icon icon = iconCache.get(key);
+        if (icon == null) {
+            IconProvider topProvider = null;
+            int maxPrio = Integer.MIN_VALUE;
+            for (IconProvider provider : iconProvider) {
+                Integer prio = provider.hasIcon(category, iconSetId, format);
+                if (prio != null && prio > maxPrio) {
+                    maxPrio = prio;
+                    topProvider = provider;
+                }
             }
-        }
-        if (topProvider != null) {
-            if (format.equals(Format.SVG)) {
-                resp.setContentType("image/svg+xml");
-            } else {
-                resp.setContentType("image/png");
+            if (topProvider == null) {
+                resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
             }
-            resp.setDateHeader("Last-Modified", new Date().getTime());
-            ServletOutputStream os = resp.getOutputStream();
             try (InputStream is = topProvider.getIcon(category, iconSetId, state, format)) {
-                IOUtils.copy(is, os);
-                resp.flushBuffer();
+                if (is == null) {
+                    resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+                    return;
+                }
+                icon = new Icon(IOUtils.toByteArray(is));
             } catch (IOException e) {
-                logger.error("Failed sending the icon byte stream as a response: {}", e.getMessage());
-                resp.sendError(500, e.getMessage());
+                logger.error("Failed reading the icon byte stream: {}", e.getMessage());
+                resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
+                return;
             }
+            iconCache.put(key, icon);
+        }
+
+        resp.setHeader("ETag", icon.getETag());
+        if (ifNoneMatch != null && matches(ifNoneMatch, icon.getETag())) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        if (format.equals(Format.SVG)) {
+            resp.setContentType("image/svg+xml");
         } else {
-            resp.sendError(404);
+            resp.setContentType("image/png");
+        }
+        resp.setDateHeader("Last-Modified", startupTime);
+        resp.setContentLength(icon.getContent().length);
+        try {
+            ServletOutputStream os = resp.getOutputStream();
+            os.write(icon.getContent());
+            resp.flushBuffer();
+        } catch (IOException e) {
+            logger.error("Failed sending the icon byte stream as a response: {}", e.getMessage());
+            resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether the value of an If-None-Match header matches an entity tag.
+     *
+     * @param ifNoneMatch the comma separated list of entity tags of the header or "*"
+     * @param etag the strong entity tag of the icon
+     * @return true, if the entity tag is one of the given entity tags
+     */
+    private boolean matches(String ifNoneMatch, String etag) {
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
         }
+        return false;
     }
 
     private String getCategory(HttpServletRequest req) {
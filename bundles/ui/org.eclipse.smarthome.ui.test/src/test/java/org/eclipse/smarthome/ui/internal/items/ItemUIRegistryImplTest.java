@@ -8,13 +8,18 @@
 package org.eclipse.smarthome.ui.internal.items;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
 
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.core.items.ItemRegistry;
@@ -22,9 +27,12 @@ import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.types.StateDescription;
 import org.eclipse.smarthome.core.types.UnDefType;
+import org.eclipse.smarthome.model.sitemap.ColorArray;
 import org.eclipse.smarthome.model.sitemap.Sitemap;
 import org.eclipse.smarthome.model.sitemap.SitemapFactory;
+import org.eclipse.smarthome.model.sitemap.VisibilityRule;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.items.ItemUIProvider;
 import org.junit.Before;
@@ -294,6 +302,73 @@ public class ItemUIRegistryImplTest {
         assertEquals("Label [5]", label);
     }
 
+    @Test
+    public void getLabel_labelWithChangedStateDescription() throws ItemNotFoundException {
+        Widget w = mock(Widget.class);
+        Item item = mock(Item.class);
+        when(w.getLabel()).thenReturn("Label");
+        when(w.getItem()).thenReturn("Item");
+        when(registry.getItem("Item")).thenReturn(item);
+        when(item.getState()).thenReturn(new DecimalType(20));
+        when(item.getStateAs(DecimalType.class)).thenReturn(new DecimalType(20));
+        when(item.getStateDescription()).thenReturn(new StateDescription(null, null, null, "%d", false, null));
+        assertEquals("Label [20]", uiRegistry.getLabel(w));
+        when(item.getStateDescription()).thenReturn(new StateDescription(null, null, null, "%d °C", false, null));
+        assertEquals("Label [20 °C]", uiRegistry.getLabel(w));
+    }
+
+    @Test
+    public void getLabelColor_decimalConditions() throws ItemNotFoundException {
+        Widget w = mock(Widget.class);
+        Item item = mock(Item.class);
+        ColorArray warm = createColorArray(null, ">", "20", "\"red\"");
+        ColorArray cold = createColorArray(null, "<=", "-5", "\"blue\"");
+        ColorArray other = createColorArray("OtherItem", "==", "ON", "green");
+        EList<ColorArray> colors = new BasicEList<>(Arrays.asList(warm, cold, other));
+        when(w.getItem()).thenReturn("Item");
+        when(w.getLabelColor()).thenReturn(colors);
+        when(registry.getItem("Item")).thenReturn(item);
+        Item otherItem = mock(Item.class);
+        when(registry.getItem("OtherItem")).thenReturn(otherItem);
+        when(otherItem.getState()).thenReturn(OnOffType.ON);
+
+        when(item.getState()).thenReturn(new DecimalType(25));
+        assertEquals("red", uiRegistry.getLabelColor(w));
+        when(item.getState()).thenReturn(new DecimalType(-5));
+        assertEquals("blue", uiRegistry.getLabelColor(w));
+        when(item.getState()).thenReturn(new DecimalType(10));
+        assertEquals("green", uiRegistry.getLabelColor(w));
+        when(otherItem.getState()).thenReturn(OnOffType.OFF);
+        assertNull(uiRegistry.getLabelColor(w));
+    }
+
+    @Test
+    public void getVisibility_stringAndDecimalConditions() throws ItemNotFoundException {
+        Widget w = mock(Widget.class);
+        Item item = mock(Item.class);
+        VisibilityRule rule = mock(VisibilityRule.class);
+        when(rule.getItem()).thenReturn("Item");
+        when(rule.getCondition()).thenReturn("!=");
+        when(rule.getState()).thenReturn("\"OFF\"");
+        EList<VisibilityRule> rules = new BasicEList<>(Arrays.asList(rule));
+        when(w.getVisibility()).thenReturn(rules);
+        when(registry.getItem("Item")).thenReturn(item);
+
+        when(item.getState()).thenReturn(OnOffType.ON);
+        assertTrue(uiRegistry.getVisiblity(w));
+        when(item.getState()).thenReturn(OnOffType.OFF);
+        assertFalse(uiRegistry.getVisiblity(w));
+    }
+
+    private ColorArray createColorArray(String item, String condition, String state, String arg) {
+        ColorArray color = mock(ColorArray.class);
+        when(color.getItem()).thenReturn(item);
+        when(color.getCondition()).thenReturn(condition);
+        when(color.getState()).thenReturn(state);
+        when(color.getArg()).thenReturn(arg);
+        return color;
+    }
+
     @Test
     public void getWidget_UnknownPageId() throws ItemNotFoundException {
         Sitemap sitemap = SitemapFactory.eINSTANCE.createSitemap();
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.render;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests the parsing and the rendering of html snippets by the {@link SnippetTemplate}.
+ *
+ * @author agent - Initial contribution
+ */
+public class SnippetTemplateTest {
+
+    @Test
+    public void testPlaceholdersAreReplacedInOnePass() {
+        SnippetTemplate template = SnippetTemplate.compile("<a id=\"%id%\">%label%</a><b>%id%</b>");
+
+        String html = template.newValues().set("id", "1").set("label", "%id%").toString();
+
+        assertEquals("<a id=\"1\">%id%</a><b>1</b>", html);
+    }
+
+    @Test
+    public void testPlaceholdersWithoutValueAndOtherPercentSignsAreKept() {
+        SnippetTemplate template = SnippetTemplate.compile("<div style=\"width:100%\">%label%%children%</div>");
+
+        String html = template.newValues().set("label", "Label").set("unknown", "value").toString();
+
+        assertEquals("<div style=\"width:100%\">Label%children%</div>", html);
+        assertEquals(template.getSnippet(), template.newValues().toString());
+    }
+
+    @Test
+    public void testSnippetIsSplitAtTheChildrenSlot() {
+        SnippetTemplate template = SnippetTemplate.compile("<ul title=\"%label%\">%children%</ul><p>%label%</p>");
+        StringBuilder before = new StringBuilder();
+        StringBuilder after = new StringBuilder();
+
+        int slots = template.newValues().set("label", "Label").appendTo(before, after, SnippetTemplate.CHILDREN);
+
+        assertEquals(1, slots);
+        assertEquals("<ul title=\"Label\">", before.toString());
+        assertEquals("</ul><p>Label</p>", after.toString());
+    }
+
+    @Test
+    public void testSnippetWithoutChildrenSlotIsWrittenBeforeTheChildren() {
+        SnippetTemplate template = SnippetTemplate.compile("<p>%label%</p>");
+        StringBuilder before = new StringBuilder();
+        StringBuilder after = new StringBuilder();
+
+        int slots = template.newValues().set("label", "Label").appendTo(before, after, SnippetTemplate.CHILDREN);
+
+        assertEquals(0, slots);
+        assertEquals("<p>Label</p>", before.toString());
+        assertEquals("", after.toString());
+    }
+
+    @Test
+    public void testTextAfterASecondChildrenSlotIsDropped() {
+        SnippetTemplate template = SnippetTemplate.compile("<ul>%children%</ul>%children%<p>%children%</p>");
+        StringBuilder before = new StringBuilder();
+        StringBuilder after = new StringBuilder();
+
+        int slots = template.newValues().appendTo(before, after, SnippetTemplate.CHILDREN);
+
+        assertEquals(3, slots);
+        assertEquals("<ul>", before.toString());
+        assertEquals("</ul>", after.toString());
+    }
+
+    @Test
+    public void testRenderedHtmlIsSplitAtTheChildrenPlaceholder() {
+        StringBuilder before = new StringBuilder();
+        StringBuilder after = new StringBuilder();
+
+        int slots = SnippetTemplate.splitAtChildren(new StringBuilder("<div>%children%</div>"), before, after);
+
+        assertEquals(1, slots);
+        assertEquals("<div>", before.toString());
+        assertEquals("</div>", after.toString());
+
+        before.setLength(0);
+        after.setLength(0);
+        slots = SnippetTemplate.splitAtChildren(new StringBuilder("<div>%children%</div>%children%<p/>"), before,
+                after);
+
+        assertEquals(2, slots);
+        assertEquals("<div>", before.toString());
+        assertEquals("</div>", after.toString());
+
+        before.setLength(0);
+        after.setLength(0);
+        slots = SnippetTemplate.splitAtChildren(new StringBuilder("<div></div>"), before, after);
+
+        assertEquals(0, slots);
+        assertEquals("<div></div>", before.toString());
+        assertEquals("", after.toString());
+    }
+
+}
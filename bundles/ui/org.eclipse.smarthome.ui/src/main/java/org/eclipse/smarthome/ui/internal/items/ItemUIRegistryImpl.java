@@ -12,12 +12,15 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.emf.common.util.BasicEList;
 import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.GroupItem;
@@ -88,6 +91,13 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
 
     protected Set<ItemUIProvider> itemUIProviders = new HashSet<ItemUIProvider>();
 
+    /*
+     * the parsed visibility and color rules - as they belong to the sitemap model, they are released together with
+     * it, when a sitemap is changed
+     */
+    private final Map<EObject, RuleCondition> ruleConditions = Collections
+            .synchronizedMap(new WeakHashMap<EObject, RuleCondition>());
+
     protected ItemRegistry itemRegistry;
 
     public ItemUIRegistryImpl() {
@@ -269,6 +279,8 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
     @Override
     public String getLabel(Widget w) {
         String label = getLabelFromWidget(w);
+        LabelPattern labelPattern = LabelPattern.get(label);
+        String value = labelPattern.getFormatPattern();
 
         // now insert the value, if the state is a string or decimal value and there is some formatting pattern defined
         // in the label
@@ -280,17 +292,18 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
 
             try {
                 final Item item = getItem(itemName);
-                if (getFormatPattern(label) == null) {
+                if (labelPattern.getFormatPattern() == null) {
                     final StateDescription stateDescription = item.getStateDescription();
                     if (stateDescription != null) {
                         final String pattern = stateDescription.getPattern();
                         if (pattern != null) {
                             label = label + " [" + pattern + "]";
+                            labelPattern = LabelPattern.get(label);
                         }
                     }
                 }
 
-                String updatedPattern = getFormatPattern(label);
+                String updatedPattern = labelPattern.getFormatPattern();
                 if (updatedPattern != null) {
                     formatPattern = updatedPattern;
 
@@ -299,7 +312,7 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
                     // and will cause an 'java.util.IllegalFormatConversionException:
                     // d != java.lang.String' later on when trying to format a String
                     // as %d (number).
-                    if (label.contains("%d")) {
+                    if (labelPattern.isNumberRequested()) {
                         // a number is requested
                         state = item.getState();
                         if (!(state instanceof DecimalType)) {
@@ -315,7 +328,7 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
 
             if (formatPattern != null) {
                 if (state == null || state instanceof UnDefType) {
-                    formatPattern = formatUndefined(formatPattern);
+                    formatPattern = formatUndefined(labelPattern);
                 } else if (state instanceof Type) {
                     // The following exception handling has been added to work around a Java bug with formatting
                     // numbers. See http://bugs.sun.com/view_bug.do?bug_id=6476425
@@ -332,10 +345,11 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
 
                 label = label.trim();
                 label = label.substring(0, label.indexOf("[") + 1) + formatPattern + "]";
+                value = formatPattern;
             }
         }
 
-        label = transform(label);
+        label = transform(label, labelPattern, value);
 
         return label;
     }
@@ -391,6 +405,50 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
         }
     }
 
+    /**
+     * Formats an undefined value with the format pattern of the given label only once.
+     */
+    private String formatUndefined(LabelPattern labelPattern) {
+        String undefinedValue = labelPattern.getUndefinedValue();
+        if (undefinedValue == null) {
+            undefinedValue = formatUndefined(labelPattern.getFormatPattern());
+            labelPattern.setUndefinedValue(undefinedValue);
+        }
+        return undefinedValue;
+    }
+
+    /*
+     * executes the transformation of the compiled label, if there is one. The value to transform is taken from the
+     * formatted value, which starts with the call to the transformation service. Only if the call itself has been
+     * changed by the formatting, the label is parsed again.
+     */
+    private String transform(String label, LabelPattern labelPattern, String value) {
+        if (labelPattern.getTransformationType() == null || value == null) {
+            return label;
+        }
+        String transformationValue = labelPattern.getTransformationValue(value);
+        if (transformationValue == null) {
+            return transform(label);
+        }
+        String type = labelPattern.getTransformationType();
+        String pattern = labelPattern.getTransformationFunction();
+        TransformationService transformation = TransformationHelper.getTransformationService(UIActivator.getContext(),
+                type);
+        if (transformation != null) {
+            try {
+                return label.substring(0, label.indexOf("[") + 1)
+                        + transformation.transform(pattern, transformationValue) + "]";
+            } catch (TransformationException e) {
+                logger.error("transformation throws exception [transformation=" + transformation + ", value="
+                        + transformationValue + "]", e);
+            }
+        } else {
+            logger.warn("couldn't transform value in label because transformationService of type '{}' is unavailable",
+                    type);
+        }
+        return label.substring(0, label.indexOf("[") + 1) + transformationValue + "]";
+    }
+
     /*
      * check if there is a status value being displayed on the right side of the
      * label (the right side is signified by being enclosed in square brackets [].
@@ -722,53 +780,50 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
     /**
      * {@inheritDoc}
      */
-    private boolean matchStateToValue(State state, String value, String matchCondition) {
+    private boolean matchStateToValue(State state, RuleCondition rule) {
         // Check if the value is equal to the supplied value
         boolean matched = false;
 
-        // Remove quotes - this occurs in some instances where multiple types
-        // are defined in the xtext definitions
-        if (value.startsWith("\"") && value.endsWith("\"")) {
-            value = value.substring(1, value.length() - 1);
-        }
-
-        // Convert the condition string into enum
-        Condition condition = Condition.EQUAL;
-        if (matchCondition != null) {
-            condition = Condition.fromString(matchCondition);
-        }
+        String value = rule.getValue();
+        Condition condition = rule.getCondition();
 
         if (DecimalType.class.isInstance(state)) {
+            Double decimalValue = rule.getDecimalValue();
+            if (decimalValue == null) {
+                logger.debug("matchStateToValue: Value '{}' is not a decimal number", value);
+                return false;
+            }
             try {
+                double stateValue = Double.parseDouble(state.toString());
                 switch (condition) {
                     case EQUAL:
-                        if (Double.parseDouble(state.toString()) == Double.parseDouble(value)) {
+                        if (stateValue == decimalValue) {
                             matched = true;
                         }
                         break;
                     case LTE:
-                        if (Double.parseDouble(state.toString()) <= Double.parseDouble(value)) {
+                        if (stateValue <= decimalValue) {
                             matched = true;
                         }
                         break;
                     case GTE:
-                        if (Double.parseDouble(state.toString()) >= Double.parseDouble(value)) {
+                        if (stateValue >= decimalValue) {
                             matched = true;
                         }
                         break;
                     case GREATER:
-                        if (Double.parseDouble(state.toString()) > Double.parseDouble(value)) {
+                        if (stateValue > decimalValue) {
                             matched = true;
                         }
                         break;
                     case LESS:
-                        if (Double.parseDouble(state.toString()) < Double.parseDouble(value)) {
+                        if (stateValue < decimalValue) {
                             matched = true;
                         }
                         break;
                     case NOT:
                     case NOTEQUAL:
-                        if (Double.parseDouble(state.toString()) != Double.parseDouble(value)) {
+                        if (stateValue != decimalValue) {
                             matched = true;
                         }
                         break;
@@ -781,42 +836,43 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
             Calendar now = Calendar.getInstance();
             long secsDif = (now.getTimeInMillis() - val.getTimeInMillis()) / 1000;
 
-            try {
-                switch (condition) {
-                    case EQUAL:
-                        if (secsDif == Integer.parseInt(value)) {
-                            matched = true;
-                        }
-                        break;
-                    case LTE:
-                        if (secsDif <= Integer.parseInt(value)) {
-                            matched = true;
-                        }
-                        break;
-                    case GTE:
-                        if (secsDif >= Integer.parseInt(value)) {
-                            matched = true;
-                        }
-                        break;
-                    case GREATER:
-                        if (secsDif > Integer.parseInt(value)) {
-                            matched = true;
-                        }
-                        break;
-                    case LESS:
-                        if (secsDif < Integer.parseInt(value)) {
-                            matched = true;
-                        }
-                        break;
-                    case NOT:
-                    case NOTEQUAL:
-                        if (secsDif != Integer.parseInt(value)) {
-                            matched = true;
-                        }
-                        break;
-                }
-            } catch (NumberFormatException e) {
-                logger.debug("matchStateToValue: Decimal format exception: " + e);
+            Integer integerValue = rule.getIntegerValue();
+            if (integerValue == null) {
+                logger.debug("matchStateToValue: Value '{}' is not an integer number", value);
+                return false;
+            }
+            switch (condition) {
+                case EQUAL:
+                    if (secsDif == integerValue) {
+                        matched = true;
+                    }
+                    break;
+                case LTE:
+                    if (secsDif <= integerValue) {
+                        matched = true;
+                    }
+                    break;
+                case GTE:
+                    if (secsDif >= integerValue) {
+                        matched = true;
+                    }
+                    break;
+                case GREATER:
+                    if (secsDif > integerValue) {
+                        matched = true;
+                    }
+                    break;
+                case LESS:
+                    if (secsDif < integerValue) {
+                        matched = true;
+                    }
+                    break;
+                case NOT:
+                case NOTEQUAL:
+                    if (secsDif != integerValue) {
+                        matched = true;
+                    }
+                    break;
             }
         } else {
             // Strings only allow = and !=
@@ -838,6 +894,30 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
         return matched;
     }
 
+    /**
+     * Returns the parsed condition of a visibility rule.
+     */
+    private RuleCondition getRuleCondition(VisibilityRule rule) {
+        RuleCondition ruleCondition = ruleConditions.get(rule);
+        if (ruleCondition == null) {
+            ruleCondition = RuleCondition.of(rule);
+            ruleConditions.put(rule, ruleCondition);
+        }
+        return ruleCondition;
+    }
+
+    /**
+     * Returns the parsed condition of a color rule.
+     */
+    private RuleCondition getRuleCondition(ColorArray color) {
+        RuleCondition ruleCondition = ruleConditions.get(color);
+        if (ruleCondition == null) {
+            ruleCondition = RuleCondition.of(color);
+            ruleConditions.put(color, ruleCondition);
+        }
+        return ruleCondition;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -868,33 +948,27 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
                     continue;
                 }
 
+                RuleCondition rule = getRuleCondition(color);
+
                 // If there's an item defined here, get it's state
-                if (color.getItem() != null) {
+                if (rule.getItemName() != null) {
                     // Try and find the item to test.
                     // If it's not found, return visible
                     Item item;
                     try {
-                        item = itemRegistry.getItem(color.getItem());
+                        item = itemRegistry.getItem(rule.getItemName());
 
                         // Get the item state
                         cmpState = item.getState();
                     } catch (ItemNotFoundException e) {
-                        logger.warn("Cannot retrieve color item {} for widget", color.getItem());
+                        logger.warn("Cannot retrieve color item {} for widget", rule.getItemName());
                     }
                 }
 
-                // Handle the sign
-                String value;
-                if (color.getSign() != null) {
-                    value = color.getSign() + color.getState();
-                } else {
-                    value = color.getState();
-                }
-
-                if (matchStateToValue(cmpState, value, color.getCondition()) == true) {
+                if (matchStateToValue(cmpState, rule) == true) {
                     // We have the color for this value - break!
-                    colorString = color.getArg();
-                    break;
+                    // the color of the rule has no quotes anymore
+                    return rule.getArg();
                 }
             }
         }
@@ -950,6 +1024,7 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
             if (rule.getState() == null) {
                 continue;
             }
+            RuleCondition ruleCondition = getRuleCondition(rule);
 
             // Try and find the item to test.
             // If it's not found, return visible
@@ -967,15 +1042,7 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
             // Get the item state
             State state = item.getState();
 
-            // Handle the sign
-            String value;
-            if (rule.getSign() != null) {
-                value = rule.getSign() + rule.getState();
-            } else {
-                value = rule.getState();
-            }
-
-            if (matchStateToValue(state, value, rule.getCondition()) == true) {
+            if (matchStateToValue(state, ruleCondition) == true) {
                 // We have the name for this value!
                 return true;
             }
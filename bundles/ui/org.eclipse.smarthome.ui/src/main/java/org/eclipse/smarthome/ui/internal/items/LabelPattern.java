@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.internal.items;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A widget label, which is split into its text and the format pattern of its value once, as used by
+ * {@link ItemUIRegistryImpl#getLabel(org.eclipse.smarthome.model.sitemap.Widget)}.
+ * <p>
+ * The format pattern is the part in square brackets at the end of the label, e.g. {@code "%.1f °C"} in
+ * {@code "Temperature [%.1f °C]"}. If it starts with the call of a transformation service, e.g.
+ * {@code "MAP(en.map):%s"}, the type and the function of the transformation are extracted as well.
+ *
+ * @author agent - Initial contribution
+ */
+final class LabelPattern {
+
+    private static final int MAX_CACHE_SIZE = 1000;
+
+    private static final Pattern TRANSFORMATION_PATTERN = Pattern.compile("(.*?)\\((.*)\\):(.*)");
+
+    private static final Map<String, LabelPattern> CACHE = new ConcurrentHashMap<>();
+
+    private final String formatPattern;
+    private final boolean numberRequested;
+    private final String transformationType;
+    private final String transformationFunction;
+    private final String transformationPrefix;
+    private volatile String undefinedValue;
+
+    private LabelPattern(String label) {
+        String trimmedLabel = label.trim();
+        int indexOpenBracket = trimmedLabel.indexOf("[");
+        int indexCloseBracket = trimmedLabel.endsWith("]") ? trimmedLabel.length() - 1 : -1;
+        if ((indexOpenBracket >= 0) && (indexCloseBracket > indexOpenBracket)) {
+            formatPattern = trimmedLabel.substring(indexOpenBracket + 1, indexCloseBracket);
+        } else {
+            formatPattern = null;
+        }
+        numberRequested = label.contains("%d");
+
+        Matcher matcher = formatPattern != null ? TRANSFORMATION_PATTERN.matcher(formatPattern) : null;
+        if (matcher != null && matcher.matches()) {
+            transformationType = matcher.group(1);
+            transformationFunction = matcher.group(2);
+            transformationPrefix = formatPattern.substring(0, matcher.start(3));
+        } else {
+            transformationType = null;
+            transformationFunction = null;
+            transformationPrefix = null;
+        }
+    }
+
+    /**
+     * @param label the label, must not be null
+     * @return the compiled label
+     */
+    static LabelPattern get(String label) {
+        LabelPattern labelPattern = CACHE.get(label);
+        if (labelPattern == null) {
+            labelPattern = new LabelPattern(label);
+            // the labels come from sitemaps, items and state descriptions, so there are only a few of them
+            if (CACHE.size() < MAX_CACHE_SIZE) {
+                CACHE.put(label, labelPattern);
+            }
+        }
+        return labelPattern;
+    }
+
+    /**
+     * @return the format pattern of the value or null, if the label has no value
+     */
+    String getFormatPattern() {
+        return formatPattern;
+    }
+
+    /**
+     * @return true, if the label contains a pattern for an integer
+     */
+    boolean isNumberRequested() {
+        return numberRequested;
+    }
+
+    /**
+     * @return the type of the transformation service or null, if the value is not transformed
+     */
+    String getTransformationType() {
+        return transformationType;
+    }
+
+    /**
+     * @return the function of the transformation service or null, if the value is not transformed
+     */
+    String getTransformationFunction() {
+        return transformationFunction;
+    }
+
+    /**
+     * Extracts the value to transform from a formatted value.
+     *
+     * @param formattedValue the format pattern with the formatted state
+     * @return the value to transform or null, if the formatted value does not start with the transformation
+     */
+    String getTransformationValue(String formattedValue) {
+        if (transformationPrefix == null || !formattedValue.startsWith(transformationPrefix)
+                || transformationPrefix.contains("%")) {
+            return null;
+        }
+        return formattedValue.substring(transformationPrefix.length());
+    }
+
+    /**
+     * @return the value for an undefined state or null, if it has not been set yet
+     */
+    String getUndefinedValue() {
+        return undefinedValue;
+    }
+
+    void setUndefinedValue(String undefinedValue) {
+        this.undefinedValue = undefinedValue;
+    }
+
+}
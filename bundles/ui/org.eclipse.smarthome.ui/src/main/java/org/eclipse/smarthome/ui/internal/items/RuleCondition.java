@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.internal.items;
+
+import org.eclipse.smarthome.model.sitemap.ColorArray;
+import org.eclipse.smarthome.model.sitemap.VisibilityRule;
+import org.eclipse.smarthome.ui.internal.items.ItemUIRegistryImpl.Condition;
+
+/**
+ * The condition of a visibility or color rule of a widget, whose value is parsed once, as used by
+ * {@link ItemUIRegistryImpl#getVisiblity(org.eclipse.smarthome.model.sitemap.Widget)},
+ * {@link ItemUIRegistryImpl#getLabelColor(org.eclipse.smarthome.model.sitemap.Widget)} and
+ * {@link ItemUIRegistryImpl#getValueColor(org.eclipse.smarthome.model.sitemap.Widget)}.
+ *
+ * @author agent - Initial contribution
+ */
+final class RuleCondition {
+
+    private final String itemName;
+    private final Condition condition;
+    private final String value;
+    private final Double decimalValue;
+    private final Integer integerValue;
+    private final String arg;
+
+    private RuleCondition(String itemName, String matchCondition, String sign, String state, String arg) {
+        this.itemName = itemName;
+
+        // Convert the condition string into enum
+        Condition condition = matchCondition != null ? Condition.fromString(matchCondition) : null;
+        this.condition = condition != null ? condition : Condition.EQUAL;
+
+        // Handle the sign
+        String value = sign != null ? sign + state : state;
+
+        // Remove quotes - this occurs in some instances where multiple types
+        // are defined in the xtext definitions
+        this.value = unquote(value);
+
+        Double decimalValue;
+        try {
+            decimalValue = Double.parseDouble(this.value);
+        } catch (NumberFormatException e) {
+            decimalValue = null;
+        }
+        this.decimalValue = decimalValue;
+
+        Integer integerValue;
+        try {
+            integerValue = Integer.parseInt(this.value);
+        } catch (NumberFormatException e) {
+            integerValue = null;
+        }
+        this.integerValue = integerValue;
+
+        this.arg = arg != null ? unquote(arg) : null;
+    }
+
+    static RuleCondition of(VisibilityRule rule) {
+        return new RuleCondition(rule.getItem(), rule.getCondition(), rule.getSign(), rule.getState(), null);
+    }
+
+    static RuleCondition of(ColorArray color) {
+        return new RuleCondition(color.getItem(), color.getCondition(), color.getSign(), color.getState(),
+                color.getArg());
+    }
+
+    private static String unquote(String value) {
+        if (value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    /**
+     * @return the name of the item whose state is checked or null, if the state of the widget is checked
+     */
+    String getItemName() {
+        return itemName;
+    }
+
+    Condition getCondition() {
+        return condition;
+    }
+
+    /**
+     * @return the value without quotes, including its sign
+     */
+    String getValue() {
+        return value;
+    }
+
+    /**
+     * @return the value as a decimal number or null, if it is not a number
+     */
+    Double getDecimalValue() {
+        return decimalValue;
+    }
+
+    /**
+     * @return the value as an integer or null, if it is not an integer
+     */
+    Integer getIntegerValue() {
+        return integerValue;
+    }
+
+    /**
+     * @return the color without quotes or null, if it is not a color rule
+     */
+    String getArg() {
+        return arg;
+    }
+
+}
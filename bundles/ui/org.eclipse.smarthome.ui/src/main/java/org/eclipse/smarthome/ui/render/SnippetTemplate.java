@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.render;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An html snippet of a UI, which is parsed once into its literal text and its placeholders like {@code %label%}.
+ * <p>
+ * The values of the placeholders are collected in {@link Values} and written in a single pass. Placeholders
+ * without a value are written unchanged, so that they can still be processed afterwards. The {@link #CHILDREN}
+ * placeholder marks the slot into which the html code of the child widgets is inserted.
+ * Instances are immutable and can be shared by all threads.
+ *
+ * @author agent - Initial contribution
+ */
+public final class SnippetTemplate {
+
+    /** the name of the placeholder for the html code of the child widgets */
+    public static final String CHILDREN = "children";
+
+    /** the placeholder for the html code of the child widgets, as it is written if it has no value */
+    public static final String CHILDREN_PLACEHOLDER = "%" + CHILDREN + "%";
+
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("%([a-zA-Z_]+)%");
+
+    private final String snippet;
+
+    /* the text before, between and after the placeholders, i.e. one more than there are placeholders */
+    private final String[] literals;
+
+    /* the index of the name of each placeholder */
+    private final int[] slots;
+
+    private final String[] names;
+
+    private final Map<String, Integer> nameIndexes;
+
+    private SnippetTemplate(String snippet) {
+        this.snippet = snippet;
+
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        Map<String, Integer> nameIndexes = new HashMap<>();
+
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(snippet);
+        int start = 0;
+        while (matcher.find()) {
+            literals.add(snippet.substring(start, matcher.start()));
+            String name = matcher.group(1);
+            Integer index = nameIndexes.get(name);
+            if (index == null) {
+                index = names.size();
+                names.add(name);
+                nameIndexes.put(name, index);
+            }
+            slots.add(index);
+            start = matcher.end();
+        }
+        literals.add(snippet.substring(start));
+
+        this.literals = literals.toArray(new String[literals.size()]);
+        this.slots = new int[slots.size()];
+        for (int i = 0; i < this.slots.length; i++) {
+            this.slots[i] = slots.get(i);
+        }
+        this.names = names.toArray(new String[names.size()]);
+        this.nameIndexes = nameIndexes;
+    }
+
+    /**
+     * Parses an html snippet.
+     *
+     * @param snippet the html snippet including placeholders, must not be null
+     * @return the parsed snippet
+     */
+    public static SnippetTemplate compile(String snippet) {
+        return new SnippetTemplate(snippet);
+    }
+
+    /**
+     * @return the html snippet including its placeholders
+     */
+    public String getSnippet() {
+        return snippet;
+    }
+
+    /**
+     * Splits html code, which has been written from snippets, at the first {@link #CHILDREN_PLACEHOLDER}, which has
+     * not been replaced. The text after a second placeholder is dropped.
+     *
+     * @param html the html code to split
+     * @param before the string builder to append the text before the placeholder to
+     * @param after the string builder to append the text after the placeholder to
+     * @return the number of children placeholders in the html code; if it is 0, the whole html code is appended to
+     *         the first string builder
+     */
+    public static int splitAtChildren(StringBuilder html, StringBuilder before, StringBuilder after) {
+        int start = html.indexOf(CHILDREN_PLACEHOLDER);
+        if (start < 0) {
+            before.append(html);
+            return 0;
+        }
+        before.append(html, 0, start);
+        int count = 1;
+        int end = start + CHILDREN_PLACEHOLDER.length();
+        int next = html.indexOf(CHILDREN_PLACEHOLDER, end);
+        after.append(html, end, next < 0 ? html.length() : next);
+        while (next >= 0) {
+            count++;
+            next = html.indexOf(CHILDREN_PLACEHOLDER, next + CHILDREN_PLACEHOLDER.length());
+        }
+        return count;
+    }
+
+    private int countSlots(int index, int start) {
+        int count = 0;
+        for (int i = start; i < slots.length; i++) {
+            if (slots[i] == index) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return new, empty values for the placeholders of this snippet
+     */
+    public Values newValues() {
+        return new Values();
+    }
+
+    /**
+     * The values of the placeholders for a single rendering of a {@link SnippetTemplate}.
+     */
+    public final class Values {
+
+        private final String[] values = new String[names.length];
+
+        private Values() {
+        }
+
+        /**
+         * Sets the value of a placeholder. Values of placeholders, which are not part of the snippet, are ignored.
+         *
+         * @param name the name of the placeholder without the percent signs
+         * @param value the value or null, if the placeholder should be written unchanged
+         * @return these values
+         */
+        public Values set(String name, String value) {
+            Integer index = nameIndexes.get(name);
+            if (index != null) {
+                values[index] = value;
+            }
+            return this;
+        }
+
+        /**
+         * Writes the snippet, in which all placeholders are replaced by their values.
+         *
+         * @param sb the string builder to append the snippet to
+         * @return the given string builder
+         */
+        public StringBuilder appendTo(StringBuilder sb) {
+            for (int i = 0; i < slots.length; i++) {
+                sb.append(literals[i]);
+                String value = values[slots[i]];
+                if (value != null) {
+                    sb.append(value);
+                } else {
+                    sb.append('%').append(names[slots[i]]).append('%');
+                }
+            }
+            sb.append(literals[slots.length]);
+            return sb;
+        }
+
+        /**
+         * Writes the snippet like {@link #appendTo(StringBuilder)}, but splits it at the first placeholder with the
+         * given name. The text before this placeholder is appended to one string builder, the text after it to the
+         * other one. The text after a second placeholder with this name is dropped.
+         *
+         * @param before the string builder to append the text before the placeholder to
+         * @param after the string builder to append the text after the placeholder to
+         * @param name the name of the placeholder without the percent signs, e.g. {@link SnippetTemplate#CHILDREN}
+         * @return the number of placeholders with this name in the snippet; if it is 0, the whole snippet is
+         *         appended to the first string builder
+         */
+        public int appendTo(StringBuilder before, StringBuilder after, String name) {
+            Integer index = nameIndexes.get(name);
+            if (index == null) {
+                appendTo(before);
+                return 0;
+            }
+            int count = 0;
+            StringBuilder sb = before;
+            for (int i = 0; i < slots.length; i++) {
+                sb.append(literals[i]);
+                if (slots[i] == index) {
+                    if (++count == 2) {
+                        return count + countSlots(index, i + 1);
+                    }
+                    sb = after;
+                    continue;
+                }
+                String value = values[slots[i]];
+                if (value != null) {
+                    sb.append(value);
+                } else {
+                    sb.append('%').append(names[slots[i]]).append('%');
+                }
+            }
+            sb.append(literals[slots.length]);
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return appendTo(new StringBuilder(snippet.length() + 64)).toString();
+        }
+    }
+
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.basic.internal.render;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.model.sitemap.Frame;
+import org.eclipse.smarthome.model.sitemap.LinkableWidget;
+import org.eclipse.smarthome.model.sitemap.Mapping;
+import org.eclipse.smarthome.model.sitemap.SitemapProvider;
+import org.eclipse.smarthome.model.sitemap.Switch;
+import org.eclipse.smarthome.model.sitemap.Text;
+import org.eclipse.smarthome.model.sitemap.Widget;
+import org.eclipse.smarthome.ui.basic.internal.WebAppConfig;
+import org.eclipse.smarthome.ui.items.ItemUIRegistry;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the rendering of the pages of the Basic UI with the parsed html snippets.
+ *
+ * @author agent - Initial contribution
+ */
+public class PageRendererTest {
+
+    private static final String LAYER_SNIPPET = "<page><title><![CDATA[ %label% ]]></title>"
+            + "<data><![CDATA[%children%]]></data></page>";
+
+    private static final String FRAME_SNIPPET = "<div class=\"mdl-form %frame_class%\" data-widget-id=\"%widget_id%\">"
+            + "<h5 %labelstyle%>%label%</h5>\n%children%\n</div>";
+
+    private static final String TEXT_SNIPPET = "<div class=\"%visibility_class%\">"
+            + "<img src=\"../icon/%category%?state=%state%&format=%icon_type%\" />"
+            + "<span %labelstyle%>%label%</span><div %valuestyle% data-widget-id=\"%widget_id%\">%value%</div></div>";
+
+    private static final String SWITCH_SNIPPET = "<div><div>%label%</div>"
+            + "<input type=\"checkbox\" %checked% id=\"oh-checkbox-%item%\" /></div>";
+
+    private static final String MAIN_STATIC_SNIPPET = "<html class=\"%htmlclass%\"><title>%title%</title>"
+            + "<div>%content%</div></html>";
+
+    private static final String SITEMAPS_LIST_SNIPPET = "<div class=\"welcome-sitemaps\">\n%items%\n</div>";
+
+    private static final String SITEMAPS_LIST_ITEM_SNIPPET = "<a href='/basicui/app?sitemap=%sitemap%'>%sitemap%</a>";
+
+    private static final String SITEMAPS_LIST_EMPTY_SNIPPET = "There are no sitemaps available.";
+
+    private PageRenderer pageRenderer;
+
+    @Before
+    public void setUp() throws Exception {
+        AbstractWidgetRenderer.snippetCache.put("layer", SnippetTemplate.compile(LAYER_SNIPPET));
+        AbstractWidgetRenderer.snippetCache.put("frame", SnippetTemplate.compile(FRAME_SNIPPET));
+        AbstractWidgetRenderer.snippetCache.put("text", SnippetTemplate.compile(TEXT_SNIPPET));
+        AbstractWidgetRenderer.snippetCache.put("switch", SnippetTemplate.compile(SWITCH_SNIPPET));
+        AbstractWidgetRenderer.snippetCache.put("main_static", SnippetTemplate.compile(MAIN_STATIC_SNIPPET));
+        AbstractWidgetRenderer.snippetCache.put("sitemaps_list", SnippetTemplate.compile(SITEMAPS_LIST_SNIPPET));
+        AbstractWidgetRenderer.snippetCache.put("sitemaps_list_item",
+                SnippetTemplate.compile(SITEMAPS_LIST_ITEM_SNIPPET));
+        AbstractWidgetRenderer.snippetCache.put("sitemaps_list_empty",
+                SnippetTemplate.compile(SITEMAPS_LIST_EMPTY_SNIPPET));
+
+        ItemUIRegistry itemUIRegistry = mock(ItemUIRegistry.class);
+        when(itemUIRegistry.getVisiblity(any(Widget.class))).thenReturn(true);
+        when(itemUIRegistry.getWidgetId(any(Widget.class)))
+                .thenAnswer(invocation -> ((Widget) invocation.getArguments()[0]).getItem());
+        when(itemUIRegistry.getLabel(any(Widget.class)))
+                .thenAnswer(invocation -> "Label of " + ((Widget) invocation.getArguments()[0]).getItem() + " [ON]");
+        when(itemUIRegistry.getState(any(Widget.class))).thenReturn(OnOffType.ON);
+        when(itemUIRegistry.getCategory(any(Widget.class))).thenReturn("switch");
+        when(itemUIRegistry.getValueColor(any(Widget.class))).thenReturn("red");
+        when(itemUIRegistry.getChildren(any(LinkableWidget.class)))
+                .thenAnswer(invocation -> ((LinkableWidget) invocation.getArguments()[0]).getChildren());
+        when(itemUIRegistry.getItem(anyString())).thenReturn(new SwitchItem("Switch"));
+
+        pageRenderer = new PageRenderer();
+        pageRenderer.setItemUIRegistry(itemUIRegistry);
+        for (AbstractWidgetRenderer renderer : new AbstractWidgetRenderer[] { new FrameRenderer(),
+                new SwitchRenderer(), new TextRenderer() }) {
+            renderer.setItemUIRegistry(itemUIRegistry);
+            pageRenderer.addWidgetRenderer(renderer);
+        }
+        pageRenderer.setConfig(new WebAppConfig());
+    }
+
+    @After
+    public void tearDown() {
+        AbstractWidgetRenderer.snippetCache.clear();
+    }
+
+    @Test
+    public void assertThatWidgetsAreRenderedIntoTheChildrenSlots() throws Exception {
+        EList<Widget> frames = new BasicEList<Widget>();
+        frames.add(createFrame("Frame_0", createSwitch("Item_0_0"), createText("Item_0_1")));
+        frames.add(createFrame("Frame_1", createText("Item_1_0")));
+
+        String html = pageRenderer.processPage("0000", "demo", "Demo [5]", frames, true).toString();
+
+        assertThat(html, containsString("<title><![CDATA[ Demo 5 ]]></title>"));
+        assertThat(html, containsString("<div><div>Label of Item_0_0 </div>"
+                + "<input type=\"checkbox\" checked=true id=\"oh-checkbox-Item_0_0\" /></div>"));
+        assertThat(html, containsString("<img src=\"../icon/switch?state=ON&format=png\" />"
+                + "<span >Label of Item_0_1 </span><div style=\"color:red\" data-widget-id=\"Item_0_1\">ON</div>"));
+        assertThat(html, not(containsString("%children%")));
+        assertThat(html, not(containsString("%label%")));
+
+        // the widgets are placed between the opening and the closing html code of their frame
+        int frame0 = html.indexOf("data-widget-id=\"Frame_0\"");
+        int frame1 = html.indexOf("data-widget-id=\"Frame_1\"");
+        assertThat(frame0 < html.indexOf("Item_0_1") && html.indexOf("Item_0_1") < frame1, is(true));
+        assertThat(html.indexOf("\n</div>", frame0) < frame1, is(true));
+        assertThat(html.endsWith("\n</div>]]></data></page>"), is(true));
+    }
+
+    @Test
+    public void assertThatWidgetsWithoutFrameAreWrappedInAFrameWithoutLabel() throws Exception {
+        EList<Widget> children = new BasicEList<Widget>();
+        children.add(createText("Item_0"));
+
+        String html = pageRenderer.processPage("0000", "demo", "Demo", children, true).toString();
+
+        assertThat(html, containsString("<div class=\"mdl-form mdl-form--no-label\""));
+        assertThat(html.indexOf("mdl-form--no-label") < html.indexOf("Label of Item_0"), is(true));
+        assertThat(html.endsWith("Label of Item_0 </span><div style=\"color:red\" data-widget-id=\"Item_0\">ON</div>"
+                + "</div>\n</div>]]></data></page>"), is(true));
+    }
+
+    @Test
+    public void assertThatTheSitemapListContainsAllSitemapsButTheDefaultSitemap() throws Exception {
+        SitemapProvider sitemapProvider = mock(SitemapProvider.class);
+        when(sitemapProvider.getSitemapNames())
+                .thenReturn(new LinkedHashSet<>(Arrays.asList("demo", "_default", "other")));
+
+        String html = pageRenderer.renderSitemapList(Collections.singleton(sitemapProvider)).toString();
+
+        assertThat(html, containsString("<title>BasicUI</title>"));
+        assertThat(html, containsString("page-welcome-sitemaps"));
+        assertThat(html, containsString("<div class=\"welcome-sitemaps\">\n<a href='/basicui/app?sitemap=demo'>demo</a>"
+                + "<a href='/basicui/app?sitemap=other'>other</a>\n</div>"));
+        assertThat(html, not(containsString("_default")));
+    }
+
+    @Test
+    public void assertThatAnEmptySitemapListIsRendered() throws Exception {
+        Set<SitemapProvider> sitemapProviders = new HashSet<>();
+
+        String html = pageRenderer.renderSitemapList(sitemapProviders).toString();
+
+        assertThat(html, containsString("<div class=\"welcome-sitemaps\">\nThere are no sitemaps available.\n</div>"));
+    }
+
+    private Frame createFrame(String name, Widget... widgets) {
+        EList<Widget> children = new BasicEList<Widget>();
+        for (Widget widget : widgets) {
+            children.add(widget);
+        }
+        Frame frame = mock(Frame.class);
+        when(frame.getItem()).thenReturn(name);
+        when(frame.getChildren()).thenReturn(children);
+        return frame;
+    }
+
+    private Switch createSwitch(String itemName) {
+        Switch widget = mock(Switch.class);
+        when(widget.getItem()).thenReturn(itemName);
+        when(widget.getMappings()).thenReturn(new BasicEList<Mapping>());
+        return widget;
+    }
+
+    private Text createText(String itemName) {
+        Text widget = mock(Text.class);
+        when(widget.getItem()).thenReturn(itemName);
+        when(widget.getChildren()).thenReturn(new BasicEList<Widget>());
+        return widget;
+    }
+
+}
@@ -11,12 +11,11 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
 import java.net.URLEncoder;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringEscapeUtils;
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.basic.internal.WebAppActivator;
@@ -24,6 +23,7 @@ import org.eclipse.smarthome.ui.basic.internal.WebAppConfig;
 import org.eclipse.smarthome.ui.basic.render.RenderException;
 import org.eclipse.smarthome.ui.basic.render.WidgetRenderer;
 import org.eclipse.smarthome.ui.items.ItemUIRegistry;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,8 +51,8 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
     /* the snippet location inside this bundle */
     protected static final String SNIPPET_LOCATION = "snippets/";
 
-    /* a local cache so we do not have to read the snippets over and over again from the bundle */
-    protected static final Map<String, String> snippetCache = new HashMap<String, String>();
+    /* a local cache so we do not have to read and parse the snippets over and over again from the bundle */
+    protected static final Map<String, SnippetTemplate> snippetCache = new ConcurrentHashMap<>();
 
     public void setItemUIRegistry(ItemUIRegistry itemUIRegistry) {
         this.itemUIRegistry = itemUIRegistry;
@@ -75,24 +75,23 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
     /**
      * Replace some common values in the widget template
      *
-     * @param snippet snippet html code
+     * @param snippet the values of the snippet html code
      * @param w corresponding widget
-     * @return
+     * @return the given values
      */
-    protected String preprocessSnippet(String snippet, Widget w) {
-        snippet = StringUtils.replace(snippet, "%widget_id%", itemUIRegistry.getWidgetId(w));
-        snippet = StringUtils.replace(snippet, "%icon_type%", config.getIconType());
-        snippet = StringUtils.replace(snippet, "%item%", w.getItem() != null ? w.getItem() : "");
-        snippet = StringUtils.replace(snippet, "%label%", getLabel(w));
-        snippet = StringUtils.replace(snippet, "%value%", getValue(w));
-        snippet = StringUtils.replace(snippet, "%visibility_class%",
-                itemUIRegistry.getVisiblity(w) ? "" : "mdl-form__row--hidden");
+    protected SnippetTemplate.Values preprocessSnippet(SnippetTemplate.Values snippet, Widget w) {
+        snippet.set("widget_id", itemUIRegistry.getWidgetId(w));
+        snippet.set("icon_type", config.getIconType());
+        snippet.set("item", w.getItem() != null ? w.getItem() : "");
+        snippet.set("label", getLabel(w));
+        snippet.set("value", getValue(w));
+        snippet.set("visibility_class", itemUIRegistry.getVisiblity(w) ? "" : "mdl-form__row--hidden");
 
         String state = getState(w);
-        snippet = StringUtils.replace(snippet, "%state%", state == null ? "" : escapeURL(state));
+        snippet.set("state", state == null ? "" : escapeURL(state));
 
         String category = getCategory(w);
-        snippet = StringUtils.replace(snippet, "%category%", escapeURL(category));
+        snippet.set("category", escapeURL(category));
 
         return snippet;
     }
@@ -104,16 +103,28 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
      * @return the html snippet to be used in the UI (including placeholders for variables)
      * @throws RenderException if snippet could not be read
      */
-    protected synchronized String getSnippet(String elementType) throws RenderException {
+    protected String getSnippet(String elementType) throws RenderException {
+        SnippetTemplate template = getTemplate(elementType);
+        return template != null ? template.getSnippet() : null;
+    }
+
+    /**
+     * This method provides the parsed html snippet for a given elementType of the sitemap model.
+     *
+     * @param elementType the name of the model type (e.g. "Group" or "Switch")
+     * @return the parsed html snippet to be used in the UI or null, if it could not be read
+     * @throws RenderException if snippet could not be found
+     */
+    protected SnippetTemplate getTemplate(String elementType) throws RenderException {
         elementType = elementType.toLowerCase();
-        String snippet = snippetCache.get(elementType);
-        if (snippet == null) {
+        SnippetTemplate template = snippetCache.get(elementType);
+        if (template == null) {
             String snippetLocation = SNIPPET_LOCATION + elementType + SNIPPET_EXT;
             URL entry = WebAppActivator.getContext().getBundle().getEntry(snippetLocation);
             if (entry != null) {
                 try {
-                    snippet = IOUtils.toString(entry.openStream());
-                    snippetCache.put(elementType, snippet);
+                    template = SnippetTemplate.compile(IOUtils.toString(entry.openStream()));
+                    snippetCache.put(elementType, template);
                 } catch (IOException e) {
                     logger.warn("Cannot load snippet for element type '{}'", elementType, e);
                 }
@@ -121,7 +132,7 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
                 throw new RenderException("Cannot find a snippet for element type '" + elementType + "'");
             }
         }
-        return snippet;
+        return template;
     }
 
     /**
@@ -184,10 +195,9 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
      * @param w
      *            The widget to process
      * @param snippet
-     *            The snippet to translate
-     * @return The updated snippet
+     *            The values of the snippet to translate
      */
-    protected String processColor(Widget w, String snippet) {
+    protected void processColor(Widget w, SnippetTemplate.Values snippet) {
         String style = "";
         String color = "";
 
@@ -196,7 +206,7 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
         if (color != null) {
             style = "style=\"color:" + color + "\"";
         }
-        snippet = StringUtils.replace(snippet, "%labelstyle%", style);
+        snippet.set("labelstyle", style);
 
         style = "";
         color = itemUIRegistry.getValueColor(w);
@@ -204,9 +214,7 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
         if (color != null) {
             style = "style=\"color:" + color + "\"";
         }
-        snippet = StringUtils.replace(snippet, "%valuestyle%", style);
-
-        return snippet;
+        snippet.set("valuestyle", style);
     }
 
     protected String getCategory(Widget w) {
@@ -9,7 +9,6 @@ package org.eclipse.smarthome.ui.basic.internal.render;
 
 import java.util.Date;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
@@ -18,6 +17,7 @@ import org.eclipse.smarthome.model.sitemap.Chart;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.basic.render.RenderException;
 import org.eclipse.smarthome.ui.basic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,20 +62,20 @@ public class ChartRenderer extends AbstractWidgetRenderer {
                 url += "&service=" + chart.getService();
             }
 
-            String snippet = getSnippet("chart");
-            snippet = preprocessSnippet(snippet, w);
+            SnippetTemplate.Values snippet = getTemplate("chart").newValues();
+            preprocessSnippet(snippet, w);
 
             if (chart.getRefresh() > 0) {
-                snippet = StringUtils.replace(snippet, "%update_interval%", Integer.toString(chart.getRefresh()));
+                snippet.set("update_interval", Integer.toString(chart.getRefresh()));
             } else {
-                snippet = StringUtils.replace(snippet, "%update_interval%", "0");
+                snippet.set("update_interval", "0");
             }
 
-            snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(w));
-            snippet = StringUtils.replace(snippet, "%url%", url);
-            snippet = StringUtils.replace(snippet, "%refresh%", Integer.toString(chart.getRefresh()));
+            snippet.set("id", itemUIRegistry.getWidgetId(w));
+            snippet.set("url", url);
+            snippet.set("refresh", Integer.toString(chart.getRefresh()));
 
-            sb.append(snippet);
+            snippet.appendTo(sb);
         } catch (ItemNotFoundException e) {
             logger.warn("Chart cannot be rendered as item '{}' does not exist.", chart.getItem());
         }
@@ -7,7 +7,6 @@
  */
 package org.eclipse.smarthome.ui.basic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.library.types.HSBType;
 import org.eclipse.smarthome.core.types.State;
@@ -16,6 +15,7 @@ import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.basic.internal.servlet.WebAppServlet;
 import org.eclipse.smarthome.ui.basic.render.RenderException;
 import org.eclipse.smarthome.ui.basic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * <p>
@@ -51,7 +51,7 @@ public class ColorpickerRenderer extends AbstractWidgetRenderer {
 
         String snippetName = "colorpicker";
 
-        String snippet = getSnippet(snippetName);
+        SnippetTemplate.Values snippet = getTemplate(snippetName).newValues();
 
         // set the default send-update frequency to 200ms
         String frequency = cp.getFrequency() == 0 ? "200" : Integer.toString(cp.getFrequency());
@@ -63,33 +63,31 @@ public class ColorpickerRenderer extends AbstractWidgetRenderer {
             HSBType hsbState = (HSBType) state;
             hexValue = "#" + Integer.toHexString(hsbState.getRGB()).substring(2);
         }
-        String label = getLabel(cp);
         String purelabel = itemUIRegistry.getLabel(w);
         purelabel = purelabel.replaceAll("\\\"", "\\\\'");
 
-        // Should be called before preprocessSnippet
-        snippet = StringUtils.replace(snippet, "%state%", hexValue);
-
-        snippet = preprocessSnippet(snippet, w);
-        snippet = StringUtils.replace(snippet, "%purelabel%", purelabel);
-        snippet = StringUtils.replace(snippet, "%frequency%", frequency);
-        snippet = StringUtils.replace(snippet, "%servletname%", WebAppServlet.SERVLET_NAME);
+        preprocessSnippet(snippet, w);
+        // Should be set after preprocessSnippet
+        snippet.set("state", hexValue);
+        snippet.set("purelabel", purelabel);
+        snippet.set("frequency", frequency);
+        snippet.set("servletname", WebAppServlet.SERVLET_NAME);
 
         String style = "";
         String color = itemUIRegistry.getLabelColor(w);
         if (color != null) {
             style = "color:" + color;
         }
-        snippet = StringUtils.replace(snippet, "%labelstyle%", style);
+        snippet.set("labelstyle", style);
 
         style = "";
         color = itemUIRegistry.getValueColor(w);
         if (color != null) {
             style = "color:" + color;
         }
-        snippet = StringUtils.replace(snippet, "%valuestyle%", style);
+        snippet.set("valuestyle", style);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
@@ -17,6 +17,7 @@ import org.eclipse.smarthome.model.sitemap.Frame;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.basic.render.RenderException;
 import org.eclipse.smarthome.ui.basic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * This is an implementation of the {@link WidgetRenderer} interface, which
@@ -41,12 +42,12 @@ public class FrameRenderer extends AbstractWidgetRenderer {
      */
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("frame");
+        SnippetTemplate.Values snippet = getTemplate("frame").newValues();
         String label = StringEscapeUtils.escapeHtml(itemUIRegistry.getLabel(w));
         List<String> frameClassList = new ArrayList<>();
 
-        snippet = StringUtils.replace(snippet, "%label%", label);
-        snippet = StringUtils.replace(snippet, "%widget_id%", itemUIRegistry.getWidgetId(w));
+        snippet.set("label", label);
+        snippet.set("widget_id", itemUIRegistry.getWidgetId(w));
 
         if (label.isEmpty()) {
             frameClassList.add("mdl-form--no-label");
@@ -57,12 +58,12 @@ public class FrameRenderer extends AbstractWidgetRenderer {
         }
 
         String frameClass = StringUtils.join(frameClassList, ' ');
-        snippet = StringUtils.replace(snippet, "%frame_class%", frameClass);
+        snippet.set("frame_class", frameClass);
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return itemUIRegistry.getChildren((Frame) w);
     }
 }
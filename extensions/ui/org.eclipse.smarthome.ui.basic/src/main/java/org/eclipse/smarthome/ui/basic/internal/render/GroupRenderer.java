@@ -7,12 +7,12 @@
  */
 package org.eclipse.smarthome.ui.basic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Group;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.basic.render.RenderException;
 import org.eclipse.smarthome.ui.basic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * This is an implementation of the {@link WidgetRenderer} interface, which
@@ -37,16 +37,16 @@ public class GroupRenderer extends AbstractWidgetRenderer {
      */
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("group");
+        SnippetTemplate.Values snippet = getTemplate("group").newValues();
 
-        snippet = preprocessSnippet(snippet, w);
-        snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(w));
-        snippet = StringUtils.replace(snippet, "%value%", getValue(w));
+        preprocessSnippet(snippet, w);
+        snippet.set("id", itemUIRegistry.getWidgetId(w));
+        snippet.set("value", getValue(w));
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
@@ -9,12 +9,12 @@ package org.eclipse.smarthome.ui.basic.internal.render;
 
 import java.util.Date;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Image;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.basic.render.RenderException;
 import org.eclipse.smarthome.ui.basic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * This is an implementation of the {@link WidgetRenderer} interface, which
@@ -40,24 +40,25 @@ public class ImageRenderer extends AbstractWidgetRenderer {
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
         Image image = (Image) w;
-        String snippet = (image.getChildren().size() > 0) ? getSnippet("image_link") : getSnippet("image");
+        SnippetTemplate.Values snippet = (image.getChildren().size() > 0) ? getTemplate("image_link").newValues()
+                : getTemplate("image").newValues();
 
         if (image.getRefresh() > 0) {
-            snippet = StringUtils.replace(snippet, "%update_interval%", Integer.toString(image.getRefresh()));
+            snippet.set("update_interval", Integer.toString(image.getRefresh()));
         } else {
-            snippet = StringUtils.replace(snippet, "%update_interval%", "0");
+            snippet.set("update_interval", "0");
         }
 
         String widgetId = itemUIRegistry.getWidgetId(w);
-        snippet = StringUtils.replace(snippet, "%id%", widgetId);
-        snippet = preprocessSnippet(snippet, w);
+        snippet.set("id", widgetId);
+        preprocessSnippet(snippet, w);
 
         String sitemap = w.eResource().getURI().path();
 
         String url = "../proxy?sitemap=" + sitemap + "&amp;widgetId=" + widgetId + "&amp;t=" + (new Date()).getTime();
-        snippet = StringUtils.replace(snippet, "%url%", url);
+        snippet.set("url", url);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
@@ -7,12 +7,12 @@
  */
 package org.eclipse.smarthome.ui.basic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.List;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.basic.render.RenderException;
 import org.eclipse.smarthome.ui.basic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * This is an implementation of the {@link WidgetRenderer} interface, which
@@ -37,22 +37,22 @@ public class ListRenderer extends AbstractWidgetRenderer {
      */
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("list");
-        snippet = snippet.replaceAll("%label%", getLabel(w));
+        SnippetTemplate.Values snippet = getTemplate("list").newValues();
+        snippet.set("label", getLabel(w));
 
-        String rowSnippet = getSnippet("list_row");
+        SnippetTemplate rowTemplate = getTemplate("list_row");
         String state = itemUIRegistry.getState(w).toString();
         String[] rowContents = state.split(((List) w).getSeparator());
         StringBuilder rowSB = new StringBuilder();
         for (String row : rowContents) {
-            rowSB.append(StringUtils.replace(rowSnippet, "%title%", escapeHtml(row)));
+            rowTemplate.newValues().set("title", escapeHtml(row)).appendTo(rowSB);
         }
-        snippet = StringUtils.replace(snippet, "%rows%", rowSB.toString());
+        snippet.set("rows", rowSB.toString());
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
@@ -7,7 +7,6 @@
  */
 package org.eclipse.smarthome.ui.basic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.library.types.PointType;
 import org.eclipse.smarthome.core.types.State;
@@ -15,6 +14,7 @@ import org.eclipse.smarthome.model.sitemap.Mapview;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.basic.render.RenderException;
 import org.eclipse.smarthome.ui.basic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * This is an implementation of the {@link WidgetRenderer} interface, which
@@ -39,20 +39,20 @@ public class MapviewRenderer extends AbstractWidgetRenderer {
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
         Mapview mapview = (Mapview) w;
-        String snippet = getSnippet("mapview");
-        snippet = preprocessSnippet(snippet, mapview);
+        SnippetTemplate.Values snippet = getTemplate("mapview").newValues();
+        preprocessSnippet(snippet, mapview);
 
         State state = itemUIRegistry.getState(mapview);
         if (state instanceof PointType) {
             PointType pointState = (PointType) state;
             double latitude = pointState.getLatitude().doubleValue();
             double longitude = pointState.getLongitude().doubleValue();
-            snippet = StringUtils.replace(snippet, "%lat%", Double.toString(latitude));
-            snippet = StringUtils.replace(snippet, "%lon%", Double.toString(longitude));
-            snippet = StringUtils.replace(snippet, "%lonminus%", Double.toString(longitude - 0.01));
-            snippet = StringUtils.replace(snippet, "%lonplus%", Double.toString(longitude + 0.01));
-            snippet = StringUtils.replace(snippet, "%latminus%", Double.toString(latitude - 0.01));
-            snippet = StringUtils.replace(snippet, "%latplus%", Double.toString(latitude + 0.01));
+            snippet.set("lat", Double.toString(latitude));
+            snippet.set("lon", Double.toString(longitude));
+            snippet.set("lonminus", Double.toString(longitude - 0.01));
+            snippet.set("lonplus", Double.toString(longitude + 0.01));
+            snippet.set("latminus", Double.toString(latitude - 0.01));
+            snippet.set("latplus", Double.toString(latitude + 0.01));
         }
 
         int height = mapview.getHeight();
@@ -60,9 +60,9 @@ public class MapviewRenderer extends AbstractWidgetRenderer {
             height = 4; // set default height to something viewable
         }
         height = height * 36;
-        snippet = StringUtils.replace(snippet, "%height%", Integer.toString(height));
+        snippet.set("height", Integer.toString(height));
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
@@ -12,7 +12,6 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.smarthome.model.sitemap.Frame;
@@ -23,6 +22,7 @@ import org.eclipse.smarthome.ui.basic.internal.WebAppConfig;
 import org.eclipse.smarthome.ui.basic.internal.servlet.WebAppServlet;
 import org.eclipse.smarthome.ui.basic.render.RenderException;
 import org.eclipse.smarthome.ui.basic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,8 +66,8 @@ public class PageRenderer extends AbstractWidgetRenderer {
     public StringBuilder processPage(String id, String sitemap, String label, EList<Widget> children, boolean async)
             throws RenderException {
 
-        String snippet = getSnippet(async ? "layer" : "main");
-        snippet = snippet.replaceAll("%id%", id);
+        SnippetTemplate.Values snippet = getTemplate(async ? "layer" : "main").newValues();
+        snippet.set("id", id);
 
         // if the label contains a value span, we remove this span as
         // the title of a page/layer cannot deal with this
@@ -77,20 +77,19 @@ public class PageRenderer extends AbstractWidgetRenderer {
         if (label.contains("[") && label.endsWith("]")) {
             label = label.replace("[", "").replace("]", "");
         }
-        snippet = StringUtils.replace(snippet, "%label%", escapeHtml(label));
-        snippet = StringUtils.replace(snippet, "%servletname%", WebAppServlet.SERVLET_NAME);
-        snippet = StringUtils.replace(snippet, "%sitemap%", sitemap);
-        snippet = StringUtils.replace(snippet, "%htmlclass%", config.getCssClassList());
-        snippet = StringUtils.replace(snippet, "%icon_type%", config.getIconType());
+        snippet.set("label", escapeHtml(label));
+        snippet.set("servletname", WebAppServlet.SERVLET_NAME);
+        snippet.set("sitemap", sitemap);
+        snippet.set("htmlclass", config.getCssClassList());
+        snippet.set("icon_type", config.getIconType());
 
-        String[] parts = snippet.split("%children%");
+        StringBuilder pre_children = new StringBuilder();
+        StringBuilder post_children = new StringBuilder();
+        int childrenSlots = snippet.appendTo(pre_children, post_children, SnippetTemplate.CHILDREN);
 
-        StringBuilder pre_children = new StringBuilder(parts[0]);
-        StringBuilder post_children = new StringBuilder(parts[1]);
-
-        if (parts.length == 2) {
+        if (childrenSlots == 1) {
             processChildren(pre_children, post_children, children);
-        } else if (parts.length > 2) {
+        } else if (childrenSlots > 1) {
             logger.error("Snippet '{}' contains multiple %children% sections, but only one is allowed!",
                     async ? "layer" : "main");
         }
@@ -106,16 +105,17 @@ public class PageRenderer extends AbstractWidgetRenderer {
             EObject parent = firstChild.eContainer();
             if (!(firstChild instanceof Frame || parent instanceof Frame || parent instanceof Sitemap
                     || parent instanceof org.eclipse.smarthome.model.sitemap.List)) {
-                String frameSnippet = getSnippet("frame");
-                frameSnippet = StringUtils.replace(frameSnippet, "%label%", "");
-                frameSnippet = StringUtils.replace(frameSnippet, "%frame_class%", "mdl-form--no-label");
-
-                String[] parts = frameSnippet.split("%children%");
-                if (parts.length > 1) {
-                    sb_pre.append(parts[0]);
-                    sb_post.insert(0, parts[1]);
+                SnippetTemplate.Values frameSnippet = getTemplate("frame").newValues().set("label", "")
+                        .set("frame_class", "mdl-form--no-label");
+
+                StringBuilder pre_frame = new StringBuilder();
+                StringBuilder post_frame = new StringBuilder();
+                int childrenSlots = frameSnippet.appendTo(pre_frame, post_frame, SnippetTemplate.CHILDREN);
+                if (childrenSlots > 0) {
+                    sb_pre.append(pre_frame);
+                    sb_post.insert(0, post_frame);
                 }
-                if (parts.length > 2) {
+                if (childrenSlots > 1) {
                     logger.error("Snippet 'frame' contains multiple %children% sections, but only one is allowed!");
                 }
             }
@@ -127,19 +127,11 @@ public class PageRenderer extends AbstractWidgetRenderer {
             StringBuilder widgetSB = new StringBuilder();
             EList<Widget> nextChildren = renderWidget(w, widgetSB);
             if (nextChildren != null) {
-                String[] parts = widgetSB.toString().split("%children%");
-                // no %children% placeholder found or at the end
-                if (parts.length == 1) {
-                    new_pre.append(widgetSB);
-                }
-                // %children% section found
-                if (parts.length > 1) {
-                    new_pre.append(parts[0]);
-                    new_post.insert(0, parts[1]);
-                }
+                // the widget renderers write the children slot of their snippets as a placeholder
+                int childrenSlots = SnippetTemplate.splitAtChildren(widgetSB, new_pre, new_post);
                 // multiple %children% sections found -> log an error and ignore all code starting from the second
                 // occurance
-                if (parts.length > 2) {
+                if (childrenSlots > 1) {
                     String widgetType = w.eClass().getInstanceTypeName()
                             .substring(w.eClass().getInstanceTypeName().lastIndexOf(".") + 1);
                     logger.error(
@@ -200,26 +192,25 @@ public class PageRenderer extends AbstractWidgetRenderer {
             }
         }
 
-        String pageSnippet = getSnippet("main_static");
-        String listSnippet = getSnippet("sitemaps_list");
-        String sitemapSnippet = getSnippet("sitemaps_list_item");
+        SnippetTemplate.Values pageSnippet = getTemplate("main_static").newValues();
+        SnippetTemplate.Values listSnippet = getTemplate("sitemaps_list").newValues();
+        SnippetTemplate sitemapTemplate = getTemplate("sitemaps_list_item");
 
         StringBuilder sb = new StringBuilder();
         if (sitemapList.isEmpty()) {
             sb.append(getSnippet("sitemaps_list_empty"));
         } else {
             for (String sitemap : sitemapList) {
-                sb.append(StringUtils.replace(sitemapSnippet, "%sitemap%", sitemap));
+                sitemapTemplate.newValues().set("sitemap", sitemap).appendTo(sb);
             }
         }
 
-        listSnippet = StringUtils.replace(listSnippet, "%items%", sb.toString());
+        listSnippet.set("items", sb.toString());
 
-        pageSnippet = StringUtils.replace(pageSnippet, "%title%", "BasicUI");
-        pageSnippet = StringUtils.replace(pageSnippet, "%htmlclass%",
-                config.getCssClassList() + " page-welcome-sitemaps");
-        pageSnippet = StringUtils.replace(pageSnippet, "%content%", listSnippet);
+        pageSnippet.set("title", "BasicUI");
+        pageSnippet.set("htmlclass", config.getCssClassList() + " page-welcome-sitemaps");
+        pageSnippet.set("content", listSnippet.toString());
 
-        return pageSnippet;
+        return pageSnippet.toString();
     }
 }
@@ -8,13 +8,13 @@
 package org.eclipse.smarthome.ui.basic.internal.render;
 
 import org.apache.commons.lang.StringEscapeUtils;
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Mapping;
 import org.eclipse.smarthome.model.sitemap.Selection;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.basic.render.RenderException;
 import org.eclipse.smarthome.ui.basic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 import com.google.gson.JsonObject;
 
@@ -56,39 +56,39 @@ public class SelectionRenderer extends AbstractWidgetRenderer {
      */
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("selection");
+        SnippetTemplate.Values snippet = getTemplate("selection").newValues();
 
-        snippet = preprocessSnippet(snippet, w);
-        snippet = StringUtils.replace(snippet, "%value_map%", getMappingsJSON((Selection) w));
-        snippet = StringUtils.replace(snippet, "%label_header%", getLabel(w));
+        preprocessSnippet(snippet, w);
+        snippet.set("value_map", getMappingsJSON((Selection) w));
+        snippet.set("label_header", getLabel(w));
 
         String state = itemUIRegistry.getState(w).toString();
         Selection selection = (Selection) w;
         String mappingLabel = null;
 
         StringBuilder rowSB = new StringBuilder();
+        SnippetTemplate rowTemplate = getTemplate("selection_row");
         for (Mapping mapping : selection.getMappings()) {
-            String rowSnippet = getSnippet("selection_row");
+            SnippetTemplate.Values rowSnippet = rowTemplate.newValues();
             String command = mapping.getCmd() != null ? mapping.getCmd() : "";
-            rowSnippet = StringUtils.replace(rowSnippet, "%item%", w.getItem() != null ? w.getItem() : "");
-            rowSnippet = StringUtils.replace(rowSnippet, "%cmd%", escapeHtml(command));
-            rowSnippet = StringUtils.replace(rowSnippet, "%label%",
-                    mapping.getLabel() != null ? mapping.getLabel() : "");
+            rowSnippet.set("item", w.getItem() != null ? w.getItem() : "");
+            rowSnippet.set("cmd", escapeHtml(command));
+            rowSnippet.set("label", mapping.getLabel() != null ? mapping.getLabel() : "");
             if (state.equals(mapping.getCmd())) {
                 mappingLabel = mapping.getLabel();
-                rowSnippet = StringUtils.replace(rowSnippet, "%checked%", "checked=\"true\"");
+                rowSnippet.set("checked", "checked=\"true\"");
             } else {
-                rowSnippet = StringUtils.replace(rowSnippet, "%checked%", "");
+                rowSnippet.set("checked", "");
             }
-            rowSB.append(rowSnippet);
+            rowSnippet.appendTo(rowSB);
         }
-        snippet = StringUtils.replace(snippet, "%rows%", rowSB.toString());
-        snippet = StringUtils.replace(snippet, "%value_header%", mappingLabel != null ? mappingLabel : "");
+        snippet.set("rows", rowSB.toString());
+        snippet.set("value_header", mappingLabel != null ? mappingLabel : "");
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
@@ -9,7 +9,6 @@ package org.eclipse.smarthome.ui.basic.internal.render;
 
 import java.math.BigDecimal;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.types.State;
@@ -17,6 +16,7 @@ import org.eclipse.smarthome.model.sitemap.Setpoint;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.basic.render.RenderException;
 import org.eclipse.smarthome.ui.basic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * This is an implementation of the {@link WidgetRenderer} interface, which
@@ -77,20 +77,20 @@ public class SetpointRenderer extends AbstractWidgetRenderer {
         }
 
         String snippetName = "setpoint";
-        String snippet = getSnippet(snippetName);
+        SnippetTemplate.Values snippet = getTemplate(snippetName).newValues();
 
-        snippet = preprocessSnippet(snippet, w);
-        snippet = StringUtils.replace(snippet, "%newlowerstate%", newLowerState);
-        snippet = StringUtils.replace(snippet, "%newhigherstate%", newHigherState);
-        snippet = StringUtils.replace(snippet, "%value%", getValue(w));
-        snippet = StringUtils.replace(snippet, "%minValue%", minValue.toString());
-        snippet = StringUtils.replace(snippet, "%maxValue%", maxValue.toString());
-        snippet = StringUtils.replace(snippet, "%step%", step.toString());
+        preprocessSnippet(snippet, w);
+        snippet.set("newlowerstate", newLowerState);
+        snippet.set("newhigherstate", newHigherState);
+        snippet.set("value", getValue(w));
+        snippet.set("minValue", minValue.toString());
+        snippet.set("maxValue", maxValue.toString());
+        snippet.set("step", step.toString());
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
@@ -7,12 +7,12 @@
  */
 package org.eclipse.smarthome.ui.basic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Slider;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.basic.render.RenderException;
 import org.eclipse.smarthome.ui.basic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * <p>
@@ -46,19 +46,19 @@ public class SliderRenderer extends AbstractWidgetRenderer {
         Slider s = (Slider) w;
 
         String snippetName = "slider";
-        String snippet = getSnippet(snippetName);
+        SnippetTemplate.Values snippet = getTemplate(snippetName).newValues();
 
         // set the default send-update frequency to 200ms
         String frequency = s.getFrequency() == 0 ? "200" : Integer.toString(s.getFrequency());
 
-        snippet = preprocessSnippet(snippet, w);
-        snippet = StringUtils.replace(snippet, "%frequency%", frequency);
-        snippet = StringUtils.replace(snippet, "%switch%", s.isSwitchEnabled() ? "1" : "0");
+        preprocessSnippet(snippet, w);
+        snippet.set("frequency", frequency);
+        snippet.set("switch", s.isSwitchEnabled() ? "1" : "0");
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
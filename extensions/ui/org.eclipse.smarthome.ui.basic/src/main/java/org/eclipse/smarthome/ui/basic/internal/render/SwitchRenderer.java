@@ -7,7 +7,6 @@
  */
 package org.eclipse.smarthome.ui.basic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
@@ -21,6 +20,7 @@ import org.eclipse.smarthome.model.sitemap.Switch;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.basic.render.RenderException;
 import org.eclipse.smarthome.ui.basic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,45 +71,46 @@ public class SwitchRenderer extends AbstractWidgetRenderer {
             snippetName = "switch";
         }
 
-        String snippet = getSnippet(snippetName);
+        SnippetTemplate.Values snippet = getTemplate(snippetName).newValues();
         State state = itemUIRegistry.getState(w);
         String value = getValue(w);
 
-        snippet = preprocessSnippet(snippet, w);
-        snippet = StringUtils.replace(snippet, "%value%", value);
-        snippet = StringUtils.replace(snippet, "%has_value%", new Boolean(value != "").toString());
-        snippet = StringUtils.replace(snippet, "%count%", Integer.toString(s.getMappings().size()));
+        preprocessSnippet(snippet, w);
+        snippet.set("value", value);
+        snippet.set("has_value", new Boolean(value != "").toString());
+        snippet.set("count", Integer.toString(s.getMappings().size()));
 
         if (s.getMappings().size() == 0) {
             if (state instanceof PercentType) {
                 state = ((PercentType) state).intValue() > 0 ? OnOffType.ON : OnOffType.OFF;
             }
             if (state.equals(OnOffType.ON)) {
-                snippet = snippet.replaceAll("%checked%", "checked=true");
+                snippet.set("checked", "checked=true");
             } else {
-                snippet = snippet.replaceAll("%checked%", "");
+                snippet.set("checked", "");
             }
         } else {
             StringBuilder buttons = new StringBuilder();
+            SnippetTemplate buttonTemplate = getTemplate("button");
             for (Mapping mapping : s.getMappings()) {
-                String button = getSnippet("button");
-                button = StringUtils.replace(button, "%item%", w.getItem());
-                button = StringUtils.replace(button, "%cmd%", mapping.getCmd());
-                button = StringUtils.replace(button, "%label%", escapeHtml(mapping.getLabel()));
+                SnippetTemplate.Values button = buttonTemplate.newValues();
+                button.set("item", w.getItem());
+                button.set("cmd", mapping.getCmd());
+                button.set("label", escapeHtml(mapping.getLabel()));
                 if (s.getMappings().size() > 1 && state.toString().equals(mapping.getCmd())) {
-                    button = StringUtils.replace(button, "%class%", "mdl-button--accent");
+                    button.set("class", "mdl-button--accent");
                 } else {
-                    button = StringUtils.replace(button, "%class%", "mdl-button");
+                    button.set("class", "mdl-button");
                 }
-                buttons.append(button);
+                button.appendTo(buttons);
             }
-            snippet = StringUtils.replace(snippet, "%buttons%", buttons.toString());
+            snippet.set("buttons", buttons.toString());
         }
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
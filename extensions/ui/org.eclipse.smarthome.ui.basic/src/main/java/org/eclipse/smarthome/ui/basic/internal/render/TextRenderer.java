@@ -7,12 +7,12 @@
  */
 package org.eclipse.smarthome.ui.basic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Text;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.basic.render.RenderException;
 import org.eclipse.smarthome.ui.basic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * This is an implementation of the {@link WidgetRenderer} interface, which
@@ -38,15 +38,16 @@ public class TextRenderer extends AbstractWidgetRenderer {
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
         Text text = (Text) w;
-        String snippet = (text.getChildren().size() > 0) ? getSnippet("text_link") : getSnippet("text");
+        SnippetTemplate.Values snippet = (text.getChildren().size() > 0) ? getTemplate("text_link").newValues()
+                : getTemplate("text").newValues();
 
-        snippet = preprocessSnippet(snippet, w);
-        snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(w));
+        preprocessSnippet(snippet, w);
+        snippet.set("id", itemUIRegistry.getWidgetId(w));
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
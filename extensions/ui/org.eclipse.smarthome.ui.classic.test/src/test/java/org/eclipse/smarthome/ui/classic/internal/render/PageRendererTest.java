@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.classic.internal.render;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.model.sitemap.Frame;
+import org.eclipse.smarthome.model.sitemap.LinkableWidget;
+import org.eclipse.smarthome.model.sitemap.Mapping;
+import org.eclipse.smarthome.model.sitemap.Switch;
+import org.eclipse.smarthome.model.sitemap.Text;
+import org.eclipse.smarthome.model.sitemap.Widget;
+import org.eclipse.smarthome.ui.classic.internal.WebAppConfig;
+import org.eclipse.smarthome.ui.items.ItemUIRegistry;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the rendering of the widgets of a page with the parsed html snippets.
+ *
+ * @author agent - Initial contribution
+ */
+public class PageRendererTest {
+
+    private static final String LAYER_SNIPPET = "<root>\n<title set=\"wa%id%\" style=\"%labelstyle%\">%label%</title>\n"
+            + "<part><data><![CDATA[\n%children%\n</div>]]></data></part>\n</root>";
+
+    private static final String FRAME_SNIPPET = "<div class=\"iMenu\"><h3 style=\"%labelstyle%\">%label%</h3>\n"
+            + "<ul class=\"iArrow\">\n%children%\n</ul></div>";
+
+    private static final String TEXT_SNIPPET = "<li style=\"%labelstyle%\">\n"
+            + "<img src=\"../icon/%category%?format=%format%&state=%state%\" width=29 height=29 class=\"iFull\" />\n"
+            + "%label%\n</li>";
+
+    private static final String SWITCH_SNIPPET = "<li>\n"
+            + "<img src=\"../icon/%category%?state=%state%&format=%format%\" width=29 height=29 class=\"iFull\" />\n"
+            + "%label%\n<input type=\"checkbox\" id=\"%item%\" class=\"iToggle\" title=\"I|O\" %checked% "
+            + "onclick=\"ChangeState('CMD?%item%=TOGGLE')\"/>\n</li>";
+
+    private PageRenderer pageRenderer;
+
+    @Before
+    public void setUp() throws Exception {
+        AbstractWidgetRenderer.snippetCache.put("layer", SnippetTemplate.compile(LAYER_SNIPPET));
+        AbstractWidgetRenderer.snippetCache.put("frame", SnippetTemplate.compile(FRAME_SNIPPET));
+        AbstractWidgetRenderer.snippetCache.put("text", SnippetTemplate.compile(TEXT_SNIPPET));
+        AbstractWidgetRenderer.snippetCache.put("switch", SnippetTemplate.compile(SWITCH_SNIPPET));
+
+        ItemUIRegistry itemUIRegistry = mock(ItemUIRegistry.class);
+        when(itemUIRegistry.getVisiblity(any(Widget.class))).thenReturn(true);
+        when(itemUIRegistry.getWidgetId(any(Widget.class)))
+                .thenAnswer(invocation -> ((Widget) invocation.getArguments()[0]).getItem());
+        when(itemUIRegistry.getLabel(any(Widget.class)))
+                .thenAnswer(invocation -> "Label of " + ((Widget) invocation.getArguments()[0]).getItem() + " [ON]");
+        when(itemUIRegistry.getState(any(Widget.class))).thenReturn(OnOffType.ON);
+        when(itemUIRegistry.getCategory(any(Widget.class))).thenReturn("switch");
+        when(itemUIRegistry.getValueColor(any(Widget.class))).thenReturn("red");
+        when(itemUIRegistry.getChildren(any(LinkableWidget.class)))
+                .thenAnswer(invocation -> ((LinkableWidget) invocation.getArguments()[0]).getChildren());
+        when(itemUIRegistry.getItem(anyString())).thenReturn(new SwitchItem("Switch"));
+
+        pageRenderer = new PageRenderer();
+        pageRenderer.setItemUIRegistry(itemUIRegistry);
+        pageRenderer.setConfig(new WebAppConfig());
+        for (AbstractWidgetRenderer renderer : new AbstractWidgetRenderer[] { new FrameRenderer(),
+                new SwitchRenderer(), new TextRenderer() }) {
+            renderer.setItemUIRegistry(itemUIRegistry);
+            pageRenderer.addWidgetRenderer(renderer);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        AbstractWidgetRenderer.snippetCache.clear();
+    }
+
+    @Test
+    public void assertThatWidgetsAreRenderedIntoTheChildrenSlots() throws Exception {
+        EList<Widget> frames = new BasicEList<Widget>();
+        frames.add(createFrame("Frame_0", createSwitch("Item_0_0"), createText("Item_0_1")));
+        frames.add(createFrame("Frame_1", createSwitch("Item_1_0")));
+
+        String html = pageRenderer.processPage("0000", "demo", "Demo", frames, true).toString();
+
+        assertThat(html, containsString("<title set=\"wa0000\" style=\"%labelstyle%\">Demo</title>"));
+        assertThat(html, containsString("<span style=\"\" class=\"iLabel\">Label of Item_0_0 </span>"
+                + "<span class=\"iValue\" style=\"color:red\">ON</span>"));
+        assertThat(html, containsString("id=\"Item_1_0\" class=\"iToggle\" title=\"I|O\" checked=true "
+                + "onclick=\"ChangeState('CMD?Item_1_0=TOGGLE')\""));
+        assertThat(html, containsString("<li style=\"\">"));
+        assertThat(html, not(containsString("%children%")));
+        assertThat(html, not(containsString("%label%")));
+
+        // the widgets are placed between the opening and the closing html code of their frame
+        int frame0 = html.indexOf("Label of Frame_0");
+        int frame1 = html.indexOf("Label of Frame_1");
+        assertThat(frame0 < html.indexOf("Item_0_1") && html.indexOf("Item_0_1") < frame1, is(true));
+        assertThat(html.indexOf("</ul></div>", frame0) < frame1, is(true));
+        assertThat(html.endsWith("</ul></div>\n</div>]]></data></part>\n</root>"), is(true));
+    }
+
+    @Test
+    public void assertThatWidgetsWithoutFrameAreWrappedInAFrame() throws Exception {
+        EList<Widget> children = new BasicEList<Widget>();
+        children.add(createText("Item_0"));
+
+        String html = pageRenderer.processPage("0000", "demo", "Demo", children, true).toString();
+
+        assertThat(html, containsString("<ul class=\"iArrow\">\n"));
+        assertThat(html.indexOf("<ul class=\"iArrow\">") < html.indexOf("Label of Item_0"), is(true));
+        assertThat(html.indexOf("Label of Item_0") < html.indexOf("</ul></div>"), is(true));
+    }
+
+    private Frame createFrame(String name, Widget... widgets) {
+        EList<Widget> children = new BasicEList<Widget>();
+        for (Widget widget : widgets) {
+            children.add(widget);
+        }
+        Frame frame = mock(Frame.class);
+        when(frame.getItem()).thenReturn(name);
+        when(frame.getChildren()).thenReturn(children);
+        return frame;
+    }
+
+    private Switch createSwitch(String itemName) {
+        Switch widget = mock(Switch.class);
+        when(widget.getItem()).thenReturn(itemName);
+        when(widget.getMappings()).thenReturn(new BasicEList<Mapping>());
+        return widget;
+    }
+
+    private Text createText(String itemName) {
+        Text widget = mock(Text.class);
+        when(widget.getItem()).thenReturn(itemName);
+        when(widget.getChildren()).thenReturn(new BasicEList<Widget>());
+        return widget;
+    }
+
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.classic.internal.servlet;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.ContentResponse;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.client.util.BufferingResponseListener;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.items.StateChangeListener;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.model.sitemap.Sitemap;
+import org.eclipse.smarthome.model.sitemap.SitemapProvider;
+import org.eclipse.smarthome.model.sitemap.Widget;
+import org.eclipse.smarthome.ui.classic.internal.render.PageRenderer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests that many long polling requests of the Classic UI wait for changes without blocking the threads of the
+ * server, and that they are all answered as soon as an item of the page changes.
+ *
+ * @author agent - Initial contribution
+ */
+public class WebAppServletPollingTest {
+
+    private static final int NUMBER_OF_POLLS = 300;
+
+    private static final int MAX_SERVER_THREADS = 20;
+
+    private final Logger logger = LoggerFactory.getLogger(WebAppServletPollingTest.class);
+
+    private ListenerCountingSwitchItem item;
+    private Server server;
+    private HttpClient client;
+    private String pageUrl;
+
+    /**
+     * A switch item which exposes the number of its state change listeners and counts down a latch for each listener
+     * which is added.
+     */
+    private static class ListenerCountingSwitchItem extends SwitchItem {
+
+        private final CountDownLatch listenersAdded = new CountDownLatch(NUMBER_OF_POLLS);
+
+        public ListenerCountingSwitchItem(String name) {
+            super(name);
+        }
+
+        @Override
+        public void addStateChangeListener(StateChangeListener listener) {
+            super.addStateChangeListener(listener);
+            listenersAdded.countDown();
+        }
+
+        public boolean awaitListeners(long timeout, TimeUnit unit) throws InterruptedException {
+            return listenersAdded.await(timeout, unit);
+        }
+
+        public int getListenerCount() {
+            return listeners.size();
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        item = new ListenerCountingSwitchItem("Switch1");
+        item.setState(OnOffType.OFF);
+        ItemRegistry itemRegistry = mock(ItemRegistry.class);
+        when(itemRegistry.getItem("Switch1")).thenReturn(item);
+
+        Widget widget = mock(Widget.class);
+        when(widget.getItem()).thenReturn("Switch1");
+        EList<Widget> children = new BasicEList<Widget>();
+        children.add(widget);
+        Sitemap sitemap = mock(Sitemap.class);
+        when(sitemap.getName()).thenReturn("demo");
+        when(sitemap.getLabel()).thenReturn("Demo");
+        when(sitemap.getChildren()).thenReturn(children);
+        SitemapProvider sitemapProvider = mock(SitemapProvider.class);
+        when(sitemapProvider.getSitemap("demo")).thenReturn(sitemap);
+
+        PageRenderer renderer = mock(PageRenderer.class);
+        when(renderer.processPage(anyString(), anyString(), anyString(), any(EList.class), anyBoolean()))
+                .thenAnswer(invocation -> new StringBuilder("<root>" + item.getState() + "</root>"));
+
+        WebAppServlet servlet = new WebAppServlet();
+        servlet.setItemRegistry(itemRegistry);
+        servlet.addSitemapProvider(sitemapProvider);
+        servlet.setPageRenderer(renderer);
+
+        server = new Server(new QueuedThreadPool(MAX_SERVER_THREADS));
+        // one acceptor and one selector, so that the remaining threads handle the requests
+        ServerConnector connector = new ServerConnector(server, 1, 1);
+        server.addConnector(connector);
+        ServletContextHandler context = new ServletContextHandler();
+        ServletHolder holder = new ServletHolder(servlet);
+        holder.setAsyncSupported(true);
+        context.addServlet(holder, "/app");
+        server.setHandler(context);
+        server.start();
+        pageUrl = "http://localhost:" + connector.getLocalPort() + "/app?sitemap=demo&__async=true";
+
+        client = new HttpClient();
+        client.setMaxConnectionsPerDestination(NUMBER_OF_POLLS + 10);
+        client.setMaxRequestsQueuedPerDestination(NUMBER_OF_POLLS + 10);
+        client.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.stop();
+        server.stop();
+    }
+
+    @Test
+    public void assertThatPollsDoNotBlockThreadsAndAreAnsweredOnChange() throws Exception {
+        final CountDownLatch answered = new CountDownLatch(NUMBER_OF_POLLS);
+        final List<String> contents = Collections.synchronizedList(new ArrayList<String>());
+        final List<Long> answerTimes = Collections.synchronizedList(new ArrayList<Long>());
+        for (int i = 0; i < NUMBER_OF_POLLS; i++) {
+            client.newRequest(pageUrl + "&poll=true").timeout(60, TimeUnit.SECONDS)
+                    .send(new BufferingResponseListener() {
+                        @Override
+                        public void onComplete(Result result) {
+                            answerTimes.add(System.nanoTime());
+                            contents.add(result.isSucceeded() ? getContentAsString() : result.getFailure().toString());
+                            answered.countDown();
+                        }
+                    });
+        }
+
+        // all polls are waiting for a change, although the server has much less threads
+        assertThat(item.awaitListeners(10, TimeUnit.SECONDS), is(true));
+        assertThat(item.getListenerCount(), is(NUMBER_OF_POLLS));
+        assertThat(answered.getCount(), is((long) NUMBER_OF_POLLS));
+
+        // the server still has threads to answer other requests
+        ContentResponse page = client.newRequest(pageUrl).timeout(5, TimeUnit.SECONDS).send();
+        assertThat(page.getContentAsString(), is("<root>OFF</root>"));
+
+        long changeTime = System.nanoTime();
+        item.setState(OnOffType.ON);
+
+        assertThat(answered.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(item.getListenerCount(), is(0));
+        for (String content : contents) {
+            assertThat(content, is("<root>ON</root>"));
+        }
+
+        long maxLatency = 0;
+        for (long answerTime : answerTimes) {
+            maxLatency = Math.max(maxLatency, answerTime - changeTime);
+        }
+        logger.info("Answered {} polls with {} server threads within {} ms after the change", NUMBER_OF_POLLS,
+                MAX_SERVER_THREADS, TimeUnit.NANOSECONDS.toMillis(maxLatency));
+    }
+
+}
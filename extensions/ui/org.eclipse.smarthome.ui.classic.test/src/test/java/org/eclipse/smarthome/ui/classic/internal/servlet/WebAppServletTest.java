@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.classic.internal.servlet;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.Dictionary;
+
+import org.eclipse.smarthome.ui.classic.internal.render.PageRenderer;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.osgi.service.http.HttpContext;
+import org.osgi.service.http.HttpService;
+
+/**
+ * Tests the registration of the {@link WebAppServlet} with the {@link HttpService}.
+ *
+ * @author agent - Initial contribution
+ */
+public class WebAppServletTest {
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void assertThatTheServletIsRegisteredWithAsyncSupport() throws Exception {
+        HttpService httpService = mock(HttpService.class);
+        when(httpService.createDefaultHttpContext()).thenReturn(mock(HttpContext.class));
+        WebAppServlet servlet = new WebAppServlet();
+        servlet.setPageRenderer(mock(PageRenderer.class));
+        servlet.setHttpService(httpService);
+
+        servlet.activate(Collections.<String, Object> emptyMap());
+
+        ArgumentCaptor<Dictionary> initParams = ArgumentCaptor.forClass(Dictionary.class);
+        verify(httpService).registerServlet(eq(BaseServlet.WEBAPP_ALIAS + "/" + WebAppServlet.SERVLET_NAME),
+                same(servlet), initParams.capture(), any(HttpContext.class));
+        assertThat(initParams.getValue().get(WebAppServlet.ASYNC_SUPPORTED_PARAM), is((Object) "true"));
+    }
+
+}
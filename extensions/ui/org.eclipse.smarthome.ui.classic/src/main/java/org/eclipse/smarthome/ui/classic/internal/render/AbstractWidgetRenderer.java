@@ -11,8 +11,8 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
@@ -27,6 +27,7 @@ import org.eclipse.smarthome.ui.classic.internal.WebAppConfig;
 import org.eclipse.smarthome.ui.classic.render.RenderException;
 import org.eclipse.smarthome.ui.classic.render.WidgetRenderer;
 import org.eclipse.smarthome.ui.items.ItemUIRegistry;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,8 +54,8 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
     /* the snippet location inside this bundle */
     protected static final String SNIPPET_LOCATION = "snippets/";
 
-    /* a local cache so we do not have to read the snippets over and over again from the bundle */
-    protected static final Map<String, String> snippetCache = new HashMap<String, String>();
+    /* a local cache so we do not have to read and parse the snippets over and over again from the bundle */
+    protected static final Map<String, SnippetTemplate> snippetCache = new ConcurrentHashMap<>();
 
     public void setItemUIRegistry(ItemUIRegistry itemUIRegistry) {
         this.itemUIRegistry = itemUIRegistry;
@@ -81,17 +82,29 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
      * @return the html snippet to be used in the UI (including placeholders for variables)
      * @throws RenderException if snippet could not be read
      */
-    protected synchronized String getSnippet(String elementType) throws RenderException {
+    protected String getSnippet(String elementType) throws RenderException {
+        SnippetTemplate template = getTemplate(elementType);
+        return template != null ? template.getSnippet() : null;
+    }
+
+    /**
+     * This method provides the parsed html snippet for a given elementType of the sitemap model.
+     *
+     * @param elementType the name of the model type (e.g. "Group" or "Switch")
+     * @return the parsed html snippet to be used in the UI or null, if it could not be read
+     * @throws RenderException if snippet could not be found
+     */
+    protected SnippetTemplate getTemplate(String elementType) throws RenderException {
         elementType = elementType.toLowerCase();
-        String snippet = snippetCache.get(elementType);
-        if (snippet == null) {
+        SnippetTemplate template = snippetCache.get(elementType);
+        if (template == null) {
             String snippetLocation = SNIPPET_LOCATION + elementType + SNIPPET_EXT;
             URL entry = WebAppActivator.getContext().getBundle().getEntry(snippetLocation);
             if (entry != null) {
                 try {
-                    snippet = IOUtils.toString(entry.openStream());
+                    template = SnippetTemplate.compile(IOUtils.toString(entry.openStream()));
                     if (!config.isHtmlCacheDisabled()) {
-                        snippetCache.put(elementType, snippet);
+                        snippetCache.put(elementType, template);
                     }
                 } catch (IOException e) {
                     logger.warn("Cannot load snippet for element type '{}'", elementType, e);
@@ -100,7 +113,7 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
                 throw new RenderException("Cannot find a snippet for element type '" + elementType + "'");
             }
         }
-        return snippet;
+        return template;
     }
 
     /**
@@ -110,23 +123,50 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
      * @return the label to use for the widget
      */
     public String getLabel(Widget w) {
+        return getLabel(w, "%labelstyle%", "%valuestyle%");
+    }
+
+    /**
+     * Retrieves the label for a widget and formats it for the WebApp.Net framework
+     *
+     * @param w the widget to retrieve the label for
+     * @param labelStyle the style of the label
+     * @param valueStyle the style of the value
+     * @return the label to use for the widget
+     */
+    protected String getLabel(Widget w, String labelStyle, String valueStyle) {
 
         String label = itemUIRegistry.getLabel(w);
         int index = label.indexOf('[');
 
         if (index != -1) {
-            label = "<span style=\"%labelstyle%\" class=\"iLabel\">" + label.substring(0, index) + "</span>"
+            label = "<span style=\"" + labelStyle + "\" class=\"iLabel\">" + label.substring(0, index) + "</span>"
                     + label.substring(index);
             // insert the span between the left and right side of the label, if state section exists
-            label = label.replaceAll("\\[", "<span class=\"iValue\" style=\"%valuestyle%\">").replaceAll("\\]",
-                    "</span>");
+            label = StringUtils.replace(label, "[", "<span class=\"iValue\" style=\"" + valueStyle + "\">");
+            label = StringUtils.replace(label, "]", "</span>");
         } else {
-            label = "<span style=\"%labelstyle%\" class=\"iLabel\">" + label + "</span>";
+            label = "<span style=\"" + labelStyle + "\" class=\"iLabel\">" + label + "</span>";
         }
 
         return label;
     }
 
+    /**
+     * Sets the label of a widget and its colors, i.e. the placeholders %label%, %labelstyle% and %valuestyle%.
+     *
+     * @param w the widget to retrieve the label for
+     * @param placeholder the name of the placeholder of the label
+     * @param values the values of the snippet of the widget
+     */
+    protected void processLabel(Widget w, String placeholder, SnippetTemplate.Values values) {
+        String labelStyle = getLabelStyle(w);
+        String valueStyle = getValueStyle(w);
+        values.set(placeholder, getLabel(w, labelStyle, valueStyle));
+        values.set("labelstyle", labelStyle);
+        values.set("valuestyle", valueStyle);
+    }
+
     /**
      * Escapes the path part of a URL as defined in RFC2396. This means, that for example the
      * path "/hello world" gets escaped to "/hello%20world".
@@ -148,26 +188,22 @@ abstract public class AbstractWidgetRenderer implements WidgetRenderer {
      *
      * @param w
      *            The widget to process
-     * @param snippet
-     *            The snippet to translate
-     * @return The updated snippet
+     * @param values
+     *            The values of the snippet to translate
      */
-    protected String processColor(Widget w, String snippet) {
-        String style = "";
-        String color = itemUIRegistry.getLabelColor(w);
-        if (color != null) {
-            style = "color:" + color;
-        }
-        snippet = StringUtils.replace(snippet, "%labelstyle%", style);
+    protected void processColor(Widget w, SnippetTemplate.Values values) {
+        values.set("labelstyle", getLabelStyle(w));
+        values.set("valuestyle", getValueStyle(w));
+    }
 
-        style = "";
-        color = itemUIRegistry.getValueColor(w);
-        if (color != null) {
-            style = "color:" + color;
-        }
-        snippet = StringUtils.replace(snippet, "%valuestyle%", style);
+    protected String getLabelStyle(Widget w) {
+        String color = itemUIRegistry.getLabelColor(w);
+        return color != null ? "color:" + color : "";
+    }
 
-        return snippet;
+    protected String getValueStyle(Widget w) {
+        String color = itemUIRegistry.getValueColor(w);
+        return color != null ? "color:" + color : "";
     }
 
     protected String getFormat() {
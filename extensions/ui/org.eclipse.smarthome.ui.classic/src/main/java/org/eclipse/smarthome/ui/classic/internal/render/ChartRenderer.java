@@ -9,7 +9,6 @@ package org.eclipse.smarthome.ui.classic.internal.render;
 
 import java.util.Date;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
@@ -18,6 +17,7 @@ import org.eclipse.smarthome.model.sitemap.Chart;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.classic.render.RenderException;
 import org.eclipse.smarthome.ui.classic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,19 +61,20 @@ public class ChartRenderer extends AbstractWidgetRenderer {
                 url += "&service=" + chart.getService();
             }
 
-            String snippet = getSnippet("image");
+            SnippetTemplate.Values snippet = getTemplate("image").newValues();
 
+            String widgetId = itemUIRegistry.getWidgetId(w);
             if (chart.getRefresh() > 0) {
-                snippet = StringUtils.replace(snippet, "%refresh%", "id=\"%id%\" data-timeout=\"" + chart.getRefresh()
-                        + "\" onload=\"startReloadImage('%url%', '%id%')\"");
+                snippet.set("refresh", "id=\"" + widgetId + "\" data-timeout=\"" + chart.getRefresh()
+                        + "\" onload=\"startReloadImage('" + url + "', '" + widgetId + "')\"");
             } else {
-                snippet = StringUtils.replace(snippet, "%refresh%", "");
+                snippet.set("refresh", "");
             }
 
-            snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(w));
-            snippet = StringUtils.replace(snippet, "%url%", url);
+            snippet.set("id", widgetId);
+            snippet.set("url", url);
 
-            sb.append(snippet);
+            snippet.appendTo(sb);
         } catch (ItemNotFoundException e) {
             logger.warn("Chart cannot be rendered as item '{}' does not exist.", chart.getItem());
         }
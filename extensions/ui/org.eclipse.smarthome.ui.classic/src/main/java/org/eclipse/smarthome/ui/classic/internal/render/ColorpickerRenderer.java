@@ -7,7 +7,6 @@
  */
 package org.eclipse.smarthome.ui.classic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.library.types.HSBType;
 import org.eclipse.smarthome.core.types.State;
@@ -16,6 +15,7 @@ import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.classic.internal.servlet.WebAppServlet;
 import org.eclipse.smarthome.ui.classic.render.RenderException;
 import org.eclipse.smarthome.ui.classic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * <p>
@@ -50,7 +50,7 @@ public class ColorpickerRenderer extends AbstractWidgetRenderer {
 
         String snippetName = "colorpicker";
 
-        String snippet = getSnippet(snippetName);
+        SnippetTemplate.Values snippet = getTemplate(snippetName).newValues();
 
         // set the default send-update frequency to 200ms
         String frequency = cp.getFrequency() == 0 ? "200" : Integer.toString(cp.getFrequency());
@@ -62,35 +62,22 @@ public class ColorpickerRenderer extends AbstractWidgetRenderer {
             HSBType hsbState = (HSBType) state;
             hexValue = "#" + Integer.toHexString(hsbState.getRGB()).substring(2);
         }
-        String label = getLabel(cp);
         String purelabel = itemUIRegistry.getLabel(w);
         purelabel = purelabel.replaceAll("\\\"", "\\\\'");
 
-        snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(cp));
-        snippet = StringUtils.replace(snippet, "%category%", escapeURLPath(itemUIRegistry.getCategory(cp)));
-        snippet = StringUtils.replace(snippet, "%item%", w.getItem());
-        snippet = StringUtils.replace(snippet, "%label%", label);
-        snippet = StringUtils.replace(snippet, "%format%", getFormat());
-        snippet = StringUtils.replace(snippet, "%purelabel%", purelabel);
-        snippet = StringUtils.replace(snippet, "%state%", hexValue);
-        snippet = StringUtils.replace(snippet, "%frequency%", frequency);
-        snippet = StringUtils.replace(snippet, "%servletname%", WebAppServlet.SERVLET_NAME);
+        snippet.set("id", itemUIRegistry.getWidgetId(cp));
+        snippet.set("category", escapeURLPath(itemUIRegistry.getCategory(cp)));
+        snippet.set("item", w.getItem());
+        snippet.set("format", getFormat());
+        snippet.set("purelabel", purelabel);
+        snippet.set("state", hexValue);
+        snippet.set("frequency", frequency);
+        snippet.set("servletname", WebAppServlet.SERVLET_NAME);
 
-        String style = "";
-        String color = itemUIRegistry.getLabelColor(w);
-        if (color != null) {
-            style = "color:" + color;
-        }
-        snippet = StringUtils.replace(snippet, "%labelstyle%", style);
-
-        style = "";
-        color = itemUIRegistry.getValueColor(w);
-        if (color != null) {
-            style = "color:" + color;
-        }
-        snippet = StringUtils.replace(snippet, "%valuestyle%", style);
+        // Process the label and the color tags
+        processLabel(cp, "label", snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
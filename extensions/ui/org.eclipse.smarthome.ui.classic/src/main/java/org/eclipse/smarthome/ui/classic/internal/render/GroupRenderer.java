@@ -7,12 +7,12 @@
  */
 package org.eclipse.smarthome.ui.classic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Group;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.classic.render.RenderException;
 import org.eclipse.smarthome.ui.classic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * This is an implementation of the {@link WidgetRenderer} interface, which
@@ -36,17 +36,16 @@ public class GroupRenderer extends AbstractWidgetRenderer {
      */
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("group");
+        SnippetTemplate.Values snippet = getTemplate("group").newValues();
 
-        snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(w));
-        snippet = StringUtils.replace(snippet, "%category%", escapeURLPath(itemUIRegistry.getCategory(w)));
-        snippet = StringUtils.replace(snippet, "%label%", getLabel(w));
-        snippet = StringUtils.replace(snippet, "%format%", getFormat());
+        snippet.set("id", itemUIRegistry.getWidgetId(w));
+        snippet.set("category", escapeURLPath(itemUIRegistry.getCategory(w)));
+        snippet.set("format", getFormat());
 
-        // Process the color tags
-        snippet = processColor(w, snippet);
+        // Process the label and the color tags
+        processLabel(w, "label", snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
@@ -9,12 +9,12 @@ package org.eclipse.smarthome.ui.classic.internal.render;
 
 import java.util.Date;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Image;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.classic.render.RenderException;
 import org.eclipse.smarthome.ui.classic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * This is an implementation of the {@link WidgetRenderer} interface, which
@@ -39,24 +39,25 @@ public class ImageRenderer extends AbstractWidgetRenderer {
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
         Image image = (Image) w;
-        String snippet = (image.getChildren().size() > 0) ? getSnippet("image_link") : getSnippet("image");
-
-        if (image.getRefresh() > 0) {
-            snippet = StringUtils.replace(snippet, "%refresh%", "id=\"%id%\" data-timeout=\"" + image.getRefresh()
-                            + "\" onload=\"startReloadImage('%url%', '%id%')\"");
-        } else {
-            snippet = StringUtils.replace(snippet, "%refresh%", "");
-        }
+        SnippetTemplate.Values snippet = (image.getChildren().size() > 0) ? getTemplate("image_link").newValues()
+                : getTemplate("image").newValues();
 
         String widgetId = itemUIRegistry.getWidgetId(w);
-        snippet = StringUtils.replace(snippet, "%id%", widgetId);
+        snippet.set("id", widgetId);
 
         String sitemap = w.eResource().getURI().path();
 
         String url = "../proxy?sitemap=" + sitemap + "&widgetId=" + widgetId + "&t=" + (new Date()).getTime();
-        snippet = StringUtils.replace(snippet, "%url%", url);
+        snippet.set("url", url);
+
+        if (image.getRefresh() > 0) {
+            snippet.set("refresh", "id=\"" + widgetId + "\" data-timeout=\"" + image.getRefresh()
+                    + "\" onload=\"startReloadImage('" + url + "', '" + widgetId + "')\"");
+        } else {
+            snippet.set("refresh", "");
+        }
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
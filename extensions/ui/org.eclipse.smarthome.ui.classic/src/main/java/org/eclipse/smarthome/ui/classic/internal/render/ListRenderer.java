@@ -7,12 +7,12 @@
  */
 package org.eclipse.smarthome.ui.classic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.List;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.classic.render.RenderException;
 import org.eclipse.smarthome.ui.classic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * This is an implementation of the {@link WidgetRenderer} interface, which
@@ -36,22 +36,21 @@ public class ListRenderer extends AbstractWidgetRenderer {
      */
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("list");
-        snippet = snippet.replaceAll("%label%", getLabel(w));
+        SnippetTemplate.Values snippet = getTemplate("list").newValues();
 
-        String rowSnippet = getSnippet("list_row");
+        SnippetTemplate rowTemplate = getTemplate("list_row");
         String state = itemUIRegistry.getState(w).toString();
         String[] rowContents = state.split(((List) w).getSeparator());
         StringBuilder rowSB = new StringBuilder();
         for (String row : rowContents) {
-            rowSB.append(StringUtils.replace(rowSnippet, "%title%", row));
+            rowTemplate.newValues().set("title", row).appendTo(rowSB);
         }
-        snippet = StringUtils.replace(snippet, "%rows%", rowSB.toString());
+        snippet.set("rows", rowSB.toString());
 
-        // Process the color tags
-        snippet = processColor(w, snippet);
+        // Process the label and the color tags
+        processLabel(w, "label", snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
@@ -10,7 +10,6 @@ package org.eclipse.smarthome.ui.classic.internal.render;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.smarthome.model.sitemap.Frame;
@@ -20,6 +19,7 @@ import org.eclipse.smarthome.ui.classic.internal.WebAppConfig;
 import org.eclipse.smarthome.ui.classic.internal.servlet.WebAppServlet;
 import org.eclipse.smarthome.ui.classic.render.RenderException;
 import org.eclipse.smarthome.ui.classic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,8 +62,8 @@ public class PageRenderer extends AbstractWidgetRenderer {
     public StringBuilder processPage(String id, String sitemap, String label, EList<Widget> children, boolean async)
             throws RenderException {
 
-        String snippet = getSnippet(async ? "layer" : "main");
-        snippet = snippet.replaceAll("%id%", id);
+        SnippetTemplate.Values snippet = getTemplate(async ? "layer" : "main").newValues();
+        snippet.set("id", id);
 
         // if the label contains a value span, we remove this span as
         // the title of a page/layer cannot deal with this
@@ -73,18 +73,17 @@ public class PageRenderer extends AbstractWidgetRenderer {
         if (label.contains("[") && label.endsWith("]")) {
             label = label.replace("[", "").replace("]", "");
         }
-        snippet = StringUtils.replace(snippet, "%label%", label);
-        snippet = StringUtils.replace(snippet, "%servletname%", WebAppServlet.SERVLET_NAME);
-        snippet = StringUtils.replace(snippet, "%sitemap%", sitemap);
+        snippet.set("label", label);
+        snippet.set("servletname", WebAppServlet.SERVLET_NAME);
+        snippet.set("sitemap", sitemap);
 
-        String[] parts = snippet.split("%children%");
+        StringBuilder pre_children = new StringBuilder();
+        StringBuilder post_children = new StringBuilder();
+        int childrenSlots = snippet.appendTo(pre_children, post_children, SnippetTemplate.CHILDREN);
 
-        StringBuilder pre_children = new StringBuilder(parts[0]);
-        StringBuilder post_children = new StringBuilder(parts[1]);
-
-        if (parts.length == 2) {
+        if (childrenSlots == 1) {
             processChildren(pre_children, post_children, children);
-        } else if (parts.length > 2) {
+        } else if (childrenSlots > 1) {
             logger.error("Snippet '{}' contains multiple %children% sections, but only one is allowed!",
                     async ? "layer" : "main");
         }
@@ -100,17 +99,16 @@ public class PageRenderer extends AbstractWidgetRenderer {
             EObject parent = firstChild.eContainer();
             if (!(firstChild instanceof Frame || parent instanceof Frame || parent instanceof Sitemap
                     || parent instanceof List)) {
-                String frameSnippet = getSnippet("frame");
-                frameSnippet = StringUtils.replace(frameSnippet, "%label%", "");
-
-                String[] parts = frameSnippet.split("%children%");
-                if (parts.length > 1) {
-                    sb_pre.append(parts[0]);
-                }
-                if (parts.length > 2) {
-                    sb_post.insert(0, parts[1]);
+                SnippetTemplate.Values frameSnippet = getTemplate("frame").newValues().set("label", "");
+
+                StringBuilder pre_frame = new StringBuilder();
+                StringBuilder post_frame = new StringBuilder();
+                int childrenSlots = frameSnippet.appendTo(pre_frame, post_frame, SnippetTemplate.CHILDREN);
+                if (childrenSlots > 0) {
+                    sb_pre.append(pre_frame);
+                    sb_post.insert(0, post_frame);
                 }
-                if (parts.length > 2) {
+                if (childrenSlots > 1) {
                     logger.error("Snippet 'frame' contains multiple %children% sections, but only one is allowed!");
                 }
             }
@@ -122,19 +120,11 @@ public class PageRenderer extends AbstractWidgetRenderer {
             StringBuilder widgetSB = new StringBuilder();
             EList<Widget> nextChildren = renderWidget(w, widgetSB);
             if (nextChildren != null) {
-                String[] parts = widgetSB.toString().split("%children%");
-                // no %children% placeholder found or at the end
-                if (parts.length == 1) {
-                    new_pre.append(widgetSB);
-                }
-                // %children% section found
-                if (parts.length > 1) {
-                    new_pre.append(parts[0]);
-                    new_post.insert(0, parts[1]);
-                }
+                // the widget renderers write the children slot of their snippets as a placeholder
+                int childrenSlots = SnippetTemplate.splitAtChildren(widgetSB, new_pre, new_post);
                 // multiple %children% sections found -> log an error and ignore all code starting from the second
                 // occurance
-                if (parts.length > 2) {
+                if (childrenSlots > 1) {
                     String widgetType = w.eClass().getInstanceTypeName()
                             .substring(w.eClass().getInstanceTypeName().lastIndexOf(".") + 1);
                     logger.error(
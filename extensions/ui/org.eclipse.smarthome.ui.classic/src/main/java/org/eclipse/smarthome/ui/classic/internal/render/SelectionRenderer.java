@@ -8,13 +8,13 @@
 package org.eclipse.smarthome.ui.classic.internal.render;
 
 import org.apache.commons.lang.StringEscapeUtils;
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Mapping;
 import org.eclipse.smarthome.model.sitemap.Selection;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.classic.render.RenderException;
 import org.eclipse.smarthome.ui.classic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * This is an implementation of the {@link WidgetRenderer} interface, which
@@ -38,36 +38,35 @@ public class SelectionRenderer extends AbstractWidgetRenderer {
      */
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("selection");
+        SnippetTemplate.Values snippet = getTemplate("selection").newValues();
 
-        snippet = StringUtils.replace(snippet, "%category%", escapeURLPath(itemUIRegistry.getCategory(w)));
-        snippet = StringUtils.replace(snippet, "%format%", getFormat());
-        snippet = StringUtils.replace(snippet, "%label_header%", getLabel(w));
+        snippet.set("category", escapeURLPath(itemUIRegistry.getCategory(w)));
+        snippet.set("format", getFormat());
 
         String state = itemUIRegistry.getState(w).toString();
         Selection selection = (Selection) w;
 
         StringBuilder rowSB = new StringBuilder();
+        SnippetTemplate rowTemplate = getTemplate("selection_row");
         for (Mapping mapping : selection.getMappings()) {
-            String rowSnippet = getSnippet("selection_row");
+            SnippetTemplate.Values rowSnippet = rowTemplate.newValues();
             String command = mapping.getCmd() != null ? mapping.getCmd() : "";
-            rowSnippet = StringUtils.replace(rowSnippet, "%item%", w.getItem() != null ? w.getItem() : "");
-            rowSnippet = StringUtils.replace(rowSnippet, "%cmd%", StringEscapeUtils.escapeHtml(command));
-            rowSnippet = StringUtils.replace(rowSnippet, "%label%",
-                    mapping.getLabel() != null ? mapping.getLabel() : "");
+            rowSnippet.set("item", w.getItem() != null ? w.getItem() : "");
+            rowSnippet.set("cmd", StringEscapeUtils.escapeHtml(command));
+            rowSnippet.set("label", mapping.getLabel() != null ? mapping.getLabel() : "");
             if (state.equals(mapping.getCmd())) {
-                rowSnippet = StringUtils.replace(rowSnippet, "%checked%", "checked=\"true\"");
+                rowSnippet.set("checked", "checked=\"true\"");
             } else {
-                rowSnippet = StringUtils.replace(rowSnippet, "%checked%", "");
+                rowSnippet.set("checked", "");
             }
-            rowSB.append(rowSnippet);
+            rowSnippet.appendTo(rowSB);
         }
-        snippet = StringUtils.replace(snippet, "%rows%", rowSB.toString());
+        snippet.set("rows", rowSB.toString());
 
-        // Process the color tags
-        snippet = processColor(w, snippet);
+        // Process the label and the color tags
+        processLabel(w, "label_header", snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
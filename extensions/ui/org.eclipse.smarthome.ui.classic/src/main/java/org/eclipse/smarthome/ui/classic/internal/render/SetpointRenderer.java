@@ -9,7 +9,6 @@ package org.eclipse.smarthome.ui.classic.internal.render;
 
 import java.math.BigDecimal;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.types.State;
@@ -18,6 +17,7 @@ import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.classic.internal.servlet.WebAppServlet;
 import org.eclipse.smarthome.ui.classic.render.RenderException;
 import org.eclipse.smarthome.ui.classic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * This is an implementation of the {@link WidgetRenderer} interface, which
@@ -77,25 +77,24 @@ public class SetpointRenderer extends AbstractWidgetRenderer {
         }
 
         String snippetName = "setpoint";
-        String snippet = getSnippet(snippetName);
+        SnippetTemplate.Values snippet = getTemplate(snippetName).newValues();
 
-        snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(w));
-        snippet = StringUtils.replace(snippet, "%category%", escapeURLPath(itemUIRegistry.getCategory(w)));
-        snippet = StringUtils.replace(snippet, "%item%", w.getItem());
-        snippet = StringUtils.replace(snippet, "%state%", state.toString());
-        snippet = StringUtils.replace(snippet, "%newlowerstate%", newLowerState);
-        snippet = StringUtils.replace(snippet, "%newhigherstate%", newHigherState);
-        snippet = StringUtils.replace(snippet, "%label%", getLabel(w));
-        snippet = StringUtils.replace(snippet, "%format%", getFormat());
-        snippet = StringUtils.replace(snippet, "%servletname%", WebAppServlet.SERVLET_NAME);
-        snippet = StringUtils.replace(snippet, "%minValue%", minValue.toString());
-        snippet = StringUtils.replace(snippet, "%maxValue%", maxValue.toString());
-        snippet = StringUtils.replace(snippet, "%step%", step.toString());
+        snippet.set("id", itemUIRegistry.getWidgetId(w));
+        snippet.set("category", escapeURLPath(itemUIRegistry.getCategory(w)));
+        snippet.set("item", w.getItem());
+        snippet.set("state", state.toString());
+        snippet.set("newlowerstate", newLowerState);
+        snippet.set("newhigherstate", newHigherState);
+        snippet.set("format", getFormat());
+        snippet.set("servletname", WebAppServlet.SERVLET_NAME);
+        snippet.set("minValue", minValue.toString());
+        snippet.set("maxValue", maxValue.toString());
+        snippet.set("step", step.toString());
 
-        // Process the color tags
-        snippet = processColor(w, snippet);
+        // Process the label and the color tags
+        processLabel(w, "label", snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
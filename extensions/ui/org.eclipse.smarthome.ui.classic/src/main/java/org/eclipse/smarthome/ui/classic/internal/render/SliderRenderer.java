@@ -7,13 +7,13 @@
  */
 package org.eclipse.smarthome.ui.classic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Slider;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.classic.internal.servlet.WebAppServlet;
 import org.eclipse.smarthome.ui.classic.render.RenderException;
 import org.eclipse.smarthome.ui.classic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * <p>
@@ -47,25 +47,24 @@ public class SliderRenderer extends AbstractWidgetRenderer {
 
         String snippetName = "slider";
 
-        String snippet = getSnippet(snippetName);
+        SnippetTemplate.Values snippet = getTemplate(snippetName).newValues();
 
         // set the default send-update frequency to 200ms
         String frequency = s.getFrequency() == 0 ? "200" : Integer.toString(s.getFrequency());
 
-        snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(s));
-        snippet = StringUtils.replace(snippet, "%category%", getCategory(s));
-        snippet = StringUtils.replace(snippet, "%item%", w.getItem());
-        snippet = StringUtils.replace(snippet, "%label%", getLabel(s));
-        snippet = StringUtils.replace(snippet, "%state%", getStateAsNumber(s));
-        snippet = StringUtils.replace(snippet, "%format%", getFormat());
-        snippet = StringUtils.replace(snippet, "%frequency%", frequency);
-        snippet = StringUtils.replace(snippet, "%switch%", s.isSwitchEnabled() ? "1" : "0");
-        snippet = StringUtils.replace(snippet, "%servletname%", WebAppServlet.SERVLET_NAME);
+        snippet.set("id", itemUIRegistry.getWidgetId(s));
+        snippet.set("category", getCategory(s));
+        snippet.set("item", w.getItem());
+        snippet.set("state", getStateAsNumber(s));
+        snippet.set("format", getFormat());
+        snippet.set("frequency", frequency);
+        snippet.set("switch", s.isSwitchEnabled() ? "1" : "0");
+        snippet.set("servletname", WebAppServlet.SERVLET_NAME);
 
-        // Process the color tags
-        snippet = processColor(w, snippet);
+        // Process the label and the color tags
+        processLabel(s, "label", snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
@@ -7,7 +7,6 @@
  */
 package org.eclipse.smarthome.ui.classic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
@@ -22,6 +21,7 @@ import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.classic.internal.servlet.WebAppServlet;
 import org.eclipse.smarthome.ui.classic.render.RenderException;
 import org.eclipse.smarthome.ui.classic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,15 +71,14 @@ public class SwitchRenderer extends AbstractWidgetRenderer {
             snippetName = "switch";
         }
 
-        String snippet = getSnippet(snippetName);
+        SnippetTemplate.Values snippet = getTemplate(snippetName).newValues();
 
-        snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(w));
-        snippet = StringUtils.replace(snippet, "%category%", getCategory(w));
-        snippet = StringUtils.replace(snippet, "%state%", getState(w));
-        snippet = StringUtils.replace(snippet, "%format%", getFormat());
-        snippet = StringUtils.replace(snippet, "%item%", w.getItem());
-        snippet = StringUtils.replace(snippet, "%label%", getLabel(w));
-        snippet = StringUtils.replace(snippet, "%servletname%", WebAppServlet.SERVLET_NAME);
+        snippet.set("id", itemUIRegistry.getWidgetId(w));
+        snippet.set("category", getCategory(w));
+        snippet.set("state", getState(w));
+        snippet.set("format", getFormat());
+        snippet.set("item", w.getItem());
+        snippet.set("servletname", WebAppServlet.SERVLET_NAME);
 
         State state = itemUIRegistry.getState(w);
 
@@ -88,31 +87,34 @@ public class SwitchRenderer extends AbstractWidgetRenderer {
                 state = ((PercentType) state).intValue() > 0 ? OnOffType.ON : OnOffType.OFF;
             }
             if (state.equals(OnOffType.ON)) {
-                snippet = snippet.replaceAll("%checked%", "checked=true");
+                snippet.set("checked", "checked=true");
             } else {
-                snippet = snippet.replaceAll("%checked%", "");
+                snippet.set("checked", "");
             }
         } else {
             StringBuilder buttons = new StringBuilder();
+            SnippetTemplate buttonTemplate = getTemplate("button");
+            String labelStyle = getLabelStyle(w);
             for (Mapping mapping : s.getMappings()) {
-                String button = getSnippet("button");
-                button = StringUtils.replace(button, "%item%", w.getItem());
-                button = StringUtils.replace(button, "%cmd%", mapping.getCmd());
-                button = StringUtils.replace(button, "%label%", mapping.getLabel());
+                SnippetTemplate.Values button = buttonTemplate.newValues();
+                button.set("item", w.getItem());
+                button.set("cmd", mapping.getCmd());
+                button.set("label", mapping.getLabel());
+                button.set("labelstyle", labelStyle);
                 if (s.getMappings().size() > 1 && state.toString().equals(mapping.getCmd())) {
-                    button = StringUtils.replace(button, "%type%", "Warn"); // button with red color
+                    button.set("type", "Warn"); // button with red color
                 } else {
-                    button = StringUtils.replace(button, "%type%", "Action"); // button with blue color
+                    button.set("type", "Action"); // button with blue color
                 }
-                buttons.append(button);
+                button.appendTo(buttons);
             }
-            snippet = StringUtils.replace(snippet, "%buttons%", buttons.toString());
+            snippet.set("buttons", buttons.toString());
         }
 
-        // Process the color tags
-        snippet = processColor(w, snippet);
+        // Process the label and the color tags
+        processLabel(w, "label", snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
@@ -7,13 +7,13 @@
  */
 package org.eclipse.smarthome.ui.classic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.model.sitemap.Text;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.classic.render.RenderException;
 import org.eclipse.smarthome.ui.classic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * This is an implementation of the {@link WidgetRenderer} interface, which
@@ -40,18 +40,18 @@ public class TextRenderer extends AbstractWidgetRenderer {
         Text text = (Text) w;
         State state = itemUIRegistry.getState(w);
 
-        String snippet = (text.getChildren().size() > 0) ? getSnippet("text_link") : getSnippet("text");
+        SnippetTemplate.Values snippet = (text.getChildren().size() > 0) ? getTemplate("text_link").newValues()
+                : getTemplate("text").newValues();
 
-        snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(w));
-        snippet = StringUtils.replace(snippet, "%category%", escapeURLPath(itemUIRegistry.getCategory(w)));
-        snippet = StringUtils.replace(snippet, "%label%", getLabel(w));
-        snippet = StringUtils.replace(snippet, "%format%", getFormat());
-        snippet = StringUtils.replace(snippet, "%state%", state.toString());
+        snippet.set("id", itemUIRegistry.getWidgetId(w));
+        snippet.set("category", escapeURLPath(itemUIRegistry.getCategory(w)));
+        snippet.set("format", getFormat());
+        snippet.set("state", state.toString());
 
-        // Process the color tags
-        snippet = processColor(w, snippet);
+        // Process the label and the color tags
+        processLabel(w, "label", snippet);
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
@@ -7,12 +7,12 @@
  */
 package org.eclipse.smarthome.ui.classic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Video;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.classic.render.RenderException;
 import org.eclipse.smarthome.ui.classic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * This is an implementation of the {@link WidgetRenderer} interface, which
@@ -37,22 +37,22 @@ public class VideoRenderer extends AbstractWidgetRenderer {
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
         Video videoWidget = (Video) w;
-        String snippet = null;
+        SnippetTemplate.Values snippet = null;
 
         String widgetId = itemUIRegistry.getWidgetId(w);
         String sitemap = w.eResource().getURI().path();
 
         if (videoWidget.getEncoding() != null && videoWidget.getEncoding().contains("mjpeg")) {
             // we handle mjpeg streams as an html image as browser can usually handle this
-            snippet = getSnippet("image");
-            snippet = StringUtils.replace(snippet, "%setrefresh%", "");
-            snippet = StringUtils.replace(snippet, "%refresh%", "");
+            snippet = getTemplate("image").newValues();
+            snippet.set("setrefresh", "");
+            snippet.set("refresh", "");
         } else {
-            snippet = getSnippet("video");
+            snippet = getTemplate("video").newValues();
         }
         String url = "../proxy?sitemap=" + sitemap + "&widgetId=" + widgetId;
-        snippet = StringUtils.replace(snippet, "%url%", url);
-        sb.append(snippet);
+        snippet.set("url", url);
+        snippet.appendTo(sb);
         return null;
     }
 }
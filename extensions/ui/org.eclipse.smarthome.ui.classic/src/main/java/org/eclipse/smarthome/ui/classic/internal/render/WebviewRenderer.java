@@ -7,12 +7,12 @@
  */
 package org.eclipse.smarthome.ui.classic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Webview;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.classic.render.RenderException;
 import org.eclipse.smarthome.ui.classic.render.WidgetRenderer;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
 
 /**
  * This is an implementation of the {@link WidgetRenderer} interface, which
@@ -37,17 +37,17 @@ public class WebviewRenderer extends AbstractWidgetRenderer {
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
         Webview webview = (Webview) w;
-        String snippet = getSnippet("webview");
+        SnippetTemplate.Values snippet = getTemplate("webview").newValues();
 
         int height = webview.getHeight();
         if (height == 0) {
             height = 1;
         }
 
-        snippet = StringUtils.replace(snippet, "%url%", webview.getUrl());
-        snippet = StringUtils.replace(snippet, "%height%", Integer.toString(height * 36));
+        snippet.set("url", webview.getUrl());
+        snippet.set("height", Integer.toString(height * 36));
 
-        sb.append(snippet);
+        snippet.appendTo(sb);
         return null;
     }
 }
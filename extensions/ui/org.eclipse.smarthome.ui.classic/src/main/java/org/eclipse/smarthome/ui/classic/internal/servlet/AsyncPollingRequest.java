@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.ui.classic.internal.servlet;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.StateChangeListener;
+import org.eclipse.smarthome.core.types.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A polling request of the Classic UI, which is suspended until a state of an item on its page changes or until the
+ * timeout is reached. While it waits, it does not block a request thread; the page is rendered by a thread of the
+ * container as soon as a change has been notified.
+ * <p>
+ * This class uses the Servlet 3 API, so it must only be used if the container supports it.
+ *
+ * @author agent - Initial contribution
+ */
+class AsyncPollingRequest implements StateChangeListener, AsyncListener {
+
+    private final Logger logger = LoggerFactory.getLogger(AsyncPollingRequest.class);
+
+    private final WebAppServlet servlet;
+    private final AsyncContext asyncContext;
+    private final Set<GenericItem> items;
+    private final AtomicBoolean finished = new AtomicBoolean(false);
+
+    private AsyncPollingRequest(WebAppServlet servlet, AsyncContext asyncContext, Set<GenericItem> items) {
+        this.servlet = servlet;
+        this.asyncContext = asyncContext;
+        this.items = items;
+    }
+
+    /**
+     * Suspends a polling request until one of the given items changes its state or the timeout is reached.
+     *
+     * @param servlet the servlet which renders the page on a change
+     * @param req the polling request
+     * @param res the response of the polling request
+     * @param items the items of the page
+     * @param timeout the timeout in milliseconds
+     */
+    static void start(WebAppServlet servlet, ServletRequest req, ServletResponse res, Set<GenericItem> items,
+            long timeout) {
+        AsyncContext asyncContext = req.startAsync(req, res);
+        asyncContext.setTimeout(timeout);
+        AsyncPollingRequest pollingRequest = new AsyncPollingRequest(servlet, asyncContext, items);
+        asyncContext.addListener(pollingRequest);
+        for (GenericItem item : items) {
+            item.addStateChangeListener(pollingRequest);
+        }
+    }
+
+    /**
+     * Stops listening to the items.
+     *
+     * @return true, if the request has not been finished before
+     */
+    private boolean finish() {
+        if (finished.compareAndSet(false, true)) {
+            for (GenericItem item : items) {
+                item.removeStateChangeListener(this);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void stateChanged(Item item, State oldState, State newState) {
+        if (finish()) {
+            // the page is rendered by the container, not by the thread which notifies the change
+            asyncContext.start(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        servlet.resume(asyncContext.getRequest(), asyncContext.getResponse());
+                    } catch (ServletException | IOException e) {
+                        logger.debug("Error while sending the changed page to a polling client: {}", e.getMessage());
+                    } finally {
+                        asyncContext.complete();
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public void stateUpdated(Item item, State state) {
+        // ignore if the state did not change
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) throws IOException {
+        if (finish()) {
+            // we have reached the timeout, so we do not return any content as nothing has changed
+            try {
+                asyncContext.getResponse().getWriter().append(servlet.getTimeoutResponse()).close();
+            } finally {
+                asyncContext.complete();
+            }
+        }
+    }
+
+    @Override
+    public void onError(AsyncEvent event) throws IOException {
+        if (finish()) {
+            asyncContext.complete();
+        }
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) throws IOException {
+        finish();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) throws IOException {
+    }
+
+}
@@ -8,12 +8,13 @@
 package org.eclipse.smarthome.ui.classic.internal.servlet;
 
 import java.io.IOException;
-import java.util.Date;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
@@ -54,6 +55,29 @@ public class WebAppServlet extends BaseServlet {
      */
     private static final long TIMEOUT_IN_MS = 30000L;
 
+    /** the request attribute which marks a polling request that is resumed after a change */
+    private static final String POLL_RESUMED_ATTRIBUTE = WebAppServlet.class.getName() + ".pollResumed";
+
+    /**
+     * True if the {@link ServletRequest} class has a "startAsync" method, otherwise false.
+     * Supported OSGi containers might only support Servlet API 2.4 (blocking only).
+     */
+    private static final boolean SERVLET3_SUPPORT;
+
+    static {
+        boolean servlet3 = false;
+        try {
+            servlet3 = ServletRequest.class.getMethod("startAsync") != null;
+        } catch (Exception e) {
+            LoggerFactory.getLogger(WebAppServlet.class).debug("The Servlet API does not support async requests", e);
+        } finally {
+            SERVLET3_SUPPORT = servlet3;
+        }
+    }
+
+    /** the init parameter which enables the async support of a servlet registered with the Pax Web HTTP service */
+    static final String ASYNC_SUPPORTED_PARAM = "async-supported";
+
     /** the name of the servlet to be used in the URL */
     public static final String SERVLET_NAME = "app";
 
@@ -79,6 +103,8 @@ public class WebAppServlet extends BaseServlet {
         config.applyConfig(configProps);
         try {
             Hashtable<String, String> props = new Hashtable<String, String>();
+            // allows the polling requests to be suspended instead of blocking a request thread
+            props.put(ASYNC_SUPPORTED_PARAM, "true");
             httpService.registerServlet(WEBAPP_ALIAS + "/" + SERVLET_NAME, this, props, createHttpContext());
             httpService.registerResources(WEBAPP_ALIAS, "web", null);
             logger.info("Started Classic UI at " + WEBAPP_ALIAS + "/" + SERVLET_NAME);
@@ -110,7 +136,9 @@ public class WebAppServlet extends BaseServlet {
         String sitemapName = req.getParameter("sitemap");
         String widgetId = req.getParameter("w");
         boolean async = "true".equalsIgnoreCase(req.getParameter("__async"));
-        boolean poll = "true".equalsIgnoreCase(req.getParameter("poll"));
+        // a resumed polling request renders the changed page right away
+        boolean poll = "true".equalsIgnoreCase(req.getParameter("poll"))
+                && req.getAttribute(POLL_RESUMED_ATTRIBUTE) == null;
 
         // if there are no parameters, display the "default" sitemap
         if (sitemapName == null) {
@@ -134,9 +162,8 @@ public class WebAppServlet extends BaseServlet {
                 // we are at the homepage, so we render the children of the sitemap root node
                 String label = sitemap.getLabel() != null ? sitemap.getLabel() : sitemapName;
                 EList<Widget> children = sitemap.getChildren();
-                if (poll && waitForChanges(children) == false) {
-                    // we have reached the timeout, so we do not return any content as nothing has changed
-                    res.getWriter().append(getTimeoutResponse()).close();
+                if (poll && waitForChanges(children, req, res) == false) {
+                    // the response is sent on a change or on the timeout
                     return;
                 }
                 result.append(renderer.processPage("Home", sitemapName, label, sitemap.getChildren(), async));
@@ -152,9 +179,8 @@ public class WebAppServlet extends BaseServlet {
                         throw new RenderException("Widget '" + w + "' can not have any content");
                     }
                     EList<Widget> children = renderer.getItemUIRegistry().getChildren((LinkableWidget) w);
-                    if (poll && waitForChanges(children) == false) {
-                        // we have reached the timeout, so we do not return any content as nothing has changed
-                        res.getWriter().append(getTimeoutResponse()).close();
+                    if (poll && waitForChanges(children, req, res) == false) {
+                        // the response is sent on a change or on the timeout
                         return;
                     }
                     result.append(renderer.processPage(renderer.getItemUIRegistry().getWidgetId(w), sitemapName, label,
@@ -173,42 +199,63 @@ public class WebAppServlet extends BaseServlet {
         res.getWriter().close();
     }
 
+    /**
+     * Renders the page of a polling request after a change has occurred.
+     *
+     * @param req the suspended polling request
+     * @param res the response of the polling request
+     */
+    void resume(ServletRequest req, ServletResponse res) throws ServletException, IOException {
+        req.setAttribute(POLL_RESUMED_ATTRIBUTE, Boolean.TRUE);
+        service(req, res);
+    }
+
     /**
      * Defines the response to return on a polling timeout.
      *
      * @return the response of the servlet on a polling timeout
      */
-    private String getTimeoutResponse() {
+    String getTimeoutResponse() {
         return "<root><part><destination mode=\"replace\" zone=\"timeout\" create=\"false\"/><data/></part></root>";
     }
 
     /**
-     * This method only returns when a change has occurred to any item on the page to display
+     * This method waits for a change to any item on the page to display. If the request supports it, it is suspended
+     * instead of blocking the request thread, and the response is sent asynchronously on a change or on the timeout.
      *
      * @param widgets the widgets of the page to observe
+     * @param req the polling request
+     * @param res the response of the polling request
+     * @return true, if a change has occurred and the page should be rendered, false, if the response is sent
+     *         otherwise
      */
-    private boolean waitForChanges(EList<Widget> widgets) {
-        long startTime = (new Date()).getTime();
-        boolean timeout = false;
-        BlockingStateChangeListener listener = new BlockingStateChangeListener();
+    private boolean waitForChanges(EList<Widget> widgets, ServletRequest req, ServletResponse res) throws IOException {
         // let's get all items for these widgets
         Set<GenericItem> items = getAllItems(widgets);
+        if (SERVLET3_SUPPORT && req.isAsyncSupported()) {
+            AsyncPollingRequest.start(this, req, res, items, TIMEOUT_IN_MS);
+            return false;
+        }
+
+        BlockingStateChangeListener listener = new BlockingStateChangeListener();
         for (GenericItem item : items) {
             item.addStateChangeListener(listener);
         }
-        while (!listener.hasChangeOccurred() && !timeout) {
-            timeout = (new Date()).getTime() - startTime > TIMEOUT_IN_MS;
-            try {
-                Thread.sleep(300);
-            } catch (InterruptedException e) {
-                timeout = true;
-                break;
+        boolean changed;
+        try {
+            changed = listener.awaitChange(TIMEOUT_IN_MS);
+        } catch (InterruptedException e) {
+            changed = false;
+        } finally {
+            for (GenericItem item : items) {
+                item.removeStateChangeListener(listener);
             }
         }
-        for (GenericItem item : items) {
-            item.removeStateChangeListener(listener);
+        if (!changed) {
+            // we have reached the timeout, so we do not return any content as nothing has changed
+            res.getWriter().append(getTimeoutResponse()).close();
         }
-        return !timeout;
+        return changed;
     }
 
     /**
@@ -251,23 +298,24 @@ public class WebAppServlet extends BaseServlet {
      */
     private static class BlockingStateChangeListener implements StateChangeListener {
 
-        private boolean changed = false;
+        private final CountDownLatch changed = new CountDownLatch(1);
 
         /**
          * {@inheritDoc}
          */
         @Override
         public void stateChanged(Item item, State oldState, State newState) {
-            changed = true;
+            changed.countDown();
         }
 
         /**
-         * determines, whether a state change has occurred since its creation
+         * waits until a state change has occurred since its creation
          *
-         * @return true, if a state has changed
+         * @param timeout the maximum time to wait in milliseconds
+         * @return true, if a state has changed, false, if the timeout has been reached
          */
-        public boolean hasChangeOccurred() {
-            return changed;
+        public boolean awaitChange(long timeout) throws InterruptedException {
+            return changed.await(timeout, TimeUnit.MILLISECONDS);
         }
 
         /**
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.tools.benchmarks;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.library.types.DateTimeType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of parsing and formatting {@link DateTimeType}s. The parsing is compared with the former
+ * parsing by a chain of {@link SimpleDateFormat}s, which tried one pattern after the other until one did not fail, and
+ * the formatting with {@link String#format(String, Object...)}.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeTypeBenchmark {
+
+    private static final String FORMAT_PATTERN = "%1$tA, %1$td.%1$tm.%1$tY %1$tH:%1$tM";
+
+    @Param({ "2017-03-21T10:15:30", "2017-03-21T10:15:30.123+0100", "2017-03-21T10:15:30.123Z",
+            "2017-03-21T10:15:30CET" })
+    public String value;
+
+    private DateTimeType dateTime;
+
+    @Setup
+    public void setUp() {
+        dateTime = new DateTimeType(value);
+    }
+
+    @Benchmark
+    public DateTimeType parse() {
+        return DateTimeType.valueOf(value);
+    }
+
+    @Benchmark
+    public Date parseWithSimpleDateFormats() throws ParseException {
+        try {
+            return new SimpleDateFormat(DateTimeType.DATE_PATTERN_WITH_TZ_AND_MS).parse(value);
+        } catch (ParseException e) {
+            try {
+                return new SimpleDateFormat(DateTimeType.DATE_PATTERN_WITH_TZ_AND_MS_ISO).parse(value);
+            } catch (ParseException e2) {
+                try {
+                    return new SimpleDateFormat(DateTimeType.DATE_PATTERN_WITH_TZ).parse(value);
+                } catch (ParseException e3) {
+                    return new SimpleDateFormat(DateTimeType.DATE_PATTERN).parse(value);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public String format() {
+        return dateTime.format(FORMAT_PATTERN);
+    }
+
+    @Benchmark
+    public String formatWithString() {
+        return String.format(FORMAT_PATTERN, dateTime.getCalendar());
+    }
+
+    @Benchmark
+    public String toFullString() {
+        return dateTime.toFullString();
+    }
+
+}
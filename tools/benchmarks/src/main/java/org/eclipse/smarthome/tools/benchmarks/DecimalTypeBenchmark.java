@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.tools.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.types.Type;
+import org.eclipse.smarthome.model.script.lib.NumberExtensions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the parsing, the comparison and the arithmetic of {@link DecimalType}s as they are used by rules, e.g. for
+ * temperature values. The values in compact form are compared with values which exceed it and are kept as
+ * {@link BigDecimal} only.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecimalTypeBenchmark {
+
+    @Param({ "21.5", "1234567890123456789012.5" })
+    public String value;
+
+    private DecimalType decimal;
+    private DecimalType other;
+    private BigDecimal bigDecimal;
+
+    @Setup
+    public void setUp() {
+        decimal = new DecimalType(value);
+        other = new DecimalType("19.75");
+        bigDecimal = new BigDecimal(value);
+    }
+
+    @Benchmark
+    public DecimalType parse() {
+        return DecimalType.valueOf(value);
+    }
+
+    @Benchmark
+    public BigDecimal parseBigDecimal() {
+        return new BigDecimal(value);
+    }
+
+    @Benchmark
+    public int compare() {
+        return decimal.compareTo(other);
+    }
+
+    @Benchmark
+    public boolean equalsState() {
+        return decimal.equals(other);
+    }
+
+    @Benchmark
+    public double doubleValue() {
+        return decimal.doubleValue();
+    }
+
+    @Benchmark
+    public boolean lessThan() {
+        return NumberExtensions.operator_lessThan((Number) decimal, other);
+    }
+
+    /**
+     * A comparison of an item state with a number literal, like <code>Temperature.state &lt; 20</code>.
+     */
+    @Benchmark
+    public boolean stateLessThanInteger() {
+        return NumberExtensions.operator_lessThan((Type) decimal, 20);
+    }
+
+    @Benchmark
+    public BigDecimal plus() {
+        return NumberExtensions.operator_plus(decimal, other);
+    }
+
+    @Benchmark
+    public BigDecimal plusInteger() {
+        return NumberExtensions.operator_plus(decimal, 1);
+    }
+
+    @Benchmark
+    public BigDecimal multiply() {
+        return NumberExtensions.operator_multiply(decimal, other);
+    }
+
+    @Benchmark
+    public BigDecimal divide() {
+        return NumberExtensions.operator_divide(decimal, other);
+    }
+
+    @Benchmark
+    public BigDecimal plusBigDecimal() {
+        return bigDecimal.add(other.toBigDecimal());
+    }
+
+}
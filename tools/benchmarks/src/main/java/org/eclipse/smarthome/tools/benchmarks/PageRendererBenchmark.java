@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.tools.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.model.sitemap.Frame;
+import org.eclipse.smarthome.model.sitemap.LinkableWidget;
+import org.eclipse.smarthome.model.sitemap.Mapping;
+import org.eclipse.smarthome.model.sitemap.SitemapFactory;
+import org.eclipse.smarthome.model.sitemap.Switch;
+import org.eclipse.smarthome.model.sitemap.Text;
+import org.eclipse.smarthome.model.sitemap.Widget;
+import org.eclipse.smarthome.ui.basic.internal.WebAppConfig;
+import org.eclipse.smarthome.ui.basic.internal.render.AbstractWidgetRenderer;
+import org.eclipse.smarthome.ui.basic.internal.render.FrameRenderer;
+import org.eclipse.smarthome.ui.basic.internal.render.PageRenderer;
+import org.eclipse.smarthome.ui.basic.internal.render.SwitchRenderer;
+import org.eclipse.smarthome.ui.basic.internal.render.TextRenderer;
+import org.eclipse.smarthome.ui.basic.render.RenderException;
+import org.eclipse.smarthome.ui.items.ItemUIRegistry;
+import org.eclipse.smarthome.ui.render.SnippetTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the rendering of a page of the Basic UI with its html snippets, which are parsed into
+ * {@link SnippetTemplate}s. The page is a large synthetic sitemap of frames with switches, switches with mappings and
+ * texts with values and colors.
+ * <p>
+ * The snippets are read from the Basic UI bundle on the class path. The widgets are described by a fixed item UI
+ * registry.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageRendererBenchmark {
+
+    private static final int WIDGETS_PER_FRAME = 10;
+
+    private static final String[] SNIPPETS = { "main", "layer", "frame", "switch", "buttons", "button", "text" };
+
+    @Param({ "100", "1000" })
+    public int widgets;
+
+    @Param({ "false", "true" })
+    public boolean async;
+
+    private PageRenderer pageRenderer;
+    private EList<Widget> frames;
+
+    @Setup
+    public void setUp() throws IOException {
+        ItemUIRegistry itemUIRegistry = createItemUIRegistry();
+
+        SnippetLoadingPageRenderer pageRenderer = new SnippetLoadingPageRenderer();
+        pageRenderer.loadSnippets();
+        pageRenderer.setItemUIRegistry(itemUIRegistry);
+        for (AbstractWidgetRenderer renderer : new AbstractWidgetRenderer[] { new FrameRenderer(),
+                new SwitchRenderer(), new TextRenderer() }) {
+            renderer.setItemUIRegistry(itemUIRegistry);
+            pageRenderer.addWidgetRenderer(renderer);
+        }
+        pageRenderer.setConfig(new WebAppConfig());
+        this.pageRenderer = pageRenderer;
+
+        frames = createSitemap(widgets);
+    }
+
+    @Benchmark
+    public StringBuilder processPage() throws RenderException {
+        return pageRenderer.processPage("0000", "benchmark", "Benchmark", frames, async);
+    }
+
+    /**
+     * Creates frames with the given number of widgets, a third of them are switches, switches with mappings and texts.
+     */
+    private static EList<Widget> createSitemap(int widgets) {
+        SitemapFactory factory = SitemapFactory.eINSTANCE;
+        EList<Widget> frames = new BasicEList<>();
+        Frame frame = null;
+        for (int i = 0; i < widgets; i++) {
+            if (i % WIDGETS_PER_FRAME == 0) {
+                frame = factory.createFrame();
+                frame.setLabel("Frame " + i / WIDGETS_PER_FRAME);
+                frames.add(frame);
+            }
+            Widget widget;
+            switch (i % 3) {
+                case 0:
+                    widget = factory.createSwitch();
+                    widget.setLabel("Light " + i);
+                    break;
+                case 1:
+                    Switch buttons = factory.createSwitch();
+                    buttons.setLabel("Scene " + i);
+                    for (String command : new String[] { "OFF", "ON" }) {
+                        Mapping mapping = factory.createMapping();
+                        mapping.setCmd(command);
+                        mapping.setLabel(command.toLowerCase());
+                        buttons.getMappings().add(mapping);
+                    }
+                    widget = buttons;
+                    break;
+                default:
+                    Text text = factory.createText();
+                    text.setLabel("Temperature " + i + " [21.5 °C]");
+                    widget = text;
+                    break;
+            }
+            widget.setItem("Item" + i);
+            frame.getChildren().add(widget);
+        }
+        return frames;
+    }
+
+    private static ItemUIRegistry createItemUIRegistry() {
+        final SwitchItem item = new SwitchItem("Item");
+
+        // the renderers only read the labels, states and colors of the widgets
+        return (ItemUIRegistry) Proxy.newProxyInstance(ItemUIRegistry.class.getClassLoader(),
+                new Class<?>[] { ItemUIRegistry.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getLabel":
+                            return ((Widget) args[0]).getLabel();
+                        case "getWidgetId":
+                            Widget widget = (Widget) args[0];
+                            return widget.getItem() != null ? widget.getItem() : widget.getLabel();
+                        case "getVisiblity":
+                            return true;
+                        case "getState":
+                            return OnOffType.ON;
+                        case "getCategory":
+                            return "switch";
+                        case "getLabelColor":
+                            return null;
+                        case "getValueColor":
+                            return args[0] instanceof Text ? "red" : null;
+                        case "getChildren":
+                            return ((LinkableWidget) args[0]).getChildren();
+                        case "getItem":
+                            return item;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "ItemUIRegistry";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    /**
+     * Puts the snippets into the snippet cache of the renderers, as they cannot be read from the bundle outside of an
+     * OSGi framework.
+     */
+    private static class SnippetLoadingPageRenderer extends PageRenderer {
+
+        void loadSnippets() throws IOException {
+            for (String name : SNIPPETS) {
+                String location = SNIPPET_LOCATION + name + SNIPPET_EXT;
+                try (InputStream in = PageRenderer.class.getClassLoader().getResourceAsStream(location)) {
+                    if (in == null) {
+                        throw new IOException("Cannot find the snippet '" + location + "'");
+                    }
+                    ByteArrayOutputStream snippet = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[4096];
+                    for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                        snippet.write(buffer, 0, read);
+                    }
+                    snippetCache.put(name, SnippetTemplate.compile(snippet.toString(StandardCharsets.UTF_8.name())));
+                }
+            }
+        }
+    }
+
+}
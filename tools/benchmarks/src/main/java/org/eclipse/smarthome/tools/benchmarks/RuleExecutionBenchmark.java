@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.tools.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemNotFoundException;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.library.items.NumberItem;
+import org.eclipse.smarthome.core.library.items.StringItem;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.model.rule.RulesRuntimeModule;
+import org.eclipse.smarthome.model.rule.RulesStandaloneSetup;
+import org.eclipse.smarthome.model.rule.compiler.RuleCompiler;
+import org.eclipse.smarthome.model.rule.rules.Rule;
+import org.eclipse.smarthome.model.rule.rules.RuleModel;
+import org.eclipse.smarthome.model.script.engine.IActionServiceProvider;
+import org.eclipse.smarthome.model.script.engine.IItemRegistryProvider;
+import org.eclipse.smarthome.model.script.engine.Script;
+import org.eclipse.smarthome.model.script.engine.ScriptExecutionException;
+import org.eclipse.smarthome.model.script.engine.action.ActionService;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.xbase.XExpression;
+import org.eclipse.xtext.xbase.interpreter.IEvaluationContext;
+import org.eclipse.xtext.xbase.interpreter.IEvaluationResult;
+import org.eclipse.xtext.xbase.interpreter.IExpressionInterpreter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Provider;
+import com.google.inject.util.Modules;
+
+/**
+ * Measures the execution of typical rule bodies by the script interpreter and compiled by the {@link RuleCompiler}.
+ * The "Sum" rule compares and adds up the states of many items, the "Names" rule filters and maps them with lambda
+ * expressions.
+ * <p>
+ * The rules are parsed and compiled outside of an OSGi framework. The items are provided by a fixed item registry,
+ * there are no action services.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("restriction")
+public class RuleExecutionBenchmark {
+
+    private static final int ITEM_COUNT = 20;
+
+    @Param({ "Sum", "Names" })
+    public String rule;
+
+    private Script interpretedScript;
+    private Script compiledScript;
+
+    @Setup
+    public void setUp() throws IOException {
+        ItemRegistry itemRegistry = createItemRegistry();
+        Injector injector = createInjector(itemRegistry);
+
+        RuleModel model = loadModel(injector, createRules());
+        if (!injector.getInstance(RuleCompiler.class).compile(model)) {
+            throw new IllegalStateException("The rules could not be compiled");
+        }
+        for (Rule candidate : model.getRules()) {
+            if (candidate.getName().equals(rule)) {
+                interpretedScript = new InterpretedScript(injector.getInstance(IExpressionInterpreter.class),
+                        injector.getProvider(IEvaluationContext.class), candidate.getScript());
+                compiledScript = RuleCompiler.getCompiledScript(candidate, interpretedScript);
+            }
+        }
+        if (compiledScript == null) {
+            throw new IllegalStateException("Rule '" + rule + "' has not been compiled");
+        }
+    }
+
+    @Benchmark
+    public Object interpret() throws ScriptExecutionException {
+        return interpretedScript.execute();
+    }
+
+    @Benchmark
+    public Object executeCompiled() throws ScriptExecutionException {
+        return compiledScript.execute();
+    }
+
+    private static String createRules() {
+        StringBuilder rules = new StringBuilder();
+        rules.append("rule \"Sum\"\nwhen\n    Item Switch1 received update\nthen\n    var count = 0\n");
+        for (int i = 1; i <= ITEM_COUNT; i++) {
+            rules.append("    if (Switch" + i + ".state == ON) count = count + (Number" + i
+                    + ".state as DecimalType).intValue\n");
+        }
+        rules.append("    Result.state = new DecimalType(count)\nend\n\n");
+
+        rules.append("rule \"Names\"\nwhen\n    Item Switch1 received command\nthen\n    val switches = newArrayList(");
+        for (int i = 1; i <= ITEM_COUNT; i++) {
+            rules.append(i > 1 ? ", " : "").append("Switch" + i);
+        }
+        rules.append(")\n    Names.state = new StringType(switches.filter[state == ON].map[name].join(\",\"))\nend\n");
+        return rules.toString();
+    }
+
+    private static ItemRegistry createItemRegistry() {
+        final Map<String, Item> items = new LinkedHashMap<>();
+        for (int i = 1; i <= ITEM_COUNT; i++) {
+            SwitchItem switchItem = new SwitchItem("Switch" + i);
+            switchItem.setState(i % 2 == 0 ? OnOffType.ON : OnOffType.OFF);
+            NumberItem numberItem = new NumberItem("Number" + i);
+            numberItem.setState(new DecimalType(i));
+            items.put(switchItem.getName(), switchItem);
+            items.put(numberItem.getName(), numberItem);
+        }
+        items.put("Result", new NumberItem("Result"));
+        items.put("Names", new StringItem("Names"));
+
+        // the rules only look up items by their names and read all items when they are parsed
+        return (ItemRegistry) Proxy.newProxyInstance(ItemRegistry.class.getClassLoader(),
+                new Class<?>[] { ItemRegistry.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getItem":
+                            Item item = items.get(args[0]);
+                            if (item == null) {
+                                throw new ItemNotFoundException((String) args[0]);
+                            }
+                            return item;
+                        case "get":
+                            return items.get(args[0]);
+                        case "getItems":
+                        case "getAll":
+                            return new ArrayList<>(items.values());
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "ItemRegistry" + items.keySet();
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    /**
+     * Creates the injector of the rule language with the given item registry, instead of the services which are
+     * tracked in an OSGi framework.
+     */
+    private static Injector createInjector(final ItemRegistry itemRegistry) {
+        return new RulesStandaloneSetup() {
+            @Override
+            public Injector createInjector() {
+                return Guice.createInjector(Modules.override(new RulesRuntimeModule()).with(new AbstractModule() {
+                    @Override
+                    protected void configure() {
+                        bind(IItemRegistryProvider.class).toInstance(() -> itemRegistry);
+                        bind(IActionServiceProvider.class)
+                                .toInstance(() -> Collections.<ActionService> emptyList());
+                        bind(ClassLoader.class).toInstance(RuleExecutionBenchmark.class.getClassLoader());
+                    }
+                }));
+            }
+        }.createInjectorAndDoEMFRegistration();
+    }
+
+    private static RuleModel loadModel(Injector injector, String content) throws IOException {
+        XtextResourceSet resourceSet = injector.getInstance(XtextResourceSet.class);
+        Resource resource = resourceSet.createResource(URI.createURI("Benchmark.rules"));
+        resource.load(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), null);
+        if (!resource.getErrors().isEmpty()) {
+            throw new IllegalStateException("The rules could not be parsed: " + resource.getErrors());
+        }
+        return (RuleModel) resource.getContents().get(0);
+    }
+
+    /**
+     * Executes a rule body by the script interpreter, like the scripts of the script engine.
+     */
+    private static class InterpretedScript implements Script {
+
+        private final IExpressionInterpreter interpreter;
+        private final Provider<IEvaluationContext> contextProvider;
+        private final XExpression expression;
+
+        InterpretedScript(IExpressionInterpreter interpreter, Provider<IEvaluationContext> contextProvider,
+                XExpression expression) {
+            this.interpreter = interpreter;
+            this.contextProvider = contextProvider;
+            this.expression = expression;
+        }
+
+        @Override
+        public Object execute() throws ScriptExecutionException {
+            return execute(contextProvider.get());
+        }
+
+        @Override
+        public Object execute(IEvaluationContext evaluationContext) throws ScriptExecutionException {
+            IEvaluationResult result = interpreter.evaluate(expression, evaluationContext, CancelIndicator.NullImpl);
+            if (result.getException() != null) {
+                throw new ScriptExecutionException(result.getException().getMessage(), result.getException());
+            }
+            return result.getResult();
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2014-2017 by the respective copyright holders.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.tools.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.core.items.events.ItemEventFactory;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.io.rest.sse.internal.SseEventBroadcaster;
+import org.eclipse.smarthome.io.rest.sse.internal.SseEventOutput;
+import org.glassfish.jersey.media.sse.OutboundEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency from broadcasting an event until all SSE clients have received it. Some of the clients can be
+ * blocked, like clients whose connections do not accept data anymore, so that they hold threads of the writer pool
+ * until they are closed.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SseEventBroadcasterBenchmark {
+
+    @Param({ "10", "100" })
+    public int clients;
+
+    @Param({ "0", "5" })
+    public int blockedClients;
+
+    private final AtomicLong received = new AtomicLong();
+
+    private CountDownLatch blocked;
+    private SseEventBroadcaster broadcaster;
+    private Event event;
+    private long expected;
+
+    @Setup
+    public void setUp() {
+        blocked = new CountDownLatch(1);
+        broadcaster = new SseEventBroadcaster();
+        for (int i = 0; i < blockedClients; i++) {
+            broadcaster.add(new BlockedEventOutput());
+        }
+        for (int i = 0; i < clients; i++) {
+            broadcaster.add(new CountingEventOutput());
+        }
+        event = ItemEventFactory.createStateEvent("Temperature", new DecimalType(21.5));
+        received.set(0);
+        expected = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        blocked.countDown();
+    }
+
+    @Benchmark
+    public void broadcast() {
+        expected += clients;
+        broadcaster.broadcast(event);
+        while (received.get() < expected) {
+            Thread.yield();
+        }
+    }
+
+    private class CountingEventOutput extends SseEventOutput {
+
+        CountingEventOutput() {
+            super("smarthome/items/*");
+        }
+
+        @Override
+        public void write(OutboundEvent event) throws IOException {
+            received.incrementAndGet();
+        }
+    }
+
+    private class BlockedEventOutput extends SseEventOutput {
+
+        BlockedEventOutput() {
+            super("");
+        }
+
+        @Override
+        public void write(OutboundEvent event) throws IOException {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+}